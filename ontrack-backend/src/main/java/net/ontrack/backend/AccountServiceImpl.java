@@ -6,16 +6,20 @@ import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
 import net.ontrack.backend.dao.*;
 import net.ontrack.backend.dao.model.TAccount;
+import net.ontrack.backend.dao.model.TAccountToken;
 import net.ontrack.backend.dao.model.TGlobalAuthorization;
 import net.ontrack.backend.dao.model.TProjectAuthorization;
+import net.ontrack.backend.security.AccountTokens;
 import net.ontrack.core.model.*;
 import net.ontrack.core.security.*;
 import net.ontrack.core.validation.AccountValidation;
 import net.ontrack.core.validation.Validations;
+import net.ontrack.dao.SQLUtils;
 import net.ontrack.service.AccountService;
 import net.ontrack.service.EventService;
 import net.sf.jstring.Strings;
 import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +39,7 @@ public class AccountServiceImpl extends AbstractServiceImpl implements AccountSe
     private final EventDao eventDao;
     private final ProjectAuthorizationDao projectAuthorizationDao;
     private final GlobalAuthorizationDao globalAuthorizationDao;
+    private final AccountTokenDao accountTokenDao;
     private final Function<TAccount, Account> accountFunction = new Function<TAccount, Account>() {
         @Override
         public Account apply(TAccount t) {
@@ -67,7 +72,7 @@ public class AccountServiceImpl extends AbstractServiceImpl implements AccountSe
     };
 
     @Autowired
-    public AccountServiceImpl(ValidatorService validatorService, EventService eventService, Strings strings, AccountDao accountDao, CommentDao commentDao, ValidationRunStatusDao validationRunStatusDao, EventDao eventDao, ProjectAuthorizationDao projectAuthorizationDao, GlobalAuthorizationDao globalAuthorizationDao) {
+    public AccountServiceImpl(ValidatorService validatorService, EventService eventService, Strings strings, AccountDao accountDao, CommentDao commentDao, ValidationRunStatusDao validationRunStatusDao, EventDao eventDao, ProjectAuthorizationDao projectAuthorizationDao, GlobalAuthorizationDao globalAuthorizationDao, AccountTokenDao accountTokenDao) {
         super(validatorService, eventService);
         this.strings = strings;
         this.accountDao = accountDao;
@@ -76,6 +81,7 @@ public class AccountServiceImpl extends AbstractServiceImpl implements AccountSe
         this.eventDao = eventDao;
         this.projectAuthorizationDao = projectAuthorizationDao;
         this.globalAuthorizationDao = globalAuthorizationDao;
+        this.accountTokenDao = accountTokenDao;
     }
 
     @Override
@@ -84,6 +90,28 @@ public class AccountServiceImpl extends AbstractServiceImpl implements AccountSe
         return accountACLFunction.apply(accountDao.findByNameAndPassword(user, password));
     }
 
+    /**
+     * The last use of the token is recorded at most once per hour.
+     */
+    @Override
+    @Transactional
+    public Account authenticateToken(String user, String token) {
+        if (!AccountTokens.isToken(token)) {
+            return null;
+        }
+        TAccountToken t = accountTokenDao.findByHash(AccountTokens.hash(token));
+        if (t == null) {
+            return null;
+        }
+        Account account = accountACLFunction.apply(accountDao.getByID(t.getAccount()));
+        if (!StringUtils.equals(user, account.getName())) {
+            return null;
+        }
+        DateTime now = SQLUtils.now();
+        accountTokenDao.tokenUsed(t.getId(), now, now.minusHours(1));
+        return account;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public String getRole(String mode, String user) {
@@ -371,6 +399,40 @@ public class AccountServiceImpl extends AbstractServiceImpl implements AccountSe
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @GlobalGrant(GlobalFunction.ACCOUNT_MANAGEMENT)
+    public List<AccountToken> getTokens(int accountId) {
+        return Lists.transform(
+                accountTokenDao.findByAccount(accountId),
+                new Function<TAccountToken, AccountToken>() {
+                    @Override
+                    public AccountToken apply(TAccountToken t) {
+                        return new AccountToken(t.getId(), t.getName(), t.getCreation(), t.getLastUsed());
+                    }
+                }
+        );
+    }
+
+    @Override
+    @Transactional
+    @GlobalGrant(GlobalFunction.ACCOUNT_MANAGEMENT)
+    public String createToken(int accountId, String name) {
+        if (StringUtils.isBlank(name)) {
+            throw new AccountTokenNameMissingException();
+        }
+        String token = AccountTokens.generate();
+        accountTokenDao.createToken(accountId, StringUtils.abbreviate(name.trim(), 80), AccountTokens.hash(token));
+        return token;
+    }
+
+    @Override
+    @Transactional
+    @GlobalGrant(GlobalFunction.ACCOUNT_MANAGEMENT)
+    public Ack revokeToken(int accountId, int tokenId) {
+        return accountTokenDao.deleteToken(accountId, tokenId);
+    }
+
     protected Account getACL(Account account) {
         if (account != null) {
             // Global functions
@@ -0,0 +1,8 @@
+package net.ontrack.backend;
+
+import net.ontrack.core.support.InputException;
+
+public class AccountTokenNameMissingException extends InputException {
+    public AccountTokenNameMissingException() {
+    }
+}
@@ -0,0 +1,35 @@
+package net.ontrack.backend;
+
+import net.ontrack.core.model.Status;
+
+/**
+ * Keeps, for each build, the set of validation stamps which are passed for each
+ * auto-promoted promotion level, so that the completion of a promotion level does
+ * not need to read all its validation runs again.
+ */
+public interface AutoPromotionService {
+
+    /**
+     * Registers a new status for the last run of a validation stamp in a build.
+     */
+    void onValidationRunStatus(int build, int validationStamp, Status status);
+
+    /**
+     * Checks if all the validation stamps of an auto-promoted promotion level
+     * are passed for a build.
+     */
+    boolean isPromotionLevelComplete(int build, int promotionLevel);
+
+    /**
+     * The validation runs of a build have been removed, the state of the build
+     * must be computed again.
+     */
+    void invalidateBuild(int build);
+
+    /**
+     * The links between validation stamps and promotion levels, or the auto-promotion
+     * flags, have changed and the whole state must be computed again.
+     */
+    void invalidate();
+
+}
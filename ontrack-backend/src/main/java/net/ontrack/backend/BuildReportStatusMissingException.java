@@ -0,0 +1,11 @@
+package net.ontrack.backend;
+
+import net.ontrack.core.support.InputException;
+
+public class BuildReportStatusMissingException extends InputException {
+
+    public BuildReportStatusMissingException(String validationStamp) {
+        super(validationStamp);
+    }
+
+}
@@ -3,6 +3,9 @@ package net.ontrack.backend;
 import net.ontrack.backend.dao.BuildDao;
 import net.ontrack.backend.dao.PromotedRunDao;
 import net.ontrack.backend.dao.ValidationRunDao;
+import net.ontrack.backend.dao.ValidationRunStatusDao;
+import net.ontrack.backend.dao.model.TPromotedRun;
+import net.ontrack.backend.dao.model.TValidationRunCreation;
 import net.ontrack.core.security.AuthorizationUtils;
 import net.ontrack.core.model.*;
 import net.ontrack.core.security.ProjectFunction;
@@ -10,14 +13,19 @@ import net.ontrack.core.security.SecurityUtils;
 import net.ontrack.core.support.TimeUtils;
 import net.ontrack.core.validation.NameDescription;
 import net.ontrack.extension.api.property.PropertiesService;
+import net.ontrack.extension.api.property.PropertyExtensionDescriptor;
 import net.ontrack.service.ControlService;
 import net.ontrack.service.EventService;
 import net.ontrack.service.ManagementService;
 import net.ontrack.service.model.Event;
+import net.sf.jstring.Strings;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.*;
+
 @Service
 public class ControlServiceImpl extends AbstractServiceImpl implements ControlService {
 
@@ -25,20 +33,26 @@ public class ControlServiceImpl extends AbstractServiceImpl implements ControlSe
     private final PropertiesService propertiesService;
     private final BuildDao buildDao;
     private final ValidationRunDao validationRunDao;
+    private final ValidationRunStatusDao validationRunStatusDao;
     private final PromotedRunDao promotedRunDao;
     private final SecurityUtils securityUtils;
     private final AuthorizationUtils authorizationUtils;
+    private final Strings strings;
+    private final AutoPromotionService autoPromotionService;
 
     @Autowired
-    public ControlServiceImpl(ValidatorService validatorService, EventService auditService, ManagementService managementService, PropertiesService propertiesService, BuildDao buildDao, ValidationRunDao validationRunDao, PromotedRunDao promotedRunDao, SecurityUtils securityUtils, AuthorizationUtils authorizationUtils) {
+    public ControlServiceImpl(ValidatorService validatorService, EventService auditService, ManagementService managementService, PropertiesService propertiesService, BuildDao buildDao, ValidationRunDao validationRunDao, ValidationRunStatusDao validationRunStatusDao, PromotedRunDao promotedRunDao, SecurityUtils securityUtils, AuthorizationUtils authorizationUtils, Strings strings, AutoPromotionService autoPromotionService) {
         super(validatorService, auditService);
         this.managementService = managementService;
         this.propertiesService = propertiesService;
         this.buildDao = buildDao;
         this.validationRunDao = validationRunDao;
+        this.validationRunStatusDao = validationRunStatusDao;
         this.promotedRunDao = promotedRunDao;
         this.securityUtils = securityUtils;
         this.authorizationUtils = authorizationUtils;
+        this.strings = strings;
+        this.autoPromotionService = autoPromotionService;
     }
 
     @Override
@@ -142,4 +156,167 @@ public class ControlServiceImpl extends AbstractServiceImpl implements ControlSe
         // OK
         return run;
     }
+
+    @Override
+    @Transactional
+    public BuildReportResult createBuildReport(Locale locale, int branch, String buildName, BuildReportForm form) {
+        // Build, created if needed
+        BuildSummary build;
+        Integer buildId = buildDao.findByBrandAndName(branch, buildName);
+        if (buildId == null) {
+            build = createBuild(branch, new BuildCreationForm(buildName, form.getDescription(), form.getProperties()));
+        } else {
+            build = managementService.getBuild(buildId);
+            if (form.getProperties() != null) {
+                checkPropertiesEditable(Entity.BUILD, buildId, form.getProperties());
+                propertiesService.createProperties(Entity.BUILD, buildId, form.getProperties());
+            }
+        }
+        // Results
+        List<BuildReportItem> items = new ArrayList<>();
+        // Validation runs
+        if (form.getValidationRuns() != null && !form.getValidationRuns().isEmpty()) {
+            authorizationUtils.checkBuild(build.getId(), ProjectFunction.VALIDATION_RUN_CREATE);
+            items.addAll(createBuildReportValidationRuns(locale, build, form.getValidationRuns()));
+        }
+        // Promoted runs
+        if (form.getPromotedRuns() != null && !form.getPromotedRuns().isEmpty()) {
+            authorizationUtils.checkBuild(build.getId(), ProjectFunction.PROMOTED_RUN_CREATE);
+            items.addAll(createBuildReportPromotedRuns(locale, build, form.getPromotedRuns()));
+        }
+        // OK
+        return new BuildReportResult(build, items);
+    }
+
+    /**
+     * The properties of an existing entity are changed according to their editing policy,
+     * like when they are edited one by one.
+     */
+    private void checkPropertiesEditable(Entity entity, int entityId, PropertiesCreationForm properties) {
+        Map<String, PropertyExtensionDescriptor> descriptors = new HashMap<>();
+        for (PropertyExtensionDescriptor descriptor : propertiesService.getProperties(entity)) {
+            descriptors.put(descriptor.getExtension() + "/" + descriptor.getName(), descriptor);
+        }
+        for (PropertyCreationForm property : properties.getList()) {
+            PropertyExtensionDescriptor descriptor = descriptors.get(property.getExtension() + "/" + property.getName());
+            // Unknown properties are rejected when saved
+            if (descriptor != null && !authorizationUtils.applyPolicy(descriptor.getEditingAuthorizationPolicy(entity), entity, entityId)) {
+                throw new AccessDeniedException(String.format("Cannot edit the %s/%s property", property.getExtension(), property.getName()));
+            }
+        }
+    }
+
+    private List<BuildReportItem> createBuildReportValidationRuns(Locale locale, BuildSummary build, List<BuildReportValidationRun> runs) {
+        BuildReportItem[] results = new BuildReportItem[runs.size()];
+        // Validation stamps of the branch, indexed by name
+        Map<String, ValidationStampSummary> stamps = new HashMap<>();
+        for (ValidationStampSummary stamp : managementService.getValidationStampList(build.getBranch().getId())) {
+            stamps.put(stamp.getName(), stamp);
+        }
+        // Runs to create
+        List<Integer> indexes = new ArrayList<>();
+        List<TValidationRunCreation> creations = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            BuildReportValidationRun item = runs.get(i);
+            String name = item.getValidationStamp();
+            ValidationStampSummary stamp = stamps.get(name);
+            if (stamp == null) {
+                results[i] = BuildReportItem.error(Entity.VALIDATION_STAMP, name, new EntityNameNotFoundException(Entity.VALIDATION_STAMP, name).getLocalizedMessage(strings, locale));
+            } else if (item.getRun() == null || item.getRun().getStatus() == null) {
+                results[i] = BuildReportItem.error(Entity.VALIDATION_STAMP, name, new BuildReportStatusMissingException(name).getLocalizedMessage(strings, locale));
+            } else {
+                indexes.add(i);
+                creations.add(new TValidationRunCreation(stamp.getId(), item.getRun().getDescription()));
+            }
+        }
+        if (!creations.isEmpty()) {
+            // Runs in one go
+            List<Integer> ids = validationRunDao.createValidationRuns(build.getId(), creations);
+            // First statuses in one go
+            Map<Integer, ValidationRunStatusCreationForm> statuses = new LinkedHashMap<>();
+            // Status of the last run of each stamp
+            Map<Integer, Status> lastStatuses = new LinkedHashMap<>();
+            for (int j = 0; j < ids.size(); j++) {
+                ValidationRunCreationForm run = runs.get(indexes.get(j)).getRun();
+                statuses.put(ids.get(j), new ValidationRunStatusCreationForm(run.getStatus(), run.getDescription()));
+                lastStatuses.put(creations.get(j).getValidationStamp(), run.getStatus());
+            }
+            Signature signature = securityUtils.getCurrentSignature();
+            validationRunStatusDao.createValidationRunStatuses(statuses, signature.getName(), signature.getId());
+            // Auto-promotion state, once per validation stamp
+            for (Map.Entry<Integer, Status> entry : lastStatuses.entrySet()) {
+                autoPromotionService.onValidationRunStatus(build.getId(), entry.getKey(), entry.getValue());
+            }
+            // Properties and events
+            Set<Integer> validationStamps = new LinkedHashSet<>();
+            for (int j = 0; j < ids.size(); j++) {
+                int index = indexes.get(j);
+                int validationRunId = ids.get(j);
+                int validationStamp = creations.get(j).getValidationStamp();
+                ValidationRunCreationForm run = runs.get(index).getRun();
+                propertiesService.createProperties(Entity.VALIDATION_RUN, validationRunId, run.getProperties());
+                event(Event.of(EventType.VALIDATION_RUN_CREATED)
+                        .withProject(build.getBranch().getProject().getId())
+                        .withBranch(build.getBranch().getId())
+                        .withValidationStamp(validationStamp)
+                        .withBuild(build.getId())
+                        .withValidationRun(validationRunId)
+                        .withValue("status", run.getStatus().name())
+                );
+                validationStamps.add(validationStamp);
+                results[index] = BuildReportItem.success(Entity.VALIDATION_STAMP, runs.get(index).getValidationStamp(), validationRunId);
+            }
+            // Auto-promotion, once per promotion level
+            Set<Integer> promotionLevels = new LinkedHashSet<>();
+            for (int validationStamp : validationStamps) {
+                PromotionLevelSummary promotionLevel = managementService.getPromotionLevelForValidationStamp(validationStamp);
+                if (promotionLevel != null && promotionLevel.isAutoPromote()) {
+                    promotionLevels.add(promotionLevel.getId());
+                }
+            }
+            for (int promotionLevel : promotionLevels) {
+                if (promotedRunDao.findByBuildAndPromotionLevel(build.getId(), promotionLevel) == null
+                        && managementService.isPromotionLevelComplete(build.getId(), promotionLevel)) {
+                    createPromotedRun(build.getId(), promotionLevel, new PromotedRunCreationForm(
+                            TimeUtils.now(),
+                            "Created automatically"
+                    ));
+                }
+            }
+        }
+        // OK
+        return Arrays.asList(results);
+    }
+
+    private List<BuildReportItem> createBuildReportPromotedRuns(Locale locale, BuildSummary build, List<BuildReportPromotedRun> runs) {
+        List<BuildReportItem> results = new ArrayList<>(runs.size());
+        // Promotion levels of the branch, indexed by name
+        Map<String, PromotionLevelSummary> promotionLevels = new HashMap<>();
+        for (PromotionLevelSummary promotionLevel : managementService.getPromotionLevelList(build.getBranch().getId())) {
+            promotionLevels.put(promotionLevel.getName(), promotionLevel);
+        }
+        // Promotions
+        for (BuildReportPromotedRun item : runs) {
+            String name = item.getPromotionLevel();
+            PromotionLevelSummary promotionLevel = promotionLevels.get(name);
+            if (promotionLevel == null) {
+                results.add(BuildReportItem.error(Entity.PROMOTION_LEVEL, name, new EntityNameNotFoundException(Entity.PROMOTION_LEVEL, name).getLocalizedMessage(strings, locale)));
+            } else {
+                // Already promoted, for example automatically by the validation runs of this report
+                TPromotedRun existing = promotedRunDao.findByBuildAndPromotionLevel(build.getId(), promotionLevel.getId());
+                if (existing != null) {
+                    results.add(BuildReportItem.success(Entity.PROMOTION_LEVEL, name, existing.getId()));
+                } else {
+                    PromotedRunSummary run = createPromotedRun(
+                            build.getId(),
+                            promotionLevel.getId(),
+                            item.getRun() != null ? item.getRun() : new PromotedRunCreationForm(null, null)
+                    );
+                    results.add(BuildReportItem.success(Entity.PROMOTION_LEVEL, name, run.getId()));
+                }
+            }
+        }
+        // OK
+        return results;
+    }
 }
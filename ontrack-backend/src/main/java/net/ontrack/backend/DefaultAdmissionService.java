@@ -0,0 +1,235 @@
+package net.ontrack.backend;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import net.ontrack.backend.admission.TokenBucket;
+import net.ontrack.core.security.GlobalFunction;
+import net.ontrack.core.security.GlobalGrant;
+import net.ontrack.service.AdmissionService;
+import net.ontrack.service.MetricsProvider;
+import net.ontrack.service.model.ClientUsage;
+import net.ontrack.service.model.MetricSample;
+import net.ontrack.service.model.RequestClass;
+import net.ontrack.service.support.Admission;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Each client has a {@link TokenBucket} per class of requests. The limits of a class are
+ * defined by the <code>ontrack.admission.&lt;class&gt;.rate</code> (requests per second,
+ * 0 to disable the limit) and <code>ontrack.admission.&lt;class&gt;.burst</code> system
+ * properties, where the class is <code>interactive</code>, <code>read</code> or <code>write</code>.
+ * <p/>
+ * Besides, the number of API writes processed at the same time is limited for each client,
+ * so that a client whose writes are slow does not prevent the other clients from writing.
+ * The total number of API writes processed at the same time is limited as well, so that
+ * they cannot take all the connections to the database and the interactive requests remain
+ * responsive.
+ */
+@Service
+public class DefaultAdmissionService implements AdmissionService, MetricsProvider {
+
+    /**
+     * System property which enables the admission control, <code>true</code> by default
+     */
+    public static final String ENABLED_PROPERTY = "ontrack.admission.enabled";
+
+    /**
+     * System property which defines the maximum number of API writes processed at the same time
+     * for a client
+     */
+    public static final String WRITE_CONCURRENCY_PROPERTY = "ontrack.admission.write.concurrency";
+
+    /**
+     * System property which defines the maximum number of API writes processed at the same time
+     * for all the clients
+     */
+    public static final String WRITE_TOTAL_CONCURRENCY_PROPERTY = "ontrack.admission.write.total-concurrency";
+
+    /**
+     * Maximum number of clients which are tracked
+     */
+    private static final int MAX_CLIENTS = 10000;
+
+    private final Logger logger = LoggerFactory.getLogger(AdmissionService.class);
+
+    private final boolean enabled = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    private final int writeConcurrency = Integer.getInteger(WRITE_CONCURRENCY_PROPERTY, 2);
+    private final int writeTotalConcurrency = Integer.getInteger(WRITE_TOTAL_CONCURRENCY_PROPERTY, 8);
+    private final Semaphore writes = new Semaphore(writeTotalConcurrency);
+    private final Map<RequestClass, Limit> limits = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, AtomicLong> admitted = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, AtomicLong> rejected = new EnumMap<>(RequestClass.class);
+    /**
+     * The clients which have not sent any request for one hour are forgotten
+     */
+    private final LoadingCache<String, ClientState> clients = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CLIENTS)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build(new CacheLoader<String, ClientState>() {
+                @Override
+                public ClientState load(String client) {
+                    return new ClientState(client);
+                }
+            });
+
+    public DefaultAdmissionService() {
+        limits.put(RequestClass.INTERACTIVE, Limit.of(RequestClass.INTERACTIVE, 50, 200));
+        limits.put(RequestClass.READ, Limit.of(RequestClass.READ, 20, 100));
+        limits.put(RequestClass.WRITE, Limit.of(RequestClass.WRITE, 10, 50));
+        for (RequestClass requestClass : RequestClass.values()) {
+            admitted.put(requestClass, new AtomicLong());
+            rejected.put(requestClass, new AtomicLong());
+        }
+    }
+
+    @Override
+    public Admission admit(String client, RequestClass requestClass) {
+        if (!enabled) {
+            return Admission.admitted();
+        }
+        ClientState state = clients.getUnchecked(client);
+        Usage usage = state.usages.get(requestClass);
+        // Limits for the API writes, for the client and then for all the clients
+        if (requestClass == RequestClass.WRITE) {
+            if (!state.writes.tryAcquire()) {
+                return reject(usage, 1);
+            } else if (!writes.tryAcquire()) {
+                state.writes.release();
+                return reject(usage, 1);
+            }
+        }
+        // Rate per client
+        if (usage.bucket != null) {
+            long wait = usage.bucket.tryConsume(System.nanoTime());
+            if (wait > 0) {
+                if (requestClass == RequestClass.WRITE) {
+                    writes.release();
+                    state.writes.release();
+                }
+                return reject(usage, (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toSeconds(wait - 1) + 1));
+            }
+        }
+        usage.admitted.incrementAndGet();
+        usage.lastRequest = System.currentTimeMillis();
+        admitted.get(requestClass).incrementAndGet();
+        return requestClass == RequestClass.WRITE ? Admission.admitted(writes, state.writes) : Admission.admitted();
+    }
+
+    private Admission reject(Usage usage, int retryAfter) {
+        long count = usage.rejected.incrementAndGet();
+        usage.lastRequest = usage.lastRejection = System.currentTimeMillis();
+        rejected.get(usage.requestClass).incrementAndGet();
+        if (count == 1 || count % 1000 == 0) {
+            logger.warn("[admission] {} request(s) of class {} rejected for {}", count, usage.requestClass, usage.client);
+        }
+        return Admission.rejected(retryAfter);
+    }
+
+    @Override
+    @GlobalGrant(GlobalFunction.SETTINGS)
+    public List<ClientUsage> getUsage() {
+        List<ClientUsage> result = new ArrayList<>();
+        for (ClientState state : clients.asMap().values()) {
+            for (Usage usage : state.usages.values()) {
+                long usageAdmitted = usage.admitted.get();
+                long usageRejected = usage.rejected.get();
+                if (usageAdmitted > 0 || usageRejected > 0) {
+                    result.add(new ClientUsage(
+                            usage.client,
+                            usage.requestClass,
+                            usageAdmitted,
+                            usageRejected,
+                            new Date(usage.lastRequest),
+                            usage.lastRejection > 0 ? new Date(usage.lastRejection) : null
+                    ));
+                }
+            }
+        }
+        Collections.sort(result, new Comparator<ClientUsage>() {
+            @Override
+            public int compare(ClientUsage o1, ClientUsage o2) {
+                return Long.compare(o2.getAdmitted() + o2.getRejected(), o1.getAdmitted() + o1.getRejected());
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public Collection<MetricSample> getMetrics() {
+        List<MetricSample> samples = new ArrayList<>();
+        for (RequestClass requestClass : RequestClass.values()) {
+            String name = requestClass.name().toLowerCase();
+            samples.add(MetricSample.counter("ontrack_admission_requests_total", "Number of requests processed by the admission control",
+                    admitted.get(requestClass).get(), "class", name, "result", "admitted"));
+            samples.add(MetricSample.counter("ontrack_admission_requests_total", "Number of requests processed by the admission control",
+                    rejected.get(requestClass).get(), "class", name, "result", "rejected"));
+        }
+        samples.add(MetricSample.gauge("ontrack_admission_writes_running", "Number of API writes being processed",
+                writeTotalConcurrency - writes.availablePermits()));
+        samples.add(MetricSample.gauge("ontrack_admission_clients", "Number of recent clients",
+                clients.size()));
+        return samples;
+    }
+
+    private static class Limit {
+
+        private final int rate;
+        private final int burst;
+
+        private Limit(int rate, int burst) {
+            this.rate = rate;
+            this.burst = burst;
+        }
+
+        private static Limit of(RequestClass requestClass, int defaultRate, int defaultBurst) {
+            String prefix = "ontrack.admission." + requestClass.name().toLowerCase();
+            int rate = Integer.getInteger(prefix + ".rate", defaultRate);
+            return new Limit(rate, Math.max(1, Integer.getInteger(prefix + ".burst", Math.max(defaultBurst, rate))));
+        }
+
+        private TokenBucket createBucket() {
+            return rate > 0 ? new TokenBucket(rate, burst, System.nanoTime()) : null;
+        }
+    }
+
+    private class ClientState {
+
+        private final Map<RequestClass, Usage> usages = new EnumMap<>(RequestClass.class);
+        private final Semaphore writes = new Semaphore(writeConcurrency);
+
+        private ClientState(String client) {
+            for (RequestClass requestClass : RequestClass.values()) {
+                usages.put(requestClass, new Usage(client, requestClass, limits.get(requestClass).createBucket()));
+            }
+        }
+    }
+
+    private static class Usage {
+
+        private final String client;
+        private final RequestClass requestClass;
+        /**
+         * <code>null</code> when the class is not limited
+         */
+        private final TokenBucket bucket;
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private volatile long lastRequest;
+        private volatile long lastRejection;
+
+        private Usage(String client, RequestClass requestClass, TokenBucket bucket) {
+            this.client = client;
+            this.requestClass = requestClass;
+            this.bucket = bucket;
+        }
+    }
+
+}
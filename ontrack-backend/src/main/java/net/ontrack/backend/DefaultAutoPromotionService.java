@@ -0,0 +1,216 @@
+package net.ontrack.backend;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import lombok.Data;
+import net.ontrack.backend.dao.PromotionLevelDao;
+import net.ontrack.backend.dao.ValidationRunDao;
+import net.ontrack.backend.dao.ValidationStampDao;
+import net.ontrack.backend.dao.model.TValidationStamp;
+import net.ontrack.core.model.Status;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class DefaultAutoPromotionService implements AutoPromotionService {
+
+    private final ValidationStampDao validationStampDao;
+    private final PromotionLevelDao promotionLevelDao;
+    private final ValidationRunDao validationRunDao;
+    /**
+     * Validation stamps of each promotion level. The set is empty when the promotion
+     * level is not auto-promoted.
+     */
+    private final LoadingCache<Integer, Set<Integer>> requiredStamps;
+    /**
+     * Passed validation stamps for a build and an auto-promoted promotion level. The
+     * changes made by a transaction are applied only once it is committed.
+     */
+    private final LoadingCache<BuildPromotionLevel, Set<Integer>> passedStamps;
+
+    @Autowired
+    public DefaultAutoPromotionService(ValidationStampDao validationStampDao, PromotionLevelDao promotionLevelDao, ValidationRunDao validationRunDao) {
+        this.validationStampDao = validationStampDao;
+        this.promotionLevelDao = promotionLevelDao;
+        this.validationRunDao = validationRunDao;
+        this.requiredStamps = CacheBuilder.newBuilder()
+                .maximumSize(500)
+                .expireAfterAccess(60, TimeUnit.MINUTES)
+                .build(new CacheLoader<Integer, Set<Integer>>() {
+                    @Override
+                    public Set<Integer> load(Integer promotionLevel) {
+                        return loadRequiredStamps(promotionLevel);
+                    }
+                });
+        this.passedStamps = CacheBuilder.newBuilder()
+                .maximumSize(2000)
+                .expireAfterAccess(60, TimeUnit.MINUTES)
+                .build(new CacheLoader<BuildPromotionLevel, Set<Integer>>() {
+                    @Override
+                    public Set<Integer> load(BuildPromotionLevel key) {
+                        return loadPassedStamps(key);
+                    }
+                });
+    }
+
+    @Override
+    public void onValidationRunStatus(int build, int validationStamp, Status status) {
+        Integer promotionLevel = validationStampDao.getById(validationStamp).getPromotionLevel();
+        if (promotionLevel != null && !requiredStamps.getUnchecked(promotionLevel).isEmpty()) {
+            BuildPromotionLevel key = new BuildPromotionLevel(build, promotionLevel);
+            Map<BuildPromotionLevel, Map<Integer, Boolean>> changes = getTransactionChanges(true);
+            if (changes != null) {
+                // Kept for the transaction until it is committed
+                Map<Integer, Boolean> stamps = changes.get(key);
+                if (stamps == null) {
+                    stamps = new HashMap<>();
+                    changes.put(key, stamps);
+                }
+                stamps.put(validationStamp, status == Status.PASSED);
+            } else {
+                // Incremental update
+                apply(passedStamps.getUnchecked(key), Collections.singletonMap(validationStamp, status == Status.PASSED));
+            }
+        }
+    }
+
+    /**
+     * The shared state may have been loaded by another transaction before it is committed or
+     * rolled back: a complete state is confirmed against the database before the build is
+     * promoted.
+     */
+    @Override
+    public boolean isPromotionLevelComplete(int build, int promotionLevel) {
+        Set<Integer> stamps = requiredStamps.getUnchecked(promotionLevel);
+        if (stamps.isEmpty()) {
+            return false;
+        }
+        BuildPromotionLevel key = new BuildPromotionLevel(build, promotionLevel);
+        Set<Integer> passed = passedStamps.getUnchecked(key);
+        // Changes of the current transaction
+        Map<BuildPromotionLevel, Map<Integer, Boolean>> changes = getTransactionChanges(false);
+        if (changes != null && changes.containsKey(key)) {
+            passed = new HashSet<>(passed);
+            apply(passed, changes.get(key));
+        }
+        return passed.containsAll(stamps)
+                && validationRunDao.findValidationStampsOfPromotionLevelWithLastStatus(build, promotionLevel, Status.PASSED).containsAll(stamps);
+    }
+
+    @Override
+    public void invalidateBuild(final int build) {
+        Runnable invalidation = new Runnable() {
+            @Override
+            public void run() {
+                for (BuildPromotionLevel key : passedStamps.asMap().keySet()) {
+                    if (key.getBuild() == build) {
+                        passedStamps.invalidate(key);
+                    }
+                }
+            }
+        };
+        invalidation.run();
+        afterCompletion(invalidation);
+    }
+
+    @Override
+    public void invalidate() {
+        Runnable invalidation = new Runnable() {
+            @Override
+            public void run() {
+                requiredStamps.invalidateAll();
+                passedStamps.invalidateAll();
+            }
+        };
+        invalidation.run();
+        // Another transaction may have loaded the state before the changes are committed
+        afterCompletion(invalidation);
+    }
+
+    protected Set<Integer> loadRequiredStamps(int promotionLevel) {
+        if (promotionLevelDao.getById(promotionLevel).isAutoPromote()) {
+            Set<Integer> stamps = new HashSet<>();
+            for (TValidationStamp stamp : validationStampDao.findByPromotionLevel(promotionLevel)) {
+                stamps.add(stamp.getId());
+            }
+            return Collections.unmodifiableSet(stamps);
+        } else {
+            return Collections.emptySet();
+        }
+    }
+
+    protected Set<Integer> loadPassedStamps(BuildPromotionLevel key) {
+        Set<Integer> passed = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+        passed.addAll(validationRunDao.findValidationStampsOfPromotionLevelWithLastStatus(key.getBuild(), key.getPromotionLevel(), Status.PASSED));
+        return passed;
+    }
+
+    /**
+     * Gets the changes of the passed stamps made by the current transaction, or
+     * <code>null</code> if there is no transaction. When created, the changes are applied
+     * to the shared state after commit, and the state is invalidated after a rollback,
+     * since it may have been loaded from the uncommitted runs.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<BuildPromotionLevel, Map<Integer, Boolean>> getTransactionChanges(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<BuildPromotionLevel, Map<Integer, Boolean>> changes = (Map<BuildPromotionLevel, Map<Integer, Boolean>>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null && create) {
+            final Map<BuildPromotionLevel, Map<Integer, Boolean>> transactionChanges = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, transactionChanges);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DefaultAutoPromotionService.this);
+                    for (Map.Entry<BuildPromotionLevel, Map<Integer, Boolean>> entry : transactionChanges.entrySet()) {
+                        Set<Integer> passed = passedStamps.getIfPresent(entry.getKey());
+                        if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                            passedStamps.invalidate(entry.getKey());
+                        } else if (passed != null) {
+                            apply(passed, entry.getValue());
+                        }
+                    }
+                }
+            });
+            changes = transactionChanges;
+        }
+        return changes;
+    }
+
+    private static void apply(Set<Integer> passed, Map<Integer, Boolean> changes) {
+        for (Map.Entry<Integer, Boolean> change : changes.entrySet()) {
+            if (change.getValue()) {
+                passed.add(change.getKey());
+            } else {
+                passed.remove(change.getKey());
+            }
+        }
+    }
+
+    private void afterCompletion(final Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    @Data
+    private static class BuildPromotionLevel {
+        private final int build;
+        private final int promotionLevel;
+    }
+}
@@ -0,0 +1,122 @@
+package net.ontrack.backend;
+
+import net.ontrack.backend.dao.EventDao;
+import net.ontrack.core.support.TimeUtils;
+import net.ontrack.service.api.ScheduledService;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class DefaultEventArchiveService implements ScheduledService, EventArchiveService {
+
+    /**
+     * System property which defines the default age (in days) of the events to archive
+     */
+    public static final String RETENTION_PROPERTY = "ontrack.events.retention";
+
+    private final Logger logger = LoggerFactory.getLogger(DefaultEventArchiveService.class);
+
+    private final EventDao eventDao;
+    private final AtomicLong archivedCount = new AtomicLong();
+
+    private volatile int retentionDays = Integer.getInteger(RETENTION_PROPERTY, 365);
+    private volatile int batchSize = 500;
+    private volatile long batchPause = 1000;
+
+    @Autowired
+    public DefaultEventArchiveService(EventDao eventDao) {
+        this.eventDao = eventDao;
+    }
+
+    @Override
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    @Override
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public long getBatchPause() {
+        return batchPause;
+    }
+
+    @Override
+    public void setBatchPause(long batchPause) {
+        this.batchPause = batchPause;
+    }
+
+    @Override
+    public long getArchivedCount() {
+        return archivedCount.get();
+    }
+
+    @Override
+    public Runnable getTask() {
+        return this;
+    }
+
+    /**
+     * Every hour, starting 10 minutes after the start-up
+     */
+    @Override
+    public Trigger getTrigger() {
+        PeriodicTrigger trigger = new PeriodicTrigger(60, TimeUnit.MINUTES);
+        trigger.setInitialDelay(10);
+        return trigger;
+    }
+
+    /**
+     * Archives the events by batches, until there is no event left to archive
+     */
+    @Override
+    public void run() {
+        int retention = retentionDays;
+        if (retention <= 0) {
+            logger.debug("[event-archive] Archival is disabled");
+            return;
+        }
+        DateTime before = TimeUtils.now().minusDays(retention);
+        logger.info("[event-archive] Archiving the events created before {}...", before);
+        try {
+            int total = 0;
+            while (true) {
+                int size = batchSize;
+                int count = eventDao.archive(before, size);
+                total += count;
+                archivedCount.addAndGet(count);
+                if (count < size) {
+                    break;
+                }
+                // Throttling
+                Thread.sleep(batchPause);
+            }
+            logger.info("[event-archive] {} events archived", total);
+        } catch (InterruptedException ex) {
+            logger.info("[event-archive] Archival interrupted");
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            logger.error("[event-archive] Error", ex);
+        }
+    }
+}
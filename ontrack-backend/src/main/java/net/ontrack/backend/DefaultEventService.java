@@ -4,6 +4,8 @@ import com.google.common.base.Function;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Data;
 import net.ontrack.backend.dao.EventDao;
 import net.ontrack.backend.dao.model.TEvent;
 import net.ontrack.core.model.*;
@@ -11,13 +13,17 @@ import net.ontrack.core.security.SecurityUtils;
 import net.ontrack.core.support.TimeUtils;
 import net.ontrack.dao.SQLUtils;
 import net.ontrack.service.EntityService;
+import net.ontrack.service.EventFeedCallback;
 import net.ontrack.service.EventService;
+import net.ontrack.service.MetricsProvider;
 import net.ontrack.service.SubscriptionService;
 import net.ontrack.service.api.ScheduledService;
 import net.ontrack.service.model.Event;
+import net.ontrack.service.model.MetricSample;
 import net.sf.jstring.Strings;
 import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcDaoSupport;
@@ -25,26 +31,43 @@ import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.support.PeriodicTrigger;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collection;
-import java.util.List;
-import java.util.Locale;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 
 @Service
-public class DefaultEventService extends NamedParameterJdbcDaoSupport implements EventService, ScheduledService {
+public class DefaultEventService extends NamedParameterJdbcDaoSupport implements EventService, ScheduledService, MetricsProvider {
+
+    /**
+     * Maximum number of events read at once for all the waiting callers
+     */
+    private static final int EVENT_FEED_DISPATCH_COUNT = 500;
 
     private final SecurityUtils securityUtils;
     private final Strings strings;
     private final SubscriptionService subscriptionService;
     private final EventDao eventDao;
     private final EntityService entityService;
+    /**
+     * Callers waiting for new events
+     */
+    private final Queue<PendingEventFeed> pendingEventFeeds = new ConcurrentLinkedQueue<>();
+    /**
+     * Computes the event feeds for the waiting callers once new events are committed
+     */
+    private final ExecutorService eventFeedExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("event-feed-%s").build()
+    );
     private final Function<TEvent, ExpandedEvent> expandedEventFunction = new Function<TEvent, ExpandedEvent>() {
         @Override
         public ExpandedEvent apply(TEvent t) {
@@ -101,6 +124,26 @@ public class DefaultEventService extends NamedParameterJdbcDaoSupport implements
                 event.getEntities(),
                 event.getValues()
         );
+        // Notifies the waiting feeds once the event is visible, only once
+        // for all the events of a transaction
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (!TransactionSynchronizationManager.hasResource(pendingEventFeeds)) {
+                TransactionSynchronizationManager.bindResource(pendingEventFeeds, Boolean.TRUE);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCommit() {
+                        notifyEventFeeds();
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResource(pendingEventFeeds);
+                    }
+                });
+            }
+        } else {
+            notifyEventFeeds();
+        }
     }
 
     /**
@@ -130,6 +173,17 @@ public class DefaultEventService extends NamedParameterJdbcDaoSupport implements
         return this;
     }
 
+    /**
+     * Backlog of the events to send and of the callers waiting for events
+     */
+    @Override
+    public Collection<MetricSample> getMetrics() {
+        return Arrays.asList(
+                MetricSample.gauge("ontrack_events_unsent", "Number of events waiting to be sent", eventDao.countEventsToSend()),
+                MetricSample.gauge("ontrack_event_feeds_pending", "Number of callers waiting for new events", pendingEventFeeds.size())
+        );
+    }
+
     /**
      * Checks for events every 1 minute.
      */
@@ -145,16 +199,168 @@ public class DefaultEventService extends NamedParameterJdbcDaoSupport implements
                 eventDao.list(
                         filter.getOffset(),
                         filter.getCount(),
-                        filter.getEntities()
+                        filter.getEntities(),
+                        filter.isArchive()
                 ),
                 expandedEventFunction
         );
     }
 
+    @Override
+    public EventFeed getEventFeed(int after, Map<Entity, Integer> entities, int count) {
+        if (after < 0) {
+            // Starting point only
+            return new EventFeed(eventDao.getLastEventId(), Collections.<ExpandedEvent>emptyList());
+        } else {
+            List<ExpandedEvent> events = Lists.newArrayList(
+                    Lists.transform(
+                            eventDao.listAfter(after, count, entities),
+                            expandedEventFunction
+                    )
+            );
+            return new EventFeed(
+                    events.isEmpty() ? after : events.get(events.size() - 1).getId(),
+                    events
+            );
+        }
+    }
+
+    @Override
+    public void waitForEventFeed(int after, Map<Entity, Integer> entities, int count, EventFeedCallback callback) {
+        // Cleanup of the callers which are no longer waiting
+        Iterator<PendingEventFeed> i = pendingEventFeeds.iterator();
+        while (i.hasNext()) {
+            if (i.next().getCallback().isExpired()) {
+                i.remove();
+            }
+        }
+        // Registration
+        pendingEventFeeds.add(new PendingEventFeed(after, entities, count, callback));
+        // Events may have been created in the meantime
+        notifyEventFeeds();
+    }
+
+    protected void notifyEventFeeds() {
+        if (!pendingEventFeeds.isEmpty()) {
+            eventFeedExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    dispatchEventFeeds();
+                }
+            });
+        }
+    }
+
+    protected void dispatchEventFeeds() {
+        // Oldest starting point of the waiting callers
+        int after = Integer.MAX_VALUE;
+        Iterator<PendingEventFeed> i = pendingEventFeeds.iterator();
+        while (i.hasNext()) {
+            PendingEventFeed pending = i.next();
+            if (pending.getCallback().isExpired()) {
+                i.remove();
+            } else {
+                after = Math.min(after, pending.getAfter());
+            }
+        }
+        if (after == Integer.MAX_VALUE) {
+            return;
+        }
+        // New events, read once for all the callers
+        List<TEvent> events = eventDao.listAfter(after, EVENT_FEED_DISPATCH_COUNT, Collections.<Entity, Integer>emptyMap());
+        if (events.isEmpty()) {
+            return;
+        }
+        boolean complete = events.size() < EVENT_FEED_DISPATCH_COUNT;
+        // Each event is expanded only once, whatever the number of callers
+        Map<Integer, ExpandedEvent> expandedEvents = new HashMap<>();
+        i = pendingEventFeeds.iterator();
+        while (i.hasNext()) {
+            PendingEventFeed pending = i.next();
+            EventFeedCallback callback = pending.getCallback();
+            if (callback.isExpired()) {
+                i.remove();
+            } else {
+                List<ExpandedEvent> feedEvents = new ArrayList<>();
+                for (TEvent event : events) {
+                    if (feedEvents.size() >= pending.getCount()) {
+                        break;
+                    } else if (event.getId() > pending.getAfter() && isEventFeedMatching(event, pending.getEntities())) {
+                        feedEvents.add(getExpandedEvent(expandedEvents, event));
+                    }
+                }
+                EventFeed feed;
+                if (!feedEvents.isEmpty()) {
+                    feed = new EventFeed(feedEvents.get(feedEvents.size() - 1).getId(), feedEvents);
+                } else if (complete) {
+                    feed = null;
+                } else {
+                    // Too many events for the common read, looking for this caller only
+                    feed = getEventFeed(pending.getAfter(), pending.getEntities(), pending.getCount());
+                }
+                if (feed != null && !feed.getEvents().isEmpty()) {
+                    i.remove();
+                    callback.onEventFeed(feed);
+                }
+            }
+        }
+    }
+
+    private boolean isEventFeedMatching(TEvent event, Map<Entity, Integer> entities) {
+        for (Map.Entry<Entity, Integer> entry : entities.entrySet()) {
+            if (!entry.getValue().equals(event.getEntities().get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ExpandedEvent getExpandedEvent(Map<Integer, ExpandedEvent> expandedEvents, TEvent event) {
+        ExpandedEvent expandedEvent = expandedEvents.get(event.getId());
+        if (expandedEvent == null) {
+            ExpandedEvent e = expandedEventFunction.apply(event);
+            // The entity names are resolved now, not for each caller
+            expandedEvent = new ExpandedEvent(
+                    e.getId(),
+                    e.getAuthor(),
+                    e.getEventType(),
+                    e.getTimestamp(),
+                    new HashMap<>(e.getEntities()),
+                    e.getValues()
+            );
+            expandedEvents.put(event.getId(), expandedEvent);
+        }
+        return expandedEvent;
+    }
+
+    @Override
+    public int getEntityVersion(Entity entity, int id) {
+        return eventDao.getEntityVersion(entity, id);
+    }
+
+    @Override
+    public int getEntityListVersion(Entity entity, Map<Entity, Integer> parents) {
+        return eventDao.getEntityListVersion(entity, parents);
+    }
+
+    @Override
+    public DateTime getEventTimestamp(int id) {
+        return eventDao.getEventTimestamp(id);
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public DatedSignature getDatedSignature(final Locale locale, EventType eventType, Map<Entity, Integer> entities) {
-        StringBuilder sql = new StringBuilder("SELECT AUTHOR, AUTHOR_ID, EVENT_TIMESTAMP FROM EVENTS WHERE EVENT_TYPE = :eventType ");
+    public DatedSignature getDatedSignature(Locale locale, EventType eventType, Map<Entity, Integer> entities) {
+        try {
+            return getDatedSignature(locale, eventType, entities, "EVENTS");
+        } catch (EmptyResultDataAccessException ex) {
+            // The event may have been archived
+            return getDatedSignature(locale, eventType, entities, "EVENTS_ARCHIVE");
+        }
+    }
+
+    private DatedSignature getDatedSignature(final Locale locale, EventType eventType, Map<Entity, Integer> entities, String table) {
+        StringBuilder sql = new StringBuilder(format("SELECT AUTHOR, AUTHOR_ID, EVENT_TIMESTAMP FROM %s WHERE EVENT_TYPE = :eventType ", table));
         MapSqlParameterSource params = new MapSqlParameterSource("eventType", eventType.name());
         for (Map.Entry<Entity, Integer> entry : entities.entrySet()) {
             String entityName = entry.getKey().name();
@@ -184,4 +390,12 @@ public class DefaultEventService extends NamedParameterJdbcDaoSupport implements
                 }
         );
     }
+
+    @Data
+    private static class PendingEventFeed {
+        private final int after;
+        private final Map<Entity, Integer> entities;
+        private final int count;
+        private final EventFeedCallback callback;
+    }
 }
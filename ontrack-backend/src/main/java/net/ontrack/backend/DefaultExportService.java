@@ -11,6 +11,7 @@ import net.ontrack.backend.dao.model.*;
 import net.ontrack.backend.export.ImportService;
 import net.ontrack.backend.export.TExport;
 import net.ontrack.backend.export.TExportedImage;
+import net.ontrack.backend.metrics.MetricsRegistry;
 import net.ontrack.core.model.*;
 import net.ontrack.core.security.GlobalFunction;
 import net.ontrack.core.security.GlobalGrant;
@@ -60,6 +61,7 @@ public class DefaultExportService implements ExportService {
     private final PropertyDao propertyDao;
     private final BuildCleanupDao buildCleanupDao;
     private final ObjectMapper objectMapper;
+    private final MetricsRegistry metricsRegistry;
     private final String version;
     /**
      * Import service for versions 1.37 and greater.
@@ -69,7 +71,7 @@ public class DefaultExportService implements ExportService {
     private ImportService importService137;
 
     @Autowired
-    public DefaultExportService(ProjectDao projectDao, BranchDao branchDao, PromotionLevelDao promotionLevelDao, ValidationStampDao validationStampDao, BuildDao buildDao, PromotedRunDao promotedRunDao, ValidationRunDao validationRunDao, ValidationRunStatusDao validationRunStatusDao, EventDao eventDao, CommentDao commentDao, PropertyDao propertyDao, BuildCleanupDao buildCleanupDao, ObjectMapper objectMapper, @Value("${app.version}") String version) {
+    public DefaultExportService(ProjectDao projectDao, BranchDao branchDao, PromotionLevelDao promotionLevelDao, ValidationStampDao validationStampDao, BuildDao buildDao, PromotedRunDao promotedRunDao, ValidationRunDao validationRunDao, ValidationRunStatusDao validationRunStatusDao, EventDao eventDao, CommentDao commentDao, PropertyDao propertyDao, BuildCleanupDao buildCleanupDao, ObjectMapper objectMapper, MetricsRegistry metricsRegistry, @Value("${app.version}") String version) {
         this.projectDao = projectDao;
         this.branchDao = branchDao;
         this.promotionLevelDao = promotionLevelDao;
@@ -83,6 +85,7 @@ public class DefaultExportService implements ExportService {
         this.propertyDao = propertyDao;
         this.buildCleanupDao = buildCleanupDao;
         this.objectMapper = objectMapper;
+        this.metricsRegistry = metricsRegistry;
         this.version = version;
     }
 
@@ -263,7 +266,7 @@ public class DefaultExportService implements ExportService {
             validationRunStatuses.addAll(validationRunStatusDao.findByValidationRun(validationRun.getId()));
         }
         // All events for the project
-        List<TEvent> events = eventDao.list(0, Integer.MAX_VALUE, Collections.singletonMap(Entity.PROJECT, projectId));
+        List<TEvent> events = eventDao.list(0, Integer.MAX_VALUE, Collections.singletonMap(Entity.PROJECT, projectId), true);
         // Comments & properties
         fetchCommentsAndProperties(comments, properties, Entity.PROJECT, projectId);
         for (TBranch branch : branches) {
@@ -366,10 +369,15 @@ public class DefaultExportService implements ExportService {
 
     private abstract class ImportExportTask<R> implements Runnable {
 
+        private final String job;
         private final AtomicBoolean finished = new AtomicBoolean(false);
         private final AtomicReference<Exception> exception = new AtomicReference<>(null);
         private final AtomicReference<R> data = new AtomicReference<>(null);
 
+        protected ImportExportTask(String job) {
+            this.job = job;
+        }
+
         public boolean checkFinished() throws Exception {
             if (finished.get()) {
                 Exception e = exception.get();
@@ -410,6 +418,7 @@ public class DefaultExportService implements ExportService {
 
         @Override
         public final void run() {
+            long start = System.nanoTime();
             try {
                 // Performs the export
                 data(doTask());
@@ -417,6 +426,7 @@ public class DefaultExportService implements ExportService {
                 exception(ex);
             } finally {
                 finished();
+                metricsRegistry.jobCompleted(job, System.nanoTime() - start, exception.get() == null);
             }
         }
 
@@ -429,6 +439,7 @@ public class DefaultExportService implements ExportService {
         private final ExportData importData;
 
         public ImportTask(ExportData importData) {
+            super("import");
             this.importData = importData;
         }
 
@@ -443,6 +454,7 @@ public class DefaultExportService implements ExportService {
         private final Collection<Integer> projectIds;
 
         private ExportTask(Collection<Integer> projectIds) {
+            super("export");
             this.projectIds = projectIds;
         }
 
@@ -0,0 +1,42 @@
+package net.ontrack.backend;
+
+import net.ontrack.backend.metrics.MetricsCollector;
+import net.ontrack.backend.metrics.MetricsRegistry;
+import net.ontrack.core.security.GlobalFunction;
+import net.ontrack.core.security.GlobalGrant;
+import net.ontrack.service.MetricsService;
+import net.ontrack.service.model.MetricSample;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class DefaultMetricsService implements MetricsService {
+
+    private final MetricsRegistry registry;
+    private final MetricsCollector collector;
+
+    @Autowired
+    public DefaultMetricsService(MetricsRegistry registry, MetricsCollector collector) {
+        this.registry = registry;
+        this.collector = collector;
+    }
+
+    @Override
+    public void jobCompleted(String job, long nanos, boolean success) {
+        registry.jobCompleted(job, nanos, success);
+    }
+
+    @Override
+    public void requestCompleted(String endpoint, long nanos) {
+        registry.requestCompleted(endpoint, nanos);
+    }
+
+    @Override
+    @GlobalGrant(GlobalFunction.SETTINGS)
+    public List<MetricSample> getMetrics() {
+        return collector.collect();
+    }
+
+}
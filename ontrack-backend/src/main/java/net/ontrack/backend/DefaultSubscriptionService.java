@@ -76,6 +76,16 @@ public class DefaultSubscriptionService implements SubscriptionService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Set<EntityID> getSubscribedEntities(int accountId) {
+        if (accountId == 0) {
+            return Collections.emptySet();
+        } else {
+            return subscriptionDao.findEntitiesByAccount(accountId);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public SubscriptionEntityInfo getSubscriptionEntityInfo(int accountId, Entity entity, int entityId) {
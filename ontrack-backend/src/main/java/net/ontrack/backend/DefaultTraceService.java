@@ -0,0 +1,74 @@
+package net.ontrack.backend;
+
+import net.ontrack.backend.trace.ZipkinTraceExporter;
+import net.ontrack.core.security.GlobalFunction;
+import net.ontrack.core.security.GlobalGrant;
+import net.ontrack.service.TraceService;
+import net.ontrack.service.support.Trace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Service
+public class DefaultTraceService implements TraceService {
+
+    /**
+     * System property which defines the duration (in ms) above which a trace is kept
+     */
+    public static final String THRESHOLD_PROPERTY = "ontrack.trace.threshold";
+
+    /**
+     * System property which defines the number of slow traces to keep
+     */
+    public static final String SIZE_PROPERTY = "ontrack.trace.size";
+
+    private final Logger logger = LoggerFactory.getLogger(TraceService.class);
+
+    private final ZipkinTraceExporter exporter;
+    private final long threshold = Long.getLong(THRESHOLD_PROPERTY, 500);
+    private final int size = Integer.getInteger(SIZE_PROPERTY, 50);
+    /**
+     * Ring buffer of the slow traces, the most recent last
+     */
+    private final Deque<Trace> slowTraces = new ArrayDeque<>();
+
+    @Autowired
+    public DefaultTraceService(ZipkinTraceExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @Override
+    public void record(Trace trace) {
+        if (trace.getMillis() >= threshold) {
+            logger.info("[trace] Slow trace {} {}", trace, trace.getMillisPerKind());
+            synchronized (slowTraces) {
+                slowTraces.addLast(trace);
+                while (slowTraces.size() > size) {
+                    slowTraces.removeFirst();
+                }
+            }
+        }
+        if (exporter.isEnabled()) {
+            exporter.export(trace);
+        }
+    }
+
+    @Override
+    @GlobalGrant(GlobalFunction.SETTINGS)
+    public List<Trace> getSlowTraces() {
+        List<Trace> traces;
+        synchronized (slowTraces) {
+            traces = new ArrayList<>(slowTraces);
+        }
+        Collections.sort(traces, new Comparator<Trace>() {
+            @Override
+            public int compare(Trace o1, Trace o2) {
+                return Long.compare(o2.getDurationNanos(), o1.getDurationNanos());
+            }
+        });
+        return traces;
+    }
+}
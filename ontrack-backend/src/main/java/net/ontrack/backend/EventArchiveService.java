@@ -0,0 +1,34 @@
+package net.ontrack.backend;
+
+/**
+ * Moves the old events into the archive, where they can still be listed on demand.
+ */
+public interface EventArchiveService extends Runnable {
+
+    /**
+     * Age (in days) of the events to archive, <code>0</code> to disable the archival
+     */
+    int getRetentionDays();
+
+    void setRetentionDays(int retentionDays);
+
+    /**
+     * Number of events which are archived in one transaction
+     */
+    int getBatchSize();
+
+    void setBatchSize(int batchSize);
+
+    /**
+     * Pause (in ms) between two batches, so that the archival does not hold the database
+     */
+    long getBatchPause();
+
+    void setBatchPause(long batchPause);
+
+    /**
+     * Number of events archived since the start
+     */
+    long getArchivedCount();
+
+}
@@ -43,6 +43,10 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
      * @see #getValidationRuns(java.util.Locale, int, int)
      */
     public static final int MAX_EVENTS_IN_BUILD_VALIDATION_STAMP_RUN = 10;
+    /**
+     * Characters which make a property value of a {@link BuildFilter} a regular expression
+     */
+    private static final String PATTERN_CHARS = "^$*+?()[]{}|\\";
     // TODO Split the service in different parts
     private final SecurityUtils securityUtils;
     private final AuthorizationUtils authorizationUtils;
@@ -63,6 +67,7 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
     private final DashboardDao dashboardDao;
     private final PropertiesService propertiesService;
     private final DecorationService decorationService;
+    private final AutoPromotionService autoPromotionService;
     // Dao -> Summary converters
     private final Function<TProject, ProjectSummary> projectSummaryFunction = new Function<TProject, ProjectSummary>() {
         @Override
@@ -151,7 +156,8 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
             BuildCleanupDao buildCleanupDao,
             DashboardDao dashboardDao,
             PropertiesService propertiesService,
-            DecorationService decorationService
+            DecorationService decorationService,
+            AutoPromotionService autoPromotionService
     ) {
         super(validatorService, auditService);
         this.securityUtils = securityUtils;
@@ -173,6 +179,7 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
         this.dashboardDao = dashboardDao;
         this.propertiesService = propertiesService;
         this.decorationService = decorationService;
+        this.autoPromotionService = autoPromotionService;
     }
 
     private AccountSummary getAccountSummary(Integer id) {
@@ -699,6 +706,7 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
         ValidationStampSummary validationStamp = getValidationStamp(validationStampId);
         Ack ack = validationStampDao.deleteValidationStamp(validationStampId);
         if (ack.isSuccess()) {
+            autoPromotionService.invalidate();
             event(Event.of(EventType.VALIDATION_STAMP_DELETED)
                     .withValue("project", validationStamp.getBranch().getProject().getName())
                     .withValue("branch", validationStamp.getBranch().getName())
@@ -805,6 +813,12 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
         return validationStampDao.getImage(validationStampId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ImageContent getValidationStampImage(int validationStampId) {
+        return validationStampDao.getImageContent(validationStampId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<PromotionLevelSummary> getPromotionLevelList(int branch) {
@@ -871,6 +885,7 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
         PromotionLevelSummary promotionLevel = getPromotionLevel(promotionLevelId);
         Ack ack = promotionLevelDao.deletePromotionLevel(promotionLevelId);
         if (ack.isSuccess()) {
+            autoPromotionService.invalidate();
             event(Event.of(EventType.PROMOTION_LEVEL_DELETED)
                     .withValue("project", promotionLevel.getBranch().getProject().getName())
                     .withValue("branch", promotionLevel.getBranch().getName())
@@ -885,6 +900,7 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
         authorizationUtils.checkValidationStamp(validationStampId, ProjectFunction.PROMOTION_LEVEL_MGT);
         Ack ack = validationStampDao.linkValidationStampToPromotionLevel(validationStampId, promotionLevelId);
         if (ack.isSuccess()) {
+            autoPromotionService.invalidate();
             Event event = Event.of(EventType.VALIDATION_STAMP_LINKED);
             event = collectEntityContext(event, Entity.VALIDATION_STAMP, validationStampId);
             event = collectEntityContext(event, Entity.PROMOTION_LEVEL, promotionLevelId);
@@ -901,6 +917,7 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
         authorizationUtils.checkValidationStamp(validationStampId, ProjectFunction.PROMOTION_LEVEL_MGT);
         Ack ack = validationStampDao.unlinkValidationStampToPromotionLevel(validationStampId);
         if (ack.isSuccess()) {
+            autoPromotionService.invalidate();
             Event event = Event.of(EventType.VALIDATION_STAMP_UNLINKED);
             event = collectEntityContext(event, Entity.VALIDATION_STAMP, validationStampId);
             event(event);
@@ -945,6 +962,12 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
         return promotionLevelDao.getImage(promotionLevelId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ImageContent getPromotionLevelImage(int promotionLevelId) {
+        return promotionLevelDao.getImageContent(promotionLevelId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PromotionLevelManagementData getPromotionLevelManagementData(int branchId) {
@@ -977,6 +1000,7 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
             return Flag.UNSET;
         } else {
             promotionLevelDao.setAutoPromote(promotionLevelId, true);
+            autoPromotionService.invalidate();
             return Flag.SET;
         }
     }
@@ -986,6 +1010,7 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
     public Flag unsetPromotionLevelAutoPromote(int promotionLevelId) {
         authorizationUtils.checkPromotionLevel(promotionLevelId, ProjectFunction.PROMOTION_LEVEL_MGT);
         promotionLevelDao.setAutoPromote(promotionLevelId, false);
+        autoPromotionService.invalidate();
         return Flag.UNSET;
     }
 
@@ -1003,30 +1028,8 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
 
     @Override
     @Transactional(readOnly = true)
-    public boolean isPromotionLevelComplete(final int build, int promotionLevelId) {
-        // Gets the promotion level
-        PromotionLevelSummary promotionLevel = getPromotionLevel(promotionLevelId);
-        if (!promotionLevel.isAutoPromote()) {
-            return false;
-        } else {
-            // Gets the list of validation stamps for this promotion level
-            List<ValidationStampSummary> stamps = getValidationStampForPromotionLevel(promotionLevelId);
-            return Iterables.all(
-                    stamps,
-                    new Predicate<ValidationStampSummary>() {
-                        @Override
-                        public boolean apply(ValidationStampSummary stamp) {
-                            TValidationRun r = validationRunDao.findLastByBuildAndValidationStamp(build, stamp.getId());
-                            if (r != null) {
-                                TValidationRunStatus rs = validationRunStatusDao.findLastForValidationRun(r.getId());
-                                return rs != null && rs.getStatus() == Status.PASSED;
-                            } else {
-                                return false;
-                            }
-                        }
-                    }
-            );
-        }
+    public boolean isPromotionLevelComplete(int build, int promotionLevelId) {
+        return autoPromotionService.isPromotionLevelComplete(build, promotionLevelId);
     }
 
     protected List<ValidationStampSummary> getValidationStampForPromotionLevel(int promotionLevelId) {
@@ -1052,7 +1055,19 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
     @Override
     @Transactional(readOnly = true)
     public BranchBuilds queryBuilds(final Locale locale, int branch, BuildFilter filter) {
-        return getBranchBuilds(locale, branch, buildDao.query(branch, filter));
+        // Searchable properties are looked up by prefix, unless a pattern is explicitly given
+        String propertySearchKey = null;
+        PropertyValue withProperty = filter.getWithProperty();
+        if (withProperty != null && StringUtils.isNotBlank(withProperty.getValue()) && !StringUtils.containsAny(withProperty.getValue(), PATTERN_CHARS)) {
+            propertySearchKey = propertiesService.getSearchKey(withProperty.getExtension(), withProperty.getName(), withProperty.getValue());
+        }
+        return getBranchBuilds(locale, branch, buildDao.query(branch, filter, propertySearchKey));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BranchBuild getBranchBuild(Locale locale, int buildId) {
+        return getBuildCompleteStatusFn(locale).apply(buildDao.getById(buildId));
     }
 
     @Override
@@ -1379,6 +1394,7 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
         ValidationRunSummary run = getValidationRun(validationRunId);
         Ack ack = validationRunDao.deleteById(validationRunId);
         if (ack.isSuccess()) {
+            autoPromotionService.invalidateBuild(run.getBuild().getId());
             event(
                     Event.of(EventType.VALIDATION_RUN_DELETED)
                             .withValue("validation_run", "#" + run.getRunOrder())
@@ -1470,6 +1486,16 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
                 signature.getName(),
                 signature.getId()
         );
+        // Validation run
+        TValidationRun t = validationRunDao.getById(validationRun);
+        // Auto-promotion state, only when the status is the one of the last run for the stamp
+        if (initialStatus || validationRunDao.findLastByBuildAndValidationStamp(t.getBuild(), t.getValidationStamp()).getId() == validationRun) {
+            autoPromotionService.onValidationRunStatus(t.getBuild(), t.getValidationStamp(), validationRunStatus.getStatus());
+            // A new status on an existing run may complete the promotion level
+            if (!initialStatus && validationRunStatus.getStatus() == Status.PASSED) {
+                autoPromote(t.getBuild(), t.getValidationStamp(), signature);
+            }
+        }
         // Generates an event for the status
         // Only when additional run
         if (!initialStatus) {
@@ -1488,6 +1514,34 @@ public class ManagementServiceImpl extends AbstractServiceImpl implements Manage
         return new ValidationRunStatusSummary(id, signature.getName(), validationRunStatus.getStatus(), validationRunStatus.getDescription());
     }
 
+    /**
+     * Promotes the build when the validation stamp belongs to an auto-promoted promotion
+     * level whose validation stamps are all passed. Since the promotion is a consequence
+     * of the status, no additional authorization is checked.
+     */
+    protected void autoPromote(int buildId, int validationStamp, Signature signature) {
+        PromotionLevelSummary promotionLevel = getPromotionLevelForValidationStamp(validationStamp);
+        if (promotionLevel != null && promotionLevel.isAutoPromote()
+                && promotedRunDao.findByBuildAndPromotionLevel(buildId, promotionLevel.getId()) == null
+                && autoPromotionService.isPromotionLevelComplete(buildId, promotionLevel.getId())) {
+            promotedRunDao.createPromotedRun(
+                    buildId,
+                    promotionLevel.getId(),
+                    signature.getName(),
+                    signature.getId(),
+                    TimeUtils.now(),
+                    "Created automatically"
+            );
+            PromotedRunSummary run = getPromotedRun(buildId, promotionLevel.getId());
+            event(Event.of(EventType.PROMOTED_RUN_CREATED)
+                    .withProject(run.getBuild().getBranch().getProject().getId())
+                    .withBranch(run.getBuild().getBranch().getId())
+                    .withPromotionLevel(promotionLevel.getId())
+                    .withBuild(buildId)
+            );
+        }
+    }
+
     public ValidationRunStatusStub getLastValidationRunStatus(int validationRunId) {
         TValidationRunStatus t = validationRunStatusDao.findLastForValidationRun(validationRunId);
         return new ValidationRunStatusStub(
@@ -0,0 +1,64 @@
+package net.ontrack.backend.admission;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket: each request takes one token, and the tokens are given back at a constant
+ * rate, up to the capacity of the bucket. The capacity allows short bursts above the rate.
+ * <p/>
+ * The times are given by the caller, in nanoseconds, using {@link System#nanoTime()}.
+ */
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long last;
+
+    /**
+     * @param rate     Number of tokens given back per second
+     * @param capacity Maximum number of tokens, the bucket being full at the start
+     * @param now      Current time
+     */
+    public TokenBucket(double rate, int capacity, long now) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("The rate must be positive");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1");
+        }
+        this.tokensPerNano = rate / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.last = now;
+    }
+
+    /**
+     * Takes a token if one is available
+     *
+     * @return 0 if a token has been taken, otherwise the number of nanoseconds until
+     *         a token is available
+     */
+    public synchronized long tryConsume(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        } else {
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        }
+    }
+
+    public synchronized double getTokens(long now) {
+        refill(now);
+        return tokens;
+    }
+
+    private void refill(long now) {
+        if (now > last) {
+            tokens = Math.min(capacity, tokens + (now - last) * tokensPerNano);
+            last = now;
+        }
+    }
+
+}
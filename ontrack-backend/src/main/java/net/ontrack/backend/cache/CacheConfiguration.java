@@ -1,34 +1,48 @@
 package net.ontrack.backend.cache;
 
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    private final List<GuavaCacheFactoryBean> caches = Arrays.asList(
+            new GuavaCacheFactoryBean(Caches.ACCOUNT, 100, 600),
+            new GuavaCacheFactoryBean(Caches.PROJECT, 10, 60),
+            new GuavaCacheFactoryBean(Caches.BRANCH, 50, 60),
+            new GuavaCacheFactoryBean(Caches.VALIDATION_STAMP, 100, 60),
+            new GuavaCacheFactoryBean(Caches.VALIDATION_STAMP_IMAGE, 500, 60),
+            new GuavaCacheFactoryBean(Caches.PROMOTION_LEVEL_IMAGE, 200, 60),
+            new GuavaCacheFactoryBean(Caches.BUILD, 200, 60),
+            new GuavaCacheFactoryBean(Caches.CONFIGURATION_KEY, 50, 60),
+            new GuavaCacheFactoryBean(Caches.CONFIGURATION, 3, 600),
+            new GuavaCacheFactoryBean(Caches.MAIL, 1, 600),
+            new GuavaCacheFactoryBean(Caches.LDAP, 1, 600)
+    );
+
     @Bean
     public CacheManager cacheManager() throws Exception {
         SimpleCacheManager o = new SimpleCacheManager();
-        o.setCaches(
-                Arrays.asList(
-                        new GuavaCacheFactoryBean(Caches.ACCOUNT, 100, 600).getObject(),
-                        new GuavaCacheFactoryBean(Caches.PROJECT, 10, 60).getObject(),
-                        new GuavaCacheFactoryBean(Caches.BRANCH, 50, 60).getObject(),
-                        new GuavaCacheFactoryBean(Caches.VALIDATION_STAMP, 100, 60).getObject(),
-                        new GuavaCacheFactoryBean(Caches.BUILD, 200, 60).getObject(),
-                        new GuavaCacheFactoryBean(Caches.CONFIGURATION_KEY, 50, 60).getObject(),
-                        new GuavaCacheFactoryBean(Caches.CONFIGURATION, 3, 600).getObject(),
-                        new GuavaCacheFactoryBean(Caches.MAIL, 1, 600).getObject(),
-                        new GuavaCacheFactoryBean(Caches.LDAP, 1, 600).getObject()
-                )
-        );
+        List<Cache> list = new ArrayList<>();
+        for (GuavaCacheFactoryBean cache : caches) {
+            list.add(cache.getObject());
+        }
+        o.setCaches(list);
         return o;
     }
 
+    @Bean
+    public CacheMetricsProvider cacheMetricsProvider() {
+        return new CacheMetricsProvider(caches);
+    }
+
 }
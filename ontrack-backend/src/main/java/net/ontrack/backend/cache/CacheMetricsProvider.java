@@ -0,0 +1,40 @@
+package net.ontrack.backend.cache;
+
+import com.google.common.cache.CacheStats;
+import net.ontrack.service.MetricsProvider;
+import net.ontrack.service.model.MetricSample;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Size, hits, misses and evictions of the caches.
+ */
+public class CacheMetricsProvider implements MetricsProvider {
+
+    private final Collection<GuavaCacheFactoryBean> caches;
+
+    public CacheMetricsProvider(Collection<GuavaCacheFactoryBean> caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public Collection<MetricSample> getMetrics() {
+        List<MetricSample> samples = new ArrayList<>();
+        for (GuavaCacheFactoryBean cache : caches) {
+            String name = cache.getName();
+            CacheStats stats = cache.getStats();
+            samples.add(MetricSample.gauge("ontrack_cache_size", "Number of entries in the caches",
+                    cache.getSize(), "cache", name));
+            samples.add(MetricSample.counter("ontrack_cache_requests_total", "Number of lookups in the caches",
+                    stats.hitCount(), "cache", name, "result", "hit"));
+            samples.add(MetricSample.counter("ontrack_cache_requests_total", "Number of lookups in the caches",
+                    stats.missCount(), "cache", name, "result", "miss"));
+            samples.add(MetricSample.counter("ontrack_cache_evictions_total", "Number of entries evicted from the caches",
+                    stats.evictionCount(), "cache", name));
+        }
+        return samples;
+    }
+
+}
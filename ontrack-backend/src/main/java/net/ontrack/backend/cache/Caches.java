@@ -10,6 +10,10 @@ public interface Caches {
 
     String VALIDATION_STAMP = "VALIDATION_STAMP";
 
+    String VALIDATION_STAMP_IMAGE = "VALIDATION_STAMP_IMAGE";
+
+    String PROMOTION_LEVEL_IMAGE = "PROMOTION_LEVEL_IMAGE";
+
     String BUILD = "BUILD";
 
     String CONFIGURATION_KEY = "CONFIGURATION_KEY";
@@ -1,24 +1,40 @@
 package net.ontrack.backend.cache;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleValueWrapper;
 
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 public class GuavaCacheFactoryBean implements FactoryBean<ConcurrentMapCache> {
 
-    private final ConcurrentMap<Object, Object> store;
+    private final String name;
+    private final Cache<Object, Object> store;
     private final ConcurrentMapCache cache;
 
     public GuavaCacheFactoryBean(String name, int maxSize, int expirationAccessTime) {
+        this.name = name;
         this.store = CacheBuilder.newBuilder()
                 .expireAfterAccess(expirationAccessTime, TimeUnit.MINUTES)
                 .maximumSize(maxSize)
-                .build()
-                .asMap();
-        this.cache = new ConcurrentMapCache(name, store, true);
+                .recordStats()
+                .build();
+        this.cache = new GuavaCache(name, store);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSize() {
+        return store.size();
+    }
+
+    public CacheStats getStats() {
+        return store.stats();
     }
 
     @Override
@@ -36,4 +52,23 @@ public class GuavaCacheFactoryBean implements FactoryBean<ConcurrentMapCache> {
         return true;
     }
 
-}
\ No newline at end of file
+    /**
+     * The lookups through the map view of the Guava cache are not counted in its statistics.
+     */
+    private static class GuavaCache extends ConcurrentMapCache {
+
+        private final Cache<Object, Object> store;
+
+        private GuavaCache(String name, Cache<Object, Object> store) {
+            super(name, store.asMap(), true);
+            this.store = store;
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            Object value = store.getIfPresent(key);
+            return value != null ? new SimpleValueWrapper(fromStoreValue(value)) : null;
+        }
+    }
+
+}
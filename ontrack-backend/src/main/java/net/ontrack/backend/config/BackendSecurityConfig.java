@@ -4,10 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ImportResource;
+import org.springframework.core.OrderComparator;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.ProviderManager;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Configuration
@@ -17,9 +20,15 @@ public class BackendSecurityConfig {
     @Autowired
     private List<AuthenticationProvider> providers;
 
+    /**
+     * The providers are consulted according to their {@linkplain org.springframework.core.Ordered order},
+     * the ones without an order last.
+     */
     @Bean
     public AuthenticationManager authenticationManager() {
-        return new ProviderManager(providers);
+        List<AuthenticationProvider> list = new ArrayList<>(providers);
+        Collections.sort(list, new OrderComparator());
+        return new ProviderManager(list);
     }
 
 }
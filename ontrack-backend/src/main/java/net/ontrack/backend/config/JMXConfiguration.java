@@ -1,6 +1,10 @@
 package net.ontrack.backend.config;
 
 import net.ontrack.backend.BuildCleanupService;
+import net.ontrack.backend.EventArchiveService;
+import net.ontrack.backend.db.DataSourceReplicas;
+import net.ontrack.backend.db.JdbcStatistics;
+import net.ontrack.backend.metrics.MetricsCollector;
 import net.ontrack.core.support.MapBuilder;
 import net.sf.jstring.Strings;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,16 +20,37 @@ public class JMXConfiguration {
     @Autowired
     private BuildCleanupService buildCleanupService;
 
+    @Autowired
+    private EventArchiveService eventArchiveService;
+
     @Autowired
     private Strings strings;
 
+    @Autowired
+    private JdbcStatistics jdbcStatistics;
+
+    @Autowired
+    private MetricsCollector metricsCollector;
+
+    /**
+     * Not available in the test environment
+     */
+    @Autowired(required = false)
+    private DataSourceReplicas dataSourceReplicas;
+
     @Bean
     public Object exporter() throws IOException {
         MBeanExporter exporter = new MBeanExporter();
-        exporter.setBeans(MapBuilder.<String, Object>create()
+        MapBuilder<String, Object> beans = MapBuilder.<String, Object>create()
                 .with("configuration:name=buildCleanupService", buildCleanupService)
+                .with("configuration:name=eventArchiveService", eventArchiveService)
                 .with("configuration:name=strings", strings)
-                .get());
+                .with("statistics:name=jdbc", jdbcStatistics)
+                .with("statistics:name=metrics", metricsCollector);
+        if (dataSourceReplicas != null) {
+            beans.with("statistics:name=replicas", dataSourceReplicas);
+        }
+        exporter.setBeans(beans.get());
         return exporter;
     }
 
@@ -1,8 +1,11 @@
 package net.ontrack.backend.config;
 
+import net.ontrack.backend.db.DBCreation;
+import net.ontrack.backend.metrics.MetricsRegistry;
 import net.ontrack.service.api.ScheduledService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -18,6 +21,10 @@ public class SchedulingConfiguration implements SchedulingConfigurer {
     private final Logger logger = LoggerFactory.getLogger(SchedulingConfiguration.class);
     @Autowired(required = false)
     private Collection<ScheduledService> scheduledServices;
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+    @Autowired
+    private DBCreation dbCreation;
 
     @Override
     public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
@@ -25,12 +32,38 @@ public class SchedulingConfiguration implements SchedulingConfigurer {
             logger.info("[scheduling] Registering scheduling services...");
             for (ScheduledService scheduledService : scheduledServices) {
                 logger.info("[scheduling] Registering scheduling service {}", scheduledService);
+                // The executions are recorded in the metrics, using the name of the service
                 taskRegistrar.addTriggerTask(
-                        scheduledService.getTask(),
+                        afterStartup(
+                                metricsRegistry.monitor(
+                                        AopUtils.getTargetClass(scheduledService).getSimpleName(),
+                                        scheduledService.getTask()
+                                )
+                        ),
                         scheduledService.getTrigger()
                 );
             }
         }
     }
 
+    /**
+     * The tasks do not run before the startup services have completed.
+     *
+     * @see DBCreation#awaitStartup()
+     */
+    private Runnable afterStartup(final Runnable task) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    dbCreation.awaitStartup();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                task.run();
+            }
+        };
+    }
+
 }
@@ -0,0 +1,29 @@
+package net.ontrack.backend.dao;
+
+import net.ontrack.backend.dao.model.TAccountToken;
+import net.ontrack.core.model.Ack;
+import net.ontrack.core.model.ID;
+import org.joda.time.DateTime;
+
+import java.util.List;
+
+public interface AccountTokenDao {
+
+    ID createToken(int account, String name, String tokenHash);
+
+    List<TAccountToken> findByAccount(int account);
+
+    /**
+     * Gets the token for a hash, <code>null</code> if it does not exist (or has been revoked)
+     */
+    TAccountToken findByHash(String tokenHash);
+
+    Ack deleteToken(int account, int id);
+
+    /**
+     * Records the use of a token. The time is only updated if it was older than the
+     * given time, so that a token used on each request is not written each time.
+     */
+    void tokenUsed(int id, DateTime time, DateTime before);
+
+}
@@ -1,6 +1,7 @@
 package net.ontrack.backend.dao;
 
 import net.ontrack.backend.dao.model.TBuild;
+import net.ontrack.backend.dao.model.TBuildCreation;
 import net.ontrack.core.model.Ack;
 import net.ontrack.core.model.BuildFilter;
 import net.ontrack.core.model.Status;
@@ -17,7 +18,21 @@ public interface BuildDao {
 
     int createBuild(int branch, String name, String description);
 
-    List<TBuild> query(int branch, BuildFilter filter);
+    /**
+     * Creates several builds for a branch in one batch
+     *
+     * @return IDs of the created builds, in the same order
+     */
+    List<Integer> createBuilds(int branch, List<TBuildCreation> builds);
+
+    /**
+     * Queries the builds of a branch
+     *
+     * @param propertySearchKey If not <code>null</code>, the builds are filtered on the search key of
+     *                          their property, starting with this prefix. Otherwise, the property value
+     *                          of the filter is used as a regular expression.
+     */
+    List<TBuild> query(int branch, BuildFilter filter, String propertySearchKey);
 
 	TBuild findLastBuildWithValidationStamp(int validationStamp, Set<Status> statuses);
 
@@ -29,6 +44,11 @@ public interface BuildDao {
 
     Integer findByBrandAndName(int branchId, String buildName);
 
+    /**
+     * Gets the first build whose name comes at or after the given name, in a natural order
+     *
+     * @see net.ontrack.backend.db.BuildSortKey
+     */
     Integer findBuildAfterUsingNumericForm(int branchId, String buildName);
 
     Ack delete(int buildId);
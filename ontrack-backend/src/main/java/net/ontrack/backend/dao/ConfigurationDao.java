@@ -1,7 +1,14 @@
 package net.ontrack.backend.dao;
 
+import java.util.Map;
+
 public interface ConfigurationDao {
     String getValue(String name);
 
+    /**
+     * Gets all the configuration values, indexed by name
+     */
+    Map<String, String> getValues();
+
     void setValue(String name, String value);
 }
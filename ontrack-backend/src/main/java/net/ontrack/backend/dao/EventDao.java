@@ -1,6 +1,7 @@
 package net.ontrack.backend.dao;
 
 import net.ontrack.backend.dao.model.TEvent;
+import net.ontrack.backend.dao.model.TEventCreation;
 import net.ontrack.core.model.Entity;
 import net.ontrack.core.model.EventType;
 import org.joda.time.DateTime;
@@ -15,12 +16,68 @@ public interface EventDao {
 
     int importEvent(String author, Integer authorId, DateTime timestamp, EventType eventType, Map<Entity, Integer> entities, Map<String, String> values);
 
-    List<TEvent> list(int offset, int count, Map<Entity, Integer> entities);
+    /**
+     * Imports several events in the given order, their values in one batch
+     */
+    void importEvents(List<TEventCreation> events);
+
+    /**
+     * Lists the events, newest first
+     *
+     * @param archive <code>true</code> if the archived events must be listed as well
+     */
+    List<TEvent> list(int offset, int count, Map<Entity, Integer> entities, boolean archive);
+
+    /**
+     * Moves some events into the archive, oldest first. Only the events which have been sent
+     * are archived, and never the creations of the projects, branches, builds, validation
+     * stamps and promotion levels.
+     *
+     * @param before Only the events created before this time are archived
+     * @param count  Maximum number of events to archive
+     * @return Number of archived events
+     */
+    int archive(DateTime before, int count);
+
+    /**
+     * Lists the events created after a given one, oldest first
+     */
+    List<TEvent> listAfter(int after, int count, Map<Entity, Integer> entities);
+
+    /**
+     * ID of the last event, <code>0</code> if there is none
+     */
+    int getLastEventId();
+
+    /**
+     * Version of an entity, that is the ID of the last event which has changed it, or the
+     * name of one of its context entities. <code>0</code> if there is none.
+     */
+    int getEntityVersion(Entity entity, int id);
+
+    /**
+     * Version of the list of the entities of a given type, that is the ID of the last event
+     * which has created, changed or deleted one of them, or changed the name of one of the
+     * parents. <code>0</code> if there is none.
+     *
+     * @param parents Filter on the parents of the entities
+     */
+    int getEntityListVersion(Entity entity, Map<Entity, Integer> parents);
+
+    /**
+     * Creation time of an event, archived or not, <code>null</code> if there is no such event
+     */
+    DateTime getEventTimestamp(int id);
 
     TEvent getById(int id);
 
     Collection<TEvent> findEventsToSend();
 
+    /**
+     * Number of events which have not been sent yet
+     */
+    int countEventsToSend();
+
     void eventSent(int id);
 
     void renameAuthor(int id, String name);
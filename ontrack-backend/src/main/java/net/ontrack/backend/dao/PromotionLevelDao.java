@@ -2,6 +2,7 @@ package net.ontrack.backend.dao;
 
 import net.ontrack.backend.dao.model.TPromotionLevel;
 import net.ontrack.core.model.Ack;
+import net.ontrack.core.model.ImageContent;
 
 import java.util.List;
 
@@ -25,6 +26,12 @@ public interface PromotionLevelDao {
 
     byte[] getImage(int id);
 
+    /**
+     * Image and its hash, or <code>null</code> if there is no image. The images
+     * are cached, and evicted when updated.
+     */
+    ImageContent getImageContent(int id);
+
     Ack deletePromotionLevel(int promotionLevelId);
 
     void setAutoPromote(int promotionLevelId, boolean flag);
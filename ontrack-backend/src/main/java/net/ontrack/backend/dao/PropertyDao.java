@@ -1,18 +1,54 @@
 package net.ontrack.backend.dao;
 
+import com.google.common.base.Function;
 import net.ontrack.backend.dao.model.TProperty;
 import net.ontrack.core.model.Entity;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface PropertyDao {
 
-    void saveProperty(Entity entity, int entityId, String extension, String name, String value);
+    /**
+     * Saves or deletes the value of a property
+     *
+     * @param searchKey Normalized key to look up the entity by, <code>null</code> if the
+     *                  property is not searchable
+     */
+    void saveProperty(Entity entity, int entityId, String extension, String name, String value, String searchKey);
+
+    /**
+     * Creates the same property for several entities in one batch. The entities must
+     * not have this property yet.
+     *
+     * @param values    Values of the property, indexed by entity ID
+     * @param searchKey Computes the search key for a value, <code>null</code> if the
+     *                  property is not searchable
+     */
+    void createProperties(Entity entity, String extension, String name, Map<Integer, String> values, Function<String, String> searchKey);
 
     TProperty findByExtensionAndName(Entity entity, int entityId, String extension, String name);
 
     List<TProperty> findAll(Entity entity, int entityId);
 
     Collection<Integer> findEntityByPropertyValue(Entity entity, String extension, String name, String value);
+
+    /**
+     * Looks up the entities using the index of the searchable properties
+     */
+    Collection<Integer> findEntityBySearchKey(Entity entity, String extension, String name, String searchKey);
+
+    /**
+     * Looks up the entities whose search key starts with the given prefix
+     */
+    Collection<Integer> findEntityBySearchKeyPrefix(Entity entity, String extension, String name, String prefix);
+
+    /**
+     * Indexes the values of a property which have no search key yet
+     *
+     * @param searchKey Computes the search key for a value
+     * @return Number of indexed values
+     */
+    int index(String extension, String name, Function<String, String> searchKey);
 }
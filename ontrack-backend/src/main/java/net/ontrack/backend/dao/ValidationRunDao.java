@@ -1,6 +1,7 @@
 package net.ontrack.backend.dao;
 
 import net.ontrack.backend.dao.model.TValidationRun;
+import net.ontrack.backend.dao.model.TValidationRunCreation;
 import net.ontrack.core.model.Ack;
 import net.ontrack.core.model.Status;
 
@@ -18,7 +19,21 @@ public interface ValidationRunDao {
 
     int createValidationRun(int build, int validationStamp, String description);
 
+    /**
+     * Creates several validation runs for a build in one batch. The creations of
+     * runs for the same build are serialized.
+     *
+     * @return IDs of the created runs, in the same order
+     */
+    List<Integer> createValidationRuns(int build, List<TValidationRunCreation> runs);
+
     Ack deleteById(int validationRunId);
 
     int getCountOfStatusForValidationStamp(int validationStamp, Status status);
+
+    /**
+     * Gets the validation stamps of a promotion level whose last run for the build
+     * has the given status as last status.
+     */
+    List<Integer> findValidationStampsOfPromotionLevelWithLastStatus(int build, int promotionLevel, Status status);
 }
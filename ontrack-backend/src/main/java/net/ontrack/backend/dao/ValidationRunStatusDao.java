@@ -2,9 +2,11 @@ package net.ontrack.backend.dao;
 
 import net.ontrack.backend.dao.model.TValidationRunStatus;
 import net.ontrack.core.model.Status;
+import net.ontrack.core.model.ValidationRunStatusCreationForm;
 import org.joda.time.DateTime;
 
 import java.util.Collection;
+import java.util.Map;
 
 public interface ValidationRunStatusDao {
 
@@ -12,6 +14,13 @@ public interface ValidationRunStatusDao {
 
     int createValidationRunStatus(int validationRun, Status status, String description, String author, Integer authorId);
 
+    /**
+     * Creates the statuses of several validation runs in one batch
+     *
+     * @param statuses Statuses indexed by validation run ID
+     */
+    void createValidationRunStatuses(Map<Integer, ValidationRunStatusCreationForm> statuses, String author, Integer authorId);
+
     int createValidationRunStatusForImport(int validationRun, Status status, String description, String author, DateTime dateTime);
 
     Collection<TValidationRunStatus> findByText(String text);
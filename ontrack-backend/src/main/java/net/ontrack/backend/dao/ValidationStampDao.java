@@ -2,6 +2,7 @@ package net.ontrack.backend.dao;
 
 import net.ontrack.backend.dao.model.TValidationStamp;
 import net.ontrack.core.model.Ack;
+import net.ontrack.core.model.ImageContent;
 
 import java.util.List;
 
@@ -29,6 +30,12 @@ public interface ValidationStampDao {
 
     byte[] getImage(int id);
 
+    /**
+     * Image and its hash, or <code>null</code> if there is no image. The images
+     * are cached, and evicted when updated.
+     */
+    ImageContent getImageContent(int id);
+
     TValidationStamp getByBranchAndName(int branch, String validationStamp);
 
     TValidationStamp findByBranchAndName(int branch, String validationStamp);
@@ -0,0 +1,96 @@
+package net.ontrack.backend.dao.jdbc;
+
+import net.ontrack.backend.dao.AccountTokenDao;
+import net.ontrack.backend.dao.model.TAccountToken;
+import net.ontrack.backend.db.SQL;
+import net.ontrack.core.model.Ack;
+import net.ontrack.core.model.ID;
+import net.ontrack.dao.AbstractJdbcDao;
+import net.ontrack.dao.SQLUtils;
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+@Component
+public class AccountTokenJdbcDao extends AbstractJdbcDao implements AccountTokenDao {
+
+    private final RowMapper<TAccountToken> accountTokenRowMapper = new RowMapper<TAccountToken>() {
+        @Override
+        public TAccountToken mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new TAccountToken(
+                    rs.getInt("id"),
+                    rs.getInt("account"),
+                    rs.getString("name"),
+                    SQLUtils.getDateTime(rs, "creation"),
+                    SQLUtils.getDateTime(rs, "last_used")
+            );
+        }
+    };
+
+    @Autowired
+    public AccountTokenJdbcDao(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    @Transactional
+    public ID createToken(int account, String name, String tokenHash) {
+        return ID.success(dbCreate(
+                SQL.ACCOUNT_TOKEN_CREATE,
+                params("account", account)
+                        .addValue("name", name)
+                        .addValue("tokenHash", tokenHash)
+                        .addValue("creation", SQLUtils.toTimestamp(SQLUtils.now()))
+        ));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TAccountToken> findByAccount(int account) {
+        return getNamedParameterJdbcTemplate().query(
+                SQL.ACCOUNT_TOKEN_LIST,
+                params("account", account),
+                accountTokenRowMapper
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TAccountToken findByHash(String tokenHash) {
+        return getFirstItem(
+                SQL.ACCOUNT_TOKEN_BY_HASH,
+                params("tokenHash", tokenHash),
+                accountTokenRowMapper
+        );
+    }
+
+    @Override
+    @Transactional
+    public Ack deleteToken(int account, int id) {
+        return Ack.one(
+                getNamedParameterJdbcTemplate().update(
+                        SQL.ACCOUNT_TOKEN_DELETE,
+                        params("account", account).addValue("id", id)
+                )
+        );
+    }
+
+    @Override
+    @Transactional
+    public void tokenUsed(int id, DateTime time, DateTime before) {
+        getNamedParameterJdbcTemplate().update(
+                SQL.ACCOUNT_TOKEN_USED,
+                params("id", id)
+                        .addValue("lastUsed", SQLUtils.toTimestamp(time))
+                        .addValue("before", SQLUtils.toTimestamp(before))
+        );
+    }
+
+}
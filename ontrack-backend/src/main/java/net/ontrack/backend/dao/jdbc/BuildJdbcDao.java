@@ -8,8 +8,10 @@ import net.ontrack.backend.dao.BuildDao;
 import net.ontrack.backend.dao.PromotionLevelDao;
 import net.ontrack.backend.dao.ValidationStampDao;
 import net.ontrack.backend.dao.model.TBuild;
+import net.ontrack.backend.dao.model.TBuildCreation;
 import net.ontrack.backend.dao.model.TPromotionLevel;
 import net.ontrack.backend.dao.model.TValidationStamp;
+import net.ontrack.backend.db.BuildSortKey;
 import net.ontrack.backend.db.SQL;
 import net.ontrack.core.model.*;
 import net.ontrack.dao.AbstractJdbcDao;
@@ -18,8 +20,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -99,8 +103,8 @@ public class BuildJdbcDao extends AbstractJdbcDao implements BuildDao {
     @Transactional(readOnly = true)
     public Integer findBuildAfterUsingNumericForm(int branchId, String buildName) {
         return getFirstItem(
-                SQL.BUILD_BY_BRANCH_AND_NUMERIC_NAME,
-                params("branch", branchId).addValue("name", buildName),
+                SQL.BUILD_BY_BRANCH_AND_SORT_KEY,
+                params("branch", branchId).addValue("sortKey", BuildSortKey.of(buildName)),
                 Integer.class
         );
     }
@@ -124,7 +128,10 @@ public class BuildJdbcDao extends AbstractJdbcDao implements BuildDao {
             return Ack.one(
                     getNamedParameterJdbcTemplate().update(
                             SQL.BUILD_UPDATE,
-                            params("id", buildId).addValue("name", name).addValue("description", description)
+                            params("id", buildId)
+                                    .addValue("name", name)
+                                    .addValue("sortKey", BuildSortKey.of(name))
+                                    .addValue("description", description)
                     )
             );
         } catch (DuplicateKeyException ex) {
@@ -143,7 +150,7 @@ public class BuildJdbcDao extends AbstractJdbcDao implements BuildDao {
 
     @Override
     @Transactional(readOnly = true)
-    public List<TBuild> query(int branch, BuildFilter filter) {
+    public List<TBuild> query(int branch, BuildFilter filter, String propertySearchKey) {
         // "Last build per promotion" overrides all other filters
         if (filter.isForEachPromotionLevel()) {
             return queryLastBuildForEachPromotionLevel(branch, filter);
@@ -231,7 +238,10 @@ public class BuildJdbcDao extends AbstractJdbcDao implements BuildDao {
             params.addValue("propertyExtension", withProperty.getExtension());
             params.addValue("propertyName", withProperty.getName());
             String withPropertyValue = withProperty.getValue();
-            if (StringUtils.isNotBlank(withPropertyValue)) {
+            if (propertySearchKey != null) {
+                sql.append(" AND PP.SEARCH_KEY LIKE :propertySearchKey ESCAPE '\\'");
+                params.addValue("propertySearchKey", getPrefixPattern(propertySearchKey));
+            } else if (StringUtils.isNotBlank(withPropertyValue)) {
                 sql.append(" AND PP.VALUE REGEXP :propertyValue");
                 params.addValue("propertyValue", withPropertyValue);
             }
@@ -332,10 +342,52 @@ public class BuildJdbcDao extends AbstractJdbcDao implements BuildDao {
                     SQL.BUILD_CREATE,
                     params("branch", branch)
                             .addValue("name", name)
+                            .addValue("sortKey", BuildSortKey.of(name))
                             .addValue("description", description)
             );
         } catch (DuplicateKeyException ex) {
             throw new BuildAlreadyExistsException(name);
         }
     }
+
+    @Override
+    @Transactional
+    public List<Integer> createBuilds(int branch, List<TBuildCreation> builds) {
+        if (builds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Creation
+        List<String> names = new ArrayList<>(builds.size());
+        SqlParameterSource[] batch = new SqlParameterSource[builds.size()];
+        for (int i = 0; i < batch.length; i++) {
+            TBuildCreation build = builds.get(i);
+            names.add(build.getName());
+            batch[i] = params("branch", branch)
+                    .addValue("name", build.getName())
+                    .addValue("sortKey", BuildSortKey.of(build.getName()))
+                    .addValue("description", build.getDescription());
+        }
+        try {
+            getNamedParameterJdbcTemplate().batchUpdate(SQL.BUILD_CREATE, batch);
+        } catch (DuplicateKeyException ex) {
+            throw new BuildAlreadyExistsException(StringUtils.join(names, ", "));
+        }
+        // Gets the IDs back
+        final Map<String, Integer> ids = new HashMap<>();
+        getNamedParameterJdbcTemplate().query(
+                SQL.BUILD_IDS_BY_BRANCH_AND_NAMES,
+                params("branch", branch).addValue("names", names),
+                new RowCallbackHandler() {
+                    @Override
+                    public void processRow(ResultSet rs) throws SQLException {
+                        ids.put(rs.getString("name"), rs.getInt("id"));
+                    }
+                }
+        );
+        List<Integer> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            result.add(ids.get(name));
+        }
+        return result;
+    }
 }
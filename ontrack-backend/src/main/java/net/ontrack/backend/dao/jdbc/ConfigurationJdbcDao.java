@@ -7,12 +7,17 @@ import net.ontrack.dao.AbstractJdbcDao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
 public class ConfigurationJdbcDao extends AbstractJdbcDao implements ConfigurationDao {
@@ -29,6 +34,19 @@ public class ConfigurationJdbcDao extends AbstractJdbcDao implements Configurati
         return getFirstItem(SQL.CONFIGURATION_GET, params("name", name), String.class);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, String> getValues() {
+        final Map<String, String> values = new HashMap<>();
+        getJdbcTemplate().query(SQL.CONFIGURATION_ALL, new RowCallbackHandler() {
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                values.put(rs.getString("NAME"), rs.getString("VALUE"));
+            }
+        });
+        return values;
+    }
+
     @Override
     @Transactional
     @CacheEvict(value = Caches.CONFIGURATION_KEY, key = "#name")
@@ -23,9 +23,12 @@ public class DBFixReorderingValidationStamps implements StartupService {
         return DBFixReorderingValidationStamps.class.getSimpleName();
     }
 
+    /**
+     * Independent from the indexation of the properties, both are run in parallel
+     */
     @Override
     public int startupOrder() {
-        return 10;
+        return 5;
     }
 
     @Override
@@ -3,6 +3,7 @@ package net.ontrack.backend.dao.jdbc;
 import net.ontrack.backend.EventNotRelatedException;
 import net.ontrack.backend.dao.EventDao;
 import net.ontrack.backend.dao.model.TEvent;
+import net.ontrack.backend.dao.model.TEventCreation;
 import net.ontrack.backend.db.SQL;
 import net.ontrack.core.model.Entity;
 import net.ontrack.core.model.EventType;
@@ -12,6 +13,7 @@ import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,17 +21,38 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.sql.DataSource;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.sql.Timestamp;
+import java.util.*;
 
 import static java.lang.String.format;
 
 @Component
 public class EventJdbcDao extends AbstractJdbcDao implements EventDao {
 
-    private final RowMapper<TEvent> eventRowMapper = new RowMapper<TEvent>() {
+    /**
+     * Types of the events which are never archived, because the creation signatures of the
+     * entities and their versions rely on them
+     */
+    private static final List<String> EVENTS_NOT_ARCHIVED = Arrays.asList(
+            EventType.PROJECT_CREATED.name(),
+            EventType.BRANCH_CREATED.name(),
+            EventType.BUILD_CREATED.name(),
+            EventType.VALIDATION_STAMP_CREATED.name(),
+            EventType.PROMOTION_LEVEL_CREATED.name()
+    );
+
+    private final RowMapper<TEvent> eventRowMapper = new EventRowMapper(SQL.EVENT_VALUE_LIST);
+
+    private final RowMapper<TEvent> eventWithArchiveRowMapper = new EventRowMapper(SQL.EVENT_VALUE_LIST_WITH_ARCHIVE);
+
+    private class EventRowMapper implements RowMapper<TEvent> {
+
+        private final String valuesSql;
+
+        private EventRowMapper(String valuesSql) {
+            this.valuesSql = valuesSql;
+        }
+
         @Override
         public TEvent mapRow(ResultSet rs, int rowNum) throws SQLException {
 
@@ -58,7 +81,7 @@ public class EventJdbcDao extends AbstractJdbcDao implements EventDao {
                 }
 
                 // Collects the values
-                List<Map<String, Object>> values = getNamedParameterJdbcTemplate().queryForList(SQL.EVENT_VALUE_LIST, new MapSqlParameterSource("id", id));
+                List<Map<String, Object>> values = getNamedParameterJdbcTemplate().queryForList(valuesSql, new MapSqlParameterSource("id", id));
                 for (Map<String, Object> row : values) {
                     String name = (String) row.get("PROP_NAME");
                     String value = (String) row.get("PROP_VALUE");
@@ -76,7 +99,7 @@ public class EventJdbcDao extends AbstractJdbcDao implements EventDao {
                 );
             }
         }
-    };
+    }
 
     @Autowired
     public EventJdbcDao(DataSource dataSource) {
@@ -102,6 +125,12 @@ public class EventJdbcDao extends AbstractJdbcDao implements EventDao {
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public int countEventsToSend() {
+        return getJdbcTemplate().queryForInt(SQL.EVENTS_TO_SEND_COUNT);
+    }
+
     @Override
     @Transactional
     public void eventSent(int id) {
@@ -118,6 +147,10 @@ public class EventJdbcDao extends AbstractJdbcDao implements EventDao {
                 SQL.EVENTS_RENAME_AUTHOR,
                 params("id", id).addValue("name", name)
         );
+        getNamedParameterJdbcTemplate().update(
+                SQL.EVENTS_ARCHIVE_RENAME_AUTHOR,
+                params("id", id).addValue("name", name)
+        );
     }
 
     @Override
@@ -164,34 +197,227 @@ public class EventJdbcDao extends AbstractJdbcDao implements EventDao {
         return eventId;
     }
 
+    @Override
+    @Transactional
+    public void importEvents(List<TEventCreation> events) {
+        // All the entity columns are set, so that all the events share the same statement
+        StringBuilder sqlInsert = new StringBuilder("INSERT INTO EVENTS (AUTHOR, AUTHOR_ID, EVENT_TIMESTAMP, EVENT_TYPE");
+        StringBuilder sqlValues = new StringBuilder("VALUES (:author, :author_id, :event_timestamp, :event_type");
+        for (Entity entity : Entity.values()) {
+            sqlInsert.append(", ").append(entity.name());
+            sqlValues.append(", :").append(entity.name());
+        }
+        String sql = sqlInsert + ") " + sqlValues + ")";
+        // Events, one by one to get their ID back
+        List<SqlParameterSource> valueBatch = new ArrayList<>();
+        for (TEventCreation event : events) {
+            MapSqlParameterSource params = params("author", event.getAuthor())
+                    .addValue("author_id", event.getAuthorId())
+                    .addValue("event_timestamp", SQLUtils.toTimestamp(event.getTimestamp()))
+                    .addValue("event_type", event.getEventType().name());
+            for (Entity entity : Entity.values()) {
+                params.addValue(entity.name(), event.getEntities().get(entity));
+            }
+            int eventId = dbCreate(sql, params);
+            // Values of the event
+            if (event.getValues() != null) {
+                for (Map.Entry<String, String> entry : event.getValues().entrySet()) {
+                    valueBatch.add(params("id", eventId)
+                            .addValue("name", entry.getKey())
+                            .addValue("value", entry.getValue()));
+                }
+            }
+        }
+        // Values of all the events in one batch
+        if (!valueBatch.isEmpty()) {
+            getNamedParameterJdbcTemplate().batchUpdate(SQL.EVENT_VALUE_INSERT, valueBatch.toArray(new SqlParameterSource[valueBatch.size()]));
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<TEvent> list(int offset, int limit, Map<Entity, Integer> entities) {
-        // SQL
-        StringBuilder sql = new StringBuilder("SELECT * FROM EVENTS");
-        MapSqlParameterSource params = new MapSqlParameterSource();
+    public List<TEvent> list(int offset, int limit, Map<Entity, Integer> entities, boolean archive) {
         // Entities
+        StringBuilder where = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource();
         int count = 0;
         for (Map.Entry<Entity, Integer> entry : entities.entrySet()) {
             Entity entity = entry.getKey();
             int id = entry.getValue();
             if (count == 0) {
-                sql.append(" WHERE");
+                where.append(" WHERE");
             } else {
-                sql.append(" AND");
+                where.append(" AND");
             }
             count++;
-            sql.append(format(" %1$s = :entity%1$s", entity.name()));
+            where.append(format(" %1$s = :entity%1$s", entity.name()));
             params.addValue(format("entity%s", entity.name()), id);
         }
+        // SQL
+        StringBuilder sql = new StringBuilder();
+        if (archive) {
+            sql.append(format("SELECT * FROM (SELECT %1$s FROM EVENTS%2$s UNION ALL SELECT %1$s FROM EVENTS_ARCHIVE%2$s)", SQL.EVENT_COLUMNS, where));
+        } else {
+            sql.append("SELECT * FROM EVENTS").append(where);
+        }
         // Limit & offset
         sql.append(" ORDER BY ID DESC LIMIT :count OFFSET :offset");
         params.addValue("offset", offset);
         params.addValue("count", limit);
         // Query
+        return getNamedParameterJdbcTemplate().query(
+                sql.toString(),
+                params,
+                archive ? eventWithArchiveRowMapper : eventRowMapper);
+    }
+
+    @Override
+    @Transactional
+    public int archive(DateTime before, int count) {
+        List<Integer> ids = getNamedParameterJdbcTemplate().queryForList(
+                SQL.EVENTS_TO_ARCHIVE,
+                params("before", SQLUtils.toTimestamp(before))
+                        .addValue("kept", EVENTS_NOT_ARCHIVED)
+                        .addValue("count", count),
+                Integer.class
+        );
+        if (!ids.isEmpty()) {
+            MapSqlParameterSource params = params("ids", ids);
+            getNamedParameterJdbcTemplate().update(SQL.EVENTS_ARCHIVE_INSERT, params);
+            getNamedParameterJdbcTemplate().update(SQL.EVENT_VALUES_ARCHIVE_INSERT, params);
+            // The values are deleted in cascade
+            getNamedParameterJdbcTemplate().update(SQL.EVENTS_ARCHIVED_DELETE, params);
+        }
+        return ids.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TEvent> listAfter(int after, int count, Map<Entity, Integer> entities) {
+        // SQL
+        StringBuilder sql = new StringBuilder("SELECT * FROM EVENTS WHERE ID > :after");
+        MapSqlParameterSource params = params("after", after);
+        // Entities
+        for (Map.Entry<Entity, Integer> entry : entities.entrySet()) {
+            Entity entity = entry.getKey();
+            sql.append(format(" AND %1$s = :entity%1$s", entity.name()));
+            params.addValue(format("entity%s", entity.name()), entry.getValue());
+        }
+        // Oldest first
+        sql.append(" ORDER BY ID ASC LIMIT :count");
+        params.addValue("count", count);
+        // Query
         return getNamedParameterJdbcTemplate().query(
                 sql.toString(),
                 params,
                 eventRowMapper);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getLastEventId() {
+        Integer id = getJdbcTemplate().queryForObject(SQL.EVENT_LAST_ID, Integer.class);
+        return id != null ? id : 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getEntityVersion(Entity entity, int id) {
+        // Changes of the entity itself
+        int version = getLastEventId(
+                format("EVENT_TYPE IN (:types) AND %s = :id", entity.name()),
+                params("id", id).addValue("types", getEventTypes(entity)));
+        // Changes of the names of its context, whose identifiers are taken from the creation event
+        EventType created = getEventType(entity, "CREATED");
+        for (Entity context : entity.getContext()) {
+            EventType updated = getEventType(context, "UPDATED");
+            if (created != null && updated != null) {
+                version = Math.max(version, getLastEventId(
+                        format("EVENT_TYPE = :updated AND %1$s = (SELECT MAX(%1$s) FROM EVENTS WHERE EVENT_TYPE = :created AND %2$s = :id)", context.name(), entity.name()),
+                        params("id", id).addValue("updated", updated.name()).addValue("created", created.name())));
+            }
+        }
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getEntityListVersion(Entity entity, Map<Entity, Integer> parents) {
+        // Creations and changes of the entities
+        StringBuilder sql = new StringBuilder("EVENT_TYPE IN (:types)");
+        MapSqlParameterSource params = params("types", getEventTypes(entity));
+        for (Map.Entry<Entity, Integer> entry : parents.entrySet()) {
+            sql.append(format(" AND %1$s = :entity%1$s", entry.getKey().name()));
+            params.addValue(format("entity%s", entry.getKey().name()), entry.getValue());
+        }
+        int version = getLastEventId(sql.toString(), params);
+        // Deletions, which are not attached to any entity any longer
+        EventType deleted = getEventType(entity, "DELETED");
+        if (deleted != null) {
+            version = Math.max(version, getLastEventId("EVENT_TYPE = :deleted", params("deleted", deleted.name())));
+        }
+        // Changes of the names of the parents
+        for (Map.Entry<Entity, Integer> entry : parents.entrySet()) {
+            EventType updated = getEventType(entry.getKey(), "UPDATED");
+            if (updated != null) {
+                version = Math.max(version, getLastEventId(
+                        format("EVENT_TYPE = :updated AND %s = :id", entry.getKey().name()),
+                        params("id", entry.getValue()).addValue("updated", updated.name())));
+            }
+        }
+        return version;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DateTime getEventTimestamp(int id) {
+        Timestamp timestamp = getFirstItem(SQL.EVENT_TIMESTAMP, params("id", id), Timestamp.class);
+        if (timestamp == null) {
+            timestamp = getFirstItem(SQL.EVENT_ARCHIVE_TIMESTAMP, params("id", id), Timestamp.class);
+        }
+        return SQLUtils.getDateTime(timestamp);
+    }
+
+    /**
+     * Each condition is run in its own query, so that it can use the index on the event types.
+     * The archived events are taken into account, so that a version never goes backwards.
+     */
+    private int getLastEventId(String condition, MapSqlParameterSource params) {
+        return Math.max(
+                getLastEventId("EVENTS", condition, params),
+                getLastEventId("EVENTS_ARCHIVE", condition, params)
+        );
+    }
+
+    private int getLastEventId(String table, String condition, MapSqlParameterSource params) {
+        Integer id = getNamedParameterJdbcTemplate().queryForObject(
+                format("SELECT MAX(ID) FROM %s WHERE %s", table, condition),
+                params,
+                Integer.class);
+        return id != null ? id : 0;
+    }
+
+    /**
+     * Names of the types of the events which are about an entity, like <code>BRANCH_CREATED</code>
+     * or <code>BRANCH_UPDATED</code> for a branch.
+     */
+    private static List<String> getEventTypes(Entity entity) {
+        List<String> types = new ArrayList<>();
+        for (EventType eventType : EventType.values()) {
+            if (eventType.name().startsWith(entity.name() + "_")) {
+                types.add(eventType.name());
+            }
+        }
+        return types;
+    }
+
+    private static EventType getEventType(Entity entity, String action) {
+        String name = entity.name() + "_" + action;
+        for (EventType eventType : EventType.values()) {
+            if (eventType.name().equals(name)) {
+                return eventType;
+            }
+        }
+        return null;
+    }
 }
@@ -1,12 +1,16 @@
 package net.ontrack.backend.dao.jdbc;
 
 import net.ontrack.backend.PromotionLevelAlreadyExistException;
+import net.ontrack.backend.cache.Caches;
 import net.ontrack.backend.dao.PromotionLevelDao;
 import net.ontrack.backend.dao.model.TPromotionLevel;
 import net.ontrack.backend.db.SQL;
 import net.ontrack.core.model.Ack;
+import net.ontrack.core.model.ImageContent;
 import net.ontrack.dao.AbstractJdbcDao;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -189,11 +193,12 @@ public class PromotionLevelJdbcDao extends AbstractJdbcDao implements PromotionL
 
     @Override
     @Transactional
+    @CacheEvict(value = Caches.PROMOTION_LEVEL_IMAGE, key = "#id")
     public Ack updateImage(int id, byte[] image) {
         return Ack.one(
                 getNamedParameterJdbcTemplate().update(
                         SQL.PROMOTION_LEVEL_IMAGE_UPDATE,
-                        params("id", id).addValue("image", image)
+                        params("id", id).addValue("image", image).addValue("imageHash", getImageHash(image))
                 )
         );
     }
@@ -203,4 +208,11 @@ public class PromotionLevelJdbcDao extends AbstractJdbcDao implements PromotionL
     public byte[] getImage(int id) {
         return getImage(SQL.PROMOTION_LEVEL_IMAGE, id);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(Caches.PROMOTION_LEVEL_IMAGE)
+    public ImageContent getImageContent(int id) {
+        return getImageContent(SQL.PROMOTION_LEVEL_IMAGE_CONTENT, id);
+    }
 }
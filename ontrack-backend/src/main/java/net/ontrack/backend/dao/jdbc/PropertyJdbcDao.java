@@ -1,5 +1,6 @@
 package net.ontrack.backend.dao.jdbc;
 
+import com.google.common.base.Function;
 import net.ontrack.backend.dao.PropertyDao;
 import net.ontrack.backend.dao.model.TProperty;
 import net.ontrack.backend.db.SQL;
@@ -10,12 +11,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.sql.DataSource;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -82,20 +85,58 @@ public class PropertyJdbcDao extends AbstractJdbcDao implements PropertyDao {
     @Transactional(readOnly = true)
     public Collection<Integer> findEntityByPropertyValue(Entity entity, String extension, String name, String value) {
         return getNamedParameterJdbcTemplate().queryForList(
-                format("SELECT %1$s FROM PROPERTIES WHERE %1$s IS NOT NULL AND EXTENSION = :extension AND NAME = :name AND VALUE = :value", entity.name()),
+                format(SQL.PROPERTY_ENTITY_BY_VALUE, entity.name()),
                 params("extension", extension).addValue("name", name).addValue("value", value),
                 Integer.class
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<Integer> findEntityBySearchKey(Entity entity, String extension, String name, String searchKey) {
+        return getNamedParameterJdbcTemplate().queryForList(
+                format(SQL.PROPERTY_ENTITY_BY_SEARCH_KEY, entity.name()),
+                params("extension", extension).addValue("name", name).addValue("searchKey", searchKey),
+                Integer.class
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<Integer> findEntityBySearchKeyPrefix(Entity entity, String extension, String name, String prefix) {
+        return getNamedParameterJdbcTemplate().queryForList(
+                format(SQL.PROPERTY_ENTITY_BY_SEARCH_KEY_PREFIX, entity.name()),
+                params("extension", extension).addValue("name", name).addValue("searchKey", getPrefixPattern(prefix)),
+                Integer.class
+        );
+    }
+
     @Override
     @Transactional
-    public void saveProperty(Entity entity, int entityId, String extension, String name, String value) {
+    public int index(String extension, String name, Function<String, String> searchKey) {
+        List<SqlParameterSource> batch = new ArrayList<>();
+        for (Map<String, Object> row : getNamedParameterJdbcTemplate().queryForList(
+                SQL.PROPERTY_NOT_INDEXED,
+                params("extension", extension).addValue("name", name))) {
+            batch.add(params("id", row.get("ID"))
+                    .addValue("searchKey", searchKey.apply((String) row.get("VALUE"))));
+        }
+        getNamedParameterJdbcTemplate().batchUpdate(
+                SQL.PROPERTY_INDEX,
+                batch.toArray(new SqlParameterSource[batch.size()])
+        );
+        return batch.size();
+    }
+
+    @Override
+    @Transactional
+    public void saveProperty(Entity entity, int entityId, String extension, String name, String value, String searchKey) {
         // Deletes any previous value
         MapSqlParameterSource params = params("entityId", entityId)
                 .addValue("extension", extension)
                 .addValue("name", name)
-                .addValue("value", value);
+                .addValue("value", value)
+                .addValue("searchKey", searchKey);
         getNamedParameterJdbcTemplate().update(
                 format(SQL.PROPERTY_DELETE, entity.name()),
                 params
@@ -108,4 +149,23 @@ public class PropertyJdbcDao extends AbstractJdbcDao implements PropertyDao {
             );
         }
     }
+
+    @Override
+    @Transactional
+    public void createProperties(Entity entity, String extension, String name, Map<Integer, String> values, Function<String, String> searchKey) {
+        List<SqlParameterSource> batch = new ArrayList<>(values.size());
+        for (Map.Entry<Integer, String> entry : values.entrySet()) {
+            if (StringUtils.isNotBlank(entry.getValue())) {
+                batch.add(params("entityId", entry.getKey())
+                        .addValue("extension", extension)
+                        .addValue("name", name)
+                        .addValue("value", entry.getValue())
+                        .addValue("searchKey", searchKey != null ? searchKey.apply(entry.getValue()) : null));
+            }
+        }
+        getNamedParameterJdbcTemplate().batchUpdate(
+                format(SQL.PROPERTY_INSERT, entity.name()),
+                batch.toArray(new SqlParameterSource[batch.size()])
+        );
+    }
 }
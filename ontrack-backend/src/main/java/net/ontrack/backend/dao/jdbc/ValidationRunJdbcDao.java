@@ -4,19 +4,25 @@ import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 import net.ontrack.backend.dao.ValidationRunDao;
 import net.ontrack.backend.dao.model.TValidationRun;
+import net.ontrack.backend.dao.model.TValidationRunCreation;
 import net.ontrack.backend.db.SQL;
 import net.ontrack.core.model.Ack;
 import net.ontrack.core.model.Status;
 import net.ontrack.dao.AbstractJdbcDao;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.sql.DataSource;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class ValidationRunJdbcDao extends AbstractJdbcDao implements ValidationRunDao {
@@ -91,16 +97,78 @@ public class ValidationRunJdbcDao extends AbstractJdbcDao implements ValidationR
     @Override
     @Transactional
     public int createValidationRun(int build, int validationStamp, String description) {
-        int count = getNamedParameterJdbcTemplate().queryForInt(
-                SQL.VALIDATION_RUN_COUNT_FOR_BUILD_AND_STAMP,
+        lockBuild(build);
+        int runOrder = getNamedParameterJdbcTemplate().queryForInt(
+                SQL.VALIDATION_RUN_LAST_ORDER_FOR_BUILD_AND_STAMP,
                 params("build", build).addValue("validationStamp", validationStamp)
-        );
+        ) + 1;
         return dbCreate(
                 SQL.VALIDATION_RUN_CREATE,
                 params("build", build)
                         .addValue("validationStamp", validationStamp)
                         .addValue("description", description)
-                        .addValue("runOrder", count + 1));
+                        .addValue("runOrder", runOrder));
+    }
+
+    @Override
+    @Transactional
+    public List<Integer> createValidationRuns(int build, List<TValidationRunCreation> runs) {
+        lockBuild(build);
+        // Current last run order per validation stamp
+        final Map<Integer, Integer> runOrders = new HashMap<>();
+        getNamedParameterJdbcTemplate().query(
+                SQL.VALIDATION_RUN_LAST_ORDER_FOR_BUILD_BY_STAMP,
+                params("build", build),
+                new RowCallbackHandler() {
+                    @Override
+                    public void processRow(ResultSet rs) throws SQLException {
+                        runOrders.put(rs.getInt("validation_stamp"), rs.getInt("run_order"));
+                    }
+                }
+        );
+        // Last run before the creation
+        int lastId = getNamedParameterJdbcTemplate().queryForInt(SQL.VALIDATION_RUN_LAST_ID_FOR_BUILD, params("build", build));
+        // Creation in one batch
+        List<String> keys = new ArrayList<>(runs.size());
+        SqlParameterSource[] batch = new SqlParameterSource[runs.size()];
+        for (int i = 0; i < batch.length; i++) {
+            TValidationRunCreation run = runs.get(i);
+            Integer lastRunOrder = runOrders.get(run.getValidationStamp());
+            int runOrder = (lastRunOrder != null ? lastRunOrder : 0) + 1;
+            runOrders.put(run.getValidationStamp(), runOrder);
+            keys.add(run.getValidationStamp() + "/" + runOrder);
+            batch[i] = params("build", build)
+                    .addValue("validationStamp", run.getValidationStamp())
+                    .addValue("description", run.getDescription())
+                    .addValue("runOrder", runOrder);
+        }
+        getNamedParameterJdbcTemplate().batchUpdate(SQL.VALIDATION_RUN_CREATE, batch);
+        // The generated IDs are not returned by a batch: the created runs are identified
+        // by their validation stamp and run order, the build being locked
+        final Map<String, Integer> createdIds = new HashMap<>();
+        getNamedParameterJdbcTemplate().query(
+                SQL.VALIDATION_RUN_CREATED_FOR_BUILD,
+                params("build", build).addValue("after", lastId),
+                new RowCallbackHandler() {
+                    @Override
+                    public void processRow(ResultSet rs) throws SQLException {
+                        createdIds.put(rs.getInt("validation_stamp") + "/" + rs.getInt("run_order"), rs.getInt("id"));
+                    }
+                }
+        );
+        List<Integer> ids = new ArrayList<>(runs.size());
+        for (String key : keys) {
+            ids.add(createdIds.get(key));
+        }
+        return ids;
+    }
+
+    /**
+     * Serializes the creations of runs for a build until the end of the transaction,
+     * so that two of them do not compute the same run order.
+     */
+    private void lockBuild(int build) {
+        getNamedParameterJdbcTemplate().queryForList(SQL.VALIDATION_RUN_LOCK_BUILD, params("build", build), Integer.class);
     }
 
     @Override
@@ -122,4 +190,16 @@ public class ValidationRunJdbcDao extends AbstractJdbcDao implements ValidationR
                 params("validationStamp", validationStamp).addValue("status", status.name())
         );
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Integer> findValidationStampsOfPromotionLevelWithLastStatus(int build, int promotionLevel, Status status) {
+        return getNamedParameterJdbcTemplate().queryForList(
+                SQL.VALIDATION_RUN_STAMPS_OF_PROMOTION_LEVEL_WITH_LAST_STATUS,
+                params("build", build)
+                        .addValue("promotionLevel", promotionLevel)
+                        .addValue("status", status.name()),
+                Integer.class
+        );
+    }
 }
@@ -4,19 +4,23 @@ import net.ontrack.backend.dao.ValidationRunStatusDao;
 import net.ontrack.backend.dao.model.TValidationRunStatus;
 import net.ontrack.backend.db.SQL;
 import net.ontrack.core.model.Status;
+import net.ontrack.core.model.ValidationRunStatusCreationForm;
 import net.ontrack.dao.AbstractJdbcDao;
 import net.ontrack.dao.SQLUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.sql.DataSource;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.Collection;
+import java.util.Map;
 
 @Component
 public class ValidationRunStatusJdbcDao extends AbstractJdbcDao implements ValidationRunStatusDao {
@@ -92,6 +96,23 @@ public class ValidationRunStatusJdbcDao extends AbstractJdbcDao implements Valid
                         .addValue("statusTimestamp", SQLUtils.toTimestamp(SQLUtils.now())));
     }
 
+    @Override
+    @Transactional
+    public void createValidationRunStatuses(Map<Integer, ValidationRunStatusCreationForm> statuses, String author, Integer authorId) {
+        Timestamp statusTimestamp = SQLUtils.toTimestamp(SQLUtils.now());
+        SqlParameterSource[] batch = new SqlParameterSource[statuses.size()];
+        int i = 0;
+        for (Map.Entry<Integer, ValidationRunStatusCreationForm> entry : statuses.entrySet()) {
+            batch[i++] = params("validationRun", entry.getKey())
+                    .addValue("status", entry.getValue().getStatus().name())
+                    .addValue("description", entry.getValue().getDescription())
+                    .addValue("author", author)
+                    .addValue("authorId", authorId)
+                    .addValue("statusTimestamp", statusTimestamp);
+        }
+        getNamedParameterJdbcTemplate().batchUpdate(SQL.VALIDATION_RUN_STATUS_CREATE, batch);
+    }
+
     @Override
     @Transactional
     public int createValidationRunStatusForImport(int validationRun, Status status, String description, String author, DateTime dateTime) {
@@ -7,6 +7,7 @@ import net.ontrack.backend.dao.ValidationStampDao;
 import net.ontrack.backend.dao.model.TValidationStamp;
 import net.ontrack.backend.db.SQL;
 import net.ontrack.core.model.Ack;
+import net.ontrack.core.model.ImageContent;
 import net.ontrack.core.model.Entity;
 import net.ontrack.dao.AbstractJdbcDao;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -289,6 +290,7 @@ public class ValidationStampJdbcDao extends AbstractJdbcDao implements Validatio
 
     @Override
     @Transactional
+    @CacheEvict(value = Caches.VALIDATION_STAMP, key = "#validationStampId")
     public Ack linkValidationStampToPromotionLevel(int validationStampId, int promotionLevelId) {
         return Ack.one(getNamedParameterJdbcTemplate().update(
                 SQL.VALIDATION_STAMP_PROMOTION_LEVEL,
@@ -298,6 +300,7 @@ public class ValidationStampJdbcDao extends AbstractJdbcDao implements Validatio
 
     @Override
     @Transactional
+    @CacheEvict(value = Caches.VALIDATION_STAMP, key = "#validationStampId")
     public Ack unlinkValidationStampToPromotionLevel(int validationStampId) {
         return Ack.one(getNamedParameterJdbcTemplate().update(
                 SQL.VALIDATION_STAMP_PROMOTION_LEVEL,
@@ -307,11 +310,12 @@ public class ValidationStampJdbcDao extends AbstractJdbcDao implements Validatio
 
     @Override
     @Transactional
+    @CacheEvict(value = Caches.VALIDATION_STAMP_IMAGE, key = "#id")
     public Ack updateImage(int id, byte[] image) {
         return Ack.one(
                 getNamedParameterJdbcTemplate().update(
                         SQL.VALIDATIONSTAMP_IMAGE_UPDATE,
-                        params("id", id).addValue("image", image)
+                        params("id", id).addValue("image", image).addValue("imageHash", getImageHash(image))
                 )
         );
     }
@@ -321,4 +325,11 @@ public class ValidationStampJdbcDao extends AbstractJdbcDao implements Validatio
     public byte[] getImage(int id) {
         return getImage(SQL.VALIDATIONSTAMP_IMAGE, id);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(Caches.VALIDATION_STAMP_IMAGE)
+    public ImageContent getImageContent(int id) {
+        return getImageContent(SQL.VALIDATIONSTAMP_IMAGE_CONTENT, id);
+    }
 }
@@ -0,0 +1,15 @@
+package net.ontrack.backend.dao.model;
+
+import lombok.Data;
+import org.joda.time.DateTime;
+
+@Data
+public class TAccountToken {
+
+    private final int id;
+    private final int account;
+    private final String name;
+    private final DateTime creation;
+    private final DateTime lastUsed;
+
+}
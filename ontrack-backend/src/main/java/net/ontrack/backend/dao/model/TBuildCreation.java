@@ -0,0 +1,14 @@
+package net.ontrack.backend.dao.model;
+
+import lombok.Data;
+
+/**
+ * Build to create in a batch.
+ */
+@Data
+public class TBuildCreation {
+
+    private final String name;
+    private final String description;
+
+}
@@ -0,0 +1,23 @@
+package net.ontrack.backend.dao.model;
+
+import lombok.Data;
+import net.ontrack.core.model.Entity;
+import net.ontrack.core.model.EventType;
+import org.joda.time.DateTime;
+
+import java.util.Map;
+
+/**
+ * Event to import in a batch.
+ */
+@Data
+public class TEventCreation {
+
+    private final String author;
+    private final Integer authorId;
+    private final DateTime timestamp;
+    private final EventType eventType;
+    private final Map<Entity, Integer> entities;
+    private final Map<String, String> values;
+
+}
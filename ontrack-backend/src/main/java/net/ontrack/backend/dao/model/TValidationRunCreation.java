@@ -0,0 +1,14 @@
+package net.ontrack.backend.dao.model;
+
+import lombok.Data;
+
+/**
+ * Validation run to create in a batch.
+ */
+@Data
+public class TValidationRunCreation {
+
+    private final int validationStamp;
+    private final String description;
+
+}
@@ -0,0 +1,54 @@
+package net.ontrack.backend.db;
+
+/**
+ * Computes the key used to sort the builds by name, in a natural order: the numbers
+ * contained in the names are compared by value, so that <code>1.9.15</code> comes
+ * before <code>1.10.2</code>, and <code>build-9</code> before <code>build-42</code>.
+ * <p/>
+ * Each run of digits is stored without its leading zeros, prefixed by its length on two
+ * digits, and the letters are put in lower case. For example, <code>1.10.2</code> gives
+ * <code>011.0210.012</code>. The key of a build name of 80 characters is at most
+ * 160 characters long.
+ * <p/>
+ * This function is also declared as an alias in the database by the migration which
+ * fills the <code>BUILD.SORT_KEY</code> column.
+ */
+public final class BuildSortKey {
+
+    private BuildSortKey() {
+    }
+
+    public static String of(String name) {
+        if (name == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(name.length() + 8);
+        int length = name.length();
+        int i = 0;
+        while (i < length) {
+            char c = name.charAt(i);
+            if (isDigit(c)) {
+                // Skips the leading zeros
+                int start = i;
+                while (start < length - 1 && name.charAt(start) == '0' && isDigit(name.charAt(start + 1))) {
+                    start++;
+                }
+                int end = start;
+                while (end < length && isDigit(name.charAt(end))) {
+                    end++;
+                }
+                key.append(String.format("%02d", end - start)).append(name, start, end);
+                i = end;
+            } else {
+                key.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
@@ -6,27 +6,39 @@ import net.sf.dbinit.DBInit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
- * Creation or update of the database.
+ * Creation or update of the database, and execution of the {@link StartupService}s.
  */
 @Service
-public class DBCreation {
+public class DBCreation implements ApplicationListener<ContextRefreshedEvent> {
 
     private final Logger logger = LoggerFactory.getLogger(DBCreation.class);
 
+    private final DataSource dataSource;
+    private final StartupProfiler profiler;
     private final List<DBInitConfig> dbInitConfigs;
-    private final List<StartupService> startupServices;
+    private final SortedMap<Integer, List<StartupService>> startupServices;
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private boolean started;
 
     @Autowired
-    public DBCreation(List<DBInitConfig> dbInitConfigs, List<StartupService> startupServices) {
+    public DBCreation(DataSource dataSource, StartupProfiler profiler, List<DBInitConfig> dbInitConfigs, List<StartupService> startupServices) {
+        this.dataSource = dataSource;
+        this.profiler = profiler;
         // Sorts the DB configurations
         this.dbInitConfigs = new ArrayList<>(dbInitConfigs);
         Collections.sort(
@@ -38,36 +50,148 @@ public class DBCreation {
                     }
                 }
         );
-        // Sorts the startup services
-        List<StartupService> services = new ArrayList<>(startupServices);
-        Collections.sort(services, new Comparator<StartupService>() {
-            @Override
-            public int compare(StartupService o1, StartupService o2) {
-                return o1.startupOrder() - o2.startupOrder();
+        // Groups the startup services by order
+        this.startupServices = new TreeMap<>();
+        for (StartupService startupService : startupServices) {
+            List<StartupService> group = this.startupServices.get(startupService.startupOrder());
+            if (group == null) {
+                group = new ArrayList<>();
+                this.startupServices.put(startupService.startupOrder(), group);
             }
-        });
-        this.startupServices = services;
+            group.add(startupService);
+        }
     }
 
     /**
-     * Runs all database configurations and runs each {@link net.ontrack.service.StartupService} in turn.
+     * Runs all database configurations. The ones which are already at their expected version
+     * are not run.
      */
     @PostConstruct
     public void init() {
 
         logger.info("[db] DB initialisation.");
+        Map<String, Integer> versions = getVersions();
         for (DBInitConfig dbInitConfig : dbInitConfigs) {
-            logger.info("[db] DB initialisation for \"{}\"", dbInitConfig.getName());
-            DBInit dbInit = dbInitConfig.createConfig();
-            dbInit.run();
+            Integer version = versions.get(dbInitConfig.getName());
+            if (version != null && version == dbInitConfig.getVersion()) {
+                logger.info("[db] DB \"{}\" is up to date at version {}", dbInitConfig.getName(), version);
+            } else {
+                logger.info("[db] DB initialisation for \"{}\"", dbInitConfig.getName());
+                long start = System.currentTimeMillis();
+                DBInit dbInit = dbInitConfig.createConfig();
+                dbInit.run();
+                profiler.record(String.format("db %s", dbInitConfig.getName()), System.currentTimeMillis() - start);
+            }
         }
+    }
 
-        logger.info("[startup] Running startup services");
-        for (StartupService startupService : startupServices) {
-            logger.info("[startup] Starting service \"{}\"", startupService.getName());
-            startupService.start();
+    /**
+     * Runs each {@link net.ontrack.service.StartupService} in turn, once all the beans have been
+     * created. The services which share the same order do not depend on each other and are
+     * run in parallel.
+     * <p/>
+     * The event is received once for each context (the web one and its parent).
+     *
+     * @see #awaitStartup()
+     */
+    @Override
+    public synchronized void onApplicationEvent(ContextRefreshedEvent event) {
+        if (!started) {
+            started = true;
+            logger.info("[startup] Running startup services");
+            for (List<StartupService> group : startupServices.values()) {
+                if (group.size() == 1) {
+                    start(group.get(0));
+                } else {
+                    startInParallel(group);
+                }
+            }
+            profiler.report();
+            completed.countDown();
+        }
+    }
+
+    /**
+     * Waits until all the {@link StartupService}s have been run. The scheduled tasks may be
+     * triggered as soon as the context has been refreshed, while the startup services are
+     * still indexing the extensions or migrating the configurations.
+     */
+    public void awaitStartup() throws InterruptedException {
+        completed.await();
+    }
+
+    /**
+     * Gets the current versions of all the databases using one query.
+     *
+     * @return Index of versions per configuration name, empty if one of the version tables
+     *         does not exist yet
+     */
+    protected Map<String, Integer> getVersions() {
+        final Map<String, Integer> versions = new HashMap<>();
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < dbInitConfigs.size(); i++) {
+            if (i > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append(String.format("SELECT %d AS IDX, MAX(VALUE) AS VERSION FROM %s", i, dbInitConfigs.get(i).getVersionTable()));
+        }
+        try {
+            new JdbcTemplate(dataSource).query(sql.toString(), new RowCallbackHandler() {
+                @Override
+                public void processRow(ResultSet rs) throws SQLException {
+                    int version = rs.getInt("VERSION");
+                    if (!rs.wasNull()) {
+                        versions.put(dbInitConfigs.get(rs.getInt("IDX")).getName(), version);
+                    }
+                }
+            });
+        } catch (DataAccessException ex) {
+            // Database not created yet
+            logger.info("[db] Cannot get all the DB versions at once: {}", ex.getMessage());
+            versions.clear();
         }
+        return versions;
+    }
+
+    private void start(StartupService startupService) {
+        logger.info("[startup] Starting service \"{}\"", startupService.getName());
+        long start = System.currentTimeMillis();
+        startupService.start();
+        profiler.record(String.format("service %s", startupService.getName()), System.currentTimeMillis() - start);
+    }
 
+    private void startInParallel(List<StartupService> group) {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(group.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (final StartupService startupService : group) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        start(startupService);
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else {
+                        throw new IllegalStateException("Cannot start the services", cause);
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting the services", ex);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
 }
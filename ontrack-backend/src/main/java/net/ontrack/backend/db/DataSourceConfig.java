@@ -1,27 +1,76 @@
 package net.ontrack.backend.db;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import javax.naming.NamingException;
 import javax.sql.DataSource;
 
 import net.ontrack.core.RunProfile;
 
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.jndi.JndiObjectFactoryBean;
 
 @Configuration
 @Profile({RunProfile.IT, RunProfile.DEV, RunProfile.PROD})
 public class DataSourceConfig {
-	
+
+	/**
+	 * Comma-separated list of the JNDI names of the read replicas
+	 */
+	public static final String REPLICAS_PROPERTY = "ontrack.db.replicas";
+
+	/**
+	 * Maximum number of events a replica can be late by
+	 */
+	public static final String REPLICAS_MAX_LAG_PROPERTY = "ontrack.db.replicas.maxLag";
+
+	/**
+	 * Number of seconds an account keeps reading from the primary database after having written into it
+	 */
+	public static final String REPLICAS_STICKINESS_PROPERTY = "ontrack.db.replicas.stickiness";
+
+	@Autowired
+	private JdbcStatistics jdbcStatistics;
+
+	@Bean
+	public DataSourceReplicas dataSourceReplicas() throws IllegalArgumentException, NamingException {
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		String names = System.getProperty(REPLICAS_PROPERTY);
+		if (StringUtils.isNotBlank(names)) {
+			for (String name : StringUtils.split(names, ",")) {
+				replicas.put(name.trim(), lookup(name.trim()));
+			}
+		}
+		return new DataSourceReplicas(
+				lookup("java:comp/env/jdbc/ontrack"),
+				replicas,
+				Integer.getInteger(REPLICAS_MAX_LAG_PROPERTY, 100),
+				Integer.getInteger(REPLICAS_STICKINESS_PROPERTY, 30));
+	}
+
 	@Bean
 	public DataSource dataSource() throws IllegalArgumentException, NamingException {
+		DataSourceReplicas replicas = dataSourceReplicas();
+		if (replicas.isEmpty()) {
+			return new InstrumentedDataSource(replicas.getPrimary(), jdbcStatistics);
+		} else {
+			// The connection is obtained only once the read-only flag of the transaction is known
+			return new LazyConnectionDataSourceProxy(new InstrumentedDataSource(new ReplicaRoutingDataSource(replicas), jdbcStatistics));
+		}
+	}
+
+	private DataSource lookup(String jndiName) throws NamingException {
 		JndiObjectFactoryBean factory = new JndiObjectFactoryBean();
 		factory.setExpectedType(DataSource.class);
-		factory.setJndiName("java:comp/env/jdbc/ontrack");
+		factory.setJndiName(jndiName);
 		factory.afterPropertiesSet();
-		DataSource dataSource = (DataSource) factory.getObject();
-		return dataSource;
+		return (DataSource) factory.getObject();
 	}
 
 }
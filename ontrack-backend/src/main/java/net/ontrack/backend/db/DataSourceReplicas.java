@@ -0,0 +1,225 @@
+package net.ontrack.backend.db;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import net.ontrack.service.api.ScheduledService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas of the database, used by the {@link ReplicaRoutingDataSource} for the
+ * read-only transactions.
+ * <p/>
+ * The replicas are checked regularly: a replica which cannot be reached, or which is
+ * late by more than {@link #getMaxLag() maxLag} events compared to the primary database,
+ * is not used until the next successful check.
+ * <p/>
+ * The accounts which have just written into the primary database keep reading from it
+ * for {@link #getStickiness() some seconds}, so that they see their own changes, even
+ * if the replicas are a bit late.
+ * <p/>
+ * This bean is exported over JMX, where the state of the replicas can be read.
+ */
+public class DataSourceReplicas implements ScheduledService {
+
+    private final Logger logger = LoggerFactory.getLogger(DataSourceReplicas.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final int stickiness;
+    /**
+     * Names of the accounts which have written recently into the primary database
+     */
+    private final Cache<String, Boolean> writers;
+
+    private volatile int maxLag;
+
+    public DataSourceReplicas(DataSource primary, Map<String, DataSource> replicas, int maxLag, int stickiness) {
+        this.primary = primary;
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            this.replicas.add(new Replica(entry.getKey(), entry.getValue()));
+        }
+        this.maxLag = maxLag;
+        this.stickiness = stickiness;
+        this.writers = CacheBuilder.newBuilder().expireAfterWrite(stickiness, TimeUnit.SECONDS).build();
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public boolean isEmpty() {
+        return replicas.isEmpty();
+    }
+
+    public int getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(int maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public int getStickiness() {
+        return stickiness;
+    }
+
+    /**
+     * State of the replicas
+     *
+     * @return One line per replica, like <code>java:comp/env/jdbc/replica available=true lag=2</code>
+     */
+    public List<String> getReplicas() {
+        List<String> lines = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            lines.add(replica.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Checks every 10 seconds the availability and the lag of the replicas
+     */
+    public void check() {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        // Last event on the primary database
+        Integer primaryLastEventId;
+        try {
+            primaryLastEventId = getLastEventId(primary);
+        } catch (RuntimeException ex) {
+            logger.warn("[replicas] Cannot check the primary database: {}", ex.toString());
+            primaryLastEventId = null;
+        }
+        // Replicas
+        for (Replica replica : replicas) {
+            try {
+                int lastEventId = getLastEventId(replica.dataSource);
+                // The lag is kept as it is if the primary could not be checked
+                int lag = primaryLastEventId != null ? Math.max(0, primaryLastEventId - lastEventId) : replica.lag;
+                if (!replica.available) {
+                    logger.info("[replicas] Replica {} is available", replica.name);
+                }
+                if (lag > maxLag && replica.lag <= maxLag) {
+                    logger.warn("[replicas] Replica {} is late by {} events", replica.name, lag);
+                }
+                replica.lag = lag;
+                replica.available = true;
+            } catch (RuntimeException ex) {
+                unavailable(replica, ex);
+            }
+        }
+    }
+
+    @Override
+    public Runnable getTask() {
+        return new Runnable() {
+            @Override
+            public void run() {
+                check();
+            }
+        };
+    }
+
+    @Override
+    public Trigger getTrigger() {
+        return new PeriodicTrigger(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Selects, in turn, one of the available replicas which are not too late.
+     *
+     * @return <code>null</code> if no replica can be used
+     */
+    Replica select() {
+        int count = replicas.size();
+        if (count > 0) {
+            int start = next.getAndIncrement() & Integer.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                Replica replica = replicas.get((start + i) % count);
+                if (replica.available && replica.lag <= maxLag) {
+                    return replica;
+                }
+            }
+        }
+        return null;
+    }
+
+    void unavailable(Replica replica, Exception ex) {
+        if (replica.available) {
+            logger.warn("[replicas] Replica {} is not available: {}", replica.name, ex.toString());
+        }
+        replica.available = false;
+    }
+
+    /**
+     * Records that the current account has written into the primary database
+     */
+    void written() {
+        String account = getAccount();
+        if (account != null) {
+            writers.put(account, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Checks if the current account has written recently into the primary database
+     */
+    boolean isSticky() {
+        String account = getAccount();
+        return account != null && writers.getIfPresent(account) != null;
+    }
+
+    private String getAccount() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private int getLastEventId(DataSource dataSource) {
+        Integer id = new JdbcTemplate(dataSource).queryForObject(SQL.EVENT_LAST_ID, Integer.class);
+        return id != null ? id : 0;
+    }
+
+    static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        /**
+         * The replicas are not used before their first check
+         */
+        private volatile boolean available = false;
+        /**
+         * Number of events the replica is late by
+         */
+        private volatile int lag = Integer.MAX_VALUE;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s available=%s lag=%s", name, available, lag == Integer.MAX_VALUE ? "?" : String.valueOf(lag));
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+package net.ontrack.backend.db;
+
+import net.ontrack.service.support.TraceSpan;
+import net.ontrack.service.support.Tracer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data source which records in some {@link JdbcStatistics} the time spent in waiting
+ * for the connections and in executing the statements.
+ * <p/>
+ * The connections and statements which are returned are proxies around the ones
+ * of the target data source, so all the accesses are measured, whatever the
+ * JDBC template which is used.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final JdbcStatistics statistics;
+
+    public InstrumentedDataSource(DataSource targetDataSource, JdbcStatistics statistics) {
+        super(targetDataSource);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return instrument(super.getConnection(), start);
+        } catch (SQLException | RuntimeException ex) {
+            statistics.connectionFailed();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return instrument(super.getConnection(username, password), start);
+        } catch (SQLException | RuntimeException ex) {
+            statistics.connectionFailed();
+            throw ex;
+        }
+    }
+
+    protected Connection instrument(Connection connection, long start) {
+        statistics.connectionObtained(System.nanoTime() - start);
+        return (Connection) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection)
+        );
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private boolean closed;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Instrumented " + connection;
+                case "close":
+                    synchronized (this) {
+                        if (!closed) {
+                            closed = true;
+                            statistics.connectionReleased();
+                        }
+                    }
+                    return InstrumentedDataSource.invoke(connection, method, args);
+                default:
+                    Object result = InstrumentedDataSource.invoke(connection, method, args);
+                    if (result instanceof Statement) {
+                        String sql = (name.startsWith("prepare") && args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : null;
+                        return instrument((Statement) result, sql);
+                    } else {
+                        return result;
+                    }
+            }
+        }
+
+        private Statement instrument(Statement statement, String sql) {
+            Class<?> type;
+            if (statement instanceof CallableStatement) {
+                type = CallableStatement.class;
+            } else if (statement instanceof PreparedStatement) {
+                type = PreparedStatement.class;
+            } else {
+                type = Statement.class;
+            }
+            return (Statement) Proxy.newProxyInstance(
+                    getClass().getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler(statement, sql)
+            );
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String sql;
+        /**
+         * Types of the parameters, by index. The values are never kept.
+         */
+        private final Map<Integer, String> parameterTypes = new TreeMap<>();
+        private String batchSql;
+
+        private StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Instrumented " + statement;
+                case "clearParameters":
+                    parameterTypes.clear();
+                    return InstrumentedDataSource.invoke(statement, method, args);
+                case "addBatch":
+                    if (args != null && args.length > 0 && batchSql == null) {
+                        batchSql = (String) args[0];
+                    }
+                    return InstrumentedDataSource.invoke(statement, method, args);
+                case "execute":
+                case "executeQuery":
+                case "executeUpdate":
+                case "executeBatch":
+                    return execute(name, method, args);
+                default:
+                    if (name.startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+                        parameterTypes.put((Integer) args[0], "setNull".equals(name) || args[1] == null ? "NULL" : name.substring(3));
+                    }
+                    return InstrumentedDataSource.invoke(statement, method, args);
+            }
+        }
+
+        private Object execute(String name, Method method, Object[] args) throws Throwable {
+            String executedSql;
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                executedSql = (String) args[0];
+            } else if ("executeBatch".equals(name) && sql == null) {
+                executedSql = batchSql;
+            } else {
+                executedSql = sql;
+            }
+            long start = System.nanoTime();
+            try (TraceSpan ignored = Tracer.span("sql", executedSql)) {
+                return InstrumentedDataSource.invoke(statement, method, args);
+            } finally {
+                statistics.statementExecuted(executedSql, new ArrayList<>(parameterTypes.values()), System.nanoTime() - start);
+                if ("executeBatch".equals(name)) {
+                    batchSql = null;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+package net.ontrack.backend.db;
+
+import net.ontrack.service.support.QueryCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Statistics collected by the {@link InstrumentedDataSource}: wait for the connections
+ * of the pool and execution time of the statements, grouped by {@linkplain SQLTemplates SQL template}.
+ * <p/>
+ * This bean is exported over JMX, where the statistics can be read and the thresholds changed.
+ */
+@Component
+public class JdbcStatistics {
+
+    /**
+     * Upper bounds (in ms) of the buckets of the histograms. The last bucket collects
+     * all the times above the last bound.
+     */
+    private static final long[] BUCKETS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+    /**
+     * Maximum number of templates which are tracked separately
+     */
+    private static final int MAX_TEMPLATES = 1000;
+
+    /**
+     * Key for the statements which cannot be tracked separately any longer
+     */
+    private static final String OTHER_TEMPLATES = "<other>";
+
+    private final Logger logger = LoggerFactory.getLogger(JdbcStatistics.class);
+
+    private final ConcurrentMap<String, StatementStatistics> statements = new ConcurrentHashMap<>();
+
+    private final AtomicLong connectionCount = new AtomicLong();
+    private final AtomicLong connectionWaitNanos = new AtomicLong();
+    private final AtomicLong connectionWaitMaxNanos = new AtomicLong();
+    private final AtomicLong connectionErrorCount = new AtomicLong();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicInteger activeConnectionsMax = new AtomicInteger();
+    private final AtomicLong slowStatementCount = new AtomicLong();
+
+    private volatile long slowStatementThreshold = 500;
+
+    public long getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public long getConnectionErrorCount() {
+        return connectionErrorCount.get();
+    }
+
+    public long getConnectionWaitTotalMs() {
+        return connectionWaitNanos.get() / 1000000L;
+    }
+
+    public long getConnectionWaitMaxMs() {
+        return connectionWaitMaxNanos.get() / 1000000L;
+    }
+
+    public double getConnectionWaitMeanMs() {
+        long count = connectionCount.get();
+        return count > 0 ? connectionWaitNanos.get() / 1000000.0 / count : 0;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    public int getActiveConnectionsMax() {
+        return activeConnectionsMax.get();
+    }
+
+    public long getStatementCount() {
+        long count = 0;
+        for (StatementStatistics stats : statements.values()) {
+            count += stats.count.get();
+        }
+        return count;
+    }
+
+    public long getSlowStatementCount() {
+        return slowStatementCount.get();
+    }
+
+    public long getSlowStatementThreshold() {
+        return slowStatementThreshold;
+    }
+
+    public void setSlowStatementThreshold(long slowStatementThreshold) {
+        this.slowStatementThreshold = slowStatementThreshold;
+    }
+
+    public int getRequestStatementThreshold() {
+        return QueryCounter.getThreshold();
+    }
+
+    public void setRequestStatementThreshold(int threshold) {
+        QueryCounter.setThreshold(threshold);
+    }
+
+    /**
+     * Statistics of the statements, by decreasing total time
+     *
+     * @return One line per template, like
+     * <code>count=12 total=150ms mean=12.5ms max=40ms histogram=[&lt;=1ms:0 ...] SELECT ...</code>
+     */
+    public List<String> getStatementStatistics() {
+        List<StatementStatistics> list = new ArrayList<>(statements.values());
+        Collections.sort(list, new Comparator<StatementStatistics>() {
+            @Override
+            public int compare(StatementStatistics o1, StatementStatistics o2) {
+                long t1 = o1.nanos.get();
+                long t2 = o2.nanos.get();
+                return t1 < t2 ? 1 : (t1 > t2 ? -1 : 0);
+            }
+        });
+        List<String> lines = new ArrayList<>(list.size());
+        for (StatementStatistics stats : list) {
+            lines.add(stats.toString());
+        }
+        return lines;
+    }
+
+    public void reset() {
+        statements.clear();
+        connectionCount.set(0);
+        connectionWaitNanos.set(0);
+        connectionWaitMaxNanos.set(0);
+        connectionErrorCount.set(0);
+        activeConnectionsMax.set(activeConnections.get());
+        slowStatementCount.set(0);
+    }
+
+    void connectionObtained(long waitNanos) {
+        connectionCount.incrementAndGet();
+        connectionWaitNanos.addAndGet(waitNanos);
+        max(connectionWaitMaxNanos, waitNanos);
+        int active = activeConnections.incrementAndGet();
+        while (true) {
+            int current = activeConnectionsMax.get();
+            if (active <= current || activeConnectionsMax.compareAndSet(current, active)) {
+                break;
+            }
+        }
+    }
+
+    void connectionFailed() {
+        connectionErrorCount.incrementAndGet();
+    }
+
+    void connectionReleased() {
+        activeConnections.decrementAndGet();
+    }
+
+    void statementExecuted(String sql, List<String> parameterTypes, long nanos) {
+        String template = SQLTemplates.template(sql);
+        getStatementStatistics(template).record(nanos);
+        QueryCounter.record(nanos);
+        // Slow statement
+        long ms = nanos / 1000000L;
+        if (ms >= slowStatementThreshold) {
+            slowStatementCount.incrementAndGet();
+            // The values of the parameters are never logged, only their types
+            logger.warn("[jdbc] Slow statement ({} ms) {} with parameters {}", ms, template, parameterTypes);
+        }
+    }
+
+    private StatementStatistics getStatementStatistics(String template) {
+        StatementStatistics stats = statements.get(template);
+        if (stats == null) {
+            if (statements.size() >= MAX_TEMPLATES) {
+                template = OTHER_TEMPLATES;
+            }
+            StatementStatistics newStats = new StatementStatistics(template);
+            stats = statements.putIfAbsent(template, newStats);
+            if (stats == null) {
+                stats = newStats;
+            }
+        }
+        return stats;
+    }
+
+    private static void max(AtomicLong max, long value) {
+        while (true) {
+            long current = max.get();
+            if (value <= current || max.compareAndSet(current, value)) {
+                break;
+            }
+        }
+    }
+
+    private static class StatementStatistics {
+
+        private final String template;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS.length + 1);
+
+        private StatementStatistics(String template) {
+            this.template = template;
+        }
+
+        private void record(long time) {
+            count.incrementAndGet();
+            nanos.addAndGet(time);
+            max(maxNanos, time);
+            long ms = time / 1000000L;
+            int bucket = 0;
+            while (bucket < BUCKETS.length && ms > BUCKETS[bucket]) {
+                bucket++;
+            }
+            histogram.incrementAndGet(bucket);
+        }
+
+        @Override
+        public String toString() {
+            long n = count.get();
+            long total = nanos.get();
+            StringBuilder s = new StringBuilder();
+            s.append(String.format("count=%d total=%dms mean=%.2fms max=%dms histogram=[",
+                    n,
+                    total / 1000000L,
+                    n > 0 ? total / 1000000.0 / n : 0.0,
+                    maxNanos.get() / 1000000L));
+            for (int i = 0; i < histogram.length(); i++) {
+                if (i > 0) {
+                    s.append(" ");
+                }
+                if (i < BUCKETS.length) {
+                    s.append("<=").append(BUCKETS[i]).append("ms");
+                } else {
+                    s.append(">").append(BUCKETS[BUCKETS.length - 1]).append("ms");
+                }
+                s.append(":").append(histogram.get(i));
+            }
+            s.append("] ").append(template);
+            return s.toString();
+        }
+    }
+
+}
@@ -10,7 +10,7 @@ import javax.sql.DataSource;
 @Component
 public class MainDBInitConfig extends AbstractDBInitConfig {
 
-    public static final int VERSION = 31;
+    public static final int VERSION = 38;
 
     @Autowired
     public MainDBInitConfig(DataSource dataSource) {
@@ -22,12 +22,22 @@ public class MainDBInitConfig extends AbstractDBInitConfig {
         return "main";
     }
 
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public String getVersionTable() {
+        return "DBVERSION";
+    }
+
     @Override
     public DBInit createConfig() {
         DBInit db = new DBInit();
-        db.setVersion(VERSION);
+        db.setVersion(getVersion());
         db.setJdbcDataSource(dataSource);
-        db.setVersionTable("DBVERSION");
+        db.setVersionTable(getVersionTable());
         db.setVersionColumnName("VALUE");
         db.setVersionColumnTimestamp("UPDATED");
         db.setResourceInitialization("/META-INF/db/init.sql");
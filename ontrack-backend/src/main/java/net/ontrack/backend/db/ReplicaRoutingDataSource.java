@@ -0,0 +1,79 @@
+package net.ontrack.backend.db;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Data source which gets the connections of the read-only transactions from one of the
+ * {@link DataSourceReplicas replicas}, and all the other ones from the primary database.
+ * <p/>
+ * The transaction manager gets its connection before the read-only flag of the transaction
+ * is set, so this data source must be used behind a {@link LazyConnectionDataSourceProxy}.
+ * <p/>
+ * If no replica can be used, or if the current account has just written into the primary
+ * database, the connection is taken from the primary database.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSourceReplicas replicas;
+
+    public ReplicaRoutingDataSource(DataSourceReplicas replicas) {
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (!replicas.isSticky()) {
+                DataSourceReplicas.Replica replica = replicas.select();
+                if (replica != null) {
+                    try {
+                        return getConnection(replica.getDataSource(), username, password);
+                    } catch (SQLException | RuntimeException ex) {
+                        // Falls back on the primary database
+                        replicas.unavailable(replica, ex);
+                    }
+                }
+            }
+        } else {
+            writing();
+        }
+        return getConnection(replicas.getPrimary(), username, password);
+    }
+
+    /**
+     * The current account is recorded as a writer once its transaction is committed
+     */
+    private void writing() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    replicas.written();
+                }
+            });
+        } else {
+            replicas.written();
+        }
+    }
+
+    private Connection getConnection(DataSource dataSource, String username, String password) throws SQLException {
+        if (username != null) {
+            return dataSource.getConnection(username, password);
+        } else {
+            return dataSource.getConnection();
+        }
+    }
+
+}
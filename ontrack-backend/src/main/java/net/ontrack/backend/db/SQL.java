@@ -21,13 +21,14 @@ public interface SQL {
     String BUILD = "SELECT * FROM BUILD WHERE ID = :id";
     String BUILD_LAST_BY_BRANCH = "SELECT * FROM BUILD WHERE BRANCH = :branch ORDER BY ID DESC LIMIT 1";
     String BUILD_LIST = "SELECT * FROM BUILD WHERE BRANCH = :branch ORDER BY ID DESC LIMIT :count OFFSET :offset";
-    String BUILD_CREATE = "INSERT INTO BUILD (BRANCH, NAME, DESCRIPTION) VALUES (:branch, :name, :description)";
+    String BUILD_CREATE = "INSERT INTO BUILD (BRANCH, NAME, SORT_KEY, DESCRIPTION) VALUES (:branch, :name, :sortKey, :description)";
     String BUILD_BY_NAME = "SELECT * FROM BUILD WHERE NAME = :name";
     String BUILD_BY_BRANCH_AND_NAME = "SELECT ID FROM BUILD WHERE BRANCH = :branch AND NAME = :name";
-    String BUILD_BY_BRANCH_AND_NUMERIC_NAME = "SELECT ID FROM (SELECT * FROM BUILD WHERE BRANCH = :branch AND NAME REGEXP '[0-9]+') WHERE  CONVERT(NAME,INT) >= CONVERT(:name,INT)  ORDER BY CONVERT(NAME,INT)";
+    String BUILD_IDS_BY_BRANCH_AND_NAMES = "SELECT ID, NAME FROM BUILD WHERE BRANCH = :branch AND NAME IN (:names)";
+    String BUILD_BY_BRANCH_AND_SORT_KEY = "SELECT ID FROM BUILD WHERE BRANCH = :branch AND SORT_KEY >= :sortKey ORDER BY SORT_KEY, ID LIMIT 1";
     String BUILD_LAST_FOR_PROMOTION_LEVEL = "SELECT BUILD FROM PROMOTED_RUN WHERE PROMOTION_LEVEL = :promotionLevel ORDER BY BUILD DESC LIMIT 1";
     String BUILD_DELETE = "DELETE FROM BUILD WHERE ID = :id";
-    String BUILD_UPDATE = "UPDATE BUILD SET NAME = :name, DESCRIPTION = :description WHERE ID = :id";
+    String BUILD_UPDATE = "UPDATE BUILD SET NAME = :name, SORT_KEY = :sortKey, DESCRIPTION = :description WHERE ID = :id";
     // Validation stamps
     long VALIDATION_STAMP_IMAGE_MAXSIZE = 4096;
     String VALIDATION_STAMP = "SELECT ID, BRANCH, NAME, DESCRIPTION, PROMOTION_LEVEL, ORDERNB, OWNER_ID FROM VALIDATION_STAMP WHERE ID = :id";
@@ -35,8 +36,9 @@ public interface SQL {
     String VALIDATION_STAMP_LIST = "SELECT ID, BRANCH, NAME, DESCRIPTION, PROMOTION_LEVEL, ORDERNB, OWNER_ID FROM VALIDATION_STAMP WHERE BRANCH = :branch ORDER BY ORDERNB";
     String VALIDATION_STAMP_CREATE = "INSERT INTO VALIDATION_STAMP (BRANCH, NAME, DESCRIPTION, ORDERNB) VALUES (:branch, :name, :description, :orderNb)";
     String VALIDATION_STAMP_DELETE = "DELETE FROM VALIDATION_STAMP WHERE ID = :id";
-    String VALIDATIONSTAMP_IMAGE_UPDATE = "UPDATE VALIDATION_STAMP SET IMAGE = :image WHERE ID = :id";
+    String VALIDATIONSTAMP_IMAGE_UPDATE = "UPDATE VALIDATION_STAMP SET IMAGE = :image, IMAGE_HASH = :imageHash WHERE ID = :id";
     String VALIDATIONSTAMP_IMAGE = "SELECT IMAGE FROM VALIDATION_STAMP WHERE ID = :id";
+    String VALIDATIONSTAMP_IMAGE_CONTENT = "SELECT IMAGE, IMAGE_HASH FROM VALIDATION_STAMP WHERE ID = :id";
     String VALIDATION_STAMP_PROMOTION_LEVEL = "UPDATE VALIDATION_STAMP SET PROMOTION_LEVEL = :promotionLevel WHERE ID = :id";
     String VALIDATION_STAMP_FOR_PROMOTION_LEVEL = "SELECT ID, BRANCH, NAME, DESCRIPTION, PROMOTION_LEVEL, ORDERNB, OWNER_ID FROM VALIDATION_STAMP WHERE PROMOTION_LEVEL = :promotionLevel ORDER BY ORDERNB";
     String VALIDATION_STAMP_WITHOUT_PROMOTION_LEVEL = "SELECT ID, BRANCH, NAME, DESCRIPTION, PROMOTION_LEVEL, ORDERNB, OWNER_ID FROM VALIDATION_STAMP WHERE BRANCH = :branch AND PROMOTION_LEVEL IS NULL ORDER BY ORDERNB";
@@ -56,8 +58,9 @@ public interface SQL {
     String PROMOTION_LEVEL_LIST = "SELECT * FROM PROMOTION_LEVEL WHERE BRANCH = :branch ORDER BY LEVELNB DESC";
     String PROMOTION_LEVEL_COUNT = "SELECT COUNT(*) FROM PROMOTION_LEVEL WHERE BRANCH = :branch";
     String PROMOTION_LEVEL_CREATE = "INSERT INTO PROMOTION_LEVEL (BRANCH, NAME, DESCRIPTION, LEVELNB, AUTOPROMOTE) VALUES (:branch, :name, :description, :levelNb, FALSE)";
-    String PROMOTION_LEVEL_IMAGE_UPDATE = "UPDATE PROMOTION_LEVEL SET IMAGE = :image WHERE ID = :id";
+    String PROMOTION_LEVEL_IMAGE_UPDATE = "UPDATE PROMOTION_LEVEL SET IMAGE = :image, IMAGE_HASH = :imageHash WHERE ID = :id";
     String PROMOTION_LEVEL_IMAGE = "SELECT IMAGE FROM PROMOTION_LEVEL WHERE ID = :id";
+    String PROMOTION_LEVEL_IMAGE_CONTENT = "SELECT IMAGE, IMAGE_HASH FROM PROMOTION_LEVEL WHERE ID = :id";
     String PROMOTION_LEVEL_HIGHER = "SELECT ID FROM PROMOTION_LEVEL WHERE BRANCH = :branch AND LEVELNB > :levelNb ORDER BY LEVELNB ASC LIMIT 1";
     String PROMOTION_LEVEL_LOWER = "SELECT ID FROM PROMOTION_LEVEL WHERE BRANCH = :branch AND LEVELNB < :levelNb ORDER BY LEVELNB DESC LIMIT 1";
     String PROMOTION_LEVEL_LEVELNB = "SELECT LEVELNB FROM PROMOTION_LEVEL WHERE ID = :id";
@@ -72,7 +75,20 @@ public interface SQL {
     String VALIDATION_RUN_CREATE = "INSERT INTO VALIDATION_RUN (BUILD, VALIDATION_STAMP, DESCRIPTION, RUN_ORDER) VALUES (:build, :validationStamp, :description, :runOrder)";
     String VALIDATION_RUN_FOR_BUILD_AND_STAMP = "SELECT * FROM VALIDATION_RUN WHERE BUILD = :build AND VALIDATION_STAMP = :validationStamp ORDER BY ID ASC";
     String VALIDATION_RUN_LAST_FOR_BUILD_AND_STAMP = "SELECT * FROM VALIDATION_RUN WHERE BUILD = :build AND VALIDATION_STAMP = :validationStamp ORDER BY ID DESC LIMIT 1";
-    String VALIDATION_RUN_COUNT_FOR_BUILD_AND_STAMP = "SELECT COUNT(*) FROM VALIDATION_RUN WHERE BUILD = :build AND VALIDATION_STAMP = :validationStamp";
+    String VALIDATION_RUN_LOCK_BUILD = "SELECT ID FROM BUILD WHERE ID = :build FOR UPDATE";
+    String VALIDATION_RUN_LAST_ORDER_FOR_BUILD_AND_STAMP = "SELECT COALESCE(MAX(RUN_ORDER), 0) FROM VALIDATION_RUN WHERE BUILD = :build AND VALIDATION_STAMP = :validationStamp";
+    String VALIDATION_RUN_LAST_ORDER_FOR_BUILD_BY_STAMP = "SELECT VALIDATION_STAMP, MAX(RUN_ORDER) AS RUN_ORDER FROM VALIDATION_RUN WHERE BUILD = :build GROUP BY VALIDATION_STAMP";
+    String VALIDATION_RUN_LAST_ID_FOR_BUILD = "SELECT COALESCE(MAX(ID), 0) FROM VALIDATION_RUN WHERE BUILD = :build";
+    String VALIDATION_RUN_CREATED_FOR_BUILD = "SELECT ID, VALIDATION_STAMP, RUN_ORDER FROM VALIDATION_RUN WHERE BUILD = :build AND ID > :after";
+    String VALIDATION_RUN_STAMPS_OF_PROMOTION_LEVEL_WITH_LAST_STATUS = "SELECT VR.VALIDATION_STAMP " +
+            "FROM VALIDATION_RUN VR " +
+            "INNER JOIN VALIDATION_STAMP VS ON VS.ID = VR.VALIDATION_STAMP " +
+            "INNER JOIN VALIDATION_RUN_STATUS VRS ON VRS.VALIDATION_RUN = VR.ID " +
+            "WHERE VR.BUILD = :build " +
+            "AND VS.PROMOTION_LEVEL = :promotionLevel " +
+            "AND VR.ID = (SELECT MAX(VR2.ID) FROM VALIDATION_RUN VR2 WHERE VR2.BUILD = VR.BUILD AND VR2.VALIDATION_STAMP = VR.VALIDATION_STAMP) " +
+            "AND VRS.ID = (SELECT MAX(VRS2.ID) FROM VALIDATION_RUN_STATUS VRS2 WHERE VRS2.VALIDATION_RUN = VR.ID) " +
+            "AND VRS.STATUS = :status";
     String VALIDATION_RUN_HISTORY = "(SELECT VR.ID AS VRID, VR.RUN_ORDER AS RUN_ORDER, B.ID AS BUILD, NULL AS STATUS, CONTENT, AUTHOR, AUTHOR_ID, COMMENT_TIMESTAMP AS EVENT_TIMESTAMP\n" +
             "FROM COMMENT C\n" +
             "INNER JOIN VALIDATION_RUN VR ON VR.ID = C.VALIDATION_RUN\n" +
@@ -108,9 +124,22 @@ public interface SQL {
     String EVENT_VALUE_INSERT = "INSERT INTO EVENT_VALUES (EVENT, PROP_NAME, PROP_VALUE) VALUES (:id, :name, :value)";
     String EVENT_VALUE_LIST = "SELECT PROP_NAME, PROP_VALUE FROM EVENT_VALUES WHERE EVENT = :id";
     String EVENT = "SELECT * FROM EVENTS WHERE ID = :id";
-    String EVENTS_TO_SEND = "SELECT * FROM EVENTS WHERE SENT IS NULL OR SENT IS FALSE ORDER BY ID ASC";
+    String EVENTS_TO_SEND = "SELECT * FROM EVENTS WHERE SENT = FALSE ORDER BY ID ASC";
+    String EVENTS_TO_SEND_COUNT = "SELECT COUNT(*) FROM EVENTS WHERE SENT = FALSE";
+    String EVENT_LAST_ID = "SELECT MAX(ID) FROM EVENTS";
+    String EVENT_TIMESTAMP = "SELECT EVENT_TIMESTAMP FROM EVENTS WHERE ID = :id";
+    String EVENT_ARCHIVE_TIMESTAMP = "SELECT EVENT_TIMESTAMP FROM EVENTS_ARCHIVE WHERE ID = :id";
     String EVENT_SENT = "UPDATE EVENTS SET SENT = TRUE WHERE ID = :id";
     String EVENTS_RENAME_AUTHOR = "UPDATE EVENTS SET AUTHOR = :name WHERE AUTHOR_ID = :id";
+    // Archive of the events
+    String EVENT_COLUMNS = "ID, AUTHOR, AUTHOR_ID, EVENT_TIMESTAMP, EVENT_TYPE, ACCOUNT, PROJECT, BRANCH, BUILD, PROMOTION_LEVEL, VALIDATION_STAMP, VALIDATION_RUN, COMMENT";
+    String EVENT_VALUE_LIST_WITH_ARCHIVE = "SELECT PROP_NAME, PROP_VALUE FROM EVENT_VALUES WHERE EVENT = :id " +
+            "UNION ALL SELECT PROP_NAME, PROP_VALUE FROM EVENT_VALUES_ARCHIVE WHERE EVENT = :id";
+    String EVENTS_TO_ARCHIVE = "SELECT ID FROM EVENTS WHERE EVENT_TIMESTAMP < :before AND SENT = TRUE AND EVENT_TYPE NOT IN (:kept) ORDER BY ID ASC LIMIT :count";
+    String EVENTS_ARCHIVE_INSERT = "INSERT INTO EVENTS_ARCHIVE (" + EVENT_COLUMNS + ") SELECT " + EVENT_COLUMNS + " FROM EVENTS WHERE ID IN (:ids)";
+    String EVENT_VALUES_ARCHIVE_INSERT = "INSERT INTO EVENT_VALUES_ARCHIVE (EVENT, PROP_NAME, PROP_VALUE) SELECT EVENT, PROP_NAME, PROP_VALUE FROM EVENT_VALUES WHERE EVENT IN (:ids)";
+    String EVENTS_ARCHIVED_DELETE = "DELETE FROM EVENTS WHERE ID IN (:ids)";
+    String EVENTS_ARCHIVE_RENAME_AUTHOR = "UPDATE EVENTS_ARCHIVE SET AUTHOR = :name WHERE AUTHOR_ID = :id";
     // Accounts
     String ACCOUNT_AUTHENTICATE = "SELECT ID, NAME, FULLNAME, EMAIL, ROLENAME, MODE, LOCALE FROM ACCOUNTS WHERE MODE = 'builtin' AND NAME = :user AND PASSWORD = :password";
     String ACCOUNT_ROLE = "SELECT ROLENAME FROM ACCOUNTS WHERE MODE = :mode AND NAME = :user";
@@ -125,6 +154,12 @@ public interface SQL {
     String ACCOUNT_CHANGE_EMAIL = "UPDATE ACCOUNTS SET EMAIL = :email WHERE ID = :id AND MODE = 'builtin' AND PASSWORD = :password";
     String ACCOUNT_CHANGE_LOCALE = "UPDATE ACCOUNTS SET LOCALE = :locale WHERE ID = :id";
     String ACCOUNT_QUERY = "SELECT * FROM ACCOUNTS WHERE UPPER(NAME) LIKE :query OR UPPER(FULLNAME) LIKE :query ORDER BY NAME";
+    // API tokens
+    String ACCOUNT_TOKEN_CREATE = "INSERT INTO ACCOUNT_TOKEN (ACCOUNT, NAME, TOKEN_HASH, CREATION) VALUES (:account, :name, :tokenHash, :creation)";
+    String ACCOUNT_TOKEN_LIST = "SELECT * FROM ACCOUNT_TOKEN WHERE ACCOUNT = :account ORDER BY NAME";
+    String ACCOUNT_TOKEN_BY_HASH = "SELECT * FROM ACCOUNT_TOKEN WHERE TOKEN_HASH = :tokenHash";
+    String ACCOUNT_TOKEN_DELETE = "DELETE FROM ACCOUNT_TOKEN WHERE ACCOUNT = :account AND ID = :id";
+    String ACCOUNT_TOKEN_USED = "UPDATE ACCOUNT_TOKEN SET LAST_USED = :lastUsed WHERE ID = :id AND (LAST_USED IS NULL OR LAST_USED < :before)";
     // Project authorizations
     String PROJECT_AUTHORIZATION_DELETE = "DELETE FROM PROJECT_AUTHORIZATION WHERE PROJECT = :project AND ACCOUNT = :account";
     String PROJECT_AUTHORIZATION_INSERT = "INSERT INTO PROJECT_AUTHORIZATION (PROJECT, ACCOUNT, ROLE) VALUES (:project, :account, :role)";
@@ -132,6 +167,7 @@ public interface SQL {
     String PROJECT_AUTHORIZATION_BY_ACCOUNT = "SELECT * FROM PROJECT_AUTHORIZATION WHERE ACCOUNT = :account";
     // Configuration
     String CONFIGURATION_GET = "SELECT VALUE FROM CONFIGURATION WHERE NAME = :name";
+    String CONFIGURATION_ALL = "SELECT NAME, VALUE FROM CONFIGURATION";
     String CONFIGURATION_DELETE = "DELETE FROM CONFIGURATION WHERE NAME = :name";
     String CONFIGURATION_INSERT = "INSERT INTO CONFIGURATION (NAME, VALUE) VALUES (:name, :value)";
     // Comments
@@ -140,9 +176,14 @@ public interface SQL {
     String COMMENT_FOR_ENTITY = "SELECT * FROM COMMENT WHERE %s = :id ORDER BY ID DESC LIMIT :count OFFSET :offset";
     // Properties
     String PROPERTY_DELETE = "DELETE FROM PROPERTIES WHERE %s = :entityId AND EXTENSION = :extension AND NAME = :name";
-    String PROPERTY_INSERT = "INSERT INTO PROPERTIES (EXTENSION, NAME, VALUE, %s) VALUES (:extension, :name, :value, :entityId)";
+    String PROPERTY_INSERT = "INSERT INTO PROPERTIES (EXTENSION, NAME, VALUE, SEARCH_KEY, %s) VALUES (:extension, :name, :value, :searchKey, :entityId)";
     String PROPERTY_ALL = "SELECT * FROM PROPERTIES WHERE %s = :entityId ORDER BY EXTENSION, NAME";
     String PROPERTY_VALUE = "SELECT * FROM PROPERTIES WHERE %s = :entityId AND EXTENSION = :extension AND NAME = :name";
+    String PROPERTY_ENTITY_BY_VALUE = "SELECT %1$s FROM PROPERTIES WHERE %1$s IS NOT NULL AND EXTENSION = :extension AND NAME = :name AND VALUE = :value";
+    String PROPERTY_ENTITY_BY_SEARCH_KEY = "SELECT %1$s FROM PROPERTIES WHERE EXTENSION = :extension AND NAME = :name AND SEARCH_KEY = :searchKey AND %1$s IS NOT NULL";
+    String PROPERTY_ENTITY_BY_SEARCH_KEY_PREFIX = "SELECT %1$s FROM PROPERTIES WHERE EXTENSION = :extension AND NAME = :name AND SEARCH_KEY LIKE :searchKey ESCAPE '\\' AND %1$s IS NOT NULL ORDER BY SEARCH_KEY, %1$s";
+    String PROPERTY_NOT_INDEXED = "SELECT ID, VALUE FROM PROPERTIES WHERE EXTENSION = :extension AND NAME = :name AND SEARCH_KEY IS NULL";
+    String PROPERTY_INDEX = "UPDATE PROPERTIES SET SEARCH_KEY = :searchKey WHERE ID = :id";
     // Subscriptions
     String SUBSCRIPTION_DELETE = "DELETE FROM SUBSCRIPTION WHERE ACCOUNT = :account AND %s = :entityId";
     String SUBSCRIPTION_CREATE = "INSERT INTO SUBSCRIPTION (ACCOUNT, %s) VALUES (:account, :entityId)";
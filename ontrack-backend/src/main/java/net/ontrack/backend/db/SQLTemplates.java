@@ -0,0 +1,37 @@
+package net.ontrack.backend.db;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduction of the SQL statements to templates, so that the statements which
+ * differ only by their values are reported together and so that no value
+ * is ever written in the logs.
+ */
+public final class SQLTemplates {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'([^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(\\.\\d+)?(?![\\w.])");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private SQLTemplates() {
+    }
+
+    /**
+     * Replaces the literals by <code>?</code>, collapses the lists of parameters
+     * (like in <code>IN (?, ?, ?)</code>) and normalizes the spaces.
+     */
+    public static String template(String sql) {
+        if (StringUtils.isBlank(sql)) {
+            return "";
+        }
+        String template = STRING_LITERAL.matcher(sql).replaceAll("?");
+        template = NUMBER_LITERAL.matcher(template).replaceAll("?");
+        template = PARAMETER_LIST.matcher(template).replaceAll("(?...)");
+        template = SPACES.matcher(template).replaceAll(" ");
+        return template.trim();
+    }
+
+}
@@ -0,0 +1,51 @@
+package net.ontrack.backend.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the time spent in each phase of the start-up (database initialisation,
+ * start-up services) and logs a report once they are all done.
+ */
+@Component
+public class StartupProfiler {
+
+    private final Logger logger = LoggerFactory.getLogger(StartupProfiler.class);
+
+    private final long start = System.currentTimeMillis();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    /**
+     * Records the duration of a phase. This method can be called from several threads.
+     *
+     * @param phase Name of the phase
+     * @param time  Duration in milliseconds
+     */
+    public synchronized void record(String phase, long time) {
+        phases.put(phase, time);
+        logger.info("[startup] {} took {} ms", phase, time);
+    }
+
+    /**
+     * Gets the duration of the phases, in the order they have completed
+     */
+    public synchronized Map<String, Long> getPhases() {
+        return new LinkedHashMap<>(phases);
+    }
+
+    /**
+     * Logs the total start-up time and the duration of each phase
+     */
+    public synchronized void report() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Long> entry : phases.entrySet()) {
+            report.append(String.format("%n%8d ms  %s", entry.getValue(), entry.getKey()));
+        }
+        logger.info("[startup] Started in {} ms{}", System.currentTimeMillis() - start, report);
+    }
+
+}
@@ -3,6 +3,7 @@ package net.ontrack.backend.export;
 import com.google.common.collect.Lists;
 import net.ontrack.backend.dao.*;
 import net.ontrack.core.model.*;
+import net.ontrack.extension.api.property.PropertiesService;
 import net.ontrack.service.ManagementService;
 import org.codehaus.jackson.JsonNode;
 import org.codehaus.jackson.map.ObjectMapper;
@@ -31,12 +32,13 @@ public class ImportService137 implements ImportService {
     protected final EventDao eventDao;
     protected final CommentDao commentDao;
     protected final PropertyDao propertyDao;
+    protected final PropertiesService propertiesService;
     protected final BuildCleanupDao buildCleanupDao;
     protected final ManagementService managementService;
     protected final ObjectMapper objectMapper;
 
     @Autowired
-    public ImportService137(ManagementService managementService, ProjectDao projectDao, BranchDao branchDao, PromotionLevelDao promotionLevelDao, ValidationStampDao validationStampDao, BuildDao buildDao, PromotedRunDao promotedRunDao, ValidationRunDao validationRunDao, ValidationRunStatusDao validationRunStatusDao, EventDao eventDao, CommentDao commentDao, PropertyDao propertyDao, BuildCleanupDao buildCleanupDao, ObjectMapper objectMapper) {
+    public ImportService137(ManagementService managementService, ProjectDao projectDao, BranchDao branchDao, PromotionLevelDao promotionLevelDao, ValidationStampDao validationStampDao, BuildDao buildDao, PromotedRunDao promotedRunDao, ValidationRunDao validationRunDao, ValidationRunStatusDao validationRunStatusDao, EventDao eventDao, CommentDao commentDao, PropertyDao propertyDao, PropertiesService propertiesService, BuildCleanupDao buildCleanupDao, ObjectMapper objectMapper) {
         this.managementService = managementService;
         this.projectDao = projectDao;
         this.branchDao = branchDao;
@@ -49,6 +51,7 @@ public class ImportService137 implements ImportService {
         this.eventDao = eventDao;
         this.commentDao = commentDao;
         this.propertyDao = propertyDao;
+        this.propertiesService = propertiesService;
         this.buildCleanupDao = buildCleanupDao;
         this.objectMapper = objectMapper;
     }
@@ -160,7 +163,8 @@ public class ImportService137 implements ImportService {
                         newEntityId,
                         extension,
                         name,
-                        value
+                        value,
+                        propertiesService.getSearchKey(extension, name, value)
                 );
             } else {
                 throw new ImportLinkedtEntityMissingException("property", id);
@@ -74,6 +74,11 @@ public class DefaultExtensionManager implements ExtensionManager, StartupService
          */
         Collection<Extension> extensions = getAllExtensions();
 
+        /**
+         * All the configuration values at once, instead of one query per extension and field
+         */
+        Map<String, String> configuration = configurationDao.getValues();
+
         /**
          * Indexation of extensions
          */
@@ -88,7 +93,7 @@ public class DefaultExtensionManager implements ExtensionManager, StartupService
             String extensionName = extension.getName();
 
             // Checks for activation
-            if (isExtensionEnabled(extensionName)) {
+            if ("true".equals(configuration.get("extension." + extensionName))) {
                 logger.info("[extension] Extension={}", extensionName);
 
                 extensionIndex.put(extensionName, extension);
@@ -127,7 +132,7 @@ public class DefaultExtensionManager implements ExtensionManager, StartupService
                         configurationIndex.put(extensionName, extensionConfigurationIndex);
                     }
                     // Loads the configuration
-                    loadConfiguration(configurationExtension);
+                    loadConfiguration(configurationExtension, configuration);
                     // Adds to the list
                     extensionConfigurationIndex.put(configurationExtension.getName(), configurationExtension);
                 }
@@ -357,11 +362,15 @@ public class DefaultExtensionManager implements ExtensionManager, StartupService
     }
 
     protected void loadConfiguration(ConfigurationExtension extension) {
+        loadConfiguration(extension, configurationDao.getValues());
+    }
+
+    protected void loadConfiguration(ConfigurationExtension extension, Map<String, String> configuration) {
         for (ConfigurationExtensionField field : extension.getFields()) {
             // Configuration key
             String key = String.format("x-%s-%s-%s", extension.getExtension(), extension.getName(), field.getName());
             // Gets the value
-            String value = configurationDao.getValue(key);
+            String value = configuration.get(key);
             // Sets the value
             if (value != null) {
                 extension.configure(field.getName(), value);
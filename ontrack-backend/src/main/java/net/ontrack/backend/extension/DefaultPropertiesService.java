@@ -8,13 +8,17 @@ import net.ontrack.backend.PropertyScopeException;
 import net.ontrack.backend.dao.PropertyDao;
 import net.ontrack.backend.dao.model.TProperty;
 import net.ontrack.core.model.*;
+import net.ontrack.extension.api.Extension;
 import net.ontrack.extension.api.ExtensionManager;
 import net.ontrack.extension.api.property.PropertiesService;
 import net.ontrack.extension.api.property.PropertyExtensionDescriptor;
 import net.ontrack.extension.api.property.PropertyExtensionNotFoundException;
 import net.ontrack.extension.api.property.PropertyValueWithDescriptor;
+import net.ontrack.service.StartupService;
 import net.sf.jstring.Strings;
 import org.apache.commons.lang3.StringEscapeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,8 +29,9 @@ import java.util.List;
 import java.util.Locale;
 
 @Service
-public class DefaultPropertiesService implements PropertiesService {
+public class DefaultPropertiesService implements PropertiesService, StartupService {
 
+    private final Logger logger = LoggerFactory.getLogger(PropertiesService.class);
     private final ExtensionManager extensionManager;
     private final PropertyDao propertyDao;
 
@@ -36,6 +41,46 @@ public class DefaultPropertiesService implements PropertiesService {
         this.propertyDao = propertyDao;
     }
 
+    @Override
+    public String getName() {
+        return DefaultPropertiesService.class.getSimpleName();
+    }
+
+    /**
+     * After the indexation of the extensions
+     */
+    @Override
+    public int startupOrder() {
+        return 5;
+    }
+
+    /**
+     * Indexes the values of the searchable properties which have no search key yet, for
+     * example because they were saved before the property became searchable.
+     */
+    @Override
+    public void start() {
+        for (Extension extension : extensionManager.getExtensions()) {
+            for (final PropertyExtensionDescriptor descriptor : extension.getPropertyExtensionDescriptors()) {
+                if (descriptor.isSearchable()) {
+                    int count = propertyDao.index(
+                            descriptor.getExtension(),
+                            descriptor.getName(),
+                            new Function<String, String>() {
+                                @Override
+                                public String apply(String value) {
+                                    return descriptor.getSearchKey(value);
+                                }
+                            }
+                    );
+                    if (count > 0) {
+                        logger.info("[property] Indexed {} values for extension={}, name={}", count, descriptor.getExtension(), descriptor.getName());
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public List<? extends PropertyExtensionDescriptor> getProperties(Entity entity) {
         return extensionManager.getPropertyExtensionDescriptors(entity);
@@ -167,7 +212,33 @@ public class DefaultPropertiesService implements PropertiesService {
     @Override
     @Transactional(readOnly = true)
     public Collection<Integer> findEntityByPropertyValue(Entity entity, String extension, String name, String value) {
-        return propertyDao.findEntityByPropertyValue(entity, extension, name, value);
+        String searchKey = getSearchKey(extension, name, value);
+        if (searchKey != null) {
+            return propertyDao.findEntityBySearchKey(entity, extension, name, searchKey);
+        } else {
+            return propertyDao.findEntityByPropertyValue(entity, extension, name, value);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<Integer> findEntityByPropertyPrefix(Entity entity, String extension, String name, String prefix) {
+        String searchKey = getSearchKey(extension, name, prefix);
+        if (searchKey != null) {
+            return propertyDao.findEntityBySearchKeyPrefix(entity, extension, name, searchKey);
+        } else {
+            throw new PropertyNotSearchableException(extension, name);
+        }
+    }
+
+    @Override
+    public String getSearchKey(String extension, String name, String value) {
+        try {
+            PropertyExtensionDescriptor descriptor = extensionManager.getPropertyExtensionDescriptor(extension, name);
+            return descriptor.isSearchable() ? descriptor.getSearchKey(value) : null;
+        } catch (PropertyExtensionNotFoundException ex) {
+            return null;
+        }
     }
 
     @Override
@@ -188,7 +259,13 @@ public class DefaultPropertiesService implements PropertiesService {
                 // Validates the value
                 propertyExtensionDescriptor.validate(value);
                 // Saves the value
-                propertyDao.saveProperty(entity, entityId, extension, name, value);
+                propertyDao.saveProperty(
+                        entity,
+                        entityId,
+                        extension,
+                        name,
+                        value,
+                        propertyExtensionDescriptor.isSearchable() ? propertyExtensionDescriptor.getSearchKey(value) : null);
             }
         }
     }
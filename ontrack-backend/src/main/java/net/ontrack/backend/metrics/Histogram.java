@@ -0,0 +1,65 @@
+package net.ontrack.backend.metrics;
+
+import net.ontrack.service.model.MetricSample;
+import net.ontrack.service.model.MetricType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution of durations, in fixed buckets.
+ */
+class Histogram {
+
+    /**
+     * Upper bounds (in ms) of the buckets. The last bucket collects all the durations
+     * above the last bound.
+     */
+    private static final long[] BUCKETS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+
+    void record(long durationNanos) {
+        long ms = durationNanos / 1000000L;
+        int bucket = 0;
+        while (bucket < BUCKETS.length && ms > BUCKETS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+        count.incrementAndGet();
+        nanos.addAndGet(durationNanos);
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Samples of the histogram, using the seconds as a unit
+     *
+     * @param family Name of the histogram
+     * @param help   Description of the histogram
+     * @param labels Labels of the histogram
+     */
+    List<MetricSample> samples(String family, String help, Map<String, String> labels) {
+        List<MetricSample> samples = new ArrayList<>(BUCKETS.length + 3);
+        // The count is the one of the last bucket, so that both are consistent
+        long cumulated = 0;
+        for (int i = 0; i <= BUCKETS.length; i++) {
+            cumulated += counts.get(i);
+            Map<String, String> bucketLabels = new LinkedHashMap<>(labels);
+            bucketLabels.put("le", i < BUCKETS.length ? String.valueOf(BUCKETS[i] / 1000.0) : "+Inf");
+            samples.add(new MetricSample(family, MetricType.HISTOGRAM, help, family + "_bucket", bucketLabels, cumulated));
+        }
+        samples.add(new MetricSample(family, MetricType.HISTOGRAM, help, family + "_sum", labels, nanos.get() / 1e9));
+        samples.add(new MetricSample(family, MetricType.HISTOGRAM, help, family + "_count", labels, cumulated));
+        return samples;
+    }
+
+}
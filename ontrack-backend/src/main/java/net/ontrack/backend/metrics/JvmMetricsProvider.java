@@ -0,0 +1,52 @@
+package net.ontrack.backend.metrics;
+
+import net.ontrack.service.MetricsProvider;
+import net.ontrack.service.model.MetricSample;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Usage of the memory pools, threads and garbage collectors of the JVM.
+ */
+@Component
+public class JvmMetricsProvider implements MetricsProvider {
+
+    @Override
+    public Collection<MetricSample> getMetrics() {
+        List<MetricSample> samples = new ArrayList<>();
+        // Memory pools
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getUsage();
+            if (usage != null) {
+                String area = pool.getType() == MemoryType.HEAP ? "heap" : "nonheap";
+                samples.add(MetricSample.gauge("jvm_memory_pool_used_bytes", "Used bytes of the JVM memory pools",
+                        usage.getUsed(), "pool", pool.getName(), "area", area));
+                samples.add(MetricSample.gauge("jvm_memory_pool_committed_bytes", "Committed bytes of the JVM memory pools",
+                        usage.getCommitted(), "pool", pool.getName(), "area", area));
+                samples.add(MetricSample.gauge("jvm_memory_pool_max_bytes", "Maximum bytes of the JVM memory pools, -1 if undefined",
+                        usage.getMax(), "pool", pool.getName(), "area", area));
+            }
+        }
+        // Threads
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        samples.add(MetricSample.gauge("jvm_threads_current", "Current number of JVM threads", threads.getThreadCount()));
+        samples.add(MetricSample.gauge("jvm_threads_daemon", "Number of JVM daemon threads", threads.getDaemonThreadCount()));
+        samples.add(MetricSample.gauge("jvm_threads_peak", "Peak number of JVM threads", threads.getPeakThreadCount()));
+        // Garbage collectors
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            samples.add(MetricSample.counter("jvm_gc_collections_total", "Number of collections of the JVM garbage collectors",
+                    gc.getCollectionCount(), "gc", gc.getName()));
+            samples.add(MetricSample.counter("jvm_gc_collection_seconds_total", "Time spent in the JVM garbage collectors",
+                    gc.getCollectionTime() / 1000.0, "gc", gc.getName()));
+        }
+        // Uptime
+        samples.add(MetricSample.gauge("process_start_time_seconds", "Start time of the process",
+                ManagementFactory.getRuntimeMXBean().getStartTime() / 1000.0));
+        return samples;
+    }
+
+}
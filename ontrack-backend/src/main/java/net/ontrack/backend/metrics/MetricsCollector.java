@@ -0,0 +1,56 @@
+package net.ontrack.backend.metrics;
+
+import net.ontrack.service.MetricsProvider;
+import net.ontrack.service.model.MetricSample;
+import net.ontrack.service.support.PrometheusFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Collects the metrics of all the {@link MetricsProvider}s.
+ * <p/>
+ * This bean is exported over JMX, where the metrics can be read using the same
+ * format as the HTTP endpoint.
+ */
+@Component
+public class MetricsCollector {
+
+    private final Logger logger = LoggerFactory.getLogger(MetricsCollector.class);
+
+    private final Collection<MetricsProvider> providers;
+
+    @Autowired
+    public MetricsCollector(Collection<MetricsProvider> providers) {
+        this.providers = providers;
+    }
+
+    /**
+     * Collects the metrics. A provider which fails does not prevent the other
+     * metrics from being collected.
+     */
+    public List<MetricSample> collect() {
+        List<MetricSample> samples = new ArrayList<>();
+        for (MetricsProvider provider : providers) {
+            try {
+                samples.addAll(provider.getMetrics());
+            } catch (RuntimeException ex) {
+                logger.warn("[metrics] Cannot collect the metrics of {}: {}", provider, ex.getMessage());
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Metrics in the Prometheus text format, one line per sample
+     */
+    public List<String> getMetrics() {
+        return PrometheusFormat.format(collect());
+    }
+
+}
@@ -0,0 +1,162 @@
+package net.ontrack.backend.metrics;
+
+import net.ontrack.service.MetricsProvider;
+import net.ontrack.service.model.MetricSample;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics recorded by the application itself: executions of the background jobs,
+ * processing of the HTTP requests and calls to the remote systems.
+ * <p/>
+ * This bean does not depend on any other one, so that it can be used by the
+ * configurations and the aspects.
+ */
+@Component
+public class MetricsRegistry implements MetricsProvider {
+
+    /**
+     * Maximum number of endpoints which are tracked separately
+     */
+    private static final int MAX_ENDPOINTS = 500;
+
+    /**
+     * Key for the endpoints which cannot be tracked separately any longer
+     */
+    private static final String OTHER_ENDPOINTS = "<other>";
+
+    private final ConcurrentMap<String, JobStatistics> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Histogram> requests = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CallStatistics> calls = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps a task so that its executions are recorded as the ones of a job
+     */
+    public Runnable monitor(final String job, final Runnable task) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                JobStatistics stats = getJob(job);
+                stats.running.incrementAndGet();
+                long start = System.nanoTime();
+                boolean success = false;
+                try {
+                    task.run();
+                    success = true;
+                } finally {
+                    stats.running.decrementAndGet();
+                    jobCompleted(job, System.nanoTime() - start, success);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return task.toString();
+            }
+        };
+    }
+
+    public void jobCompleted(String job, long nanos, boolean success) {
+        JobStatistics stats = getJob(job);
+        stats.lastDurationNanos = nanos;
+        if (success) {
+            stats.successes.incrementAndGet();
+            stats.lastSuccess = System.currentTimeMillis();
+        } else {
+            stats.failures.incrementAndGet();
+            stats.lastFailure = System.currentTimeMillis();
+        }
+    }
+
+    public void requestCompleted(String endpoint, long nanos) {
+        Histogram histogram = requests.get(endpoint);
+        if (histogram == null) {
+            if (requests.size() >= MAX_ENDPOINTS) {
+                endpoint = OTHER_ENDPOINTS;
+            }
+            requests.putIfAbsent(endpoint, new Histogram());
+            histogram = requests.get(endpoint);
+        }
+        histogram.record(nanos);
+    }
+
+    public void callCompleted(String system, long nanos, boolean success) {
+        CallStatistics stats = calls.get(system);
+        if (stats == null) {
+            calls.putIfAbsent(system, new CallStatistics());
+            stats = calls.get(system);
+        }
+        stats.durations.record(nanos);
+        if (!success) {
+            stats.failures.incrementAndGet();
+        }
+    }
+
+    @Override
+    public Collection<MetricSample> getMetrics() {
+        List<MetricSample> samples = new ArrayList<>();
+        // Jobs
+        for (Map.Entry<String, JobStatistics> entry : new TreeMap<>(jobs).entrySet()) {
+            String job = entry.getKey();
+            JobStatistics stats = entry.getValue();
+            samples.add(MetricSample.counter("ontrack_job_runs_total", "Number of executions of the background jobs",
+                    stats.successes.get(), "job", job, "result", "success"));
+            samples.add(MetricSample.counter("ontrack_job_runs_total", "Number of executions of the background jobs",
+                    stats.failures.get(), "job", job, "result", "failure"));
+            samples.add(MetricSample.gauge("ontrack_job_running", "Number of running executions of the background jobs",
+                    stats.running.get(), "job", job));
+            samples.add(MetricSample.gauge("ontrack_job_last_duration_seconds", "Duration of the last execution of the background jobs",
+                    stats.lastDurationNanos / 1e9, "job", job));
+            samples.add(MetricSample.gauge("ontrack_job_last_success_timestamp_seconds", "Time of the last successful execution of the background jobs, 0 if none",
+                    stats.lastSuccess / 1000.0, "job", job));
+            samples.add(MetricSample.gauge("ontrack_job_last_failure_timestamp_seconds", "Time of the last failed execution of the background jobs, 0 if none",
+                    stats.lastFailure / 1000.0, "job", job));
+        }
+        // Requests
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(requests).entrySet()) {
+            samples.addAll(entry.getValue().samples("ontrack_http_request_duration_seconds", "Processing time of the HTTP requests, per endpoint",
+                    MetricSample.labels("endpoint", entry.getKey())));
+        }
+        // Remote calls
+        for (Map.Entry<String, CallStatistics> entry : new TreeMap<>(calls).entrySet()) {
+            samples.addAll(entry.getValue().durations.samples("ontrack_remote_call_duration_seconds", "Duration of the calls to the remote systems",
+                    MetricSample.labels("system", entry.getKey())));
+            samples.add(MetricSample.counter("ontrack_remote_call_failures_total", "Number of failed calls to the remote systems",
+                    entry.getValue().failures.get(), "system", entry.getKey()));
+        }
+        return samples;
+    }
+
+    private JobStatistics getJob(String job) {
+        JobStatistics stats = jobs.get(job);
+        if (stats == null) {
+            jobs.putIfAbsent(job, new JobStatistics());
+            stats = jobs.get(job);
+        }
+        return stats;
+    }
+
+    private static class JobStatistics {
+
+        private final AtomicLong successes = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile long lastDurationNanos;
+        private volatile long lastSuccess;
+        private volatile long lastFailure;
+
+    }
+
+    private static class CallStatistics {
+
+        private final Histogram durations = new Histogram();
+        private final AtomicLong failures = new AtomicLong();
+
+    }
+
+}
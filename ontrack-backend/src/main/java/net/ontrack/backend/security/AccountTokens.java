@@ -0,0 +1,50 @@
+package net.ontrack.backend.security;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+
+import java.security.SecureRandom;
+
+/**
+ * Generation and hashing of the API tokens.
+ * <p/>
+ * A token is made of the {@link #PREFIX} followed by 48 random hexadecimal characters.
+ * Only the SHA-256 hash of the tokens is stored: since they are random, they do not
+ * need to be salted.
+ */
+public final class AccountTokens {
+
+    public static final String PREFIX = "ontrack-";
+
+    /**
+     * Number of random bytes in a token
+     */
+    private static final int SIZE = 24;
+
+    private static final SecureRandom random = new SecureRandom();
+
+    private AccountTokens() {
+    }
+
+    public static String generate() {
+        byte[] bytes = new byte[SIZE];
+        random.nextBytes(bytes);
+        return PREFIX + BaseEncoding.base16().lowerCase().encode(bytes);
+    }
+
+    /**
+     * Checks if a password has the format of a token
+     */
+    public static boolean isToken(String value) {
+        return value != null
+                && value.length() == PREFIX.length() + 2 * SIZE
+                && value.startsWith(PREFIX)
+                && value.substring(PREFIX.length()).matches("[0-9a-f]+");
+    }
+
+    public static String hash(String token) {
+        return Hashing.sha256().hashString(token, Charsets.UTF_8).toString();
+    }
+
+}
@@ -1,5 +1,9 @@
 package net.ontrack.backend.security;
 
+import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import net.ontrack.core.model.Account;
 import net.ontrack.core.model.AccountCreationForm;
 import net.ontrack.core.model.ID;
@@ -16,21 +20,44 @@ import org.springframework.security.ldap.authentication.LdapAuthenticationProvid
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.util.Locale;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Authentication against the LDAP, when it is configured.
+ * <p/>
+ * The successful verifications are kept for a short time (see {@link #CACHE_TTL_PROPERTY}),
+ * so that the clients which authenticate on each request do not bind to the LDAP each time.
+ * Only the verified name is kept: the account and its rights are always loaded again.
+ * The entries are indexed by a hash of the credentials, salted with a random value generated
+ * at start-up: the passwords are not kept in memory.
+ */
 @Service
 public class ConfigurableLdapAuthenticationProvider implements AuthenticationProvider {
 
+    /**
+     * System property which defines how long (in seconds) a successful verification is kept.
+     * <code>0</code> disables the cache.
+     */
+    public static final String CACHE_TTL_PROPERTY = "ontrack.ldap.cache.ttl";
+
     private final AccountService accountService;
     private final LDAPProviderFactory ldapProviderFactory;
     private final SecurityUtils securityUtils;
+    private final byte[] salt = new byte[16];
+    private final Cache<String, Verification> verifications = CacheBuilder.newBuilder()
+            .expireAfterWrite(Long.getLong(CACHE_TTL_PROPERTY, 300), TimeUnit.SECONDS)
+            .maximumSize(1000)
+            .build();
 
     @Autowired
     public ConfigurableLdapAuthenticationProvider(AccountService accountService, LDAPProviderFactory ldapProviderFactory, SecurityUtils securityUtils) {
         this.accountService = accountService;
         this.ldapProviderFactory = ldapProviderFactory;
         this.securityUtils = securityUtils;
+        new SecureRandom().nextBytes(salt);
     }
 
     @Override
@@ -42,57 +69,106 @@ public class ConfigurableLdapAuthenticationProvider implements AuthenticationPro
         if (ldapAuthenticationProvider == null) {
             return null;
         }
+        // The API tokens are not LDAP passwords
+        else if (AccountTokens.isToken(String.valueOf(authentication.getCredentials()))) {
+            return null;
+        }
         // LDAP connection
         else {
-            Authentication ldapAuthentication = ldapAuthenticationProvider.authenticate(authentication);
-            if (ldapAuthentication != null && ldapAuthentication.isAuthenticated()) {
-                // Gets the account name
-                final String name = ldapAuthentication.getName();
-                // Gets any existing account
-                Account account = accountService.getAccount("ldap", name);
-                if (account == null) {
-                    // If not found, auto-registers the account using the LDAP details
+            // Recent verification, with the same LDAP configuration
+            String key = getKey(authentication);
+            Verification verification = verifications.getIfPresent(key);
+            if (verification == null || verification.provider != ldapAuthenticationProvider) {
+                Authentication ldapAuthentication = ldapAuthenticationProvider.authenticate(authentication);
+                if (ldapAuthentication != null && ldapAuthentication.isAuthenticated()) {
+                    // Gets the account name
+                    String name = ldapAuthentication.getName();
+                    // Details for the registration of the account
                     Object principal = ldapAuthentication.getPrincipal();
                     if (principal instanceof PersonLDAPUserDetails) {
-                        final PersonLDAPUserDetails details = (PersonLDAPUserDetails) principal;
-                        // Auto-registration if email is OK
-                        if (StringUtils.isNotBlank(details.getEmail())) {
-                            // Registration
-                            account = securityUtils.asAdmin(new Callable<Account>() {
-                                @Override
-                                public Account call() throws Exception {
-                                    ID id = accountService.createAccount(new AccountCreationForm(
-                                            name,
-                                            details.getFullName(),
-                                            details.getEmail(),
-                                            SecurityRoles.USER,
-                                            "ldap",
-                                            "",
-                                            ""
-                                    ));
-                                    // Created account
-                                    return accountService.getAccount(id.getValue());
-                                }
-                            });
-                        } else {
-                            // Temporary account
-                            account = new Account(0, name, details.getFullName(), "", SecurityRoles.USER, "ldap", Locale.ENGLISH);
-                        }
+                        PersonLDAPUserDetails details = (PersonLDAPUserDetails) principal;
+                        verification = new Verification(ldapAuthenticationProvider, name, details.getFullName(), details.getEmail());
                     } else {
-                        // Temporary account
-                        account = new Account(0, name, name, "", SecurityRoles.USER, "ldap", Locale.ENGLISH);
+                        verification = new Verification(ldapAuthenticationProvider, name, name, null);
                     }
+                    // Keeps the verification
+                    verifications.put(key, verification);
+                } else {
+                    return null;
                 }
-                // OK
-                return new AccountAuthentication(account);
-            } else {
-                return null;
             }
+            // Loads the account and its rights
+            return new AccountAuthentication(getAccount(verification));
         }
     }
 
+    /**
+     * Gets the account and its current rights, registering it if needed.
+     */
+    private Account getAccount(final Verification verification) {
+        // Gets any existing account
+        Account account = accountService.getAccount("ldap", verification.name);
+        if (account != null) {
+            return account;
+        }
+        // If not found, auto-registers the account using the LDAP details if email is OK
+        else if (StringUtils.isNotBlank(verification.email)) {
+            return securityUtils.asAdmin(new Callable<Account>() {
+                @Override
+                public Account call() throws Exception {
+                    ID id = accountService.createAccount(new AccountCreationForm(
+                            verification.name,
+                            verification.fullName,
+                            verification.email,
+                            SecurityRoles.USER,
+                            "ldap",
+                            "",
+                            ""
+                    ));
+                    // Created account
+                    return accountService.getAccount(id.getValue());
+                }
+            });
+        }
+        // Temporary account
+        else {
+            return new Account(0, verification.name, verification.fullName, "", SecurityRoles.USER, "ldap", Locale.ENGLISH);
+        }
+    }
+
+    /**
+     * Salted hash of the credentials
+     */
+    private String getKey(Authentication authentication) {
+        return Hashing.sha256().newHasher()
+                .putBytes(salt)
+                .putString(authentication.getName(), Charsets.UTF_8)
+                .putByte((byte) 0)
+                .putString(String.valueOf(authentication.getCredentials()), Charsets.UTF_8)
+                .hash()
+                .toString();
+    }
+
     @Override
     public boolean supports(Class<?> authentication) {
         return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
     }
+
+    /**
+     * Only the verified identity is kept: the account and its rights are loaded on each authentication.
+     */
+    private static class Verification {
+
+        private final LdapAuthenticationProvider provider;
+        private final String name;
+        private final String fullName;
+        private final String email;
+
+        private Verification(LdapAuthenticationProvider provider, String name, String fullName, String email) {
+            this.provider = provider;
+            this.name = name;
+            this.fullName = fullName;
+            this.email = email;
+        }
+    }
 }
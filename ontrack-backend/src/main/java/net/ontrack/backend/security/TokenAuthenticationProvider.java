@@ -0,0 +1,58 @@
+package net.ontrack.backend.security;
+
+import net.ontrack.core.model.Account;
+import net.ontrack.service.AccountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Authentication using an API token as a password, verified against the hashes
+ * of the tokens stored for the account.
+ * <p/>
+ * This provider is consulted first, so that the tokens are never sent to the LDAP.
+ */
+@Service
+public class TokenAuthenticationProvider implements AuthenticationProvider, Ordered {
+
+    private final AccountService accountService;
+
+    @Autowired
+    public TokenAuthenticationProvider(AccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        // User/password data
+        UsernamePasswordAuthenticationToken token = (UsernamePasswordAuthenticationToken) authentication;
+        Object credentials = token.getCredentials();
+        // Not a token, lets the other providers authenticate
+        if (!(credentials instanceof String) || !AccountTokens.isToken((String) credentials)) {
+            return null;
+        }
+        // Authenticates using the token
+        Account account = accountService.authenticateToken(token.getName(), (String) credentials);
+        if (account != null) {
+            return new AccountAuthentication(account);
+        } else {
+            throw new BadCredentialsException("Invalid token");
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+}
@@ -0,0 +1,96 @@
+package net.ontrack.backend.trace;
+
+import net.ontrack.backend.metrics.MetricsRegistry;
+import net.ontrack.service.support.TraceSpan;
+import net.ontrack.service.support.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records a span for the calls to the services, to the DAOs and to the remote systems,
+ * when a {@linkplain Tracer trace} is started for the current thread.
+ * <p/>
+ * The durations and the failures of the calls to the remote systems are also recorded
+ * in the {@linkplain MetricsRegistry metrics}, whether they are traced or not.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    private final MetricsRegistry metricsRegistry;
+
+    @Autowired
+    public TracingAspect(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Around("execution(* net.ontrack.service.ManagementService.*(..))")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("service", joinPoint);
+    }
+
+    @Around("execution(public * net.ontrack.dao.AbstractJdbcDao+.*(..))")
+    public Object dao(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("dao", joinPoint);
+    }
+
+    @Around("execution(public * net.ontrack.extension.jenkins.client.*Client.*(..))")
+    public Object jenkins(ProceedingJoinPoint joinPoint) throws Throwable {
+        return remote("jenkins", joinPoint);
+    }
+
+    @Around("execution(public * net.ontrack.extension.jira.service.*JIRAService.*(..))")
+    public Object jira(ProceedingJoinPoint joinPoint) throws Throwable {
+        return remote("jira", joinPoint);
+    }
+
+    @Around("execution(public * net.ontrack.extension.github.client.*GitHubClient.*(..))")
+    public Object github(ProceedingJoinPoint joinPoint) throws Throwable {
+        return remote("github", joinPoint);
+    }
+
+    /**
+     * Only the methods which call the repository through SVNKit, not the ones which work on
+     * the URLs or on the indexed revisions.
+     */
+    @Around("execution(public * net.ontrack.extension.svn.service.*SubversionService.getRepositoryRevision(..))" +
+            " || execution(public * net.ontrack.extension.svn.service.*SubversionService.getHistory(..))" +
+            " || execution(public * net.ontrack.extension.svn.service.*SubversionService.getMergedRevisions(..))" +
+            " || execution(public * net.ontrack.extension.svn.service.*SubversionService.exists(..))" +
+            " || execution(public * net.ontrack.extension.svn.service.*SubversionService.getRevisionInfo(..))" +
+            " || execution(public * net.ontrack.extension.svn.service.*SubversionService.getRevisionPaths(..))")
+    public Object svn(ProceedingJoinPoint joinPoint) throws Throwable {
+        return remote("svn", joinPoint);
+    }
+
+    @Around("execution(public * net.ontrack.extension.git.service.*GitService.*(..))")
+    public Object git(ProceedingJoinPoint joinPoint) throws Throwable {
+        return remote("git", joinPoint);
+    }
+
+    private Object remote(String system, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = trace(system, joinPoint);
+            success = true;
+            return result;
+        } finally {
+            metricsRegistry.callCompleted(system, System.nanoTime() - start, success);
+        }
+    }
+
+    private Object trace(String kind, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (Tracer.current() == null) {
+            return joinPoint.proceed();
+        } else {
+            try (TraceSpan ignored = Tracer.span(kind, joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName())) {
+                return joinPoint.proceed();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package net.ontrack.backend.trace;
+
+import net.ontrack.service.support.Trace;
+import net.ontrack.service.support.TraceSpan;
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the traces to a local collector, using the Zipkin V2 JSON format, which is accepted
+ * by Zipkin itself, Jaeger and the OpenTelemetry collector.
+ * <p/>
+ * The export is enabled by setting the URL of the collector in the
+ * {@link #URL_PROPERTY} system property, for example <code>http://localhost:9411/api/v2/spans</code>.
+ * The traces are sent in the background and they are dropped when the collector
+ * cannot keep up.
+ */
+@Component
+public class ZipkinTraceExporter {
+
+    /**
+     * System property which defines the URL of the collector
+     */
+    public static final String URL_PROPERTY = "ontrack.trace.zipkin";
+
+    private static final String SERVICE_NAME = "ontrack";
+
+    private final Logger logger = LoggerFactory.getLogger(ZipkinTraceExporter.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String url = System.getProperty(URL_PROPERTY);
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            1, 1,
+            0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(100),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public boolean isEnabled() {
+        return StringUtils.isNotBlank(url);
+    }
+
+    public void export(final Trace trace) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    send(toZipkin(trace));
+                } catch (IOException ex) {
+                    logger.warn("[trace] Cannot send the trace to {}: {}", url, ex.getMessage());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Converts the trace into a list of Zipkin spans. The trace itself is the root span.
+     */
+    protected List<Map<String, Object>> toZipkin(Trace trace) {
+        long timestamp = trace.getTimestamp() * 1000L;
+        List<Map<String, Object>> spans = new ArrayList<>();
+        spans.add(toZipkin(trace.getId(), trace.getId(), null, trace.getName(), "http", timestamp, trace.getDurationNanos()));
+        for (TraceSpan span : trace.getSpans()) {
+            spans.add(toZipkin(
+                    trace.getId(),
+                    span.getId(),
+                    span.getParentId() != null ? span.getParentId() : trace.getId(),
+                    span.getName(),
+                    span.getKind(),
+                    timestamp + span.getStartNanos() / 1000L,
+                    span.getDurationNanos()));
+        }
+        return spans;
+    }
+
+    private Map<String, Object> toZipkin(String traceId, String id, String parentId, String name, String kind, long timestamp, long durationNanos) {
+        Map<String, Object> span = new LinkedHashMap<>();
+        span.put("traceId", traceId);
+        span.put("id", id);
+        if (parentId != null) {
+            span.put("parentId", parentId);
+        }
+        span.put("name", StringUtils.abbreviate(name, 200));
+        span.put("timestamp", timestamp);
+        span.put("duration", Math.max(1L, durationNanos / 1000L));
+        span.put("localEndpoint", Collections.singletonMap("serviceName", SERVICE_NAME));
+        span.put("tags", Collections.singletonMap("kind", kind));
+        return span;
+    }
+
+    private void send(List<Map<String, Object>> spans) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(5000);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream output = connection.getOutputStream()) {
+                objectMapper.writeValue(output, spans);
+            }
+            int code = connection.getResponseCode();
+            if (code >= 300) {
+                logger.warn("[trace] The collector at {} returned {}", url, code);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+}
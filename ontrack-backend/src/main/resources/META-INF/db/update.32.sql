@@ -0,0 +1,9 @@
+-- Hashes of the images, used as entity tags
+ALTER TABLE VALIDATION_STAMP ADD IMAGE_HASH BINARY(32) NULL;
+ALTER TABLE PROMOTION_LEVEL ADD IMAGE_HASH BINARY(32) NULL;
+UPDATE VALIDATION_STAMP SET IMAGE_HASH = HASH('SHA256', IMAGE, 1) WHERE IMAGE IS NOT NULL;
+UPDATE PROMOTION_LEVEL SET IMAGE_HASH = HASH('SHA256', IMAGE, 1) WHERE IMAGE IS NOT NULL;
+
+-- @rollback
+ALTER TABLE VALIDATION_STAMP DROP IMAGE_HASH;
+ALTER TABLE PROMOTION_LEVEL DROP IMAGE_HASH;
@@ -0,0 +1,5 @@
+-- Index on the event types, used for the versions of the resources
+CREATE INDEX IDX_EVENTS_EVENT_TYPE ON EVENTS (EVENT_TYPE);
+
+-- @rollback
+DROP INDEX IDX_EVENTS_EVENT_TYPE;
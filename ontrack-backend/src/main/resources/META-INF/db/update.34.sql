@@ -0,0 +1,55 @@
+-- Archive of the events
+CREATE TABLE EVENTS_ARCHIVE (
+	ID INTEGER NOT NULL,
+	AUTHOR VARCHAR(80) NOT NULL,
+	AUTHOR_ID INTEGER NULL,
+	EVENT_TIMESTAMP TIMESTAMP NOT NULL,
+	EVENT_TYPE VARCHAR(40) NOT NULL,
+	ACCOUNT INTEGER NULL,
+	PROJECT INTEGER NULL,
+	BRANCH INTEGER NULL,
+	BUILD INTEGER NULL,
+	PROMOTION_LEVEL INTEGER NULL,
+	VALIDATION_STAMP INTEGER NULL,
+	VALIDATION_RUN INTEGER NULL,
+	COMMENT INTEGER NULL,
+	CONSTRAINT PK_EVENTS_ARCHIVE PRIMARY KEY (ID),
+	CONSTRAINT FK_EVENTS_ARCHIVE_AUTHOR FOREIGN KEY (AUTHOR_ID) REFERENCES ACCOUNTS (ID) ON DELETE SET NULL,
+	CONSTRAINT FK_EVENTS_ARCHIVE_ACCOUNT FOREIGN KEY (ACCOUNT) REFERENCES ACCOUNTS (ID) ON DELETE CASCADE,
+	CONSTRAINT FK_EVENTS_ARCHIVE_PROJECT FOREIGN KEY (PROJECT) REFERENCES PROJECT (ID) ON DELETE CASCADE,
+	CONSTRAINT FK_EVENTS_ARCHIVE_BRANCH FOREIGN KEY (BRANCH) REFERENCES BRANCH (ID) ON DELETE CASCADE,
+	CONSTRAINT FK_EVENTS_ARCHIVE_BUILD FOREIGN KEY (BUILD) REFERENCES BUILD (ID) ON DELETE CASCADE,
+	CONSTRAINT FK_EVENTS_ARCHIVE_PROMOTION_LEVEL FOREIGN KEY (PROMOTION_LEVEL) REFERENCES PROMOTION_LEVEL (ID) ON DELETE CASCADE,
+	CONSTRAINT FK_EVENTS_ARCHIVE_VALIDATION_STAMP FOREIGN KEY (VALIDATION_STAMP) REFERENCES VALIDATION_STAMP (ID) ON DELETE CASCADE,
+	CONSTRAINT FK_EVENTS_ARCHIVE_VALIDATION_RUN FOREIGN KEY (VALIDATION_RUN) REFERENCES VALIDATION_RUN (ID) ON DELETE CASCADE,
+	CONSTRAINT FK_EVENTS_ARCHIVE_COMMENT FOREIGN KEY (COMMENT) REFERENCES COMMENT (ID) ON DELETE CASCADE
+);
+
+CREATE TABLE EVENT_VALUES_ARCHIVE (
+	EVENT INTEGER NOT NULL,
+	PROP_NAME VARCHAR(20) NOT NULL,
+	PROP_VALUE VARCHAR(80) NOT NULL,
+	CONSTRAINT PK_EVENT_VALUES_ARCHIVE PRIMARY KEY (EVENT, PROP_NAME),
+	CONSTRAINT FK_EVENT_VALUES_ARCHIVE_EVENT FOREIGN KEY (EVENT) REFERENCES EVENTS_ARCHIVE (ID) ON DELETE CASCADE
+);
+
+-- Events to archive, by age
+CREATE INDEX IDX_EVENTS_EVENT_TIMESTAMP ON EVENTS (EVENT_TIMESTAMP);
+
+-- Events to send
+UPDATE EVENTS SET SENT = FALSE WHERE SENT IS NULL;
+ALTER TABLE EVENTS ALTER COLUMN SENT SET DEFAULT FALSE;
+ALTER TABLE EVENTS ALTER COLUMN SENT SET NOT NULL;
+CREATE INDEX IDX_EVENTS_SENT ON EVENTS (SENT, ID);
+
+-- @rollback
+DROP INDEX IDX_EVENTS_SENT;
+ALTER TABLE EVENTS ALTER COLUMN SENT SET NULL;
+ALTER TABLE EVENTS ALTER COLUMN SENT SET DEFAULT NULL;
+DROP INDEX IDX_EVENTS_EVENT_TIMESTAMP;
+INSERT INTO EVENTS (ID, AUTHOR, AUTHOR_ID, EVENT_TIMESTAMP, EVENT_TYPE, ACCOUNT, PROJECT, BRANCH, BUILD, PROMOTION_LEVEL, VALIDATION_STAMP, VALIDATION_RUN, COMMENT, SENT)
+	SELECT ID, AUTHOR, AUTHOR_ID, EVENT_TIMESTAMP, EVENT_TYPE, ACCOUNT, PROJECT, BRANCH, BUILD, PROMOTION_LEVEL, VALIDATION_STAMP, VALIDATION_RUN, COMMENT, TRUE FROM EVENTS_ARCHIVE;
+INSERT INTO EVENT_VALUES (EVENT, PROP_NAME, PROP_VALUE)
+	SELECT EVENT, PROP_NAME, PROP_VALUE FROM EVENT_VALUES_ARCHIVE;
+DROP TABLE EVENT_VALUES_ARCHIVE;
+DROP TABLE EVENTS_ARCHIVE;
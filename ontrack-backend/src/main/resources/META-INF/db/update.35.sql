@@ -0,0 +1,7 @@
+-- Normalized lookup keys of the searchable properties
+ALTER TABLE PROPERTIES ADD COLUMN SEARCH_KEY VARCHAR(300) NULL;
+CREATE INDEX IDX_PROPERTIES_SEARCH_KEY ON PROPERTIES (EXTENSION, NAME, SEARCH_KEY);
+
+-- @rollback
+DROP INDEX IDX_PROPERTIES_SEARCH_KEY;
+ALTER TABLE PROPERTIES DROP COLUMN SEARCH_KEY;
@@ -0,0 +1,11 @@
+-- Natural sort key of the build names
+ALTER TABLE BUILD ADD COLUMN SORT_KEY VARCHAR(160) NULL;
+CREATE ALIAS BUILD_SORT_KEY FOR "net.ontrack.backend.db.BuildSortKey.of";
+UPDATE BUILD SET SORT_KEY = BUILD_SORT_KEY(NAME);
+DROP ALIAS BUILD_SORT_KEY;
+ALTER TABLE BUILD ALTER COLUMN SORT_KEY SET NOT NULL;
+CREATE INDEX IDX_BUILD_SORT_KEY ON BUILD (BRANCH, SORT_KEY);
+
+-- @rollback
+DROP INDEX IDX_BUILD_SORT_KEY;
+ALTER TABLE BUILD DROP COLUMN SORT_KEY;
@@ -0,0 +1,15 @@
+-- API tokens of the accounts
+CREATE TABLE ACCOUNT_TOKEN (
+  ID INTEGER NOT NULL AUTO_INCREMENT,
+  ACCOUNT INTEGER NOT NULL,
+  NAME VARCHAR(80) NOT NULL,
+  TOKEN_HASH VARCHAR(64) NOT NULL,
+  CREATION TIMESTAMP NOT NULL,
+  LAST_USED TIMESTAMP NULL,
+  CONSTRAINT PK_ACCOUNT_TOKEN PRIMARY KEY (ID),
+  CONSTRAINT FK_ACCOUNT_TOKEN_ACCOUNT FOREIGN KEY (ACCOUNT) REFERENCES ACCOUNTS (ID) ON DELETE CASCADE,
+  CONSTRAINT UQ_ACCOUNT_TOKEN_HASH UNIQUE (TOKEN_HASH)
+);
+
+-- @rollback
+DROP TABLE IF EXISTS ACCOUNT_TOKEN;
@@ -0,0 +1,5 @@
+-- Index on the types of the archived events, used for the versions of the resources
+CREATE INDEX IDX_EVENTS_ARCHIVE_EVENT_TYPE ON EVENTS_ARCHIVE (EVENT_TYPE);
+
+-- @rollback
+DROP INDEX IDX_EVENTS_ARCHIVE_EVENT_TYPE;
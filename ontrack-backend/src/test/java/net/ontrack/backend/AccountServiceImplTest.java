@@ -52,7 +52,8 @@ public class AccountServiceImplTest {
                 validationRunStatusDao,
                 eventDao,
                 projectAuthorizationDao,
-                globalAuthorizationDao);
+                globalAuthorizationDao,
+                mock(AccountTokenDao.class));
     }
 
     @Test
@@ -7,6 +7,7 @@ import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import static org.junit.Assert.*;
@@ -250,4 +251,38 @@ public class AccountServiceTest extends AbstractValidationTest {
         });
     }
 
+    @Test
+    public void tokens() throws Exception {
+        final Account account = doCreateAccount();
+        // Creates a token
+        final String token = asAdmin().call(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return accountService.createToken(account.getId(), "Build");
+            }
+        });
+        final AccountToken accountToken = asAdmin().call(new Callable<List<AccountToken>>() {
+            @Override
+            public List<AccountToken> call() throws Exception {
+                return accountService.getTokens(account.getId());
+            }
+        }).get(0);
+        assertEquals("Build", accountToken.getName());
+        // Authentication
+        Account authenticated = accountService.authenticateToken(account.getName(), token);
+        assertNotNull(authenticated);
+        assertEquals(account.getId(), authenticated.getId());
+        assertNull(accountService.authenticateToken("admin", token));
+        assertNull(accountService.authenticate(account.getName(), token));
+        // Revocation
+        Ack ack = asAdmin().call(new Callable<Ack>() {
+            @Override
+            public Ack call() throws Exception {
+                return accountService.revokeToken(account.getId(), accountToken.getId());
+            }
+        });
+        assertTrue("Token revoked", ack.isSuccess());
+        assertNull(accountService.authenticateToken(account.getName(), token));
+    }
+
 }
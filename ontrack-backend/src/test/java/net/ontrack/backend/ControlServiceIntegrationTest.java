@@ -5,14 +5,16 @@ import net.ontrack.core.security.SecurityUtils;
 import net.ontrack.core.support.MapBuilder;
 import net.ontrack.service.ControlService;
 import net.ontrack.service.EventService;
+import net.ontrack.service.ManagementService;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Locale;
 import java.util.concurrent.Callable;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.*;
 
 public class ControlServiceIntegrationTest extends AbstractBackendTest {
 
@@ -22,6 +24,8 @@ public class ControlServiceIntegrationTest extends AbstractBackendTest {
     private ControlService controlService;
     @Autowired
     private SecurityUtils securityUtils;
+    @Autowired
+    private ManagementService managementService;
 
     @Test
     public void createBuild() throws Exception {
@@ -57,4 +61,193 @@ public class ControlServiceIntegrationTest extends AbstractBackendTest {
         assertEquals(account.getFullName(), s.getSignature().getName());
     }
 
+    @Test
+    public void createBuildReport() throws Exception {
+        // Prerequisites
+        final BranchSummary branch = doCreateBranch();
+        final ValidationStampSummary stamp1 = doCreateValidationStamp(branch.getId());
+        final ValidationStampSummary stamp2 = doCreateValidationStamp(branch.getId());
+        final PromotionLevelSummary promotionLevel = doCreatePromotionLevel(branch.getId());
+        // Report
+        BuildReportResult result = asAdmin().call(new Callable<BuildReportResult>() {
+            @Override
+            public BuildReportResult call() throws Exception {
+                return controlService.createBuildReport(
+                        Locale.ENGLISH,
+                        branch.getId(),
+                        "1",
+                        new BuildReportForm(
+                                "Build 1",
+                                PropertiesCreationForm.create(),
+                                Arrays.asList(
+                                        new BuildReportValidationRun(stamp1.getName(), new ValidationRunCreationForm(Status.PASSED, "Run 1", PropertiesCreationForm.create())),
+                                        new BuildReportValidationRun("XXX", new ValidationRunCreationForm(Status.PASSED, "Unknown", PropertiesCreationForm.create())),
+                                        new BuildReportValidationRun(stamp2.getName(), new ValidationRunCreationForm(Status.FAILED, "Run 2", PropertiesCreationForm.create())),
+                                        new BuildReportValidationRun(stamp2.getName(), new ValidationRunCreationForm(Status.PASSED, "Run 3", PropertiesCreationForm.create()))
+                                ),
+                                Collections.singletonList(
+                                        new BuildReportPromotedRun(promotionLevel.getName(), new PromotedRunCreationForm(null, "Promotion"))
+                                )
+                        )
+                );
+            }
+        });
+        // Build
+        assertNotNull(result.getBuild());
+        assertEquals("1", result.getBuild().getName());
+        // Items
+        assertEquals(5, result.getItems().size());
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertFalse(result.getItems().get(1).isSuccess());
+        assertTrue(result.getItems().get(1).getMessage().contains("\"XXX\" cannot be found"));
+        assertTrue(result.getItems().get(2).isSuccess());
+        assertTrue(result.getItems().get(3).isSuccess());
+        assertTrue(result.getItems().get(4).isSuccess());
+        assertEquals(Entity.PROMOTION_LEVEL, result.getItems().get(4).getEntity());
+        // Runs
+        ValidationRunSummary run1 = managementService.getValidationRun(result.getItems().get(0).getId());
+        assertEquals(1, run1.getRunOrder());
+        assertEquals(Status.PASSED, run1.getValidationRunStatus().getStatus());
+        ValidationRunSummary run2 = managementService.getValidationRun(result.getItems().get(2).getId());
+        assertEquals(1, run2.getRunOrder());
+        assertEquals(Status.FAILED, run2.getValidationRunStatus().getStatus());
+        ValidationRunSummary run3 = managementService.getValidationRun(result.getItems().get(3).getId());
+        assertEquals(2, run3.getRunOrder());
+        assertEquals(Status.PASSED, run3.getValidationRunStatus().getStatus());
+    }
+
+    @Test
+    public void createBuildReport_auto_and_explicit_promotion() throws Exception {
+        // Prerequisites
+        final BranchSummary branch = doCreateBranch();
+        final ValidationStampSummary stamp = doCreateValidationStamp(branch.getId());
+        final PromotionLevelSummary promotionLevel = doCreatePromotionLevel(branch.getId());
+        asAdmin().call(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                managementService.linkValidationStampToPromotionLevel(stamp.getId(), promotionLevel.getId());
+                managementService.setPromotionLevelAutoPromote(promotionLevel.getId());
+                return null;
+            }
+        });
+        // Report which promotes the build automatically, and explicitly
+        BuildReportResult result = asAdmin().call(new Callable<BuildReportResult>() {
+            @Override
+            public BuildReportResult call() throws Exception {
+                return controlService.createBuildReport(
+                        Locale.ENGLISH,
+                        branch.getId(),
+                        "1",
+                        new BuildReportForm(
+                                "Build 1",
+                                PropertiesCreationForm.create(),
+                                Collections.singletonList(
+                                        new BuildReportValidationRun(stamp.getName(), new ValidationRunCreationForm(Status.PASSED, "Run", PropertiesCreationForm.create()))
+                                ),
+                                Collections.singletonList(
+                                        new BuildReportPromotedRun(promotionLevel.getName(), new PromotedRunCreationForm(null, "Promotion"))
+                                )
+                        )
+                );
+            }
+        });
+        // Promoted run kept
+        assertTrue(result.getItems().get(1).isSuccess());
+        int buildId = result.getBuild().getId();
+        assertEquals(managementService.getPromotedRun(buildId, promotionLevel.getId()).getId(), result.getItems().get(1).getId());
+        // One promotion event only
+        int promotions = 0;
+        for (ExpandedEvent event : eventService.list(new EventFilter(0, 100).withEntity(Entity.BUILD, buildId))) {
+            if (event.getEventType() == EventType.PROMOTED_RUN_CREATED) {
+                promotions++;
+            }
+        }
+        assertEquals(1, promotions);
+    }
+
+    @Test
+    public void autoPromotion() throws Exception {
+        // Prerequisites
+        BranchSummary branch = doCreateBranch();
+        final ValidationStampSummary stamp1 = doCreateValidationStamp(branch.getId());
+        final ValidationStampSummary stamp2 = doCreateValidationStamp(branch.getId());
+        final ValidationStampSummary stamp3 = doCreateValidationStamp(branch.getId());
+        final PromotionLevelSummary promotionLevel = doCreatePromotionLevel(branch.getId());
+        asAdmin().call(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                managementService.linkValidationStampToPromotionLevel(stamp1.getId(), promotionLevel.getId());
+                managementService.linkValidationStampToPromotionLevel(stamp2.getId(), promotionLevel.getId());
+                managementService.setPromotionLevelAutoPromote(promotionLevel.getId());
+                return null;
+            }
+        });
+        // A stamp which fails after having passed is not counted any longer
+        BuildSummary build1 = doCreateBuild(branch.getId());
+        doCreateValidationRun(stamp1.getId(), build1.getId(), Status.PASSED);
+        doCreateValidationRun(stamp1.getId(), build1.getId(), Status.FAILED);
+        doCreateValidationRun(stamp2.getId(), build1.getId(), Status.PASSED);
+        assertNull(managementService.getPromotedRun(build1.getId(), promotionLevel.getId()));
+        doCreateValidationRun(stamp1.getId(), build1.getId(), Status.PASSED);
+        assertNotNull(managementService.getPromotedRun(build1.getId(), promotionLevel.getId()));
+        // Status changed on an existing run
+        BuildSummary build2 = doCreateBuild(branch.getId());
+        doCreateValidationRun(stamp1.getId(), build2.getId(), Status.PASSED);
+        final ValidationRunSummary run = doCreateValidationRun(stamp2.getId(), build2.getId(), Status.PASSED);
+        assertNotNull(managementService.getPromotedRun(build2.getId(), promotionLevel.getId()));
+        asAdmin().call(new Callable<Ack>() {
+            @Override
+            public Ack call() throws Exception {
+                return managementService.addValidationRunComment(run.getId(), new ValidationRunCommentCreationForm(Status.FAILED.name(), "Failed", null));
+            }
+        });
+        assertFalse(managementService.isPromotionLevelComplete(build2.getId(), promotionLevel.getId()));
+        // Reassignment of the stamps
+        BuildSummary build3 = doCreateBuild(branch.getId());
+        doCreateValidationRun(stamp1.getId(), build3.getId(), Status.PASSED);
+        doCreateValidationRun(stamp3.getId(), build3.getId(), Status.PASSED);
+        assertNull(managementService.getPromotedRun(build3.getId(), promotionLevel.getId()));
+        asAdmin().call(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                managementService.unlinkValidationStampToPromotionLevel(stamp2.getId());
+                managementService.linkValidationStampToPromotionLevel(stamp3.getId(), promotionLevel.getId());
+                return null;
+            }
+        });
+        assertTrue(managementService.isPromotionLevelComplete(build3.getId(), promotionLevel.getId()));
+        doCreateValidationRun(stamp1.getId(), build3.getId(), Status.PASSED);
+        assertNotNull(managementService.getPromotedRun(build3.getId(), promotionLevel.getId()));
+    }
+
+    @Test
+    public void autoPromotion_on_status_change() throws Exception {
+        // Prerequisites
+        BranchSummary branch = doCreateBranch();
+        final ValidationStampSummary stamp1 = doCreateValidationStamp(branch.getId());
+        final ValidationStampSummary stamp2 = doCreateValidationStamp(branch.getId());
+        final PromotionLevelSummary promotionLevel = doCreatePromotionLevel(branch.getId());
+        asAdmin().call(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                managementService.linkValidationStampToPromotionLevel(stamp1.getId(), promotionLevel.getId());
+                managementService.linkValidationStampToPromotionLevel(stamp2.getId(), promotionLevel.getId());
+                managementService.setPromotionLevelAutoPromote(promotionLevel.getId());
+                return null;
+            }
+        });
+        BuildSummary build = doCreateBuild(branch.getId());
+        final ValidationRunSummary run = doCreateValidationRun(stamp1.getId(), build.getId(), Status.FAILED);
+        doCreateValidationRun(stamp2.getId(), build.getId(), Status.PASSED);
+        assertNull(managementService.getPromotedRun(build.getId(), promotionLevel.getId()));
+        // The failed run is fixed
+        asAdmin().call(new Callable<Ack>() {
+            @Override
+            public Ack call() throws Exception {
+                return managementService.addValidationRunComment(run.getId(), new ValidationRunCommentCreationForm(Status.PASSED.name(), "Fixed", null));
+            }
+        });
+        assertNotNull(managementService.getPromotedRun(build.getId(), promotionLevel.getId()));
+    }
+
 }
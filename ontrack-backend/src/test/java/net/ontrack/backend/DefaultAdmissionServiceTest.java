@@ -0,0 +1,76 @@
+package net.ontrack.backend;
+
+import net.ontrack.service.model.ClientUsage;
+import net.ontrack.service.model.RequestClass;
+import net.ontrack.service.support.Admission;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DefaultAdmissionServiceTest {
+
+    private final DefaultAdmissionService service = new DefaultAdmissionService();
+
+    @Test
+    public void rate_per_client() {
+        // Burst of the reads
+        for (int i = 0; i < 100; i++) {
+            assertTrue(service.admit("jenkins", RequestClass.READ).isAdmitted());
+        }
+        Admission admission = service.admit("jenkins", RequestClass.READ);
+        assertFalse(admission.isAdmitted());
+        assertEquals(1, admission.getRetryAfter());
+        // Other clients and other classes are not affected
+        assertTrue(service.admit("user", RequestClass.READ).isAdmitted());
+        assertTrue(service.admit("jenkins", RequestClass.INTERACTIVE).isAdmitted());
+        // Usage
+        List<ClientUsage> usage = service.getUsage();
+        assertEquals(3, usage.size());
+        assertEquals("jenkins", usage.get(0).getClient());
+        assertEquals(RequestClass.READ, usage.get(0).getRequestClass());
+        assertEquals(100, usage.get(0).getAdmitted());
+        assertEquals(1, usage.get(0).getRejected());
+        assertNotNull(usage.get(0).getLastRejection());
+        assertNull(usage.get(1).getLastRejection());
+    }
+
+    @Test
+    public void concurrent_writes_per_client() {
+        Admission first = service.admit("jenkins", RequestClass.WRITE);
+        assertTrue(first.isAdmitted());
+        assertTrue(service.admit("jenkins", RequestClass.WRITE).isAdmitted());
+        assertFalse(service.admit("jenkins", RequestClass.WRITE).isAdmitted());
+        // The writes of the other clients are not blocked
+        assertTrue(service.admit("user", RequestClass.WRITE).isAdmitted());
+        assertTrue(service.admit("user", RequestClass.WRITE).isAdmitted());
+        assertFalse(service.admit("user", RequestClass.WRITE).isAdmitted());
+        // Released twice, only one permit is given back
+        first.release();
+        first.release();
+        assertTrue(service.admit("jenkins", RequestClass.WRITE).isAdmitted());
+        assertFalse(service.admit("jenkins", RequestClass.WRITE).isAdmitted());
+    }
+
+    @Test
+    public void concurrent_writes_total() {
+        List<Admission> admissions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Admission admission = service.admit("jenkins-" + (i / 2), RequestClass.WRITE);
+            assertTrue(admission.isAdmitted());
+            admissions.add(admission);
+        }
+        assertFalse(service.admit("jenkins", RequestClass.WRITE).isAdmitted());
+        assertFalse(service.admit("jenkins", RequestClass.WRITE).isAdmitted());
+        // The interactive requests are still admitted
+        assertTrue(service.admit("user", RequestClass.INTERACTIVE).isAdmitted());
+        // The rejected writes do not hold the permits of their client
+        admissions.get(0).release();
+        admissions.get(1).release();
+        assertTrue(service.admit("jenkins", RequestClass.WRITE).isAdmitted());
+        assertTrue(service.admit("jenkins", RequestClass.WRITE).isAdmitted());
+    }
+
+}
@@ -0,0 +1,38 @@
+package net.ontrack.backend.admission;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void burst_then_rate() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        // Empty, one token every half second
+        assertEquals(SECOND / 2, bucket.tryConsume(0), 1);
+        assertEquals(SECOND / 4, bucket.tryConsume(SECOND / 4), 1);
+        assertEquals(0, bucket.tryConsume(SECOND * 6 / 10));
+        assertEquals(SECOND * 4 / 10, bucket.tryConsume(SECOND * 6 / 10), 1);
+    }
+
+    @Test
+    public void capacity() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(3.0, bucket.getTokens(10 * SECOND), 0.001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void no_rate() {
+        new TokenBucket(0, 3, 0);
+    }
+
+}
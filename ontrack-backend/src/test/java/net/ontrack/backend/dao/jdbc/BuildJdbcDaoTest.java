@@ -0,0 +1,54 @@
+package net.ontrack.backend.dao.jdbc;
+
+import net.ontrack.backend.AbstractBackendTest;
+import net.ontrack.backend.dao.BuildDao;
+import net.ontrack.backend.dao.model.TBuildCreation;
+import net.ontrack.core.model.BranchSummary;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BuildJdbcDaoTest extends AbstractBackendTest {
+
+    @Autowired
+    private BuildDao dao;
+
+    @Test
+    public void findBuildAfterUsingNumericForm() throws Exception {
+        BranchSummary branch = doCreateBranch();
+        List<Integer> ids = dao.createBuilds(branch.getId(), Arrays.asList(
+                new TBuildCreation("1.10.2", null),
+                new TBuildCreation("1.9.15", null),
+                new TBuildCreation("build-42", null)
+        ));
+        int b1102 = ids.get(0);
+        int b1915 = ids.get(1);
+        int b42 = ids.get(2);
+        // Exact names
+        assertEquals(Integer.valueOf(b1102), dao.findBuildAfterUsingNumericForm(branch.getId(), "1.10.2"));
+        assertEquals(Integer.valueOf(b1915), dao.findBuildAfterUsingNumericForm(branch.getId(), "1.9.15"));
+        assertEquals(Integer.valueOf(b42), dao.findBuildAfterUsingNumericForm(branch.getId(), "build-42"));
+        // Next build
+        assertEquals(Integer.valueOf(b1915), dao.findBuildAfterUsingNumericForm(branch.getId(), "1.9.2"));
+        assertEquals(Integer.valueOf(b1102), dao.findBuildAfterUsingNumericForm(branch.getId(), "1.9.16"));
+        assertEquals(Integer.valueOf(b42), dao.findBuildAfterUsingNumericForm(branch.getId(), "1.11"));
+        assertEquals(Integer.valueOf(b42), dao.findBuildAfterUsingNumericForm(branch.getId(), "build-9"));
+        // None
+        assertNull(dao.findBuildAfterUsingNumericForm(branch.getId(), "build-100"));
+    }
+
+    @Test
+    public void findBuildAfterUsingNumericForm_after_rename() throws Exception {
+        BranchSummary branch = doCreateBranch();
+        int build = dao.createBuild(branch.getId(), "1.9", null);
+        assertEquals(Integer.valueOf(build), dao.findBuildAfterUsingNumericForm(branch.getId(), "1.2"));
+        dao.updateBuild(build, "1.1", null);
+        assertNull(dao.findBuildAfterUsingNumericForm(branch.getId(), "1.2"));
+    }
+
+}
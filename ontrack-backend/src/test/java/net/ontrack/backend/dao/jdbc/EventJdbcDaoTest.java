@@ -0,0 +1,208 @@
+package net.ontrack.backend.dao.jdbc;
+
+import net.ontrack.backend.AbstractBackendTest;
+import net.ontrack.backend.dao.EventDao;
+import net.ontrack.backend.dao.model.TEvent;
+import net.ontrack.backend.dao.model.TEventCreation;
+import net.ontrack.core.model.BranchSummary;
+import net.ontrack.core.model.Entity;
+import net.ontrack.core.model.EventType;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventJdbcDaoTest extends AbstractBackendTest {
+
+    @Autowired
+    private EventDao dao;
+
+    @Test
+    public void listAfter() throws Exception {
+        BranchSummary branch = doCreateBranch();
+        Map<Entity, Integer> entities = Collections.singletonMap(Entity.BRANCH, branch.getId());
+        // Starting point
+        int last = dao.getLastEventId();
+        // Events
+        int e1 = dao.createEvent("test", null, EventType.BRANCH_UPDATED, entities, Collections.<String, String>emptyMap());
+        int e2 = dao.createEvent("test", null, EventType.BRANCH_UPDATED, entities, Collections.<String, String>emptyMap());
+        int e3 = dao.createEvent("test", null, EventType.BRANCH_UPDATED, entities, Collections.<String, String>emptyMap());
+        assertTrue(dao.getLastEventId() >= e3);
+        // All events, oldest first
+        List<TEvent> events = dao.listAfter(last, 10, entities);
+        assertEquals(3, events.size());
+        assertEquals(e1, events.get(0).getId());
+        assertEquals(e2, events.get(1).getId());
+        assertEquals(e3, events.get(2).getId());
+        // After an event, limited
+        events = dao.listAfter(e1, 1, entities);
+        assertEquals(1, events.size());
+        assertEquals(e2, events.get(0).getId());
+        // None
+        assertTrue(dao.listAfter(e3, 10, entities).isEmpty());
+    }
+
+    @Test
+    public void importEvents() throws Exception {
+        BranchSummary branch = doCreateBranch();
+        Map<Entity, Integer> projectEntities = Collections.singletonMap(Entity.PROJECT, branch.getProject().getId());
+        Map<Entity, Integer> branchEntities = Collections.singletonMap(Entity.BRANCH, branch.getId());
+        DateTime time = new DateTime(2014, 1, 1, 12, 0, DateTimeZone.UTC);
+        int last = dao.getLastEventId();
+        dao.importEvents(Arrays.asList(
+                new TEventCreation("test", null, time, EventType.PROJECT_UPDATED, projectEntities, Collections.<String, String>emptyMap()),
+                new TEventCreation("test", null, time.plusMinutes(1), EventType.BRANCH_UPDATED, branchEntities, Collections.singletonMap("name", "value1")),
+                new TEventCreation("test", null, time.plusMinutes(2), EventType.BRANCH_UPDATED, branchEntities, Collections.singletonMap("name", "value2"))
+        ));
+        // Events in the same order, with their own values
+        List<TEvent> events = dao.listAfter(last, 10, branchEntities);
+        assertEquals(2, events.size());
+        assertEquals(Collections.singletonMap("name", "value1"), events.get(0).getValues());
+        assertEquals(Collections.singletonMap("name", "value2"), events.get(1).getValues());
+        assertEquals(time.plusMinutes(2).getMillis(), events.get(1).getTimestamp().getMillis());
+        events = dao.listAfter(last, 10, projectEntities);
+        assertEquals(1, events.size());
+        assertEquals(EventType.PROJECT_UPDATED, events.get(0).getEventType());
+    }
+
+    @Test
+    public void importEvents_same_type_time_and_entities() throws Exception {
+        BranchSummary branch = doCreateBranch();
+        Map<Entity, Integer> branchEntities = Collections.singletonMap(Entity.BRANCH, branch.getId());
+        DateTime time = new DateTime(2014, 1, 1, 12, 0, DateTimeZone.UTC);
+        int last = dao.getLastEventId();
+        dao.importEvents(Arrays.asList(
+                new TEventCreation("test", null, time, EventType.BRANCH_UPDATED, branchEntities, Collections.singletonMap("name", "value1")),
+                new TEventCreation("test", null, time, EventType.BRANCH_UPDATED, branchEntities, Collections.singletonMap("name", "value2"))
+        ));
+        // Each event keeps its own values
+        List<TEvent> events = dao.listAfter(last, 10, branchEntities);
+        assertEquals(2, events.size());
+        assertEquals(Collections.singletonMap("name", "value1"), events.get(0).getValues());
+        assertEquals(Collections.singletonMap("name", "value2"), events.get(1).getValues());
+    }
+
+    @Test
+    public void archive() throws Exception {
+        BranchSummary branch = doCreateBranch();
+        Map<Entity, Integer> entities = Collections.singletonMap(Entity.BRANCH, branch.getId());
+        DateTime time = new DateTime(2000, 1, 1, 12, 0, DateTimeZone.UTC);
+        int sent = dao.importEvent("test", null, time, EventType.BRANCH_UPDATED, entities, Collections.singletonMap("name", "value"));
+        int notSent = dao.importEvent("test", null, time, EventType.BRANCH_UPDATED, entities, Collections.<String, String>emptyMap());
+        int created = dao.importEvent("test", null, time, EventType.BRANCH_CREATED, entities, Collections.<String, String>emptyMap());
+        int recent = dao.importEvent("test", null, time.plusYears(1), EventType.BRANCH_UPDATED, entities, Collections.<String, String>emptyMap());
+        dao.eventSent(sent);
+        dao.eventSent(created);
+        dao.eventSent(recent);
+        // Archival
+        assertEquals(1, dao.archive(time.plusDays(1), 10));
+        // Events which are left
+        List<TEvent> events = dao.list(0, 10, entities, false);
+        assertEquals(Arrays.asList(recent, created, notSent), getIds(events).subList(0, 3));
+        assertFalse(getIds(events).contains(sent));
+        // With the archive
+        events = dao.list(0, 10, entities, true);
+        List<Integer> ids = getIds(events);
+        assertTrue(ids.contains(sent));
+        assertEquals(Collections.singletonMap("name", "value"), events.get(ids.indexOf(sent)).getValues());
+    }
+
+    private List<Integer> getIds(List<TEvent> events) {
+        List<Integer> ids = new ArrayList<>();
+        for (TEvent event : events) {
+            ids.add(event.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void entityVersion() throws Exception {
+        BranchSummary branch = doCreateBranch();
+        int projectId = branch.getProject().getId();
+        Map<Entity, Integer> projectEntities = Collections.singletonMap(Entity.PROJECT, projectId);
+        Map<Entity, Integer> branchEntities = new HashMap<>();
+        branchEntities.put(Entity.PROJECT, projectId);
+        branchEntities.put(Entity.BRANCH, branch.getId());
+        int version = dao.getEntityVersion(Entity.BRANCH, branch.getId());
+        assertTrue(version > 0);
+        // Changes of the branch
+        int e1 = dao.createEvent("test", null, EventType.BRANCH_UPDATED, branchEntities, Collections.<String, String>emptyMap());
+        assertEquals(e1, dao.getEntityVersion(Entity.BRANCH, branch.getId()));
+        // Events of the children do not change the version
+        dao.createEvent("test", null, EventType.BUILD_CREATED, branchEntities, Collections.<String, String>emptyMap());
+        assertEquals(e1, dao.getEntityVersion(Entity.BRANCH, branch.getId()));
+        // Renaming of the project
+        int e2 = dao.createEvent("test", null, EventType.PROJECT_UPDATED, projectEntities, Collections.<String, String>emptyMap());
+        assertEquals(e2, dao.getEntityVersion(Entity.BRANCH, branch.getId()));
+        assertEquals(e2, dao.getEntityVersion(Entity.PROJECT, projectId));
+        // Unknown entity
+        assertEquals(0, dao.getEntityVersion(Entity.BRANCH, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void entityVersion_after_archive() throws Exception {
+        BranchSummary branch = doCreateBranch();
+        Map<Entity, Integer> entities = Collections.singletonMap(Entity.BRANCH, branch.getId());
+        DateTime time = new DateTime(2000, 1, 1, 12, 0, DateTimeZone.UTC);
+        int updated = dao.importEvent("test", null, time, EventType.BRANCH_UPDATED, entities, Collections.<String, String>emptyMap());
+        dao.eventSent(updated);
+        int version = dao.getEntityVersion(Entity.BRANCH, branch.getId());
+        assertTrue(version >= updated);
+        // Archival of the update
+        assertTrue(dao.archive(time.plusDays(1), 1000) > 0);
+        assertFalse(getIds(dao.list(0, 10, entities, false)).contains(updated));
+        // Same version
+        assertEquals(version, dao.getEntityVersion(Entity.BRANCH, branch.getId()));
+    }
+
+    @Test
+    public void eventTimestamp() throws Exception {
+        BranchSummary branch = doCreateBranch();
+        Map<Entity, Integer> entities = Collections.singletonMap(Entity.BRANCH, branch.getId());
+        DateTime time = new DateTime(2000, 1, 1, 12, 0, DateTimeZone.UTC);
+        int updated = dao.importEvent("test", null, time, EventType.BRANCH_UPDATED, entities, Collections.<String, String>emptyMap());
+        dao.eventSent(updated);
+        assertEquals(time, dao.getEventTimestamp(updated));
+        // Archived event
+        assertTrue(dao.archive(time.plusDays(1), 1000) > 0);
+        assertEquals(time, dao.getEventTimestamp(updated));
+        // Unknown event
+        assertNull(dao.getEventTimestamp(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void entityListVersion() throws Exception {
+        BranchSummary branch = doCreateBranch();
+        int projectId = branch.getProject().getId();
+        Map<Entity, Integer> projectEntities = Collections.singletonMap(Entity.PROJECT, projectId);
+        int version = dao.getEntityListVersion(Entity.BRANCH, projectEntities);
+        assertTrue(version > 0);
+        // Branches of another project
+        BranchSummary otherBranch = doCreateBranch();
+        assertEquals(version, dao.getEntityListVersion(Entity.BRANCH, projectEntities));
+        // New branch
+        doCreateBranch(projectId);
+        assertTrue(dao.getEntityListVersion(Entity.BRANCH, projectEntities) > version);
+        // Deletion of a branch, in any project
+        int e1 = dao.createEvent("test", null, EventType.BRANCH_DELETED, Collections.<Entity, Integer>emptyMap(), Collections.singletonMap("branch", otherBranch.getName()));
+        assertEquals(e1, dao.getEntityListVersion(Entity.BRANCH, projectEntities));
+        // Renaming of the project
+        int e2 = dao.createEvent("test", null, EventType.PROJECT_UPDATED, projectEntities, Collections.<String, String>emptyMap());
+        assertEquals(e2, dao.getEntityListVersion(Entity.BRANCH, projectEntities));
+        // List of the projects
+        assertTrue(dao.getEntityListVersion(Entity.PROJECT, Collections.<Entity, Integer>emptyMap()) >= e2);
+    }
+
+}
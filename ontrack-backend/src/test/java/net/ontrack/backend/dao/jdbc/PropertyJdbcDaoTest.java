@@ -0,0 +1,78 @@
+package net.ontrack.backend.dao.jdbc;
+
+import com.google.common.base.Function;
+import net.ontrack.backend.AbstractBackendTest;
+import net.ontrack.backend.dao.PropertyDao;
+import net.ontrack.core.model.BuildSummary;
+import net.ontrack.core.model.Entity;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PropertyJdbcDaoTest extends AbstractBackendTest {
+
+    private final Function<String, String> lowerCase = new Function<String, String>() {
+        @Override
+        public String apply(String value) {
+            return value.toLowerCase();
+        }
+    };
+
+    @Autowired
+    private PropertyDao dao;
+
+    @Test
+    public void findEntityBySearchKey() throws Exception {
+        String extension = uid("X");
+        BuildSummary build1 = doCreateBuild();
+        BuildSummary build2 = doCreateBuild();
+        dao.saveProperty(Entity.BUILD, build1.getId(), extension, "version", "1.2.0", "1.2.0");
+        dao.saveProperty(Entity.BUILD, build2.getId(), extension, "version", "1.2.1", "1.2.1");
+        assertEquals(Arrays.asList(build1.getId()), dao.findEntityBySearchKey(Entity.BUILD, extension, "version", "1.2.0"));
+        assertTrue(dao.findEntityBySearchKey(Entity.BUILD, extension, "version", "1.2").isEmpty());
+        assertTrue(dao.findEntityBySearchKey(Entity.BRANCH, extension, "version", "1.2.0").isEmpty());
+        // Update
+        dao.saveProperty(Entity.BUILD, build1.getId(), extension, "version", "1.3.0", "1.3.0");
+        assertTrue(dao.findEntityBySearchKey(Entity.BUILD, extension, "version", "1.2.0").isEmpty());
+        assertEquals(Arrays.asList(build1.getId()), dao.findEntityBySearchKey(Entity.BUILD, extension, "version", "1.3.0"));
+    }
+
+    @Test
+    public void findEntityBySearchKeyPrefix() throws Exception {
+        String extension = uid("X");
+        BuildSummary build1 = doCreateBuild();
+        BuildSummary build2 = doCreateBuild();
+        BuildSummary build3 = doCreateBuild();
+        dao.saveProperty(Entity.BUILD, build1.getId(), extension, "version", "1.2.1", "1.2.1");
+        dao.saveProperty(Entity.BUILD, build2.getId(), extension, "version", "1.2.0", "1.2.0");
+        dao.saveProperty(Entity.BUILD, build3.getId(), extension, "version", "1_3", "1_3");
+        // Sorted by key
+        assertEquals(Arrays.asList(build2.getId(), build1.getId()), dao.findEntityBySearchKeyPrefix(Entity.BUILD, extension, "version", "1.2"));
+        assertEquals(Arrays.asList(build2.getId(), build1.getId(), build3.getId()), dao.findEntityBySearchKeyPrefix(Entity.BUILD, extension, "version", "1"));
+        // LIKE wildcards are not interpreted
+        assertEquals(Arrays.asList(build3.getId()), dao.findEntityBySearchKeyPrefix(Entity.BUILD, extension, "version", "1_"));
+        assertTrue(dao.findEntityBySearchKeyPrefix(Entity.BUILD, extension, "version", "%").isEmpty());
+    }
+
+    @Test
+    public void index() throws Exception {
+        String extension = uid("X");
+        BuildSummary build1 = doCreateBuild();
+        BuildSummary build2 = doCreateBuild();
+        dao.saveProperty(Entity.BUILD, build1.getId(), extension, "commit", "ABC123", null);
+        dao.createProperties(Entity.BUILD, extension, "commit", Collections.singletonMap(build2.getId(), "DEF456"), null);
+        assertTrue(dao.findEntityBySearchKey(Entity.BUILD, extension, "commit", "abc123").isEmpty());
+        // Indexation
+        assertEquals(2, dao.index(extension, "commit", lowerCase));
+        assertEquals(Arrays.asList(build1.getId()), dao.findEntityBySearchKey(Entity.BUILD, extension, "commit", "abc123"));
+        assertEquals(Arrays.asList(build2.getId()), dao.findEntityBySearchKey(Entity.BUILD, extension, "commit", "def456"));
+        // Already indexed
+        assertEquals(0, dao.index(extension, "commit", lowerCase));
+    }
+
+}
@@ -0,0 +1,62 @@
+package net.ontrack.backend.dao.jdbc;
+
+import net.ontrack.backend.AbstractBackendTest;
+import net.ontrack.backend.dao.ValidationRunDao;
+import net.ontrack.backend.dao.model.TValidationRun;
+import net.ontrack.backend.dao.model.TValidationRunCreation;
+import net.ontrack.core.model.BuildSummary;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ValidationRunJdbcDaoTest extends AbstractBackendTest {
+
+    @Autowired
+    private ValidationRunDao dao;
+
+    @Test
+    public void createValidationRuns() throws Exception {
+        BuildSummary build = doCreateBuild();
+        int s1 = doCreateValidationStamp(build.getBranch().getId()).getId();
+        int s2 = doCreateValidationStamp(build.getBranch().getId()).getId();
+        List<Integer> ids = dao.createValidationRuns(build.getId(), Arrays.asList(
+                new TValidationRunCreation(s1, "Run 1"),
+                new TValidationRunCreation(s2, "Run 2"),
+                new TValidationRunCreation(s1, "Run 3")
+        ));
+        assertEquals(3, new HashSet<>(ids).size());
+        assertRun(ids.get(0), s1, 1, "Run 1");
+        assertRun(ids.get(1), s2, 1, "Run 2");
+        assertRun(ids.get(2), s1, 2, "Run 3");
+        // Next runs
+        List<Integer> next = dao.createValidationRuns(build.getId(), Arrays.asList(
+                new TValidationRunCreation(s2, "Run 4")
+        ));
+        assertRun(next.get(0), s2, 2, "Run 4");
+    }
+
+    @Test
+    public void run_order_after_deletion() throws Exception {
+        BuildSummary build = doCreateBuild();
+        int stamp = doCreateValidationStamp(build.getBranch().getId()).getId();
+        int first = dao.createValidationRun(build.getId(), stamp, "Run 1");
+        dao.createValidationRun(build.getId(), stamp, "Run 2");
+        dao.deleteById(first);
+        assertRun(dao.createValidationRun(build.getId(), stamp, "Run 3"), stamp, 3, "Run 3");
+        List<Integer> ids = dao.createValidationRuns(build.getId(), Arrays.asList(new TValidationRunCreation(stamp, "Run 4")));
+        assertRun(ids.get(0), stamp, 4, "Run 4");
+    }
+
+    private void assertRun(int id, int validationStamp, int runOrder, String description) {
+        TValidationRun run = dao.getById(id);
+        assertEquals(validationStamp, run.getValidationStamp());
+        assertEquals(runOrder, run.getRunOrder());
+        assertEquals(description, run.getDescription());
+    }
+
+}
@@ -4,6 +4,7 @@ import net.ontrack.backend.AbstractBackendTest;
 import net.ontrack.backend.dao.ValidationStampDao;
 import net.ontrack.core.model.Ack;
 import net.ontrack.core.model.BranchSummary;
+import net.ontrack.core.model.ImageContent;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -143,4 +144,26 @@ public class ValidationStampJdbcDaoTest extends AbstractBackendTest {
         assertEquals(5, dao.getById(st5).getOrderNb());
     }
 
+    @Test
+    public void image_content() throws Exception {
+        // Parent branch
+        BranchSummary branch = doCreateBranch();
+        int st = dao.createValidationStamp(branch.getId(), "ST", "");
+        // No image
+        assertNull(dao.getImageContent(st));
+        // Image
+        byte[] image1 = {1, 2, 3};
+        assertTrue(dao.updateImage(st, image1).isSuccess());
+        ImageContent content1 = dao.getImageContent(st);
+        assertArrayEquals(image1, content1.getContent());
+        assertEquals(ImageContent.of(image1).getHash(), content1.getHash());
+        assertSame("Cached", content1, dao.getImageContent(st));
+        // New image
+        byte[] image2 = {4, 5, 6};
+        assertTrue(dao.updateImage(st, image2).isSuccess());
+        ImageContent content2 = dao.getImageContent(st);
+        assertArrayEquals("Cache evicted on update", image2, content2.getContent());
+        assertFalse(content1.getHash().equals(content2.getHash()));
+    }
+
 }
@@ -0,0 +1,50 @@
+package net.ontrack.backend.db;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BuildSortKeyTest {
+
+    @Test
+    public void key() {
+        assertNull(BuildSortKey.of(null));
+        assertEquals("", BuildSortKey.of(""));
+        assertEquals("011.0210.012", BuildSortKey.of("1.10.2"));
+        assertEquals("build-0242", BuildSortKey.of("Build-42"));
+        assertEquals("0242", BuildSortKey.of("0042"));
+        assertEquals("010", BuildSortKey.of("000"));
+    }
+
+    @Test
+    public void natural_order() {
+        List<String> names = Arrays.asList(
+                "1.9.15",
+                "1.9.15-rc1",
+                "1.10",
+                "1.10.2",
+                "2",
+                "10",
+                "build-9",
+                "build-42",
+                "build-100"
+        );
+        List<String> sorted = new ArrayList<>(names);
+        Collections.shuffle(sorted);
+        Collections.sort(sorted, new Comparator<String>() {
+            @Override
+            public int compare(String o1, String o2) {
+                return BuildSortKey.of(o1).compareTo(BuildSortKey.of(o2));
+            }
+        });
+        assertEquals(names, sorted);
+    }
+
+}
@@ -0,0 +1,34 @@
+package net.ontrack.backend.db;
+
+import net.ontrack.backend.AbstractBackendTest;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DBCreationTest extends AbstractBackendTest {
+
+    @Autowired
+    private DBCreation dbCreation;
+
+    @Autowired
+    private StartupProfiler profiler;
+
+    @Test
+    public void versions() {
+        Map<String, Integer> versions = dbCreation.getVersions();
+        assertEquals(MainDBInitConfig.VERSION, versions.get("main").intValue());
+    }
+
+    @Test
+    public void profile() {
+        Map<String, Long> phases = profiler.getPhases();
+        assertTrue(phases.containsKey("service DefaultExtensionManager"));
+        assertTrue(phases.containsKey("service DefaultPropertiesService"));
+        assertTrue(phases.containsKey("service DBFixReorderingValidationStamps"));
+    }
+
+}
@@ -0,0 +1,99 @@
+package net.ontrack.backend.db;
+
+import net.ontrack.service.support.QueryCounter;
+import org.apache.commons.dbcp.BasicDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InstrumentedDataSourceTest {
+
+    private BasicDataSource target;
+    private JdbcStatistics statistics;
+    private NamedParameterJdbcTemplate template;
+
+    @Before
+    public void before() {
+        target = new BasicDataSource();
+        target.setDriverClassName("org.h2.Driver");
+        target.setUrl("jdbc:h2:mem:instrumented;DB_CLOSE_DELAY=-1");
+        target.setUsername("sa");
+        target.setPassword("");
+        statistics = new JdbcStatistics();
+        template = new NamedParameterJdbcTemplate(new InstrumentedDataSource(target, statistics));
+        template.getJdbcOperations().execute("CREATE TABLE IF NOT EXISTS SAMPLE (ID INTEGER, NAME VARCHAR(40))");
+        template.getJdbcOperations().execute("DELETE FROM SAMPLE");
+        statistics.reset();
+    }
+
+    @After
+    public void after() throws SQLException {
+        target.close();
+    }
+
+    @Test
+    public void template() {
+        assertEquals("SELECT * FROM BUILD WHERE ID = ? AND NAME = ?", SQLTemplates.template("SELECT *\n  FROM BUILD WHERE ID = 12 AND NAME = 'It''s secret'"));
+        assertEquals("SELECT * FROM BUILD WHERE ID IN (?...)", SQLTemplates.template("SELECT * FROM BUILD WHERE ID IN (?, ?,?)"));
+        assertEquals("SELECT B1.ID FROM BUILD B1 LIMIT ?", SQLTemplates.template("SELECT B1.ID FROM BUILD B1 LIMIT 10"));
+    }
+
+    @Test
+    public void statements() {
+        for (int i = 0; i < 3; i++) {
+            template.update("INSERT INTO SAMPLE (ID, NAME) VALUES (:id, :name)", new MapSqlParameterSource("id", i).addValue("name", "Name " + i));
+        }
+        assertEquals(3, template.queryForInt("SELECT COUNT(*) FROM SAMPLE WHERE ID >= :id", new MapSqlParameterSource("id", 0)));
+        assertEquals(4, statistics.getStatementCount());
+        List<String> lines = statistics.getStatementStatistics();
+        assertEquals(2, lines.size());
+        boolean found = false;
+        for (String line : lines) {
+            if (line.startsWith("count=3 ")) {
+                assertTrue(line.endsWith(" INSERT INTO SAMPLE (ID, NAME) VALUES (?...)"));
+                found = true;
+            }
+            assertFalse(line.contains("Name"));
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    public void connections() {
+        template.queryForInt("SELECT COUNT(*) FROM SAMPLE", new MapSqlParameterSource());
+        template.queryForInt("SELECT COUNT(*) FROM SAMPLE", new MapSqlParameterSource());
+        assertEquals(2, statistics.getConnectionCount());
+        assertEquals(0, statistics.getActiveConnections());
+        assertEquals(1, statistics.getActiveConnectionsMax());
+        assertEquals(0, statistics.getConnectionErrorCount());
+    }
+
+    @Test
+    public void slow_statements() {
+        statistics.setSlowStatementThreshold(0);
+        template.queryForInt("SELECT COUNT(*) FROM SAMPLE WHERE NAME = :name", new MapSqlParameterSource("name", "secret"));
+        assertEquals(1, statistics.getSlowStatementCount());
+    }
+
+    @Test
+    public void query_counter() {
+        QueryCounter.start();
+        try {
+            template.queryForInt("SELECT COUNT(*) FROM SAMPLE", new MapSqlParameterSource());
+            template.queryForInt("SELECT COUNT(*) FROM SAMPLE", new MapSqlParameterSource());
+        } finally {
+            QueryCounter.Count count = QueryCounter.stop();
+            assertNotNull(count);
+            assertEquals(2, count.getStatements());
+        }
+        assertNull(QueryCounter.stop());
+    }
+
+}
@@ -0,0 +1,122 @@
+package net.ontrack.backend.db;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private BasicDataSource primary;
+    private BasicDataSource replica;
+    private DataSourceReplicas replicas;
+    private JdbcTemplate template;
+    private DataSourceTransactionManager transactionManager;
+
+    @Before
+    public void before() {
+        primary = createDataSource("primary");
+        replica = createDataSource("replica");
+        replicas = new DataSourceReplicas(primary, Collections.<String, DataSource>singletonMap("replica", replica), 1, 30);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicas));
+        template = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @After
+    public void after() throws SQLException {
+        SecurityContextHolder.clearContext();
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    public void not_checked() {
+        assertEquals("primary", read());
+    }
+
+    @Test
+    public void read_only() {
+        replicas.check();
+        assertEquals("replica", read());
+        assertEquals("primary", write());
+    }
+
+    @Test
+    public void lag() {
+        new JdbcTemplate(primary).update("INSERT INTO EVENTS (ID) VALUES (1), (2)");
+        replicas.check();
+        assertEquals("primary", read());
+        new JdbcTemplate(replica).update("INSERT INTO EVENTS (ID) VALUES (1)");
+        replicas.check();
+        assertEquals("replica", read());
+    }
+
+    @Test
+    public void unavailable() throws SQLException {
+        replicas.check();
+        replica.close();
+        assertEquals("primary", read());
+        assertEquals("[replica available=false lag=0]", replicas.getReplicas().toString());
+    }
+
+    @Test
+    public void read_your_writes() {
+        replicas.check();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password"));
+        assertEquals("replica", read());
+        write();
+        assertEquals("primary", read());
+        // Other accounts
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other", "password"));
+        assertEquals("replica", read());
+    }
+
+    private String read() {
+        return query(true);
+    }
+
+    private String write() {
+        return query(false);
+    }
+
+    private String query(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(new TransactionCallback<String>() {
+            @Override
+            public String doInTransaction(TransactionStatus status) {
+                return template.queryForObject("SELECT NAME FROM DB_NAME", String.class);
+            }
+        });
+    }
+
+    private BasicDataSource createDataSource(String name) {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName("org.h2.Driver");
+        dataSource.setUrl(String.format("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1", name));
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE DB_NAME (NAME VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO DB_NAME (NAME) VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE EVENTS (ID INTEGER)");
+        return dataSource;
+    }
+
+}
@@ -0,0 +1,62 @@
+package net.ontrack.backend.metrics;
+
+import net.ontrack.service.support.PrometheusFormat;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    public void jobs() {
+        registry.monitor("DefaultEventService", new Runnable() {
+            @Override
+            public void run() {
+            }
+        }).run();
+        try {
+            registry.monitor("DefaultEventService", new Runnable() {
+                @Override
+                public void run() {
+                    throw new IllegalStateException("Failure");
+                }
+            }).run();
+            fail("The failure must be propagated");
+        } catch (IllegalStateException ignored) {
+        }
+        List<String> lines = PrometheusFormat.format(registry.getMetrics());
+        assertEquals("# HELP ontrack_job_runs_total Number of executions of the background jobs", lines.get(0));
+        assertEquals("# TYPE ontrack_job_runs_total counter", lines.get(1));
+        assertTrue(lines.contains("ontrack_job_runs_total{job=\"DefaultEventService\",result=\"success\"} 1"));
+        assertTrue(lines.contains("ontrack_job_runs_total{job=\"DefaultEventService\",result=\"failure\"} 1"));
+        assertTrue(lines.contains("ontrack_job_running{job=\"DefaultEventService\"} 0"));
+    }
+
+    @Test
+    public void requests() {
+        registry.requestCompleted("GUIController.getBuilds", 3000000L);
+        registry.requestCompleted("GUIController.getBuilds", 70000000L);
+        registry.requestCompleted("GUIController.getBuilds", 20000000000L);
+        List<String> lines = PrometheusFormat.format(registry.getMetrics());
+        assertTrue(lines.contains("# TYPE ontrack_http_request_duration_seconds histogram"));
+        assertTrue(lines.contains("ontrack_http_request_duration_seconds_bucket{endpoint=\"GUIController.getBuilds\",le=\"0.005\"} 1"));
+        assertTrue(lines.contains("ontrack_http_request_duration_seconds_bucket{endpoint=\"GUIController.getBuilds\",le=\"0.05\"} 1"));
+        assertTrue(lines.contains("ontrack_http_request_duration_seconds_bucket{endpoint=\"GUIController.getBuilds\",le=\"0.1\"} 2"));
+        assertTrue(lines.contains("ontrack_http_request_duration_seconds_bucket{endpoint=\"GUIController.getBuilds\",le=\"10.0\"} 2"));
+        assertTrue(lines.contains("ontrack_http_request_duration_seconds_bucket{endpoint=\"GUIController.getBuilds\",le=\"+Inf\"} 3"));
+        assertTrue(lines.contains("ontrack_http_request_duration_seconds_sum{endpoint=\"GUIController.getBuilds\"} 20.073"));
+        assertTrue(lines.contains("ontrack_http_request_duration_seconds_count{endpoint=\"GUIController.getBuilds\"} 3"));
+    }
+
+    @Test
+    public void label_escaping() {
+        registry.callCompleted("a\"b\\c", 1000000L, false);
+        List<String> lines = PrometheusFormat.format(registry.getMetrics());
+        assertTrue(lines.contains("ontrack_remote_call_failures_total{system=\"a\\\"b\\\\c\"} 1"));
+    }
+
+}
@@ -0,0 +1,62 @@
+package net.ontrack.backend.trace;
+
+import net.ontrack.service.support.Trace;
+import net.ontrack.service.support.TraceSpan;
+import net.ontrack.service.support.Tracer;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ZipkinTraceExporterTest {
+
+    @After
+    public void after() {
+        Tracer.stop();
+    }
+
+    @Test
+    public void no_trace() {
+        TraceSpan span = Tracer.span("sql", "SELECT 1");
+        span.close();
+        assertNull(Tracer.stop());
+    }
+
+    @Test
+    public void spans() {
+        Tracer.start("GET /gui/project/P1");
+        try (TraceSpan ignored = Tracer.span("service", "ManagementService.getProject")) {
+            try (TraceSpan ignored2 = Tracer.span("sql", "SELECT * FROM PROJECT")) {
+                assertNotNull(Tracer.current());
+            }
+            // Not closed explicitly
+            Tracer.span("sql", "SELECT * FROM BRANCH");
+        }
+        Tracer.span("render", "project");
+        Trace trace = Tracer.stop();
+
+        List<TraceSpan> spans = trace.getSpans();
+        assertEquals(4, spans.size());
+        assertEquals(0, spans.get(0).getDepth());
+        assertEquals(1, spans.get(1).getDepth());
+        assertEquals(spans.get(0).getId(), spans.get(1).getParentId());
+        assertEquals(spans.get(0).getId(), spans.get(2).getParentId());
+        assertNull(spans.get(3).getParentId());
+        assertEquals("[render, service, sql]", trace.getMillisPerKind().keySet().toString());
+
+        List<Map<String, Object>> zipkin = new ZipkinTraceExporter().toZipkin(trace);
+        assertEquals(5, zipkin.size());
+        assertEquals(trace.getId(), zipkin.get(0).get("id"));
+        assertFalse(zipkin.get(0).containsKey("parentId"));
+        assertEquals(trace.getId(), zipkin.get(1).get("parentId"));
+        assertEquals(spans.get(0).getId(), zipkin.get(2).get("parentId"));
+        for (Map<String, Object> span : zipkin) {
+            assertEquals(trace.getId(), span.get("traceId"));
+            assertTrue((Long) span.get("duration") >= 1);
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package net.ontrack.benchmarks;
+
+import net.ontrack.backend.dao.BuildDao;
+import net.ontrack.backend.dao.EventDao;
+import net.ontrack.backend.security.AccountAuthentication;
+import net.ontrack.core.RunProfile;
+import net.ontrack.core.model.Account;
+import net.ontrack.core.security.SecurityRoles;
+import net.ontrack.service.ExportService;
+import net.ontrack.service.ManagementService;
+import net.ontrack.service.SearchService;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.Locale;
+
+/**
+ * Backend context and data set shared by the benchmarks of a trial.
+ * <p/>
+ * The calls are made as an administrator. The security context is global to the JVM
+ * because JMH does not guarantee that the setup and the benchmark share the same thread.
+ */
+@State(Scope.Benchmark)
+public class BackendState {
+
+    private AnnotationConfigApplicationContext context;
+    private BenchmarkDataSet dataSet;
+    private ManagementService managementService;
+    private SearchService searchService;
+    private ExportService exportService;
+    private BuildDao buildDao;
+    private EventDao eventDao;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Backend
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().setActiveProfiles(RunProfile.TEST);
+        context.register(BenchmarkConfiguration.class);
+        context.refresh();
+        // Security
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContext securityContext = new SecurityContextImpl();
+        securityContext.setAuthentication(new AccountAuthentication(new Account(1, "admin", "Administrator",
+                "admin@benchmark.com", SecurityRoles.ADMINISTRATOR, "builtin", Locale.ENGLISH)));
+        SecurityContextHolder.setContext(securityContext);
+        // Data set
+        dataSet = new BenchmarkDataSet(context).load();
+        // Services
+        managementService = context.getBean(ManagementService.class);
+        searchService = context.getBean(SearchService.class);
+        exportService = context.getBean(ExportService.class);
+        buildDao = context.getBean(BuildDao.class);
+        eventDao = context.getBean(EventDao.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    public BenchmarkDataSet getDataSet() {
+        return dataSet;
+    }
+
+    public ManagementService getManagementService() {
+        return managementService;
+    }
+
+    public SearchService getSearchService() {
+        return searchService;
+    }
+
+    public ExportService getExportService() {
+        return exportService;
+    }
+
+    public BuildDao getBuildDao() {
+        return buildDao;
+    }
+
+    public EventDao getEventDao() {
+        return eventDao;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+}
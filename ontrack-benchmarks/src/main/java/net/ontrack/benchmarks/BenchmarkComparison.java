@@ -0,0 +1,96 @@
+package net.ontrack.benchmarks;
+
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two results of the {@link BenchmarkRunner}, typically for two commits.
+ * <p/>
+ * A benchmark is reported as a regression when it is slower by more than the threshold
+ * (10% by default) <i>and</i> when the difference is larger than the sum of the errors
+ * of both measures, so that noise is not reported.
+ * <p/>
+ * Arguments: baseline result file, current result file and optionally the threshold in percents.
+ * The exit code is 1 when some regressions are found.
+ */
+public class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD = 10.0;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [<threshold %>]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        int regressions = compare(new File(args[0]), new File(args[1]), threshold, System.out);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints the comparison and returns the number of regressions
+     */
+    public static int compare(File baselineFile, File currentFile, double threshold, PrintStream out) throws IOException {
+        Map<String, JsonNode> baseline = read(baselineFile);
+        Map<String, JsonNode> current = read(currentFile);
+        int regressions = 0;
+        out.format("%-70s %15s %15s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            String key = entry.getKey();
+            JsonNode currentMetric = entry.getValue().get("primaryMetric");
+            double currentScore = currentMetric.get("score").getDoubleValue();
+            String unit = currentMetric.get("scoreUnit").getTextValue();
+            JsonNode base = baseline.get(key);
+            if (base == null) {
+                out.format("%-70s %15s %15s %9s%n", key, "-", format(currentScore, unit), "new");
+            } else {
+                JsonNode baseMetric = base.get("primaryMetric");
+                double baseScore = baseMetric.get("score").getDoubleValue();
+                double change = baseScore != 0 ? (currentScore - baseScore) / baseScore * 100.0 : 0;
+                // Higher is worse for times, lower is worse for throughputs
+                boolean throughput = "thrpt".equals(entry.getValue().get("mode").getTextValue());
+                double worse = throughput ? -change : change;
+                double error = error(baseMetric) + error(currentMetric);
+                boolean regression = worse > threshold && Math.abs(currentScore - baseScore) > error;
+                if (regression) {
+                    regressions++;
+                }
+                out.format("%-70s %15s %15s %+8.1f%%%s%n", key, format(baseScore, unit), format(currentScore, unit), change, regression ? " REGRESSION" : "");
+            }
+        }
+        out.format("%d regression(s) above %.1f%%%n", regressions, threshold);
+        return regressions;
+    }
+
+    private static double error(JsonNode metric) {
+        JsonNode error = metric.get("scoreError");
+        // The error is not a number when there are not enough iterations
+        return error != null && error.isNumber() ? error.getDoubleValue() : 0;
+    }
+
+    private static String format(double score, String unit) {
+        return String.format("%.3f %s", score, unit);
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(file)) {
+            String key = node.get("benchmark").getTextValue().replace("net.ontrack.benchmarks.", "");
+            JsonNode params = node.get("params");
+            if (params != null) {
+                key += params.toString();
+            }
+            results.put(key, node);
+        }
+        return results;
+    }
+
+}
@@ -0,0 +1,79 @@
+package net.ontrack.benchmarks;
+
+import net.ontrack.core.RunProfile;
+import net.sf.jstring.Strings;
+import net.sf.jstring.support.StringsLoader;
+import org.apache.commons.dbcp.BasicDataSource;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Backend running against an embedded H2 database stored in <code>target/benchmarks/db</code>,
+ * so that the {@linkplain BenchmarkDataSet data set} is created only once and then shared
+ * by all the benchmarks and all the runs.
+ * <p/>
+ * Another database can be used by setting its JDBC URL in the {@link #DB_URL_PROPERTY}
+ * system property (and its credentials in {@link #DB_USER_PROPERTY} and {@link #DB_PASSWORD_PROPERTY}),
+ * provided its driver is on the class path.
+ */
+@Configuration
+@Profile(RunProfile.TEST)
+@ComponentScan("net.ontrack")
+public class BenchmarkConfiguration {
+
+    public static final String DB_URL_PROPERTY = "ontrack.benchmarks.db";
+    public static final String DB_USER_PROPERTY = "ontrack.benchmarks.db.user";
+    public static final String DB_PASSWORD_PROPERTY = "ontrack.benchmarks.db.password";
+
+    private static final Logger log = LoggerFactory.getLogger(BenchmarkConfiguration.class);
+
+    @Autowired
+    private List<AuthenticationProvider> providers;
+
+    @Bean
+    public Strings strings() {
+        return StringsLoader.auto(Locale.ENGLISH, Locale.FRENCH);
+    }
+
+    @Bean
+    public DataSource dataSource() {
+        String dbURL = System.getProperty(DB_URL_PROPERTY);
+        if (StringUtils.isBlank(dbURL)) {
+            File dir = new File("target/benchmarks/db");
+            dbURL = String.format("jdbc:h2:%s;MVCC=TRUE", new File(dir, "ontrack-" + BenchmarkDataSet.VERSION).getAbsolutePath());
+        }
+        log.info("Using database at {}", dbURL);
+        BasicDataSource ds = new BasicDataSource();
+        // Other drivers are looked up by the driver manager
+        if (dbURL.startsWith("jdbc:h2:")) {
+            ds.setDriverClassName("org.h2.Driver");
+        }
+        ds.setUrl(dbURL);
+        ds.setUsername(System.getProperty(DB_USER_PROPERTY, "sa"));
+        ds.setPassword(System.getProperty(DB_PASSWORD_PROPERTY, ""));
+        ds.setDefaultAutoCommit(false);
+        ds.setInitialSize(1);
+        ds.setMaxActive(4);
+        return ds;
+    }
+
+    @Bean
+    public AuthenticationManager authenticationManager() {
+        return new ProviderManager(providers);
+    }
+
+}
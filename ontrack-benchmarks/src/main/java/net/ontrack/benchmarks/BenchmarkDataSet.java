@@ -0,0 +1,150 @@
+package net.ontrack.benchmarks;
+
+import net.ontrack.backend.dao.BranchDao;
+import net.ontrack.backend.dao.ConfigurationDao;
+import net.ontrack.backend.dao.ProjectDao;
+import net.ontrack.backend.dao.model.TBranch;
+import net.ontrack.backend.dao.model.TProject;
+import net.ontrack.benchmarks.DataGeneratorSettings.Range;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Data set the benchmarks are run against. It is created by the {@link DataGenerator} the first
+ * time and kept in the database afterwards.
+ * <p/>
+ * The volumes are those of a mid-sized instance: 10 projects of 5 branches, each branch
+ * having 200 builds validated against 10 validation stamps and promoted to 4 promotion levels.
+ * About 10% of the runs fail, some of them are retried, investigated and commented.
+ * <p/>
+ * The {@link #VERSION} must be changed whenever the data set is changed, so that the
+ * results stay comparable.
+ */
+public class BenchmarkDataSet {
+
+    /**
+     * Version of the data set
+     */
+    public static final int VERSION = 2;
+
+    public static final DataGeneratorSettings SETTINGS = new DataGeneratorSettings()
+            .withSeed(20140101L)
+            .withProjects(10)
+            .withBranchesPerProject(Range.of(5))
+            .withValidationStampsPerBranch(Range.of(10))
+            .withPromotionLevelsPerBranch(Range.of(4))
+            .withBuildsPerBranch(Range.of(200))
+            .withRunsPerBuild(Range.of(10))
+            .withFailureRate(0.1)
+            .withRetryRate(0.5)
+            .withStatusHistoryRate(0.3)
+            .withCommentRate(0.3)
+            .withPropertyRate(1.0)
+            .withPromotionRate(0.5)
+            .withDays(30);
+
+    private static final String CONFIGURATION_KEY = "benchmark.dataset";
+
+    private final Logger logger = LoggerFactory.getLogger(BenchmarkDataSet.class);
+
+    private final ApplicationContext context;
+    private final ProjectDao projectDao;
+    private final BranchDao branchDao;
+    private final ConfigurationDao configurationDao;
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<Integer> projectIds = new ArrayList<>();
+    private final List<Integer> branchIds = new ArrayList<>();
+
+    public BenchmarkDataSet(ApplicationContext context) {
+        this.context = context;
+        projectDao = context.getBean(ProjectDao.class);
+        branchDao = context.getBean(BranchDao.class);
+        configurationDao = context.getBean(ConfigurationDao.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    /**
+     * Creates the data set if not already done, and loads its identifiers.
+     */
+    public BenchmarkDataSet load() {
+        String version = transactionTemplate.execute(new TransactionCallback<String>() {
+            @Override
+            public String doInTransaction(TransactionStatus status) {
+                return configurationDao.getValue(CONFIGURATION_KEY);
+            }
+        });
+        if (!String.valueOf(VERSION).equals(version)) {
+            create();
+        }
+        // Identifiers
+        for (TProject project : projectDao.findAll()) {
+            projectIds.add(project.getId());
+            for (TBranch branch : branchDao.findByProject(project.getId())) {
+                branchIds.add(branch.getId());
+            }
+        }
+        Collections.sort(projectIds);
+        Collections.sort(branchIds);
+        return this;
+    }
+
+    public List<Integer> getProjectIds() {
+        return projectIds;
+    }
+
+    public List<Integer> getBranchIds() {
+        return branchIds;
+    }
+
+    /**
+     * A branch in the middle of the data set
+     */
+    public int getBranchId() {
+        return branchIds.get(branchIds.size() / 2);
+    }
+
+    public String getProjectName(int index) {
+        return DataGenerator.getProjectName(index);
+    }
+
+    public String getBranchName(int index) {
+        return DataGenerator.getBranchName(index);
+    }
+
+    public String getBuildName(int index) {
+        return DataGenerator.getBuildName(index);
+    }
+
+    public String getValidationStampName(int index) {
+        return DataGenerator.getValidationStampName(index);
+    }
+
+    public String getPromotionLevelName(int index) {
+        return DataGenerator.getPromotionLevelName(index);
+    }
+
+    protected void create() {
+        logger.info("[benchmark] Creating the data set v{}", VERSION);
+        long start = System.currentTimeMillis();
+        new DataGenerator(context, SETTINGS).generate();
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                configurationDao.setValue(CONFIGURATION_KEY, String.valueOf(VERSION));
+            }
+        });
+        logger.info("[benchmark] Data set created in {} ms", System.currentTimeMillis() - start);
+    }
+
+}
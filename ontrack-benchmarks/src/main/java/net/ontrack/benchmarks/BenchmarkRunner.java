@@ -0,0 +1,61 @@
+package net.ontrack.benchmarks;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Runs the benchmarks and stores their results in <code>target/benchmarks/results/&lt;label&gt;.json</code>,
+ * where the label is typically the commit being measured.
+ * <p/>
+ * Arguments:
+ * <ol>
+ * <li>label of the results (defaults to <code>current</code>)</li>
+ * <li>regular expression of the benchmarks to run (defaults to all of them)</li>
+ * <li>label of previous results to compare with (optional), see {@link BenchmarkComparison}</li>
+ * </ol>
+ */
+public class BenchmarkRunner {
+
+    public static final File RESULTS = new File("target/benchmarks/results");
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String label = argument(args, 0, "current");
+        String include = argument(args, 1, "net.ontrack.benchmarks.*");
+        String baseline = argument(args, 2, "");
+        // Runs the benchmarks
+        File result = getResultFile(label);
+        if (!RESULTS.exists() && !RESULTS.mkdirs()) {
+            throw new IOException("Cannot create " + RESULTS);
+        }
+        new Runner(
+                new OptionsBuilder()
+                        .include(include)
+                        .resultFormat(ResultFormatType.JSON)
+                        .result(result.getPath())
+                        .build()
+        ).run();
+        // Comparison
+        if (StringUtils.isNotBlank(baseline)) {
+            BenchmarkComparison.main(new String[]{getResultFile(baseline).getPath(), result.getPath()});
+        }
+    }
+
+    public static File getResultFile(String label) {
+        return new File(RESULTS, label + ".json");
+    }
+
+    private static String argument(String[] args, int index, String defaultValue) {
+        if (args.length > index && StringUtils.isNotBlank(args[index])) {
+            return args[index];
+        } else {
+            return defaultValue;
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package net.ontrack.benchmarks;
+
+import net.ontrack.core.model.BranchBuilds;
+import net.ontrack.core.model.BuildFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds of a branch as displayed on the branch page, with their promotions and validations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BranchBuildsBenchmark {
+
+    /**
+     * First page of the branch
+     */
+    @Benchmark
+    public BranchBuilds buildList(BackendState state) {
+        return state.getManagementService().getBuildList(Locale.ENGLISH, state.getDataSet().getBranchId(), 0, 10);
+    }
+
+    /**
+     * Larger page of the branch
+     */
+    @Benchmark
+    public BranchBuilds buildListPage50(BackendState state) {
+        return state.getManagementService().getBuildList(Locale.ENGLISH, state.getDataSet().getBranchId(), 50, 50);
+    }
+
+    /**
+     * Builds of the branch filtered by promotion level
+     */
+    @Benchmark
+    public BranchBuilds queryBuilds(BackendState state) {
+        return state.getManagementService().queryBuilds(
+                Locale.ENGLISH,
+                state.getDataSet().getBranchId(),
+                new BuildFilter(null, 10, false, null, state.getDataSet().getPromotionLevelName(1), null, null, null)
+        );
+    }
+
+}
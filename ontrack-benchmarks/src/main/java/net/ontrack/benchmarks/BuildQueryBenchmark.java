@@ -0,0 +1,68 @@
+package net.ontrack.benchmarks;
+
+import net.ontrack.backend.dao.model.TBuild;
+import net.ontrack.core.model.BuildFilter;
+import net.ontrack.core.model.BuildValidationStampFilter;
+import net.ontrack.core.model.Status;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build filters of a branch, at the DAO level.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BuildQueryBenchmark {
+
+    @Benchmark
+    public void limit(BackendState state, Blackhole blackhole) {
+        query(state, blackhole, new BuildFilter(null, 10, false, null, null, null, null, null));
+    }
+
+    @Benchmark
+    public void withPromotionLevel(BackendState state, Blackhole blackhole) {
+        query(state, blackhole, new BuildFilter(null, 10, false, null, state.getDataSet().getPromotionLevelName(2), null, null, null));
+    }
+
+    @Benchmark
+    public void sincePromotionLevel(BackendState state, Blackhole blackhole) {
+        query(state, blackhole, new BuildFilter(null, 50, false, state.getDataSet().getPromotionLevelName(3), null, null, null, null));
+    }
+
+    @Benchmark
+    public void forEachPromotionLevel(BackendState state, Blackhole blackhole) {
+        query(state, blackhole, new BuildFilter(null, 10, true, null, null, null, null, null));
+    }
+
+    @Benchmark
+    public void withValidationStamp(BackendState state, Blackhole blackhole) {
+        query(state, blackhole, new BuildFilter(null, 10, false, null, null, null,
+                Collections.singletonList(new BuildValidationStampFilter(state.getDataSet().getValidationStampName(0), EnumSet.of(Status.PASSED))),
+                null));
+    }
+
+    @Benchmark
+    public void sinceValidationStamp(BackendState state, Blackhole blackhole) {
+        query(state, blackhole, new BuildFilter(null, 50, false, null, null,
+                Collections.singletonList(new BuildValidationStampFilter(state.getDataSet().getValidationStampName(1), EnumSet.of(Status.FAILED))),
+                null,
+                null));
+    }
+
+    private void query(BackendState state, Blackhole blackhole, BuildFilter filter) {
+        // The builds are loaded lazily
+        List<TBuild> builds = state.getBuildDao().query(state.getDataSet().getBranchId(), filter, null);
+        for (TBuild build : builds) {
+            blackhole.consume(build);
+        }
+    }
+
+}
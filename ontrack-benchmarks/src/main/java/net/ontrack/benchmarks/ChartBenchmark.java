@@ -0,0 +1,35 @@
+package net.ontrack.benchmarks;
+
+import net.ontrack.core.model.ChartTable;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Charts of the validation stamps of a branch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ChartBenchmark {
+
+    @Benchmark
+    public ChartTable validationStampStatuses(BackendState state) {
+        return state.getManagementService().getChartBranchValidationStampStatuses(state.getDataSet().getBranchId());
+    }
+
+    @Benchmark
+    public List<Pair<String, Double>> validationStampRetries(BackendState state) {
+        return state.getManagementService().getChartBranchValidationStampRetries(state.getDataSet().getBranchId());
+    }
+
+    @Benchmark
+    public List<Pair<String, Integer>> validationStampRunsWithoutFailure(BackendState state) {
+        return state.getManagementService().getChartBranchValidationStampRunsWithoutFailure(state.getDataSet().getBranchId());
+    }
+
+}
@@ -0,0 +1,370 @@
+package net.ontrack.benchmarks;
+
+import net.ontrack.backend.dao.*;
+import net.ontrack.backend.dao.model.TBuildCreation;
+import net.ontrack.backend.dao.model.TEventCreation;
+import net.ontrack.backend.dao.model.TValidationRunCreation;
+import net.ontrack.core.RunProfile;
+import net.ontrack.core.model.Entity;
+import net.ontrack.core.model.EventType;
+import net.ontrack.core.model.Status;
+import net.ontrack.core.model.ValidationRunStatusCreationForm;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Generates a synthetic data set with the volumes and distributions given by some
+ * {@link DataGeneratorSettings}: projects, branches, promotion levels, validation stamps,
+ * builds with their Jenkins URL, validation runs with their status history and comments,
+ * promoted runs and the corresponding events.
+ * <p/>
+ * Everything is written through the DAOs, in JDBC batches of
+ * {@link DataGeneratorSettings#getBatchSize()} builds, one transaction per batch. For a given
+ * seed, the generated data is always the same, only the timestamps being relative to the
+ * current time.
+ * <p/>
+ * It can be run from the command line, with an optional properties file for the settings:
+ * <pre>
+ * mvn -pl ontrack-benchmarks exec:java -Dexec.mainClass=net.ontrack.benchmarks.DataGenerator -Dexec.args=generator.properties
+ * </pre>
+ * The database is an H2 database in <code>target/generator/db</code> unless another JDBC URL
+ * is given by the <code>ontrack.benchmarks.db</code> system property.
+ */
+public class DataGenerator {
+
+    private static final String AUTHOR = "generator";
+    private static final String[] PROMOTION_LEVELS = {"BRONZE", "SILVER", "GOLD", "PLATINUM", "DIAMOND"};
+    private static final String[] FINAL_STATUSES = {Status.FIXED.name(), Status.DEFECTIVE.name(), Status.EXPLAINED.name()};
+
+    private final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    private final DataGeneratorSettings settings;
+
+    private final ProjectDao projectDao;
+    private final BranchDao branchDao;
+    private final BuildDao buildDao;
+    private final ValidationStampDao validationStampDao;
+    private final PromotionLevelDao promotionLevelDao;
+    private final ValidationRunDao validationRunDao;
+    private final ValidationRunStatusDao validationRunStatusDao;
+    private final PromotedRunDao promotedRunDao;
+    private final EventDao eventDao;
+    private final CommentDao commentDao;
+    private final PropertyDao propertyDao;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    private long buildCount;
+    private long runCount;
+    private long eventCount;
+
+    public DataGenerator(ApplicationContext context, DataGeneratorSettings settings) {
+        this.settings = settings;
+        projectDao = context.getBean(ProjectDao.class);
+        branchDao = context.getBean(BranchDao.class);
+        buildDao = context.getBean(BuildDao.class);
+        validationStampDao = context.getBean(ValidationStampDao.class);
+        promotionLevelDao = context.getBean(PromotionLevelDao.class);
+        validationRunDao = context.getBean(ValidationRunDao.class);
+        validationRunStatusDao = context.getBean(ValidationRunStatusDao.class);
+        promotedRunDao = context.getBean(PromotedRunDao.class);
+        eventDao = context.getBean(EventDao.class);
+        commentDao = context.getBean(CommentDao.class);
+        propertyDao = context.getBean(PropertyDao.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+    }
+
+    public static String getProjectName(int index) {
+        return String.format("PROJECT_%d", index);
+    }
+
+    public static String getBranchName(int index) {
+        return String.format("BRANCH_%d", index);
+    }
+
+    public static String getBuildName(int index) {
+        return String.format("1.%d.%d", index / 100, index);
+    }
+
+    public static String getValidationStampName(int index) {
+        return String.format("STAMP_%d", index);
+    }
+
+    public static String getPromotionLevelName(int index) {
+        return index < PROMOTION_LEVELS.length ? PROMOTION_LEVELS[index] : String.format("LEVEL_%d", index);
+    }
+
+    /**
+     * Generates the whole data set
+     */
+    public void generate() {
+        logger.info("[generator] Generating with {}", settings);
+        long start = System.currentTimeMillis();
+        Random random = new Random(settings.getSeed());
+        DateTime end = DateTime.now(DateTimeZone.UTC);
+        DateTime begin = end.minusDays(settings.getDays());
+        for (int p = 0; p < settings.getProjects(); p++) {
+            createProject(random, begin, end, p);
+            logger.info("[generator] Project {}/{} created - {} builds, {} runs, {} events in {} s",
+                    p + 1, settings.getProjects(), buildCount, runCount, eventCount,
+                    (System.currentTimeMillis() - start) / 1000);
+        }
+        // Events are not to be sent
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                jdbcTemplate.update("UPDATE EVENTS SET SENT = TRUE");
+            }
+        });
+        logger.info("[generator] Generated {} builds, {} runs and {} events in {} s",
+                buildCount, runCount, eventCount, (System.currentTimeMillis() - start) / 1000);
+    }
+
+    private void createProject(Random random, DateTime begin, DateTime end, int index) {
+        final String projectName = getProjectName(index);
+        final DateTime creation = begin;
+        final int projectId = transactionTemplate.execute(new TransactionCallback<Integer>() {
+            @Override
+            public Integer doInTransaction(TransactionStatus status) {
+                int id = projectDao.createProject(projectName, "Project " + projectName);
+                eventDao.importEvents(Collections.singletonList(event(creation, EventType.PROJECT_CREATED, entities(Entity.PROJECT, id))));
+                eventCount++;
+                return id;
+            }
+        });
+        int branches = settings.getBranchesPerProject().next(random);
+        for (int b = 0; b < branches; b++) {
+            createBranch(random, begin, end, projectId, getBranchName(b));
+        }
+    }
+
+    private void createBranch(Random random, DateTime begin, DateTime end, final int projectId, final String branchName) {
+        final int validationStampCount = settings.getValidationStampsPerBranch().next(random);
+        final int promotionLevelCount = settings.getPromotionLevelsPerBranch().next(random);
+        final DateTime creation = begin;
+        final Branch branch = transactionTemplate.execute(new TransactionCallback<Branch>() {
+            @Override
+            public Branch doInTransaction(TransactionStatus status) {
+                int branchId = branchDao.createBranch(projectId, branchName, "Branch " + branchName);
+                Branch created = new Branch(projectId, branchId, validationStampCount, promotionLevelCount);
+                // Promotion levels
+                for (int i = 0; i < promotionLevelCount; i++) {
+                    String name = getPromotionLevelName(i);
+                    created.promotionLevels[i] = promotionLevelDao.createPromotionLevel(branchId, name, "Promotion level " + name);
+                }
+                // Validation stamps, two for each promotion level, the last ones not being linked
+                for (int i = 0; i < validationStampCount; i++) {
+                    String name = getValidationStampName(i);
+                    created.validationStamps[i] = validationStampDao.createValidationStamp(branchId, name, "Validation stamp " + name);
+                    if (i < promotionLevelCount * 2) {
+                        validationStampDao.linkValidationStampToPromotionLevel(created.validationStamps[i], created.promotionLevels[i / 2]);
+                    }
+                }
+                eventDao.importEvents(Collections.singletonList(event(creation, EventType.BRANCH_CREATED, created.entities)));
+                eventCount++;
+                return created;
+            }
+        });
+        // Builds, evenly spread on the period
+        int builds = settings.getBuildsPerBranch().next(random);
+        long step = builds > 0 ? (end.getMillis() - begin.getMillis()) / builds : 0;
+        for (int first = 1; first <= builds; first += settings.getBatchSize()) {
+            createBuilds(random, branch, first, Math.min(builds, first + settings.getBatchSize() - 1), begin, step);
+        }
+    }
+
+    private void createBuilds(final Random random, final Branch branch, final int first, final int last, final DateTime begin, final long step) {
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                // Builds
+                List<TBuildCreation> creations = new ArrayList<>();
+                for (int i = first; i <= last; i++) {
+                    creations.add(new TBuildCreation(getBuildName(i), "Build " + i));
+                }
+                List<Integer> buildIds = buildDao.createBuilds(branch.id, creations);
+                // Details
+                Batch batch = new Batch();
+                for (int i = first; i <= last; i++) {
+                    DateTime time = begin.plus((i - 1) * step);
+                    int buildId = buildIds.get(i - first);
+                    Map<Entity, Integer> buildEntities = new LinkedHashMap<>(branch.entities);
+                    buildEntities.put(Entity.BUILD, buildId);
+                    batch.events.add(event(time, EventType.BUILD_CREATED, buildEntities));
+                    if (random.nextDouble() < settings.getPropertyRate()) {
+                        batch.properties.put(buildId, String.format("http://jenkins/job/%s/%d/", branch.id, i));
+                    }
+                    createValidationRuns(random, branch, time, buildEntities, batch);
+                    createPromotedRuns(random, branch, time, buildEntities, batch);
+                }
+                // Status histories, one batch for each step
+                validationRunStatusDao.createValidationRunStatuses(batch.investigations, AUTHOR, null);
+                validationRunStatusDao.createValidationRunStatuses(batch.conclusions, AUTHOR, null);
+                // Properties & events
+                propertyDao.createProperties(Entity.BUILD, "jenkins", "url", batch.properties, null);
+                eventDao.importEvents(batch.events);
+                buildCount += buildIds.size();
+                eventCount += batch.events.size();
+            }
+        });
+    }
+
+    private void createValidationRuns(Random random, Branch branch, DateTime time, Map<Entity, Integer> buildEntities, Batch batch) {
+        int buildId = buildEntities.get(Entity.BUILD);
+        // Runs, with some failures and retries
+        List<TValidationRunCreation> runs = new ArrayList<>();
+        List<Status> statuses = new ArrayList<>();
+        int count = Math.min(settings.getRunsPerBuild().next(random), branch.validationStamps.length);
+        for (int s = 0; s < count; s++) {
+            int validationStamp = branch.validationStamps[s];
+            if (random.nextDouble() < settings.getFailureRate()) {
+                runs.add(new TValidationRunCreation(validationStamp, "Failed run"));
+                statuses.add(Status.FAILED);
+                if (random.nextDouble() < settings.getRetryRate()) {
+                    runs.add(new TValidationRunCreation(validationStamp, "Retried run"));
+                    statuses.add(Status.PASSED);
+                }
+            } else {
+                runs.add(new TValidationRunCreation(validationStamp, "Run"));
+                statuses.add(Status.PASSED);
+            }
+        }
+        if (runs.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = validationRunDao.createValidationRuns(buildId, runs);
+        Map<Integer, ValidationRunStatusCreationForm> forms = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            forms.put(ids.get(i), new ValidationRunStatusCreationForm(statuses.get(i), runs.get(i).getDescription()));
+        }
+        validationRunStatusDao.createValidationRunStatuses(forms, AUTHOR, null);
+        runCount += ids.size();
+        // Events, status histories and comments
+        for (int i = 0; i < ids.size(); i++) {
+            int validationRunId = ids.get(i);
+            Map<Entity, Integer> runEntities = new LinkedHashMap<>(buildEntities);
+            runEntities.put(Entity.VALIDATION_STAMP, runs.get(i).getValidationStamp());
+            runEntities.put(Entity.VALIDATION_RUN, validationRunId);
+            batch.events.add(event(time, EventType.VALIDATION_RUN_CREATED, runEntities, statuses.get(i).name()));
+            if (statuses.get(i) == Status.FAILED) {
+                if (random.nextDouble() < settings.getStatusHistoryRate()) {
+                    batch.investigations.put(validationRunId, new ValidationRunStatusCreationForm(Status.INVESTIGATED, "Investigating"));
+                    // Distinct times, the values of imported events being attached by type, time and entities
+                    batch.events.add(event(time.plusMinutes(10), EventType.VALIDATION_RUN_STATUS, runEntities, Status.INVESTIGATED.name()));
+                    String conclusion = FINAL_STATUSES[random.nextInt(FINAL_STATUSES.length)];
+                    batch.conclusions.put(validationRunId, new ValidationRunStatusCreationForm(Status.valueOf(conclusion), "Investigation done"));
+                    batch.events.add(event(time.plusMinutes(20), EventType.VALIDATION_RUN_STATUS, runEntities, conclusion));
+                }
+                if (random.nextDouble() < settings.getCommentRate()) {
+                    commentDao.importComment(Entity.VALIDATION_RUN, validationRunId, String.format("Investigating failure #%d of the build", validationRunId), AUTHOR, null, time);
+                    batch.events.add(event(time, EventType.VALIDATION_RUN_COMMENT, runEntities));
+                }
+            }
+        }
+    }
+
+    private void createPromotedRuns(Random random, Branch branch, DateTime time, Map<Entity, Integer> buildEntities, Batch batch) {
+        int buildId = buildEntities.get(Entity.BUILD);
+        double rate = settings.getPromotionRate();
+        for (int l = 0; l < branch.promotionLevels.length; l++) {
+            if (random.nextDouble() < rate) {
+                promotedRunDao.createPromotedRun(buildId, branch.promotionLevels[l], AUTHOR, null, time, null);
+                Map<Entity, Integer> promotionEntities = new LinkedHashMap<>(buildEntities);
+                promotionEntities.put(Entity.PROMOTION_LEVEL, branch.promotionLevels[l]);
+                batch.events.add(event(time, EventType.PROMOTED_RUN_CREATED, promotionEntities));
+            }
+            rate *= settings.getPromotionRate();
+        }
+    }
+
+    private static TEventCreation event(DateTime time, EventType eventType, Map<Entity, Integer> entities) {
+        return new TEventCreation(AUTHOR, null, time, eventType, entities, Collections.<String, String>emptyMap());
+    }
+
+    private static TEventCreation event(DateTime time, EventType eventType, Map<Entity, Integer> entities, String status) {
+        return new TEventCreation(AUTHOR, null, time, eventType, entities, Collections.singletonMap("status", status));
+    }
+
+    private static Map<Entity, Integer> entities(Entity entity, int id) {
+        Map<Entity, Integer> entities = new LinkedHashMap<>();
+        entities.put(entity, id);
+        return entities;
+    }
+
+    /**
+     * Branch being generated
+     */
+    private static class Branch {
+
+        private final int id;
+        private final Map<Entity, Integer> entities;
+        private final int[] validationStamps;
+        private final int[] promotionLevels;
+
+        private Branch(int projectId, int id, int validationStampCount, int promotionLevelCount) {
+            this.id = id;
+            this.entities = entities(Entity.PROJECT, projectId);
+            this.entities.put(Entity.BRANCH, id);
+            this.validationStamps = new int[validationStampCount];
+            this.promotionLevels = new int[promotionLevelCount];
+        }
+    }
+
+    /**
+     * Data written at the end of a batch of builds
+     */
+    private static class Batch {
+
+        private final List<TEventCreation> events = new ArrayList<>();
+        private final Map<Integer, String> properties = new LinkedHashMap<>();
+        private final Map<Integer, ValidationRunStatusCreationForm> investigations = new LinkedHashMap<>();
+        private final Map<Integer, ValidationRunStatusCreationForm> conclusions = new LinkedHashMap<>();
+
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Settings
+        DataGeneratorSettings settings = new DataGeneratorSettings();
+        if (args.length > 0) {
+            Properties properties = new Properties();
+            try (InputStream in = new FileInputStream(args[0])) {
+                properties.load(in);
+            }
+            settings.load(properties);
+        }
+        // Database
+        if (System.getProperty(BenchmarkConfiguration.DB_URL_PROPERTY) == null) {
+            System.setProperty(BenchmarkConfiguration.DB_URL_PROPERTY,
+                    String.format("jdbc:h2:%s;MVCC=TRUE", new File("target/generator/db/ontrack").getAbsolutePath()));
+        }
+        // Backend
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().setActiveProfiles(RunProfile.TEST);
+        context.register(BenchmarkConfiguration.class);
+        context.refresh();
+        try {
+            new DataGenerator(context, settings).generate();
+        } finally {
+            context.close();
+        }
+    }
+
+}
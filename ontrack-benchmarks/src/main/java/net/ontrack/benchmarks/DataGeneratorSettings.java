@@ -0,0 +1,277 @@
+package net.ontrack.benchmarks;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Volumes and distributions of the {@link DataGenerator}.
+ * <p/>
+ * The counts are given as ranges (like <code>5-20</code>) in which the actual count
+ * is drawn uniformly, and the rates as probabilities between 0 and 1. The defaults
+ * describe a large instance: 200 projects, about 2,500 branches and a million builds.
+ */
+public class DataGeneratorSettings {
+
+    private long seed = 1L;
+    private int projects = 200;
+    private Range branchesPerProject = new Range(5, 20);
+    private Range validationStampsPerBranch = new Range(5, 20);
+    private Range promotionLevelsPerBranch = new Range(2, 5);
+    private Range buildsPerBranch = new Range(100, 800);
+    /**
+     * Number of validation stamps a build is validated against, limited by the
+     * number of validation stamps of its branch
+     */
+    private Range runsPerBuild = new Range(5, 20);
+    /**
+     * Probability for a run to fail
+     */
+    private double failureRate = 0.1;
+    /**
+     * Probability for a failed run to be run again, with success
+     */
+    private double retryRate = 0.5;
+    /**
+     * Probability for a failed run to be investigated, and to get two more statuses
+     */
+    private double statusHistoryRate = 0.3;
+    /**
+     * Probability for a failed run to be commented
+     */
+    private double commentRate = 0.2;
+    /**
+     * Probability for a build to have a Jenkins URL property
+     */
+    private double propertyRate = 0.9;
+    /**
+     * Probability for a build to be promoted to the first promotion level. The probability
+     * for the next levels is multiplied each time by this rate.
+     */
+    private double promotionRate = 0.5;
+    /**
+     * Period the builds of each branch are spread on, ending now
+     */
+    private int days = 365;
+    /**
+     * Number of builds created in one batch and one transaction
+     */
+    private int batchSize = 500;
+
+    /**
+     * Overrides the settings by the ones which are defined in some properties, using the
+     * names of the fields as keys.
+     */
+    public DataGeneratorSettings load(Properties properties) {
+        seed = Long.parseLong(properties.getProperty("seed", String.valueOf(seed)));
+        projects = Integer.parseInt(properties.getProperty("projects", String.valueOf(projects)));
+        branchesPerProject = Range.parse(properties.getProperty("branchesPerProject"), branchesPerProject);
+        validationStampsPerBranch = Range.parse(properties.getProperty("validationStampsPerBranch"), validationStampsPerBranch);
+        promotionLevelsPerBranch = Range.parse(properties.getProperty("promotionLevelsPerBranch"), promotionLevelsPerBranch);
+        buildsPerBranch = Range.parse(properties.getProperty("buildsPerBranch"), buildsPerBranch);
+        runsPerBuild = Range.parse(properties.getProperty("runsPerBuild"), runsPerBuild);
+        failureRate = Double.parseDouble(properties.getProperty("failureRate", String.valueOf(failureRate)));
+        retryRate = Double.parseDouble(properties.getProperty("retryRate", String.valueOf(retryRate)));
+        statusHistoryRate = Double.parseDouble(properties.getProperty("statusHistoryRate", String.valueOf(statusHistoryRate)));
+        commentRate = Double.parseDouble(properties.getProperty("commentRate", String.valueOf(commentRate)));
+        propertyRate = Double.parseDouble(properties.getProperty("propertyRate", String.valueOf(propertyRate)));
+        promotionRate = Double.parseDouble(properties.getProperty("promotionRate", String.valueOf(promotionRate)));
+        days = Integer.parseInt(properties.getProperty("days", String.valueOf(days)));
+        batchSize = Integer.parseInt(properties.getProperty("batchSize", String.valueOf(batchSize)));
+        return this;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public DataGeneratorSettings withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getProjects() {
+        return projects;
+    }
+
+    public DataGeneratorSettings withProjects(int projects) {
+        this.projects = projects;
+        return this;
+    }
+
+    public Range getBranchesPerProject() {
+        return branchesPerProject;
+    }
+
+    public DataGeneratorSettings withBranchesPerProject(Range branchesPerProject) {
+        this.branchesPerProject = branchesPerProject;
+        return this;
+    }
+
+    public Range getValidationStampsPerBranch() {
+        return validationStampsPerBranch;
+    }
+
+    public DataGeneratorSettings withValidationStampsPerBranch(Range validationStampsPerBranch) {
+        this.validationStampsPerBranch = validationStampsPerBranch;
+        return this;
+    }
+
+    public Range getPromotionLevelsPerBranch() {
+        return promotionLevelsPerBranch;
+    }
+
+    public DataGeneratorSettings withPromotionLevelsPerBranch(Range promotionLevelsPerBranch) {
+        this.promotionLevelsPerBranch = promotionLevelsPerBranch;
+        return this;
+    }
+
+    public Range getBuildsPerBranch() {
+        return buildsPerBranch;
+    }
+
+    public DataGeneratorSettings withBuildsPerBranch(Range buildsPerBranch) {
+        this.buildsPerBranch = buildsPerBranch;
+        return this;
+    }
+
+    public Range getRunsPerBuild() {
+        return runsPerBuild;
+    }
+
+    public DataGeneratorSettings withRunsPerBuild(Range runsPerBuild) {
+        this.runsPerBuild = runsPerBuild;
+        return this;
+    }
+
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    public DataGeneratorSettings withFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    public double getRetryRate() {
+        return retryRate;
+    }
+
+    public DataGeneratorSettings withRetryRate(double retryRate) {
+        this.retryRate = retryRate;
+        return this;
+    }
+
+    public double getStatusHistoryRate() {
+        return statusHistoryRate;
+    }
+
+    public DataGeneratorSettings withStatusHistoryRate(double statusHistoryRate) {
+        this.statusHistoryRate = statusHistoryRate;
+        return this;
+    }
+
+    public double getCommentRate() {
+        return commentRate;
+    }
+
+    public DataGeneratorSettings withCommentRate(double commentRate) {
+        this.commentRate = commentRate;
+        return this;
+    }
+
+    public double getPropertyRate() {
+        return propertyRate;
+    }
+
+    public DataGeneratorSettings withPropertyRate(double propertyRate) {
+        this.propertyRate = propertyRate;
+        return this;
+    }
+
+    public double getPromotionRate() {
+        return promotionRate;
+    }
+
+    public DataGeneratorSettings withPromotionRate(double promotionRate) {
+        this.promotionRate = promotionRate;
+        return this;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public DataGeneratorSettings withDays(int days) {
+        this.days = days;
+        return this;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public DataGeneratorSettings withBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "seed=%d, projects=%d, branchesPerProject=%s, validationStampsPerBranch=%s, promotionLevelsPerBranch=%s, " +
+                        "buildsPerBranch=%s, runsPerBuild=%s, failureRate=%s, retryRate=%s, statusHistoryRate=%s, " +
+                        "commentRate=%s, propertyRate=%s, promotionRate=%s, days=%d",
+                seed, projects, branchesPerProject, validationStampsPerBranch, promotionLevelsPerBranch,
+                buildsPerBranch, runsPerBuild, failureRate, retryRate, statusHistoryRate,
+                commentRate, propertyRate, promotionRate, days
+        );
+    }
+
+    /**
+     * Range of counts, bounds included
+     */
+    public static class Range {
+
+        private final int min;
+        private final int max;
+
+        public Range(int min, int max) {
+            if (min < 0 || max < min) {
+                throw new IllegalArgumentException(String.format("Invalid range: %d-%d", min, max));
+            }
+            this.min = min;
+            this.max = max;
+        }
+
+        public static Range of(int count) {
+            return new Range(count, count);
+        }
+
+        /**
+         * Parses a range like <code>5-20</code> or a single count like <code>10</code>
+         */
+        public static Range parse(String value, Range defaultValue) {
+            if (StringUtils.isBlank(value)) {
+                return defaultValue;
+            } else if (value.contains("-")) {
+                return new Range(
+                        Integer.parseInt(StringUtils.substringBefore(value, "-").trim()),
+                        Integer.parseInt(StringUtils.substringAfter(value, "-").trim())
+                );
+            } else {
+                return of(Integer.parseInt(value.trim()));
+            }
+        }
+
+        public int next(Random random) {
+            return min + random.nextInt(max - min + 1);
+        }
+
+        @Override
+        public String toString() {
+            return min == max ? String.valueOf(min) : min + "-" + max;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package net.ontrack.benchmarks;
+
+import net.ontrack.backend.dao.model.TEvent;
+import net.ontrack.core.model.Entity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages of the audit log, global or restricted to an entity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EventListBenchmark {
+
+    @Benchmark
+    public List<TEvent> all(BackendState state) {
+        return state.getEventDao().list(0, 20, Collections.<Entity, Integer>emptyMap(), false);
+    }
+
+    @Benchmark
+    public List<TEvent> allLastPage(BackendState state) {
+        return state.getEventDao().list(10000, 20, Collections.<Entity, Integer>emptyMap(), false);
+    }
+
+    @Benchmark
+    public List<TEvent> project(BackendState state) {
+        return state.getEventDao().list(0, 20, Collections.singletonMap(Entity.PROJECT, state.getDataSet().getProjectIds().get(0)), false);
+    }
+
+    @Benchmark
+    public List<TEvent> branch(BackendState state) {
+        return state.getEventDao().list(0, 20, Collections.singletonMap(Entity.BRANCH, state.getDataSet().getBranchId()), false);
+    }
+
+}
@@ -0,0 +1,39 @@
+package net.ontrack.benchmarks;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import net.ontrack.core.model.ExportData;
+import net.ontrack.service.ExportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Export of a project, from the launch of the export task to the serialization
+ * of the exported data in JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExportBenchmark {
+
+    @Benchmark
+    public long project(BackendState state) throws InterruptedException, IOException {
+        ExportService exportService = state.getExportService();
+        // Export
+        String uuid = exportService.exportLaunch(Collections.singleton(state.getDataSet().getProjectIds().get(0)));
+        while (!exportService.exportCheck(uuid).isSuccess()) {
+            Thread.sleep(1);
+        }
+        ExportData data = exportService.exportDownload(uuid);
+        // Serialization
+        CountingOutputStream output = new CountingOutputStream(ByteStreams.nullOutputStream());
+        state.getObjectMapper().writeValue(output, data);
+        return output.getCount();
+    }
+
+}
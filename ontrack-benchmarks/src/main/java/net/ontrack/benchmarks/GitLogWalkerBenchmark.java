@@ -0,0 +1,139 @@
+package net.ontrack.benchmarks;
+
+import net.ontrack.extension.git.client.GitClient;
+import net.ontrack.extension.git.client.GitLogPage;
+import net.ontrack.extension.git.client.GitLogWalker;
+import net.ontrack.extension.git.client.impl.DefaultGitClient;
+import net.ontrack.extension.git.client.impl.DefaultGitRepository;
+import net.ontrack.extension.git.model.GitConfiguration;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.*;
+import org.eclipse.jgit.util.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pages of a Git change log over a range of 100,000 commits, with a merged side branch
+ * every 100 commits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GitLogWalkerBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Benchmark
+    public GitLogPage firstPage(GitState state) {
+        GitLogWalker walker = state.getClient().logWalker("from", "to");
+        try {
+            return walker.page(0, PAGE_SIZE);
+        } finally {
+            walker.release();
+        }
+    }
+
+    @Benchmark
+    public GitLogPage twentyPages(GitState state) {
+        GitLogWalker walker = state.getClient().logWalker("from", "to");
+        try {
+            GitLogPage page = walker.page(0, PAGE_SIZE);
+            for (int i = 1; i < 20 && page.getNext() != null; i++) {
+                page = walker.page(page.getNext(), PAGE_SIZE);
+            }
+            return page;
+        } finally {
+            walker.release();
+        }
+    }
+
+    /**
+     * Repository generated once per trial, without any working tree
+     */
+    @State(Scope.Benchmark)
+    public static class GitState {
+
+        private static final int COMMITS = 100000;
+        private static final int MERGE_EVERY = 100;
+        private static final int SIDE_COMMITS = 5;
+
+        private File wd;
+        private GitClient client;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException, GitAPIException {
+            wd = new File("target/work/git-benchmark");
+            FileUtils.delete(wd, FileUtils.RECURSIVE | FileUtils.SKIP_MISSING);
+            Git.init().setDirectory(wd).call();
+            DefaultGitRepository repository = new DefaultGitRepository(wd, "", "master", "benchmark");
+            generate(repository.git().getRepository());
+            client = new DefaultGitClient(repository, GitConfiguration.empty().withDefaults());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            FileUtils.delete(wd, FileUtils.RECURSIVE | FileUtils.SKIP_MISSING);
+        }
+
+        public GitClient getClient() {
+            return client;
+        }
+
+        private void generate(Repository repo) throws IOException {
+            ObjectInserter inserter = repo.newObjectInserter();
+            try {
+                ObjectId tree = inserter.insert(new TreeFormatter());
+                long time = System.currentTimeMillis() - 1000L * (COMMITS + COMMITS / MERGE_EVERY * SIDE_COMMITS + 1);
+                ObjectId first = commit(inserter, tree, "Initial commit", time);
+                ObjectId head = first;
+                for (int i = 1; i <= COMMITS; i++) {
+                    time += 1000L;
+                    if (i % MERGE_EVERY == 0) {
+                        // Side branch
+                        ObjectId side = head;
+                        for (int j = 0; j < SIDE_COMMITS; j++) {
+                            time += 1000L;
+                            side = commit(inserter, tree, "Side commit " + i + "." + j + " for #" + i, time, side);
+                        }
+                        time += 1000L;
+                        head = commit(inserter, tree, "Merge #" + i, time, head, side);
+                    } else {
+                        head = commit(inserter, tree, "Commit " + i + " for #" + i, time, head);
+                    }
+                }
+                inserter.flush();
+                // Branch and tags
+                update(repo, Constants.R_HEADS + "master", head);
+                update(repo, Constants.R_TAGS + "from", first);
+                update(repo, Constants.R_TAGS + "to", head);
+            } finally {
+                inserter.release();
+            }
+        }
+
+        private ObjectId commit(ObjectInserter inserter, ObjectId tree, String message, long time, ObjectId... parents) throws IOException {
+            PersonIdent ident = new PersonIdent("Benchmark", "benchmark@ontrack.net", time, 0);
+            CommitBuilder builder = new CommitBuilder();
+            builder.setTreeId(tree);
+            builder.setParentIds(parents);
+            builder.setAuthor(ident);
+            builder.setCommitter(ident);
+            builder.setMessage(message);
+            return inserter.insert(builder);
+        }
+
+        private void update(Repository repo, String ref, ObjectId id) throws IOException {
+            RefUpdate update = repo.updateRef(ref);
+            update.setNewObjectId(id);
+            update.setForceUpdate(true);
+            update.update();
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package net.ontrack.benchmarks;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import net.ontrack.core.model.BranchBuilds;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization in JSON of the largest page of the branch, as it is sent to the client,
+ * with and without compression. Each benchmark returns the number of bytes which are sent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResponseSizeBenchmark {
+
+    @Benchmark
+    public long buildListPlain(BackendState state) throws IOException {
+        CountingOutputStream output = new CountingOutputStream(ByteStreams.nullOutputStream());
+        state.getObjectMapper().writeValue(output, buildList(state));
+        return output.getCount();
+    }
+
+    @Benchmark
+    public long buildListGzip(BackendState state) throws IOException {
+        CountingOutputStream output = new CountingOutputStream(ByteStreams.nullOutputStream());
+        OutputStream gzip = new GZIPOutputStream(output);
+        state.getObjectMapper().writeValue(gzip, buildList(state));
+        gzip.close();
+        return output.getCount();
+    }
+
+    private BranchBuilds buildList(BackendState state) {
+        return state.getManagementService().getBuildList(Locale.ENGLISH, state.getDataSet().getBranchId(), 0, 100);
+    }
+
+}
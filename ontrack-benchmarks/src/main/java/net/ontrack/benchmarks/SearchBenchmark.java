@@ -0,0 +1,39 @@
+package net.ontrack.benchmarks;
+
+import net.ontrack.core.model.SearchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Global search, through all the search providers of the backend.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Benchmark
+    public Collection<SearchResult> project(BackendState state) {
+        return state.getSearchService().search(state.getDataSet().getProjectName(5));
+    }
+
+    @Benchmark
+    public Collection<SearchResult> build(BackendState state) {
+        return state.getSearchService().search(state.getDataSet().getBuildName(150));
+    }
+
+    @Benchmark
+    public Collection<SearchResult> comment(BackendState state) {
+        return state.getSearchService().search("Investigating");
+    }
+
+    @Benchmark
+    public Collection<SearchResult> none(BackendState state) {
+        return state.getSearchService().search("nothing-matches");
+    }
+
+}
@@ -0,0 +1,49 @@
+package net.ontrack.client;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import net.ontrack.core.model.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non blocking variant of the {@link ControlUIClient}, for the reporting of
+ * many builds, runs or properties at once.
+ * <p/>
+ * The calls are executed with a limited concurrency and are retried when the
+ * server cannot be reached or is temporarily unavailable.
+ */
+public interface AsyncControlUIClient extends Client {
+
+    ListenableFuture<BuildSummary> createBuild(String project, String branch, BuildCreationForm form);
+
+    ListenableFuture<ValidationRunSummary> createValidationRun(String project, String branch, String build, String validationStamp, ValidationRunCreationForm form);
+
+    ListenableFuture<PromotedRunSummary> createPromotedRun(String project, String branch, String build, String promotionLevel, PromotedRunCreationForm form);
+
+    ListenableFuture<BuildReportResult> createBuildReport(String project, String branch, String build, BuildReportForm form);
+
+    ListenableFuture<Ack> saveProperty(Entity entity, int entityId, String extension, String name, PropertyForm form);
+
+    /**
+     * Creates several validation runs for a build
+     *
+     * @param runs Validation runs, indexed by validation stamp name
+     * @return Created runs, in the order of the <code>runs</code> map
+     */
+    ListenableFuture<List<ValidationRunSummary>> createValidationRuns(String project, String branch, String build, Map<String, ValidationRunCreationForm> runs);
+
+    /**
+     * Saves several properties for an entity
+     *
+     * @param properties Property values, indexed by extension and by property name
+     * @return Results, in the order of the <code>properties</code> maps
+     */
+    ListenableFuture<List<Ack>> saveProperties(Entity entity, int entityId, Map<String, Map<String, PropertyForm>> properties);
+
+    /**
+     * Stops accepting new calls. The calls already submitted are completed.
+     */
+    void shutdown();
+
+}
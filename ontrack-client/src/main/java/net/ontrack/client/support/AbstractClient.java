@@ -1,13 +1,15 @@
 package net.ontrack.client.support;
 
-import com.google.common.base.Function;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
-import com.netbeetle.jackson.ObjectMapperFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.io.ByteStreams;
 import net.ontrack.client.Client;
 import net.ontrack.core.model.Ack;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.protocol.RequestAcceptEncoding;
+import org.apache.http.client.protocol.ResponseContentEncoding;
 import org.apache.http.*;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
@@ -22,22 +24,58 @@ import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.http.impl.conn.PoolingClientConnectionManager;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.util.EntityUtils;
-import org.codehaus.jackson.JsonNode;
-import org.codehaus.jackson.map.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public abstract class AbstractClient implements Client {
 
+    /**
+     * Maximum size (in bytes) of the contents which are kept for the conditional GETs
+     */
+    private static final long TAGGED_CONTENTS_MAX_SIZE = 10 * 1024 * 1024;
+
+    /**
+     * Too many requests, not defined by HttpClient
+     */
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Maximum number of attempts for a request which is rejected by the server because
+     * of too many requests
+     */
+    private static final int THROTTLED_MAX_ATTEMPTS = 5;
+
+    /**
+     * Maximum delay (in ms) before a new attempt of a rejected request
+     */
+    private static final long THROTTLED_MAX_DELAY = 60000L;
+
     private final Logger logger = LoggerFactory.getLogger(Client.class);
 
     private final String url;
     private final DefaultHttpClient client;
+    /**
+     * Last contents returned by the server with an entity tag or a last modification date, by
+     * locale and URL. They are sent back with the next GET of the same URL, and the content is
+     * reused if the server answers that it has not been modified.
+     */
+    private final Cache<String, TaggedContent> taggedContents = CacheBuilder.newBuilder()
+            .maximumWeight(TAGGED_CONTENTS_MAX_SIZE)
+            .weigher(new Weigher<String, TaggedContent>() {
+                @Override
+                public int weigh(String key, TaggedContent value) {
+                    return value.getContent().length;
+                }
+            })
+            .build();
 
     public AbstractClient(String url) {
         this(url, new DefaultHttpClient(new PoolingClientConnectionManager()));
@@ -46,6 +84,9 @@ public abstract class AbstractClient implements Client {
     public AbstractClient(String url, DefaultHttpClient client) {
         this.client = client;
         this.url = url;
+        // Compressed responses
+        client.addRequestInterceptor(new RequestAcceptEncoding());
+        client.addResponseInterceptor(new ResponseContentEncoding());
     }
 
     protected Locale getDefaultLocale() {
@@ -80,37 +121,20 @@ public abstract class AbstractClient implements Client {
         HttpGet get = new HttpGet(getUrl(path));
         return request(locale, get, new ResponseParser<byte[]>() {
             @Override
-            public byte[] parse(String content) throws IOException {
-                return Base64.decodeBase64(content);
+            public byte[] parse(InputStream content) throws IOException {
+                return content != null ? Base64.decodeBase64(ByteStreams.toByteArray(content)) : null;
             }
         });
     }
 
-    protected <T> List<T> list(Locale locale, final String path, final Class<T> elementType) {
+    protected <T> List<T> list(Locale locale, String path, final Class<T> elementType) {
         return request(locale, new HttpGet(getUrl(path)), new ResponseParser<List<T>>() {
             @Override
-            public List<T> parse(final String content) throws IOException {
-                if (StringUtils.isBlank(content)) {
+            public List<T> parse(InputStream content) throws IOException {
+                if (content == null) {
                     return Collections.emptyList();
                 } else {
-                    final ObjectMapper mapper = ObjectMapperFactory.createObjectMapper();
-                    JsonNode node = mapper.readTree(content);
-                    if (node.isArray()) {
-                        return Lists.newArrayList(
-                                Iterables.transform(node, new Function<JsonNode, T>() {
-                                    @Override
-                                    public T apply(JsonNode input) {
-                                        try {
-                                            return mapper.readValue(input, elementType);
-                                        } catch (IOException e) {
-                                            throw new ClientGeneralException(path, e);
-                                        }
-                                    }
-                                })
-                        );
-                    } else {
-                        throw new IOException("Did not receive a JSON array");
-                    }
+                    return ClientJson.readList(content, elementType);
                 }
             }
         });
@@ -126,7 +150,7 @@ public abstract class AbstractClient implements Client {
 
     private void setBody(Object payload, HttpEntityEnclosingRequestBase put) {
         try {
-            String json = ObjectMapperFactory.createObjectMapper().writeValueAsString(payload);
+            String json = ClientJson.write(payload);
             put.setEntity(new StringEntity(json, ContentType.create("application/json", "UTF-8")));
         } catch (IOException e) {
             throw new ClientGeneralException(put, e);
@@ -191,30 +215,103 @@ public abstract class AbstractClient implements Client {
     }
 
     protected <T> T request(Locale locale, HttpRequestBase request, final ResponseParser<T> responseParser) {
+        if (request instanceof HttpGet) {
+            return conditionalGet(locale, (HttpGet) request, responseParser);
+        }
         return request(locale, request, new BaseResponseHandler<T>() {
             @Override
             protected T handleEntity(HttpEntity entity) throws ParseException, IOException {
-                // Gets the content as a JSON string
-                String content = entity != null ? EntityUtils.toString(entity, "UTF-8") : null;
-                // Parses the response
-                return responseParser.parse(content);
+                // Parses the response directly from its stream
+                return responseParser.parse(entity != null ? entity.getContent() : null);
+            }
+        });
+    }
+
+    /**
+     * Sends the entity tag and the last modification date of the last known content of the URL,
+     * if any, and reuses this content when the server answers with a <code>304</code>. Only the
+     * responses with an entity tag or a last modification date are kept, the other ones are
+     * parsed directly from their stream.
+     */
+    protected <T> T conditionalGet(Locale locale, HttpGet get, final ResponseParser<T> responseParser) {
+        final String key = String.format("%s %s", locale, get.getURI());
+        final TaggedContent taggedContent = taggedContents.getIfPresent(key);
+        if (taggedContent != null) {
+            if (taggedContent.getTag() != null) {
+                get.setHeader("If-None-Match", taggedContent.getTag());
+            }
+            if (taggedContent.getLastModified() != null) {
+                get.setHeader("If-Modified-Since", taggedContent.getLastModified());
+            }
+        }
+        return request(locale, get, new BaseResponseHandler<T>() {
+            @Override
+            public T handleResponse(HttpRequestBase request, HttpResponse response, HttpEntity entity) throws ParseException, IOException {
+                int statusCode = response.getStatusLine().getStatusCode();
+                if (statusCode == HttpStatus.SC_NOT_MODIFIED && taggedContent != null) {
+                    logger.debug("[request] Not modified {}", key);
+                    return responseParser.parse(new ByteArrayInputStream(taggedContent.getContent()));
+                }
+                Header tag = response.getFirstHeader("ETag");
+                Header lastModified = response.getFirstHeader("Last-Modified");
+                if (statusCode == HttpStatus.SC_OK && (tag != null || lastModified != null) && entity != null) {
+                    byte[] content = EntityUtils.toByteArray(entity);
+                    taggedContents.put(key, new TaggedContent(
+                            tag != null ? tag.getValue() : null,
+                            lastModified != null ? lastModified.getValue() : null,
+                            content));
+                    return responseParser.parse(new ByteArrayInputStream(content));
+                } else {
+                    taggedContents.invalidate(key);
+                    return super.handleResponse(request, response, entity);
+                }
+            }
+
+            @Override
+            protected T handleEntity(HttpEntity entity) throws ParseException, IOException {
+                return responseParser.parse(entity != null ? entity.getContent() : null);
             }
         });
     }
 
+    /**
+     * Executes a request. When the server rejects it because of too many requests, the request
+     * is sent again after the delay given by the server, as long as its content can be sent again.
+     */
     protected <T> T request(Locale locale, HttpRequestBase request, ResponseHandler<T> responseHandler) {
         logger.debug("[request] {}", request);
         request.setHeader("Accept-Language", locale != null ? locale.toString() : "en");
         // Executes the call
         try {
-            HttpResponse response = client.execute(request);
-            logger.debug("[response] {}", response);
-            // Entity response
-            HttpEntity entity = response.getEntity();
-            try {
-                return responseHandler.handleResponse(request, response, entity);
-            } finally {
-                EntityUtils.consume(entity);
+            int attempt = 1;
+            while (true) {
+                HttpResponse response;
+                try {
+                    response = client.execute(request);
+                } catch (IOException e) {
+                    // No response from the server
+                    throw new ClientConnectionException(request, e);
+                }
+                logger.debug("[response] {}", response);
+                // Entity response
+                HttpEntity entity = response.getEntity();
+                long delay;
+                try {
+                    delay = getThrottlingDelay(request, response, attempt);
+                    if (delay < 0) {
+                        return responseHandler.handleResponse(request, response, entity);
+                    }
+                } finally {
+                    EntityUtils.consume(entity);
+                }
+                logger.debug("[request] Too many requests, attempt {} for {}, retrying in {} ms", attempt, request, delay);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ClientGeneralException(request, e);
+                }
+                attempt++;
             }
         } catch (IOException e) {
             throw new ClientGeneralException(request, e);
@@ -223,9 +320,65 @@ public abstract class AbstractClient implements Client {
         }
     }
 
+    /**
+     * Gets the delay before a new attempt of a request rejected because of too many requests:
+     * at least the one given by the <code>Retry-After</code> header, doubled for each attempt,
+     * plus a random part so that the rejected clients do not retry at the same time.
+     *
+     * @return Delay in ms, or <code>-1</code> if the request must not be retried
+     */
+    protected long getThrottlingDelay(HttpRequestBase request, HttpResponse response, int attempt) {
+        if (response.getStatusLine().getStatusCode() != SC_TOO_MANY_REQUESTS || attempt >= THROTTLED_MAX_ATTEMPTS) {
+            return -1;
+        }
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null && !entity.isRepeatable()) {
+                return -1;
+            }
+        }
+        long retryAfter = 1000L;
+        Header header = response.getFirstHeader("Retry-After");
+        if (header != null && StringUtils.isNumeric(header.getValue()) && header.getValue().length() < 10) {
+            retryAfter = Math.min(THROTTLED_MAX_DELAY, Math.max(retryAfter, 1000L * Long.parseLong(header.getValue())));
+        }
+        long delay = Math.min(THROTTLED_MAX_DELAY, retryAfter << Math.min(attempt - 1, 16));
+        return delay + ThreadLocalRandom.current().nextLong(delay / 4 + 1);
+    }
+
+    private static class TaggedContent {
+
+        private final String tag;
+        private final String lastModified;
+        private final byte[] content;
+
+        private TaggedContent(String tag, String lastModified, byte[] content) {
+            this.tag = tag;
+            this.lastModified = lastModified;
+            this.content = content;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+    }
+
     protected static interface ResponseParser<T> {
 
-        T parse(String content) throws IOException;
+        /**
+         * Parses the content of a response
+         *
+         * @param content Stream of the response, <code>null</code> if there is no content
+         */
+        T parse(InputStream content) throws IOException;
 
     }
 
@@ -245,10 +398,9 @@ public abstract class AbstractClient implements Client {
         }
 
         @Override
-        public T parse(String content) throws IOException {
+        public T parse(InputStream content) throws IOException {
             if (content != null) {
-                ObjectMapper mapper = ObjectMapperFactory.createObjectMapper();
-                return mapper.readValue(content, type);
+                return ClientJson.read(content, type);
             } else {
                 return null;
             }
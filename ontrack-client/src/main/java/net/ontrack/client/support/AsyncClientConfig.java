@@ -0,0 +1,76 @@
+package net.ontrack.client.support;
+
+import java.util.Random;
+
+/**
+ * Configuration of the asynchronous clients.
+ */
+public class AsyncClientConfig {
+
+    private final int concurrency;
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+
+    public AsyncClientConfig(int concurrency, int maxAttempts, long initialBackoff, long maxBackoff) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("The concurrency must be at least 1");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("The maximum number of attempts must be at least 1");
+        }
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * 4 concurrent calls, 3 attempts per call, with a backoff from 200 ms up to 5 s.
+     */
+    public static AsyncClientConfig defaults() {
+        return new AsyncClientConfig(4, 3, 200L, 5000L);
+    }
+
+    public AsyncClientConfig withConcurrency(int concurrency) {
+        return new AsyncClientConfig(concurrency, maxAttempts, initialBackoff, maxBackoff);
+    }
+
+    public AsyncClientConfig withMaxAttempts(int maxAttempts) {
+        return new AsyncClientConfig(concurrency, maxAttempts, initialBackoff, maxBackoff);
+    }
+
+    public AsyncClientConfig withBackoff(long initialBackoff, long maxBackoff) {
+        return new AsyncClientConfig(concurrency, maxAttempts, initialBackoff, maxBackoff);
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * Delay before a new attempt: a random value up to an exponential bound, so that
+     * the clients failing at the same time do not retry at the same time.
+     *
+     * @param attempt Number of the attempt which has just failed, starting at 1
+     */
+    public long getBackoff(int attempt, Random random) {
+        long bound = initialBackoff << Math.min(attempt - 1, 30);
+        if (bound <= 0 || bound > maxBackoff) {
+            bound = maxBackoff;
+        }
+        return bound > 0 ? (long) (random.nextDouble() * bound) : 0L;
+    }
+}
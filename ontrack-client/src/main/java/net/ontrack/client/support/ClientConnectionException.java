@@ -0,0 +1,12 @@
+package net.ontrack.client.support;
+
+/**
+ * The request could not be sent or no response was received.
+ */
+public class ClientConnectionException extends ClientGeneralException {
+
+    public ClientConnectionException(Object request, Exception ex) {
+        super(request, ex);
+    }
+
+}
@@ -1,6 +1,7 @@
 package net.ontrack.client.support;
 
 import net.ontrack.client.AdminUIClient;
+import net.ontrack.client.AsyncControlUIClient;
 import net.ontrack.client.ControlUIClient;
 import net.ontrack.client.ManageUIClient;
 import net.ontrack.client.PropertyUIClient;
@@ -21,6 +22,14 @@ public class ClientFactory {
         return new DefaultControlUIClient(url);
     }
 
+    public AsyncControlUIClient asyncControl() {
+        return asyncControl(AsyncClientConfig.defaults());
+    }
+
+    public AsyncControlUIClient asyncControl(AsyncClientConfig config) {
+        return new DefaultAsyncControlUIClient(url, config);
+    }
+
     public ManageUIClient manage() {
         return new DefaultManageUIClient(url);
     }
@@ -0,0 +1,36 @@
+package net.ontrack.client.support;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Waits for the result of the asynchronous client calls.
+ */
+public final class ClientFutures {
+
+    private ClientFutures() {
+    }
+
+    /**
+     * Waits for the result of a call, rethrowing the client exception
+     * of the call if any.
+     */
+    public static <T> T get(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClientGeneralException(future, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new ClientGeneralException(future, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package net.ontrack.client.support;
+
+import com.netbeetle.jackson.ObjectMapperFactory;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.ObjectReader;
+import org.codehaus.jackson.map.ObjectWriter;
+import org.codehaus.jackson.type.JavaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JSON support for the clients.
+ * <p/>
+ * One mapper is shared by all the clients. The readers are created once per
+ * type and the responses are parsed directly from their stream.
+ */
+public final class ClientJson {
+
+    private static final ObjectMapper mapper = ObjectMapperFactory.createObjectMapper();
+    private static final ObjectWriter writer = mapper.writer();
+    private static final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ObjectReader> listReaders = new ConcurrentHashMap<>();
+
+    private ClientJson() {
+    }
+
+    public static ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Serializes an object as JSON
+     */
+    public static String write(Object value) throws IOException {
+        return writer.writeValueAsString(value);
+    }
+
+    /**
+     * Reads an object from a JSON stream.
+     *
+     * @return Object or <code>null</code> if the stream is empty
+     */
+    public static <T> T read(InputStream in, Class<T> type) throws IOException {
+        try (JsonParser parser = mapper.getJsonFactory().createJsonParser(in)) {
+            if (parser.nextToken() == null) {
+                return null;
+            } else {
+                return getReader(type).readValue(parser);
+            }
+        }
+    }
+
+    /**
+     * Reads a list of objects from a JSON stream containing an array.
+     *
+     * @return List of objects, empty if the stream is empty
+     */
+    public static <T> List<T> readList(InputStream in, Class<T> elementType) throws IOException {
+        try (JsonParser parser = mapper.getJsonFactory().createJsonParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return Collections.emptyList();
+            } else if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Did not receive a JSON array");
+            } else {
+                return getListReader(elementType).readValue(parser);
+            }
+        }
+    }
+
+    private static ObjectReader getReader(Class<?> type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = mapper.reader(type);
+            readers.put(type, reader);
+        }
+        return reader;
+    }
+
+    private static ObjectReader getListReader(Class<?> elementType) {
+        ObjectReader reader = listReaders.get(elementType);
+        if (reader == null) {
+            JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, elementType);
+            reader = mapper.reader(listType);
+            listReaders.put(elementType, reader);
+        }
+        return reader;
+    }
+
+}
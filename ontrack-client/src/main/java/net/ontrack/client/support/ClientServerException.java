@@ -3,8 +3,15 @@ package net.ontrack.client.support;
 
 public class ClientServerException extends ClientMessageException {
 
+    private final int statusCode;
+
     public ClientServerException(Object request, int statusCode, String reasonPhrase) {
         super(String.format("%s [%d] %s", request, statusCode, reasonPhrase));
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
     }
 
 }
@@ -0,0 +1,164 @@
+package net.ontrack.client.support;
+
+import com.google.common.util.concurrent.*;
+import net.ontrack.client.AsyncControlUIClient;
+import net.ontrack.core.model.*;
+import org.apache.http.HttpStatus;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.lang.String.format;
+
+public class DefaultAsyncControlUIClient extends AbstractClient implements AsyncControlUIClient {
+
+    private final Logger logger = LoggerFactory.getLogger(AsyncControlUIClient.class);
+
+    private final AsyncClientConfig config;
+    private final ListeningExecutorService executor;
+
+    public DefaultAsyncControlUIClient(String url, AsyncClientConfig config) {
+        this(
+                url,
+                config,
+                MoreExecutors.listeningDecorator(
+                        Executors.newFixedThreadPool(
+                                config.getConcurrency(),
+                                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ontrack-client-%s").build()
+                        )
+                )
+        );
+    }
+
+    public DefaultAsyncControlUIClient(String url, AsyncClientConfig config, ListeningExecutorService executor) {
+        super(url, createHttpClient(config));
+        this.config = config;
+        this.executor = executor;
+    }
+
+    private static DefaultHttpClient createHttpClient(AsyncClientConfig config) {
+        PoolingClientConnectionManager connectionManager = new PoolingClientConnectionManager();
+        // One connection per concurrent call
+        connectionManager.setDefaultMaxPerRoute(Math.max(config.getConcurrency(), connectionManager.getDefaultMaxPerRoute()));
+        connectionManager.setMaxTotal(Math.max(config.getConcurrency(), connectionManager.getMaxTotal()));
+        return new DefaultHttpClient(connectionManager);
+    }
+
+    @Override
+    public ListenableFuture<BuildSummary> createBuild(String project, String branch, BuildCreationForm form) {
+        return submit(format("/ui/control/project/%s/branch/%s/build", project, branch), BuildSummary.class, form);
+    }
+
+    @Override
+    public ListenableFuture<ValidationRunSummary> createValidationRun(String project, String branch, String build, String validationStamp, ValidationRunCreationForm form) {
+        return submit(format("/ui/control/project/%s/branch/%s/build/%s/validation_stamp/%s", project, branch, build, validationStamp), ValidationRunSummary.class, form);
+    }
+
+    @Override
+    public ListenableFuture<PromotedRunSummary> createPromotedRun(String project, String branch, String build, String promotionLevel, PromotedRunCreationForm form) {
+        return submit(format("/ui/control/project/%s/branch/%s/build/%s/promotion_level/%s", project, branch, build, promotionLevel), PromotedRunSummary.class, form);
+    }
+
+    @Override
+    public ListenableFuture<BuildReportResult> createBuildReport(String project, String branch, String build, BuildReportForm form) {
+        return submit(format("/ui/control/project/%s/branch/%s/build/%s/batch", project, branch, build), BuildReportResult.class, form);
+    }
+
+    @Override
+    public ListenableFuture<Ack> saveProperty(Entity entity, int entityId, String extension, String name, PropertyForm form) {
+        return submit(format("/ui/property/%s/%d/edit/%s/%s", entity.name(), entityId, extension, name), Ack.class, form);
+    }
+
+    @Override
+    public ListenableFuture<List<ValidationRunSummary>> createValidationRuns(String project, String branch, String build, Map<String, ValidationRunCreationForm> runs) {
+        List<ListenableFuture<ValidationRunSummary>> futures = new ArrayList<>(runs.size());
+        for (Map.Entry<String, ValidationRunCreationForm> run : runs.entrySet()) {
+            futures.add(createValidationRun(project, branch, build, run.getKey(), run.getValue()));
+        }
+        return Futures.allAsList(futures);
+    }
+
+    @Override
+    public ListenableFuture<List<Ack>> saveProperties(Entity entity, int entityId, Map<String, Map<String, PropertyForm>> properties) {
+        List<ListenableFuture<Ack>> futures = new ArrayList<>();
+        for (Map.Entry<String, Map<String, PropertyForm>> extension : properties.entrySet()) {
+            for (Map.Entry<String, PropertyForm> property : extension.getValue().entrySet()) {
+                futures.add(saveProperty(entity, entityId, extension.getKey(), property.getKey(), property.getValue()));
+            }
+        }
+        return Futures.allAsList(futures);
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    protected <T> ListenableFuture<T> submit(final String path, final Class<T> returnType, final Object body) {
+        final Locale locale = getDefaultLocale();
+        return executor.submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return postWithRetry(locale, path, returnType, body);
+            }
+        });
+    }
+
+    protected <T> T postWithRetry(Locale locale, String path, Class<T> returnType, Object body) throws InterruptedException {
+        int attempt = 1;
+        while (true) {
+            try {
+                return post(locale, path, returnType, body);
+            } catch (ClientException ex) {
+                if (attempt < config.getMaxAttempts() && isRetryable(ex)) {
+                    long backoff = config.getBackoff(attempt, ThreadLocalRandom.current());
+                    logger.debug("[retry] Attempt {} for {} failed, retrying in {} ms: {}", attempt, path, backoff, ex.getMessage());
+                    Thread.sleep(backoff);
+                    attempt++;
+                } else {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Only the calls which have not reached the application are retried, so that
+     * a creation is never performed twice: the connection to the server could not be
+     * established, or a proxy reports that the server is not available. Once the request
+     * has been sent, a missing response (like a read time out) or a gateway time out does
+     * not tell whether the server has processed it, and the call is not retried.
+     */
+    protected boolean isRetryable(ClientException ex) {
+        if (ex instanceof ClientConnectionException) {
+            return isConnectFailure(ex.getCause());
+        } else if (ex instanceof ClientServerException) {
+            int statusCode = ((ClientServerException) ex).getStatusCode();
+            return statusCode == HttpStatus.SC_BAD_GATEWAY
+                    || statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Failures which occur before the request is sent
+     */
+    protected boolean isConnectFailure(Throwable cause) {
+        return cause instanceof ConnectException
+                || cause instanceof ConnectTimeoutException
+                || cause instanceof UnknownHostException;
+    }
+}
@@ -1,30 +1,53 @@
 package net.ontrack.client.support;
 
+import com.google.common.util.concurrent.MoreExecutors;
+import net.ontrack.client.AsyncControlUIClient;
 import net.ontrack.client.ControlUIClient;
 import net.ontrack.core.model.*;
 
-import java.util.Locale;
+/**
+ * Blocking client, which performs the calls of an {@link AsyncControlUIClient} in
+ * the calling thread.
+ */
+public class DefaultControlUIClient implements ControlUIClient {
 
-import static java.lang.String.format;
-
-public class DefaultControlUIClient extends AbstractClient implements ControlUIClient {
+    private final AsyncControlUIClient client;
 
     public DefaultControlUIClient(String url) {
-        super(url);
+        this(new DefaultAsyncControlUIClient(url, AsyncClientConfig.defaults(), MoreExecutors.sameThreadExecutor()));
+    }
+
+    public DefaultControlUIClient(AsyncControlUIClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public void logout() {
+        client.logout();
+    }
+
+    @Override
+    public void login(String name, String password) {
+        client.login(name, password);
     }
 
     @Override
     public BuildSummary createBuild(String project, String branch, BuildCreationForm build) {
-        return post(Locale.getDefault(), format("/ui/control/project/%s/branch/%s/build", project, branch), BuildSummary.class, build);
+        return ClientFutures.get(client.createBuild(project, branch, build));
     }
 
     @Override
     public ValidationRunSummary createValidationRun(String project, String branch, String build, String validationStamp, ValidationRunCreationForm validationRun) {
-        return post(Locale.getDefault(), format("/ui/control/project/%s/branch/%s/build/%s/validation_stamp/%s", project, branch, build, validationStamp), ValidationRunSummary.class, validationRun);
+        return ClientFutures.get(client.createValidationRun(project, branch, build, validationStamp, validationRun));
     }
 
     @Override
     public PromotedRunSummary createPromotedRun(String project, String branch, String build, String promotionLevel, PromotedRunCreationForm form) {
-        return post(Locale.getDefault(), format("/ui/control/project/%s/branch/%s/build/%s/promotion_level/%s", project, branch, build, promotionLevel), PromotedRunSummary.class, form);
+        return ClientFutures.get(client.createPromotedRun(project, branch, build, promotionLevel, form));
+    }
+
+    @Override
+    public BuildReportResult createBuildReport(String project, String branch, String build, BuildReportForm form) {
+        return ClientFutures.get(client.createBuildReport(project, branch, build, form));
     }
 }
@@ -2,6 +2,7 @@ package net.ontrack.client.support;
 
 import net.ontrack.client.ManageUIClient;
 import net.ontrack.core.model.*;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Collection;
@@ -497,6 +498,11 @@ public class DefaultManageUIClient extends AbstractClient implements ManageUICli
         return list(locale, format("/ui/manage/project/%s/branch/%s/build/%s/promotionLevels", project, branch, name), BuildPromotionLevel.class);
     }
 
+    @Override
+    public BranchBuild getBranchBuild(Locale locale, String project, String branch, String name) {
+        return get(locale, format("/ui/manage/project/%s/branch/%s/build/%s/branchBuild", project, branch, name), BranchBuild.class);
+    }
+
     @Override
     public ValidationRunSummary getValidationRun(String project, String branch, String build, String validationStamp, int run) {
         return get(
@@ -592,4 +598,20 @@ public class DefaultManageUIClient extends AbstractClient implements ManageUICli
         );
     }
 
+    @Override
+    public EventFeed getEventFeed(int after, String project, String branch, String promotionLevel, String validationStamp, int wait) {
+        StringBuilder path = new StringBuilder(format("/ui/manage/event/feed?after=%d&wait=%d", after, wait));
+        appendParameter(path, "project", project);
+        appendParameter(path, "branch", branch);
+        appendParameter(path, "promotionLevel", promotionLevel);
+        appendParameter(path, "validationStamp", validationStamp);
+        return get(getDefaultLocale(), path.toString(), EventFeed.class);
+    }
+
+    private static void appendParameter(StringBuilder path, String name, String value) {
+        if (StringUtils.isNotBlank(value)) {
+            path.append("&").append(name).append("=").append(value);
+        }
+    }
+
 }
@@ -0,0 +1,86 @@
+package net.ontrack.client.support;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.netbeetle.jackson.ObjectMapperFactory;
+import net.ontrack.core.model.BranchSummary;
+import net.ontrack.core.model.BuildSummary;
+import net.ontrack.core.model.ProjectSummary;
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a list of builds, as returned by the server, compared with the former
+ * implementation (one mapper per call, response read as a string and parsed as a tree).
+ * <p/>
+ * This is not a unit test and must be run explicitly, for example with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=net.ontrack.client.support.ClientJsonBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClientJsonBenchmark {
+
+    private static final int BUILDS = 200;
+
+    private byte[] content;
+
+    @Setup
+    public void setup() throws IOException {
+        BranchSummary branch = new BranchSummary(1, "B1", "Branch 1", new ProjectSummary(1, "P1", "Project 1"));
+        List<BuildSummary> builds = new ArrayList<>();
+        for (int i = 0; i < BUILDS; i++) {
+            builds.add(new BuildSummary(i, "1.0." + i, "Build 1.0." + i, branch));
+        }
+        content = ClientJson.write(builds).getBytes("UTF-8");
+    }
+
+    @Benchmark
+    public List<BuildSummary> former() throws IOException {
+        String json = new String(content, "UTF-8");
+        final ObjectMapper mapper = ObjectMapperFactory.createObjectMapper();
+        JsonNode node = mapper.readTree(json);
+        return Lists.newArrayList(
+                Iterables.transform(node, new Function<JsonNode, BuildSummary>() {
+                    @Override
+                    public BuildSummary apply(JsonNode input) {
+                        try {
+                            return mapper.readValue(input, BuildSummary.class);
+                        } catch (IOException e) {
+                            throw new ClientGeneralException("benchmark", e);
+                        }
+                    }
+                })
+        );
+    }
+
+    @Benchmark
+    public List<BuildSummary> shared() throws IOException {
+        return ClientJson.readList(new ByteArrayInputStream(content), BuildSummary.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                new OptionsBuilder()
+                        .include(ClientJsonBenchmark.class.getSimpleName())
+                        .build()
+        ).run();
+    }
+
+}
@@ -0,0 +1,88 @@
+package net.ontrack.client.support;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.http.HttpHost;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.HttpHostConnectException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultAsyncControlUIClientTest {
+
+    private DefaultAsyncControlUIClient client;
+
+    @Before
+    public void before() {
+        client = new DefaultAsyncControlUIClient("http://localhost:9999/ontrack", AsyncClientConfig.defaults(), MoreExecutors.sameThreadExecutor());
+    }
+
+    @After
+    public void after() {
+        client.shutdown();
+    }
+
+    @Test
+    public void retry_on_connection_refused() {
+        assertTrue(client.isRetryable(connection(new HttpHostConnectException(new HttpHost("localhost", 9999), new ConnectException("Connection refused")))));
+        assertTrue(client.isRetryable(connection(new ConnectException("Connection refused"))));
+    }
+
+    @Test
+    public void retry_on_connect_timeout() {
+        assertTrue(client.isRetryable(connection(new ConnectTimeoutException("Connect timed out"))));
+        assertTrue(client.isRetryable(connection(new ConnectionPoolTimeoutException("Timeout waiting for connection"))));
+    }
+
+    @Test
+    public void retry_on_unknown_host() {
+        assertTrue(client.isRetryable(connection(new UnknownHostException("server"))));
+    }
+
+    @Test
+    public void no_retry_on_read_timeout() {
+        assertFalse(client.isRetryable(connection(new SocketTimeoutException("Read timed out"))));
+    }
+
+    @Test
+    public void no_retry_on_missing_response() {
+        assertFalse(client.isRetryable(connection(new NoHttpResponseException("The target server failed to respond"))));
+        assertFalse(client.isRetryable(connection(new SocketException("Connection reset"))));
+    }
+
+    @Test
+    public void retry_on_bad_gateway_and_unavailable() {
+        assertTrue(client.isRetryable(new ClientServerException("POST /ui/control", 502, "Bad Gateway")));
+        assertTrue(client.isRetryable(new ClientServerException("POST /ui/control", 503, "Service Unavailable")));
+    }
+
+    @Test
+    public void no_retry_on_gateway_timeout() {
+        assertFalse(client.isRetryable(new ClientServerException("POST /ui/control", 504, "Gateway Timeout")));
+    }
+
+    @Test
+    public void no_retry_on_server_error() {
+        assertFalse(client.isRetryable(new ClientServerException("POST /ui/control", 500, "Internal Server Error")));
+    }
+
+    @Test
+    public void no_retry_on_other_errors() {
+        assertFalse(client.isRetryable(new ClientForbiddenException("POST /ui/control")));
+    }
+
+    private ClientConnectionException connection(Exception cause) {
+        return new ClientConnectionException("POST /ui/control", cause);
+    }
+
+}
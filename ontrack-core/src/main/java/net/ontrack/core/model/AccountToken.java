@@ -0,0 +1,17 @@
+package net.ontrack.core.model;
+
+import lombok.Data;
+import org.joda.time.DateTime;
+
+/**
+ * API token of an account. The value of the token is never kept, only its hash.
+ */
+@Data
+public class AccountToken {
+
+    private final int id;
+    private final String name;
+    private final DateTime creation;
+    private final DateTime lastUsed;
+
+}
@@ -0,0 +1,25 @@
+package net.ontrack.core.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Whole report for a build: the build itself if it must be created, its properties,
+ * its validation runs and its promotions.
+ */
+@Data
+public class BuildReportForm {
+
+    /**
+     * Description of the build, used only if it must be created
+     */
+    private final String description;
+    /**
+     * Properties to set on the build
+     */
+    private final PropertiesCreationForm properties;
+    private final List<BuildReportValidationRun> validationRuns;
+    private final List<BuildReportPromotedRun> promotedRuns;
+
+}
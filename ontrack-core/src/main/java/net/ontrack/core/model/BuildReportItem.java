@@ -0,0 +1,38 @@
+package net.ontrack.core.model;
+
+import lombok.Data;
+
+/**
+ * Result for one item of a {@link BuildReportForm}.
+ */
+@Data
+public class BuildReportItem {
+
+    public static BuildReportItem success(Entity entity, String name, int id) {
+        return new BuildReportItem(entity, name, true, id, null);
+    }
+
+    public static BuildReportItem error(Entity entity, String name, String message) {
+        return new BuildReportItem(entity, name, false, 0, message);
+    }
+
+    /**
+     * {@link Entity#VALIDATION_STAMP} for a validation run, {@link Entity#PROMOTION_LEVEL}
+     * for a promoted run
+     */
+    private final Entity entity;
+    /**
+     * Name of the validation stamp or of the promotion level
+     */
+    private final String name;
+    private final boolean success;
+    /**
+     * ID of the created validation run or promoted run
+     */
+    private final int id;
+    /**
+     * Reason of the failure
+     */
+    private final String message;
+
+}
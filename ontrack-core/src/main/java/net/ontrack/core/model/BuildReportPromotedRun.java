@@ -0,0 +1,11 @@
+package net.ontrack.core.model;
+
+import lombok.Data;
+
+@Data
+public class BuildReportPromotedRun {
+
+    private final String promotionLevel;
+    private final PromotedRunCreationForm run;
+
+}
@@ -0,0 +1,17 @@
+package net.ontrack.core.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BuildReportResult {
+
+    private final BuildSummary build;
+    /**
+     * Results for the validation runs, then for the promoted runs, in the
+     * order of the report
+     */
+    private final List<BuildReportItem> items;
+
+}
@@ -0,0 +1,11 @@
+package net.ontrack.core.model;
+
+import lombok.Data;
+
+@Data
+public class BuildReportValidationRun {
+
+    private final String validationStamp;
+    private final ValidationRunCreationForm run;
+
+}
@@ -0,0 +1,23 @@
+package net.ontrack.core.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Events created after a given event.
+ */
+@Data
+public class EventFeed {
+
+    /**
+     * ID of the last event known to the feed, to be used as a starting
+     * point for the next call.
+     */
+    private final int last;
+    /**
+     * Events, oldest first
+     */
+    private final List<ExpandedEvent> events;
+
+}
@@ -15,9 +15,14 @@ public class EventFilter {
 	private final int count;
 
 	private final Map<Entity, Integer> entities;
+
+	/**
+	 * Includes the archived events
+	 */
+	private boolean archive;
 	
 	public EventFilter(int offset, int count) {
-		this(offset, count, new HashMap<Entity, Integer>());
+		this(offset, count, new HashMap<Entity, Integer>(), false);
 	}
 	
 	public EventFilter withEntity (Entity entity, int id) {
@@ -27,4 +32,9 @@ public class EventFilter {
 		return this;
 	}
 
+	public EventFilter withArchive(boolean archive) {
+		this.archive = archive;
+		return this;
+	}
+
 }
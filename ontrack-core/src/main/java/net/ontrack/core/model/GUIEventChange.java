@@ -0,0 +1,20 @@
+package net.ontrack.core.model;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Lightweight notification that some entities have been changed by an event.
+ */
+@Data
+public class GUIEventChange {
+
+    private final int id;
+    private final EventType eventType;
+    /**
+     * IDs of the entities associated with the event
+     */
+    private final Map<Entity, Integer> entities;
+
+}
@@ -0,0 +1,26 @@
+package net.ontrack.core.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Changes notified to a page since a given event.
+ */
+@Data
+public class GUIEventChanges {
+
+    /**
+     * ID of the last event known, to be used as a starting point for the next call.
+     */
+    private final int last;
+    /**
+     * Changes, oldest first
+     */
+    private final List<GUIEventChange> changes;
+    /**
+     * If greater than 0, number of seconds to wait before the next call.
+     */
+    private final int retry;
+
+}
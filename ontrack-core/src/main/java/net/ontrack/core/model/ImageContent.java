@@ -0,0 +1,23 @@
+package net.ontrack.core.model;
+
+import com.google.common.hash.Hashing;
+import lombok.Data;
+
+/**
+ * Content of an image, together with the hash of its content, which is
+ * used as an entity tag when the image is served.
+ */
+@Data
+public class ImageContent {
+
+    /**
+     * Hexadecimal SHA-256 of the content
+     */
+    private final String hash;
+    private final byte[] content;
+
+    public static ImageContent of(byte[] content) {
+        return new ImageContent(Hashing.sha256().hashBytes(content).toString(), content);
+    }
+
+}
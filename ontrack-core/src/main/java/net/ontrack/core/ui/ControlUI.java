@@ -22,4 +22,10 @@ public interface ControlUI {
      */
     PromotedRunSummary createPromotedRun(String project, String branch, String build, String promotionLevel, PromotedRunCreationForm form);
 
+    /**
+     * Reports the validation runs and the promotions of a build in one call, creating
+     * the build if needed
+     */
+    BuildReportResult createBuildReport(String project, String branch, String build, BuildReportForm form);
+
 }
@@ -169,6 +169,8 @@ public interface ManageUI {
 
     BranchBuilds getBuilds(Locale locale, String project, String branch, BuildFilter filter);
 
+    BranchBuild getBranchBuild(Locale locale, String project, String branch, String name);
+
     Ack deleteBuild(String project, String branch, String build);
 
     // Validation runs
@@ -188,4 +190,8 @@ public interface ManageUI {
     List<Promotion> getPromotions(Locale locale, String project, String branch, String promotionLevel, int offset, int count);
 
     Ack removePromotedRun(String project, String branch, String build, String promotionLevel);
+
+    // Events
+
+    EventFeed getEventFeed(int after, String project, String branch, String promotionLevel, String validationStamp, int wait);
 }
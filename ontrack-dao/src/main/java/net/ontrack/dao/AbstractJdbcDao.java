@@ -2,6 +2,9 @@ package net.ontrack.dao;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Collections2;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
+import net.ontrack.core.model.ImageContent;
 import net.ontrack.core.model.Status;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.dao.DataAccessException;
@@ -73,6 +76,31 @@ public abstract class AbstractJdbcDao extends NamedParameterJdbcDaoSupport {
         }
     }
 
+    protected ImageContent getImageContent(String sql, int id) {
+        return getFirstItem(
+                sql,
+                params("id", id),
+                new RowMapper<ImageContent>() {
+                    @Override
+                    public ImageContent mapRow(ResultSet rs, int row) throws SQLException, DataAccessException {
+                        byte[] image = rs.getBytes("image");
+                        if (image == null) {
+                            return null;
+                        }
+                        byte[] hash = rs.getBytes("image_hash");
+                        if (hash == null) {
+                            return ImageContent.of(image);
+                        } else {
+                            return new ImageContent(BaseEncoding.base16().lowerCase().encode(hash), image);
+                        }
+                    }
+                });
+    }
+
+    protected byte[] getImageHash(byte[] image) {
+        return image != null ? Hashing.sha256().hashBytes(image).asBytes() : null;
+    }
+
     protected String getStatusesForSQLInClause(Collection<Status> statuses) {
         return StringUtils.join(
                 Collections2.transform(statuses, quoteFn),
@@ -80,6 +108,14 @@ public abstract class AbstractJdbcDao extends NamedParameterJdbcDaoSupport {
         );
     }
 
+    /**
+     * Gets the <code>LIKE</code> pattern for the values starting with the given prefix. The
+     * query must declare <code>ESCAPE '\'</code>.
+     */
+    protected String getPrefixPattern(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
     protected int dbCreate(String sql, MapSqlParameterSource params) {
         GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
         getNamedParameterJdbcTemplate().update(sql, params, keyHolder);
@@ -12,6 +12,16 @@ public interface DBInitConfig {
      */
     String getName();
 
+    /**
+     * Expected version of the database
+     */
+    int getVersion();
+
+    /**
+     * Name of the table which contains the version of the database
+     */
+    String getVersionTable();
+
     /**
      * <code>DBInit</code> configuration.
      *
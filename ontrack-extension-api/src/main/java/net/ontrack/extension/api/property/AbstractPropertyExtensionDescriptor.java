@@ -5,6 +5,7 @@ import net.ontrack.core.security.AuthorizationPolicy;
 import net.ontrack.core.support.InputException;
 import net.sf.jstring.Strings;
 import org.apache.commons.lang3.StringEscapeUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.Locale;
 
@@ -74,4 +75,20 @@ public abstract class AbstractPropertyExtensionDescriptor implements PropertyExt
     public String getDisplayDescriptionKey() {
         return getDisplayNameKey() + ".description";
     }
+
+    /**
+     * Not searchable by default.
+     */
+    @Override
+    public boolean isSearchable() {
+        return false;
+    }
+
+    /**
+     * The value without its leading and trailing spaces
+     */
+    @Override
+    public String getSearchKey(String value) {
+        return StringUtils.trim(value);
+    }
 }
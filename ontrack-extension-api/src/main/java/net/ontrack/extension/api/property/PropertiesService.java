@@ -57,4 +57,27 @@ public interface PropertiesService {
      * @return List of IDs
      */
     Collection<Integer> findEntityByPropertyValue(Entity entity, String extension, String name, String value);
+
+    /**
+     * Gets the list of entities whose property value starts with the given prefix
+     *
+     * @param entity    Entity to look for
+     * @param extension Extension for the property
+     * @param name      Property name
+     * @param prefix    Start of the value
+     * @return List of IDs, sorted by value
+     * @throws PropertyNotSearchableException If the property is not searchable
+     */
+    Collection<Integer> findEntityByPropertyPrefix(Entity entity, String extension, String name, String prefix);
+
+    /**
+     * Gets the normalized key used to look up the entities by the value of a property
+     *
+     * @param extension Extension for the property
+     * @param name      Property name
+     * @param value     Value for the property
+     * @return Search key or <code>null</code> if the property is not searchable
+     * @see PropertyExtensionDescriptor#getSearchKey(String)
+     */
+    String getSearchKey(String extension, String name, String value);
 }
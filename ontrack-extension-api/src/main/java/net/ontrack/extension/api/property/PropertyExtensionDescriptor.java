@@ -91,4 +91,20 @@ public interface PropertyExtensionDescriptor {
      * @return HTML to display
      */
     String editHTML(Strings strings, Locale locale, String value);
+
+    /**
+     * Can the entities be looked up by the value of this property? If yes, a
+     * {@linkplain #getSearchKey(String) search key} is indexed together with the value.
+     */
+    boolean isSearchable();
+
+    /**
+     * Gets the normalized key used to index and to look up a value of this property.
+     * The same key must be returned for all the values that are considered equal.
+     *
+     * @param value Value to index or to look for
+     * @return Search key (at most 300 characters)
+     * @see #isSearchable()
+     */
+    String getSearchKey(String value);
 }
@@ -0,0 +1,14 @@
+package net.ontrack.extension.api.property;
+
+import net.ontrack.core.support.InputException;
+
+/**
+ * Thrown when entities are looked up by the value of a property which is not searchable.
+ *
+ * @see PropertyExtensionDescriptor#isSearchable()
+ */
+public class PropertyNotSearchableException extends InputException {
+    public PropertyNotSearchableException(String extension, String name) {
+        super(extension, name);
+    }
+}
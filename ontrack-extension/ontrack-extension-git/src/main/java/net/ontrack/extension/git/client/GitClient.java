@@ -13,8 +13,16 @@ public interface GitClient {
 
     GitConfiguration getConfiguration();
 
+    /**
+     * Gets the whole log between two tags. For large ranges, prefer {@link #logWalker(String, String)}.
+     */
     GitLog log(String from, String to);
 
+    /**
+     * Gets a lazy walker over the log between two tags.
+     */
+    GitLogWalker logWalker(String from, String to);
+
     GitCommit toCommit(RevCommit revCommit);
 
     void sync();
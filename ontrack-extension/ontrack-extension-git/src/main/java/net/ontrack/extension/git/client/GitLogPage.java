@@ -0,0 +1,26 @@
+package net.ontrack.extension.git.client;
+
+import lombok.Data;
+import net.ontrack.extension.git.client.plot.GPlot;
+
+import java.util.List;
+
+/**
+ * Page of commits in a log, together with the plot of its rows.
+ */
+@Data
+public class GitLogPage {
+
+    private final GPlot plot;
+    private final List<GitCommit> commits;
+    /**
+     * Index of the first commit of this page in the whole log
+     */
+    private final int offset;
+    /**
+     * Offset to use in order to get the next page, or <code>null</code> if this
+     * page is the last one.
+     */
+    private final Integer next;
+
+}
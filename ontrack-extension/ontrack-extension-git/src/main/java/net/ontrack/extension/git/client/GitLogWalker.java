@@ -0,0 +1,26 @@
+package net.ontrack.extension.git.client;
+
+/**
+ * Lazy walk over the commits between two boundaries. The commits are read from the
+ * repository only when a page needs them, and the plot lanes are computed incrementally
+ * while the walker progresses.
+ * <p/>
+ * A walker is kept between page requests and must be released when not used any longer.
+ */
+public interface GitLogWalker {
+
+    /**
+     * Gets a page of commits.
+     *
+     * @param offset Index of the first commit to return
+     * @param count  Maximum number of commits to return
+     * @return Page of commits, with its continuation offset
+     */
+    GitLogPage page(int offset, int count);
+
+    /**
+     * Releases the resources associated with this walker.
+     */
+    void release();
+
+}
@@ -5,17 +5,12 @@ import com.google.common.base.Predicate;
 import com.google.common.collect.Lists;
 import net.ontrack.extension.git.GitCommitNotFoundException;
 import net.ontrack.extension.git.client.*;
-import net.ontrack.extension.git.client.plot.GPlot;
-import net.ontrack.extension.git.client.plot.GitPlotRenderer;
 import net.ontrack.extension.git.model.GitConfiguration;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.lib.*;
-import org.eclipse.jgit.revplot.PlotCommitList;
-import org.eclipse.jgit.revplot.PlotLane;
-import org.eclipse.jgit.revplot.PlotWalk;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.treewalk.AbstractTreeIterator;
@@ -84,6 +79,20 @@ public class DefaultGitClient implements GitClient {
 
     @Override
     public GitLog log(String from, String to) {
+        GitLogWalker walker = logWalker(from, to);
+        try {
+            GitLogPage page = walker.page(0, Integer.MAX_VALUE);
+            return new GitLog(
+                    page.getPlot(),
+                    page.getCommits()
+            );
+        } finally {
+            walker.release();
+        }
+    }
+
+    @Override
+    public GitLogWalker logWalker(String from, String to) {
         try {
             // Client
             Git git = repository.git();
@@ -103,34 +112,8 @@ public class DefaultGitClient implements GitClient {
                 commitTo = t;
             }
 
-            // Log
-            PlotWalk walk = new PlotWalk(gitRepository);
-            walk.markStart(walk.lookupCommit(commitFrom.getId()));
-            walk.markUninteresting(walk.lookupCommit(commitTo.getId()));
-            PlotCommitList<PlotLane> commitList = new PlotCommitList<>();
-            commitList.source(walk);
-            commitList.fillTo(1000); // TODO How to set the maximum? See RevWalkUtils#count ?
-
-            // Rendering
-            GitPlotRenderer renderer = new GitPlotRenderer(commitList);
-            GPlot plot = renderer.getPlot();
-
-            // Gets the commits
-            List<GitCommit> commits = Lists.transform(
-                    renderer.getCommits(),
-                    new Function<RevCommit, GitCommit>() {
-                        @Override
-                        public GitCommit apply(RevCommit rev) {
-                            return toCommit(rev);
-                        }
-                    }
-            );
-
-            // OK
-            return new GitLog(
-                    plot,
-                    commits
-            );
+            // Lazy log
+            return new DefaultGitLogWalker(this, gitRepository, commitFrom, commitTo);
 
         } catch (IOException e) {
             throw new GitIOException(e);
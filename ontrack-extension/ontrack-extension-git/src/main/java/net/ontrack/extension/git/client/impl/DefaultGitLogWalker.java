@@ -0,0 +1,83 @@
+package net.ontrack.extension.git.client.impl;
+
+import net.ontrack.extension.git.client.GitClient;
+import net.ontrack.extension.git.client.GitCommit;
+import net.ontrack.extension.git.client.GitLogPage;
+import net.ontrack.extension.git.client.GitLogWalker;
+import net.ontrack.extension.git.client.plot.GitPlotRenderer;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revplot.PlotCommitList;
+import org.eclipse.jgit.revplot.PlotLane;
+import org.eclipse.jgit.revplot.PlotWalk;
+import org.eclipse.jgit.revwalk.RevCommit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DefaultGitLogWalker implements GitLogWalker {
+
+    /**
+     * Number of commits which are read after the end of a page before this page
+     * is rendered. Lanes which cross the bottom of the page are assigned only
+     * once their parent commit has been read.
+     */
+    public static final int LOOKAHEAD = 50;
+
+    private final GitClient client;
+    private final PlotWalk walk;
+    private final PlotCommitList<PlotLane> commitList;
+
+    public DefaultGitLogWalker(GitClient client, Repository gitRepository, RevCommit commitFrom, RevCommit commitTo) throws IOException {
+        this.client = client;
+        // Log
+        walk = new PlotWalk(gitRepository);
+        // The message bodies are loaded for the displayed commits only
+        walk.setRetainBody(false);
+        walk.markStart(walk.lookupCommit(commitFrom.getId()));
+        walk.markUninteresting(walk.lookupCommit(commitTo.getId()));
+        commitList = new PlotCommitList<>();
+        commitList.source(walk);
+    }
+
+    @Override
+    public synchronized GitLogPage page(int offset, int count) {
+        try {
+            int end = (int) Math.min(Integer.MAX_VALUE - 1L, (long) offset + count);
+            // Reads the commits up to the end of the page (and a bit more for the lanes)
+            commitList.fillTo((int) Math.min(Integer.MAX_VALUE - 1L, (long) end + LOOKAHEAD));
+            int size = commitList.size();
+            int from = Math.min(offset, size);
+            int to = Math.min(end, size);
+            // Rendering of the page only
+            GitPlotRenderer renderer = new GitPlotRenderer(commitList, from, to);
+            // Gets the commits
+            List<GitCommit> commits = new ArrayList<>(to - from);
+            for (RevCommit rev : renderer.getCommits()) {
+                walk.parseBody(rev);
+                commits.add(client.toCommit(rev));
+            }
+            // OK
+            return new GitLogPage(
+                    renderer.getPlot(),
+                    commits,
+                    from,
+                    size > end ? end : null
+            );
+        } catch (IOException e) {
+            throw new GitIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void release() {
+        walk.release();
+    }
+
+    /**
+     * Number of commits read so far
+     */
+    public synchronized int getReadCount() {
+        return commitList.size();
+    }
+}
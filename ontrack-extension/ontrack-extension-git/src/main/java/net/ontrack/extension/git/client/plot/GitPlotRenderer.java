@@ -20,13 +20,26 @@ public class GitPlotRenderer extends AbstractPlotRenderer<PlotLane, GColor> {
     private int rowIndex;
 
     public GitPlotRenderer(PlotCommitList<PlotLane> commitList) {
+        this(commitList, 0, commitList.size());
+    }
+
+    /**
+     * Renders only a range of the commit list. The rows are painted relatively to
+     * the first commit of the range.
+     *
+     * @param commitList List of commits to render
+     * @param from       Index of the first commit to render (inclusive)
+     * @param to         Index of the last commit to render (exclusive)
+     */
+    public GitPlotRenderer(PlotCommitList<PlotLane> commitList, int from, int to) {
         // Plot to create
         plot = new GPlot();
         // List of commit IDs
         commits = new ArrayList<>();
         // Loops over the commits
         rowIndex = 0;
-        for (PlotCommit<PlotLane> commit : commitList) {
+        for (int i = from; i < to; i++) {
+            PlotCommit<PlotLane> commit = commitList.get(i);
             commits.add(commit);
             currentCommit = commit;
             paintCommit(commit, rowHeight);
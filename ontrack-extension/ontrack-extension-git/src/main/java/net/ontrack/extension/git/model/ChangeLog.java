@@ -1,12 +1,13 @@
 package net.ontrack.extension.git.model;
 
 import lombok.Data;
+import net.ontrack.extension.git.client.GitLogWalker;
 
 @Data
 public class ChangeLog {
 
     private final ChangeLogSummary summary;
-    private ChangeLogCommits commits;
+    private GitLogWalker commits;
     // private ChangeLogIssues issues;
     private ChangeLogFiles files;
     // private ChangeLogInfo info;
@@ -1,11 +1,15 @@
 package net.ontrack.extension.git.model;
 
 import lombok.Data;
-import net.ontrack.extension.git.client.GitLog;
 
 @Data
 public class ChangeLogCommits {
 
     private final GitUILog log;
+    private final int offset;
+    /**
+     * Offset of the next page of commits, <code>null</code> if there is no more commit.
+     */
+    private final Integer next;
 
 }
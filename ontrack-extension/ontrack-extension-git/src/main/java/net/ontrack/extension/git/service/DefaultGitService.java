@@ -257,34 +257,46 @@ public class DefaultGitService implements GitService, GitIndexation, ScheduledSe
     }
 
     @Override
-    public ChangeLogCommits getChangeLogCommits(final Locale locale, final ChangeLogSummary summary) {
-        // Gets the branch ID
-        final BranchSummary branch = summary.getBranch();
-        int branchId = branch.getId();
+    public GitLogWalker getChangeLogWalker(ChangeLogSummary summary) {
         // Gets the client client for this branch
-        GitClient gitClient = getGitClient(branchId);
+        GitClient gitClient = getGitClient(summary.getBranch().getId());
         // Gets the configuration
         GitConfiguration gitConfiguration = gitClient.getConfiguration();
         // Gets the tag boundaries
-        String tagFrom = summary.getBuildFrom().getBuildSummary().getName();
-        String tagTo = summary.getBuildTo().getBuildSummary().getName();
-        String tagPattern = gitConfiguration.getTag();
-        if (StringUtils.isNotBlank(tagPattern)) {
-            tagFrom = StringUtils.replace(tagPattern, "*", tagFrom);
-            tagTo = StringUtils.replace(tagPattern, "*", tagTo);
-        }
-        // Gets the commits
-        GitLog log = gitClient.log(tagFrom, tagTo);
-        List<GitCommit> commits = log.getCommits();
-        List<GitUICommit> uiCommits = toUICommits(locale, branch, gitConfiguration, commits);
+        String tagFrom = getTagName(gitConfiguration, summary.getBuildFrom());
+        String tagTo = getTagName(gitConfiguration, summary.getBuildTo());
+        // Lazy log
+        return gitClient.logWalker(tagFrom, tagTo);
+    }
+
+    @Override
+    public ChangeLogCommits getChangeLogCommits(Locale locale, ChangeLogSummary summary, GitLogWalker walker, int offset, int count) {
+        // Gets the branch
+        BranchSummary branch = summary.getBranch();
+        // Gets the configuration
+        GitConfiguration gitConfiguration = getGitClient(branch.getId()).getConfiguration();
+        // Gets the page of commits
+        GitLogPage page = walker.page(offset, count);
+        List<GitUICommit> uiCommits = toUICommits(locale, branch, gitConfiguration, page.getCommits());
         return new ChangeLogCommits(
                 new GitUILog(
-                        log.getPlot(),
+                        page.getPlot(),
                         uiCommits
-                )
+                ),
+                page.getOffset(),
+                page.getNext()
         );
     }
 
+    private String getTagName(GitConfiguration gitConfiguration, ChangeLogBuild build) {
+        String tagName = build.getBuildSummary().getName();
+        String tagPattern = gitConfiguration.getTag();
+        if (StringUtils.isNotBlank(tagPattern)) {
+            tagName = StringUtils.replace(tagPattern, "*", tagName);
+        }
+        return tagName;
+    }
+
     protected List<GitUICommit> toUICommits(final Locale locale, final BranchSummary branch, GitConfiguration gitConfiguration, List<GitCommit> commits) {
         // Link?
         String commitLinkValue = gitConfiguration.getCommitLink();
@@ -294,6 +306,17 @@ public class DefaultGitService implements GitService, GitIndexation, ScheduledSe
         } else {
             commitLinkFormat = "";
         }
+        // Annotators for this branch
+        final List<MessageAnnotator> annotators = new ArrayList<>(
+                Lists.transform(
+                        gitMessageAnnotators,
+                        new Function<GitMessageAnnotator, MessageAnnotator>() {
+                            @Override
+                            public MessageAnnotator apply(GitMessageAnnotator gitMessageAnnotator) {
+                                return gitMessageAnnotator.annotator(branch);
+                            }
+                        }
+                ));
         // OK
         final DateTime now = TimeUtils.now();
         return Lists.transform(
@@ -311,15 +334,7 @@ public class DefaultGitService implements GitService, GitIndexation, ScheduledSe
                                         commit.getShortMessage(),
                                         commit.getFullMessage()
                                 ),
-                                Lists.transform(
-                                        gitMessageAnnotators,
-                                        new Function<GitMessageAnnotator, MessageAnnotator>() {
-                                            @Override
-                                            public MessageAnnotator apply(GitMessageAnnotator gitMessageAnnotator) {
-                                                return gitMessageAnnotator.annotator(branch);
-                                            }
-                                        }
-                                ));
+                                annotators);
                         // OK
                         return new GitUICommit(
                                 commit,
@@ -343,13 +358,8 @@ public class DefaultGitService implements GitService, GitIndexation, ScheduledSe
         // Gets the configuration
         GitConfiguration gitConfiguration = gitClient.getConfiguration();
         // Gets the tag boundaries
-        String tagFrom = summary.getBuildFrom().getBuildSummary().getName();
-        String tagTo = summary.getBuildTo().getBuildSummary().getName();
-        String tagPattern = gitConfiguration.getTag();
-        if (StringUtils.isNotBlank(tagPattern)) {
-            tagFrom = StringUtils.replace(tagPattern, "*", tagFrom);
-            tagTo = StringUtils.replace(tagPattern, "*", tagTo);
-        }
+        String tagFrom = getTagName(gitConfiguration, summary.getBuildFrom());
+        String tagTo = getTagName(gitConfiguration, summary.getBuildTo());
         // Diff
         final GitDiff diff = gitClient.diff(tagFrom, tagTo);
         // File change links
@@ -2,6 +2,7 @@ package net.ontrack.extension.git.service;
 
 import com.google.common.base.Function;
 import net.ontrack.extension.git.client.GitCommit;
+import net.ontrack.extension.git.client.GitLogWalker;
 import net.ontrack.extension.git.model.*;
 import org.eclipse.jgit.revwalk.RevCommit;
 
@@ -15,7 +16,21 @@ public interface GitService {
 
     ChangeLogSummary getChangeLogSummary(Locale locale, int branchId, int buildFromId, int buildToId);
 
-    ChangeLogCommits getChangeLogCommits(Locale locale, ChangeLogSummary summary);
+    /**
+     * Opens a lazy walker over the commits of a change log. The walker must be released
+     * once not used any longer.
+     */
+    GitLogWalker getChangeLogWalker(ChangeLogSummary summary);
+
+    /**
+     * Gets a page of commits for a change log. Only the commits of this page are
+     * annotated.
+     *
+     * @param walker Walker returned by {@link #getChangeLogWalker(ChangeLogSummary)}
+     * @param offset Index of the first commit
+     * @param count  Maximum number of commits to return
+     */
+    ChangeLogCommits getChangeLogCommits(Locale locale, ChangeLogSummary summary, GitLogWalker walker, int offset, int count);
 
     ChangeLogFiles getChangeLogFiles(Locale locale, ChangeLogSummary summary);
 
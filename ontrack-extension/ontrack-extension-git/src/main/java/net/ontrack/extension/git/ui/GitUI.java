@@ -10,7 +10,7 @@ public interface GitUI {
 
     ChangeLog getChangeLog(String uuid);
 
-    ChangeLogCommits getChangeLogCommits(Locale locale, String uuid);
+    ChangeLogCommits getChangeLogCommits(Locale locale, String uuid, int offset, int count);
 
     ChangeLogFiles getChangeLogFiles(Locale locale, String uuid);
 
@@ -2,8 +2,11 @@ package net.ontrack.extension.git.ui;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
 import net.ontrack.core.model.BuildSummary;
 import net.ontrack.core.ui.ManageUI;
+import net.ontrack.extension.git.client.GitLogWalker;
 import net.ontrack.extension.git.model.*;
 import net.ontrack.extension.git.service.GitService;
 import net.ontrack.web.support.AbstractUIController;
@@ -20,6 +23,15 @@ import java.util.concurrent.TimeUnit;
 @RequestMapping("/ui/extension/git")
 public class GitUIController extends AbstractUIController implements GitUI {
 
+    /**
+     * Default number of commits per page in a change log
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    /**
+     * Maximum number of commits per page in a change log
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final ManageUI manageUI;
     private final GitService gitService;
     private final Cache<String, ChangeLog> logCache;
@@ -33,6 +45,15 @@ public class GitUIController extends AbstractUIController implements GitUI {
         logCache = CacheBuilder.newBuilder()
                 .maximumSize(20)
                 .expireAfterAccess(30, TimeUnit.MINUTES)
+                .removalListener(new RemovalListener<String, ChangeLog>() {
+                    @Override
+                    public void onRemoval(RemovalNotification<String, ChangeLog> notification) {
+                        ChangeLog changeLog = notification.getValue();
+                        if (changeLog != null && changeLog.getCommits() != null) {
+                            changeLog.getCommits().release();
+                        }
+                    }
+                })
                 .build();
     }
 
@@ -66,20 +87,31 @@ public class GitUIController extends AbstractUIController implements GitUI {
     @RequestMapping(value = "/changelog/{uuid}/commits", method = RequestMethod.GET)
     public
     @ResponseBody
-    ChangeLogCommits getChangeLogCommits(Locale locale, @PathVariable String uuid) {
+    ChangeLogCommits getChangeLogCommits(
+            Locale locale,
+            @PathVariable String uuid,
+            @RequestParam(required = false, defaultValue = "0") int offset,
+            @RequestParam(required = false, defaultValue = "" + DEFAULT_PAGE_SIZE) int count) {
         // Gets the change log
         ChangeLog changeLog = getChangeLog(uuid);
-        // Cached?
-        ChangeLogCommits commits = changeLog.getCommits();
-        if (commits != null) {
-            return commits;
+        // Gets the walker over the commits
+        GitLogWalker walker;
+        synchronized (changeLog) {
+            walker = changeLog.getCommits();
+            if (walker == null) {
+                walker = gitService.getChangeLogWalker(changeLog.getSummary());
+                // Stores in cache
+                changeLog.setCommits(walker);
+            }
         }
-        // Loads the revisions
-        commits = gitService.getChangeLogCommits(locale, changeLog.getSummary());
-        // Stores in cache
-        changeLog.setCommits(commits);
-        // OK
-        return commits;
+        // Loads the page
+        return gitService.getChangeLogCommits(
+                locale,
+                changeLog.getSummary(),
+                walker,
+                Math.max(0, offset),
+                Math.max(1, Math.min(MAX_PAGE_SIZE, count))
+        );
     }
 
     @Override
@@ -11,16 +11,27 @@ define(['jquery', 'ajax', 'render', 'common', 'plot', 'require'], function ($, a
     function displayCommits(data) {
         // Stores the commits (local cache for display purpose only)
         commits = data;
+        // Container for this page of commits
+        var container = $('<div></div>').appendTo($('#commits'));
         // Rendering
         render.renderInto(
-            $('#commits'),
+            container,
             'extension/git-changelog-commits',
-            commits.log,
+            {
+                offset: data.offset,
+                next: data.next,
+                commits: data.log.commits
+            },
             function () {
                 // Plotting
-                plot.draw(document.getElementById('commits-canvas'), commits.log.plot);
+                plot.draw(document.getElementById('commits-canvas-{0}'.format(data.offset)), data.log.plot);
                 // Tooltips
                 common.tooltips();
+                // Next page
+                container.find('.git-changelog-more').click(function () {
+                    $(this).remove();
+                    loadCommitsPage(data.next);
+                });
             }
         );
     }
@@ -62,21 +73,25 @@ define(['jquery', 'ajax', 'render', 'common', 'plot', 'require'], function ($, a
     function loadCommits() {
         location.hash = "commits";
         if (commits == null) {
-            // UUID for the change log
-            var uuid = $('#changelog').val();
-            // Loads the revisions
-            ajax.get({
-                url: 'ui/extension/git/changelog/{0}/commits'.format(uuid),
-                loading: {
-                    el: '#commits',
-                    mode: 'appendText'
-                },
-                successFn: displayCommits,
-                errorFn: changelogErrorFn()
-            });
+            loadCommitsPage(0);
         }
     }
 
+    function loadCommitsPage(offset) {
+        // UUID for the change log
+        var uuid = $('#changelog').val();
+        // Loads the revisions
+        ajax.get({
+            url: 'ui/extension/git/changelog/{0}/commits?offset={1}'.format(uuid, offset),
+            loading: {
+                el: '#commits',
+                mode: 'appendText'
+            },
+            successFn: displayCommits,
+            errorFn: changelogErrorFn()
+        });
+    }
+
     function loadFiles() {
         location.hash = "files";
         if (files == null) {
@@ -6,6 +6,8 @@ import com.google.common.collect.Iterables;
 import net.ontrack.extension.git.GitCommitNotFoundException;
 import net.ontrack.extension.git.client.GitCommit;
 import net.ontrack.extension.git.client.GitLog;
+import net.ontrack.extension.git.client.GitLogPage;
+import net.ontrack.extension.git.client.GitLogWalker;
 import net.ontrack.extension.git.client.GitTag;
 import net.ontrack.extension.git.model.GitConfiguration;
 import net.ontrack.service.EnvironmentService;
@@ -72,6 +74,27 @@ public class DefaultGitClientTest {
         assertEquals(8, commits.size());
     }
 
+    @Test
+    public void logWalker_pages() {
+        GitLogWalker walker = client.logWalker("ontrack-1.17", "ontrack-1.18");
+        try {
+            GitLogPage first = walker.page(0, 5);
+            assertEquals(0, first.getOffset());
+            assertEquals(5, first.getCommits().size());
+            assertEquals(Integer.valueOf(5), first.getNext());
+            GitLogPage second = walker.page(5, 5);
+            assertEquals(5, second.getOffset());
+            assertEquals(3, second.getCommits().size());
+            assertNull(second.getNext());
+            // Same order than the whole log
+            List<GitCommit> commits = client.log("ontrack-1.17", "ontrack-1.18").getCommits();
+            assertEquals(commits.get(0).getId(), first.getCommits().get(0).getId());
+            assertEquals(commits.get(7).getId(), second.getCommits().get(2).getId());
+        } finally {
+            walker.release();
+        }
+    }
+
     @Test(expected = GitCommitNotFoundException.class)
     public void getEarliestTagForCommit_commit_not_found() {
         client.getEarliestTagForCommit("xxx", Predicates.<String>alwaysTrue());
@@ -1,15 +1,18 @@
 package net.ontrack.extension.github;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.AbstractIterator;
 import net.ontrack.core.model.BranchSummary;
 import net.ontrack.extension.api.ExtensionManager;
 import net.ontrack.extension.git.GitChangeLogContributor;
 import net.ontrack.extension.git.GitChangeLogExtension;
-import net.ontrack.extension.git.model.ChangeLogCommits;
+import net.ontrack.extension.git.client.GitCommit;
+import net.ontrack.extension.git.client.GitLogPage;
+import net.ontrack.extension.git.client.GitLogWalker;
 import net.ontrack.extension.git.model.ChangeLogRequest;
 import net.ontrack.extension.git.model.ChangeLogSummary;
-import net.ontrack.extension.git.model.GitUICommit;
+import net.ontrack.extension.git.service.GitService;
 import net.ontrack.extension.git.ui.GitUI;
+import net.ontrack.extension.git.ui.GitUIController;
 import net.ontrack.extension.github.model.GitHubIssue;
 import net.ontrack.extension.github.service.GitHubConfigurationService;
 import net.ontrack.extension.github.service.GitHubService;
@@ -23,6 +26,8 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 
@@ -33,14 +38,16 @@ public class GitHubChangeLogIssuesContributor extends AbstractUIController imple
     private final GitHubService gitHubService;
     private final GitHubConfigurationService gitHubConfigurationService;
     private final GitUI gitUI;
+    private final GitService gitService;
 
     @Autowired
-    public GitHubChangeLogIssuesContributor(ErrorHandler errorHandler, Strings strings, ExtensionManager extensionManager, GitHubService gitHubService, GitHubConfigurationService gitHubConfigurationService, GitUI gitUI) {
+    public GitHubChangeLogIssuesContributor(ErrorHandler errorHandler, Strings strings, ExtensionManager extensionManager, GitHubService gitHubService, GitHubConfigurationService gitHubConfigurationService, GitUI gitUI, GitService gitService) {
         super(errorHandler, strings);
         this.extensionManager = extensionManager;
         this.gitHubService = gitHubService;
         this.gitHubConfigurationService = gitHubConfigurationService;
         this.gitUI = gitUI;
+        this.gitService = gitService;
     }
 
     @Override
@@ -63,16 +70,47 @@ public class GitHubChangeLogIssuesContributor extends AbstractUIController imple
     @ResponseBody
     List<GitHubIssue> issues(Locale locale, @PathVariable String uuid) {
         // Gets the change log
-        int branchId = gitUI.getChangeLog(uuid).getSummary().getBranch().getId();
-        ChangeLogCommits changeLog = gitUI.getChangeLogCommits(locale, uuid);
-        // OK
-        return gitHubService.getGitHubIssues(
-                branchId,
-                Lists.transform(
-                        changeLog.getLog().getCommits(),
-                        GitUICommit.getCommitFn
-                )
-        );
+        ChangeLogSummary summary = gitUI.getChangeLog(uuid).getSummary();
+        // Walks the commits, page after page, with its own walker so that the one
+        // of the change log keeps its position
+        GitLogWalker walker = gitService.getChangeLogWalker(summary);
+        try {
+            return gitHubService.getGitHubIssues(
+                    summary.getBranch().getId(),
+                    commits(walker)
+            );
+        } finally {
+            walker.release();
+        }
+    }
+
+    /**
+     * Commits of a walker, the pages being read only when needed
+     */
+    private static Iterable<GitCommit> commits(final GitLogWalker walker) {
+        return new Iterable<GitCommit>() {
+            @Override
+            public Iterator<GitCommit> iterator() {
+                return new AbstractIterator<GitCommit>() {
+
+                    private Iterator<GitCommit> page = Collections.emptyIterator();
+                    private Integer next = 0;
+
+                    @Override
+                    protected GitCommit computeNext() {
+                        while (!page.hasNext()) {
+                            if (next == null) {
+                                return endOfData();
+                            }
+                            GitLogPage logPage = walker.page(next, GitUIController.MAX_PAGE_SIZE);
+                            page = logPage.getCommits().iterator();
+                            next = logPage.getNext();
+                        }
+                        return page.next();
+                    }
+                };
+            }
+        };
     }
 
     @RequestMapping(value = "/ui/extension/github/issues/{uuid}/text", method = RequestMethod.GET)
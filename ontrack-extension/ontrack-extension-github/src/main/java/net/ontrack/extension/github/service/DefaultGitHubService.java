@@ -44,7 +44,7 @@ public class DefaultGitHubService implements GitHubService {
     }
 
     @Override
-    public List<GitHubIssue> getGitHubIssues(int branchId, List<GitCommit> commits) {
+    public List<GitHubIssue> getGitHubIssues(int branchId, Iterable<GitCommit> commits) {
         // Gets the branch information
         BranchSummary branch = managementService.getBranch(branchId);
         // GitHubClient configuration
@@ -11,7 +11,10 @@ import java.util.Locale;
 
 public interface GitHubService {
 
-    List<GitHubIssue> getGitHubIssues(int branchId, List<GitCommit> commits);
+    /**
+     * Gets the issues referred to by some commits. The commits are read only once, one after the other.
+     */
+    List<GitHubIssue> getGitHubIssues(int branchId, Iterable<GitCommit> commits);
 
     Collection<ProjectSummary> getProjectsWithIssue(int issue);
 
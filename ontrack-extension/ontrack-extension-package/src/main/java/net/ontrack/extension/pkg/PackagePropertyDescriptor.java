@@ -42,4 +42,14 @@ public class PackagePropertyDescriptor extends AbstractPropertyExtensionDescript
     public AuthorizationPolicy getEditingAuthorizationPolicy(Entity entity) {
         return AuthorizationPolicy.forProject(ProjectFunction.BUILD_CREATE, ProjectFunction.BUILD_MODIFY);
     }
+
+    /**
+     * The builds are looked up by package
+     *
+     * @see PackageSearchProvider
+     */
+    @Override
+    public boolean isSearchable() {
+        return true;
+    }
 }
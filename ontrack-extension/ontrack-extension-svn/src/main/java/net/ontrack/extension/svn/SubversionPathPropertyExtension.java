@@ -8,6 +8,7 @@ import net.ontrack.extension.svn.service.SubversionService;
 import net.ontrack.extension.svn.service.model.SVNRepository;
 import net.ontrack.service.ManagementService;
 import net.sf.jstring.Strings;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -73,4 +74,20 @@ public class SubversionPathPropertyExtension extends AbstractPropertyExtensionDe
     public AuthorizationPolicy getEditingAuthorizationPolicy(Entity entity) {
         return AuthorizationPolicy.PROJECT_CONFIG;
     }
+
+    /**
+     * The branches are looked up by path
+     */
+    @Override
+    public boolean isSearchable() {
+        return true;
+    }
+
+    /**
+     * Trailing slashes are ignored
+     */
+    @Override
+    public String getSearchKey(String path) {
+        return StringUtils.stripEnd(StringUtils.trim(path), "/");
+    }
 }
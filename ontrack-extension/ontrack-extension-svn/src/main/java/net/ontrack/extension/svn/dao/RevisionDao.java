@@ -20,4 +20,19 @@ public interface RevisionDao {
     TRevision getLastRevision(int repositoryId);
 
     TRevision get(int repositoryId, long revision);
+
+    /**
+     * Gets the indexed revisions on a branch, from the newest to the oldest.
+     *
+     * @param repositoryId ID of the repository
+     * @param branch       Path of the branch
+     * @param from         Lowest revision (inclusive)
+     * @param to           Highest revision (inclusive)
+     */
+    List<TRevision> findByBranch(int repositoryId, String branch, long from, long to);
+
+    /**
+     * Gets the revisions which have been merged by the <code>target</code> revision.
+     */
+    List<Long> getRevisionsMergedInto(int repositoryId, long target);
 }
@@ -108,7 +108,7 @@ public class RevisionJdbcDao extends AbstractJdbcDao implements RevisionDao {
     public void addMergedRevisions(int repositoryId, long revision, List<Long> mergedRevisions) {
         NamedParameterJdbcTemplate t = getNamedParameterJdbcTemplate();
         for (long mergedRevision : mergedRevisions) {
-            t.update("INSERT INTO SVN_EXT_MERGE_REVISION (REPOSITORY, REVISION, TARGET) VALUES (:repository, :mergedRevision, :revision)",
+            t.update("INSERT INTO EXT_SVN_MERGE_REVISION (REPOSITORY, REVISION, TARGET) VALUES (:repository, :mergedRevision, :revision)",
                     params("mergedRevision", mergedRevision)
                             .addValue("repository", repositoryId)
                             .addValue("revision", revision)
@@ -125,4 +125,27 @@ public class RevisionJdbcDao extends AbstractJdbcDao implements RevisionDao {
                 Long.class
         );
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TRevision> findByBranch(int repositoryId, String branch, long from, long to) {
+        return getNamedParameterJdbcTemplate().query(
+                "SELECT * FROM EXT_SVN_REVISION WHERE REPOSITORY = :repository AND BRANCH = :branch AND REVISION >= :from AND REVISION <= :to ORDER BY REVISION DESC",
+                params("repository", repositoryId)
+                        .addValue("branch", branch)
+                        .addValue("from", from)
+                        .addValue("to", to),
+                revisionRowMapper
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getRevisionsMergedInto(int repositoryId, long target) {
+        return getNamedParameterJdbcTemplate().queryForList(
+                "SELECT REVISION FROM EXT_SVN_MERGE_REVISION WHERE REPOSITORY = :repository AND TARGET = :target ORDER BY REVISION DESC",
+                params("target", target).addValue("repository", repositoryId),
+                Long.class
+        );
+    }
 }
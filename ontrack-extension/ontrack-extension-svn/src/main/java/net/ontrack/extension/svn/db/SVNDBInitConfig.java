@@ -22,12 +22,22 @@ public class SVNDBInitConfig extends AbstractDBInitConfig {
         return "ext-svn";
     }
 
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public String getVersionTable() {
+        return "EXT_SVN_VERSION";
+    }
+
     @Override
     public DBInit createConfig() {
         DBInit db = new DBInit();
-        db.setVersion(VERSION);
+        db.setVersion(getVersion());
         db.setJdbcDataSource(dataSource);
-        db.setVersionTable("EXT_SVN_VERSION");
+        db.setVersionTable(getVersionTable());
         db.setVersionColumnName("VALUE");
         db.setVersionColumnTimestamp("UPDATED");
         db.setResourceInitialization("/META-INF/db/subversion/init.sql");
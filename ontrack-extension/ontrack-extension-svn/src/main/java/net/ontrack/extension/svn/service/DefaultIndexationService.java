@@ -17,7 +17,9 @@ import net.ontrack.extension.svn.service.model.LastRevisionInfo;
 import net.ontrack.extension.svn.service.model.SVNRepository;
 import net.ontrack.extension.svn.support.SVNUtils;
 import net.ontrack.service.InfoProvider;
+import net.ontrack.service.MetricsProvider;
 import net.ontrack.service.api.ScheduledService;
+import net.ontrack.service.model.MetricSample;
 import net.ontrack.tx.Transaction;
 import net.ontrack.tx.TransactionService;
 import net.sf.jstring.Localizable;
@@ -46,7 +48,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 @Service
-public class DefaultIndexationService implements IndexationService, ScheduledService, InfoProvider {
+public class DefaultIndexationService implements IndexationService, ScheduledService, InfoProvider, MetricsProvider {
 
     private final Logger logger = LoggerFactory.getLogger(IndexationService.class);
     private final TransactionService transactionService;
@@ -61,6 +63,8 @@ public class DefaultIndexationService implements IndexationService, ScheduledSer
     private final SecurityUtils securityUtils;
     // Current indexations
     private final Map<Integer, IndexationJob> indexationJobs = new ConcurrentHashMap<>();
+    // Last known HEAD revisions, per repository
+    private final Map<Integer, Long> repositoryRevisions = new ConcurrentHashMap<>();
     private final ExecutorService executor = Executors.newFixedThreadPool(5, new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Indexation %s").build());
 
     @Autowired
@@ -123,6 +127,31 @@ public class DefaultIndexationService implements IndexationService, ScheduledSer
         return messages;
     }
 
+    /**
+     * Indexation lag per repository, using the last known HEAD revision, so that
+     * the repositories are not accessed.
+     */
+    @Override
+    public Collection<MetricSample> getMetrics() {
+        List<MetricSample> samples = new ArrayList<>();
+        for (SVNRepository repository : repositoryService.getAllRepositories()) {
+            String name = repository.getName();
+            long indexedRevision = revisionDao.getLast(repository.getId());
+            samples.add(MetricSample.gauge("ontrack_svn_indexed_revision", "Last indexed revision of the Subversion repositories",
+                    indexedRevision, "repository", name));
+            samples.add(MetricSample.gauge("ontrack_svn_indexation_running", "1 if an indexation is running for the Subversion repositories",
+                    isIndexationRunning(repository.getId()) ? 1 : 0, "repository", name));
+            Long repositoryRevision = repositoryRevisions.get(repository.getId());
+            if (repositoryRevision != null) {
+                samples.add(MetricSample.gauge("ontrack_svn_head_revision", "Last known HEAD revision of the Subversion repositories",
+                        repositoryRevision, "repository", name));
+                samples.add(MetricSample.gauge("ontrack_svn_indexation_lag_revisions", "Number of revisions of the Subversion repositories which are not indexed yet",
+                        Math.max(0, repositoryRevision - indexedRevision), "repository", name));
+            }
+        }
+        return samples;
+    }
+
     @Override
     @Secured(SecurityRoles.ADMINISTRATOR)
     public void indexFromLatest(int repositoryId) {
@@ -139,6 +168,7 @@ public class DefaultIndexationService implements IndexationService, ScheduledSer
             logger.info("[svn-indexation] Repository={}, LastScannedRevision={}", repositoryId, lastScannedRevision);
             // HEAD revision
             long repositoryRevision = subversionService.getRepositoryRevision(repository, url);
+            repositoryRevisions.put(repositoryId, repositoryRevision);
             // Request index of the range
             indexRange(repositoryId, lastScannedRevision + 1, repositoryRevision);
         }
@@ -153,6 +183,7 @@ public class DefaultIndexationService implements IndexationService, ScheduledSer
                 SVNRepository repository = repositoryService.getRepository(repositoryId);
                 SVNURL url = SVNUtils.toURL(repository.getUrl());
                 long repositoryRevision = subversionService.getRepositoryRevision(repository, url);
+                repositoryRevisions.put(repositoryId, repositoryRevision);
                 // OK
                 return new LastRevisionInfo(
                         r.getRevision(),
@@ -220,6 +251,7 @@ public class DefaultIndexationService implements IndexationService, ScheduledSer
             from = Math.max(startRevision, from);
             // Filters the revision range using the SVN repository
             long repositoryRevision = subversionService.getRepositoryRevision(repository, url);
+            repositoryRevisions.put(repository.getId(), repositoryRevision);
             to = Math.min(to, repositoryRevision);
             // Final check of range
             if (from > to) {
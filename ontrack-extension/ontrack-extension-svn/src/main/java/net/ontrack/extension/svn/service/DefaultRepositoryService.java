@@ -36,6 +36,7 @@ public class DefaultRepositoryService implements RepositoryService {
     private final IssueServiceFactory issueServiceFactory;
     private final RepositoryDao repositoryDao;
     private final SecurityUtils securityUtils;
+    private final SVNPathClassifierService pathClassifierService;
 
     // TRepository --> SVNRepository
     private final Function<TRepository, SVNRepository> repositoryFn = new Function<TRepository, SVNRepository>() {
@@ -76,12 +77,13 @@ public class DefaultRepositoryService implements RepositoryService {
     };
 
     @Autowired
-    public DefaultRepositoryService(ManagementService managementService, PropertiesService propertiesService, IssueServiceFactory issueServiceFactory, RepositoryDao repositoryDao, SecurityUtils securityUtils) {
+    public DefaultRepositoryService(ManagementService managementService, PropertiesService propertiesService, IssueServiceFactory issueServiceFactory, RepositoryDao repositoryDao, SecurityUtils securityUtils, SVNPathClassifierService pathClassifierService) {
         this.managementService = managementService;
         this.propertiesService = propertiesService;
         this.issueServiceFactory = issueServiceFactory;
         this.repositoryDao = repositoryDao;
         this.securityUtils = securityUtils;
+        this.pathClassifierService = pathClassifierService;
     }
 
     @Override
@@ -104,7 +106,9 @@ public class DefaultRepositoryService implements RepositoryService {
     @Transactional
     public SVNRepository updateRepository(int id, SVNRepositoryForm form) {
         securityUtils.checkGrant(GlobalFunction.SETTINGS);
-        return repositoryFn.apply(repositoryDao.update(id, form));
+        SVNRepository repository = repositoryFn.apply(repositoryDao.update(id, form));
+        pathClassifierService.invalidate(id);
+        return repository;
     }
 
     @Override
@@ -161,6 +165,8 @@ public class DefaultRepositoryService implements RepositoryService {
                     SubversionRepositoryPropertyExtension.NAME,
                     null);
         }
+        // Forgets the path classification
+        pathClassifierService.invalidate(id);
         // OK
         return repositoryDao.delete(id);
     }
@@ -0,0 +1,30 @@
+package net.ontrack.extension.svn.service;
+
+import net.ontrack.extension.svn.service.model.SVNRepository;
+import net.ontrack.extension.svn.support.SVNPathClassifier;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class DefaultSVNPathClassifierService implements SVNPathClassifierService {
+
+    private final ConcurrentMap<Integer, SVNPathClassifier> classifiers = new ConcurrentHashMap<>();
+
+    @Override
+    public SVNPathClassifier getClassifier(SVNRepository repository) {
+        SVNPathClassifier classifier = classifiers.get(repository.getId());
+        // The patterns are checked as well, since the repository may have been changed elsewhere
+        if (classifier == null || !classifier.isFor(repository.getBranchPattern(), repository.getTagPattern())) {
+            classifier = new SVNPathClassifier(repository.getBranchPattern(), repository.getTagPattern());
+            classifiers.put(repository.getId(), classifier);
+        }
+        return classifier;
+    }
+
+    @Override
+    public void invalidate(int repositoryId) {
+        classifiers.remove(repositoryId);
+    }
+}
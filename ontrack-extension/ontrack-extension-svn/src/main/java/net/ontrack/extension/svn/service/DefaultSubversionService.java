@@ -14,6 +14,7 @@ import net.ontrack.extension.svn.dao.model.TSVNCopyEvent;
 import net.ontrack.extension.svn.dao.model.TSVNEvent;
 import net.ontrack.extension.svn.service.model.*;
 import net.ontrack.extension.svn.support.SVNLogEntryCollector;
+import net.ontrack.extension.svn.support.SVNPathClassifier;
 import net.ontrack.extension.svn.support.SVNUtils;
 import net.ontrack.extension.svn.tx.DefaultSVNSession;
 import net.ontrack.extension.svn.tx.SVNSession;
@@ -51,9 +52,10 @@ public class DefaultSubversionService implements SubversionService {
     private final RevisionDao revisionDao;
     private final IssueRevisionDao issueRevisionDao;
     private final SecurityUtils securityUtils;
+    private final SVNPathClassifierService pathClassifierService;
 
     @Autowired
-    public DefaultSubversionService(RepositoryService repositoryService, TransactionService transactionService, PropertiesService propertiesService, SVNEventDao svnEventDao, RevisionDao revisionDao, IssueRevisionDao issueRevisionDao, SecurityUtils securityUtils) {
+    public DefaultSubversionService(RepositoryService repositoryService, TransactionService transactionService, PropertiesService propertiesService, SVNEventDao svnEventDao, RevisionDao revisionDao, IssueRevisionDao issueRevisionDao, SecurityUtils securityUtils, SVNPathClassifierService pathClassifierService) {
         this.repositoryService = repositoryService;
         this.transactionService = transactionService;
         this.propertiesService = propertiesService;
@@ -61,6 +63,7 @@ public class DefaultSubversionService implements SubversionService {
         this.revisionDao = revisionDao;
         this.issueRevisionDao = issueRevisionDao;
         this.securityUtils = securityUtils;
+        this.pathClassifierService = pathClassifierService;
         SVNRepositoryFactoryImpl.setup();
         DAVRepositoryFactory.setup();
     }
@@ -189,7 +192,32 @@ public class DefaultSubversionService implements SubversionService {
     @Override
     @Transactional(readOnly = true)
     public SVNRevisionInfo getRevisionInfo(SVNRepository repository, long revision) {
-        TRevision t = revisionDao.get(repository.getId(), revision);
+        return toRevisionInfo(repository, revisionDao.get(repository.getId(), revision));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getLastIndexedRevision(SVNRepository repository) {
+        return revisionDao.getLast(repository.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SVNRevisionInfo> getIndexedRevisions(SVNRepository repository, String branch, long from, long to) {
+        List<SVNRevisionInfo> infos = new ArrayList<>();
+        for (TRevision t : revisionDao.findByBranch(repository.getId(), branch, from, to)) {
+            infos.add(toRevisionInfo(repository, t));
+        }
+        return infos;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getIndexedMergedRevisions(SVNRepository repository, long revision) {
+        return revisionDao.getRevisionsMergedInto(repository.getId(), revision);
+    }
+
+    private SVNRevisionInfo toRevisionInfo(SVNRepository repository, TRevision t) {
         return new SVNRevisionInfo(
                 t.getRevision(),
                 t.getAuthor(),
@@ -388,29 +416,19 @@ public class DefaultSubversionService implements SubversionService {
 
     @Override
     public boolean isTagOrBranch(SVNRepository repository, String path) {
-        return isTag(repository, path) || isBranch(repository, path);
+        SVNPathClassifier classifier = pathClassifierService.getClassifier(repository);
+        return classifier.isTag(path) || classifier.isBranch(path);
     }
 
     @Override
     public boolean isTrunkOrBranch(SVNRepository repository, String path) {
-        return isTrunk(path) || isBranch(repository, path);
+        SVNPathClassifier classifier = pathClassifierService.getClassifier(repository);
+        return classifier.isTrunk(path) || classifier.isBranch(path);
     }
 
     @Override
     public boolean isTag(SVNRepository repository, String path) {
-        return isPathOK(repository.getTagPattern(), path);
-    }
-
-    private boolean isBranch(SVNRepository repository, String path) {
-        return isPathOK(repository.getBranchPattern(), path);
-    }
-
-    private boolean isPathOK(String pattern, String path) {
-        return org.apache.commons.lang.StringUtils.isNotBlank(pattern) && Pattern.matches(pattern, path);
-    }
-
-    private boolean isTrunk(String path) {
-        return isPathOK(".+/trunk", path);
+        return pathClassifierService.getClassifier(repository).isTag(path);
     }
 
     private SubversionException translateSVNException(SVNException e) {
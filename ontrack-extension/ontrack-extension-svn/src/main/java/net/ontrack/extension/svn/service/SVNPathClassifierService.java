@@ -0,0 +1,21 @@
+package net.ontrack.extension.svn.service;
+
+import net.ontrack.extension.svn.service.model.SVNRepository;
+import net.ontrack.extension.svn.support.SVNPathClassifier;
+
+/**
+ * Gives access to the path classifiers of the repositories.
+ */
+public interface SVNPathClassifierService {
+
+    /**
+     * Gets the classifier for the current configuration of a repository
+     */
+    SVNPathClassifier getClassifier(SVNRepository repository);
+
+    /**
+     * Forgets the classifier of a repository, after its configuration has changed
+     */
+    void invalidate(int repositoryId);
+
+}
@@ -111,4 +111,23 @@ public interface SubversionService {
      * Gets the repository associated with a project, if any.
      */
     SVNRepository getRepositoryForProject(int projectId);
+
+    /**
+     * Gets the last revision which has been indexed for this repository, or 0 if none.
+     */
+    long getLastIndexedRevision(SVNRepository repository);
+
+    /**
+     * Gets the indexed revisions on a branch, from the newest to the oldest
+     *
+     * @param branch Path of the branch
+     * @param from   Lowest revision (inclusive)
+     * @param to     Highest revision (inclusive)
+     */
+    List<SVNRevisionInfo> getIndexedRevisions(SVNRepository repository, String branch, long from, long to);
+
+    /**
+     * Gets the indexed revisions which have been merged by a given revision
+     */
+    List<Long> getIndexedMergedRevisions(SVNRepository repository, long revision);
 }
@@ -0,0 +1,93 @@
+package net.ontrack.extension.svn.support;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Classification of repository paths into trunk, branches and tags, using the
+ * patterns of a repository configuration.
+ * <p/>
+ * The patterns are compiled once and the classification of each path is
+ * kept in a bounded cache, since the same paths (and their parents) are
+ * classified over and over during an indexation.
+ */
+public class SVNPathClassifier {
+
+    /**
+     * Maximum number of classified paths to keep
+     */
+    public static final int CACHE_SIZE = 10000;
+
+    private static final Pattern TRUNK = Pattern.compile(".+/trunk");
+
+    private static final int IS_TRUNK = 1;
+    private static final int IS_BRANCH = 2;
+    private static final int IS_TAG = 4;
+
+    private final String branchPattern;
+    private final String tagPattern;
+    private final Pattern branch;
+    private final Pattern tag;
+    private final Cache<String, Integer> classifications;
+
+    public SVNPathClassifier(String branchPattern, String tagPattern) {
+        this(branchPattern, tagPattern, CACHE_SIZE);
+    }
+
+    public SVNPathClassifier(String branchPattern, String tagPattern, int cacheSize) {
+        this.branchPattern = branchPattern;
+        this.tagPattern = tagPattern;
+        this.branch = compile(branchPattern);
+        this.tag = compile(tagPattern);
+        this.classifications = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    private static Pattern compile(String pattern) {
+        return StringUtils.isNotBlank(pattern) ? Pattern.compile(pattern) : null;
+    }
+
+    /**
+     * Checks if this classifier has been created for those patterns
+     */
+    public boolean isFor(String branchPattern, String tagPattern) {
+        return Objects.equals(this.branchPattern, branchPattern) && Objects.equals(this.tagPattern, tagPattern);
+    }
+
+    public boolean isTrunk(String path) {
+        return (classify(path) & IS_TRUNK) != 0;
+    }
+
+    public boolean isBranch(String path) {
+        return (classify(path) & IS_BRANCH) != 0;
+    }
+
+    public boolean isTag(String path) {
+        return (classify(path) & IS_TAG) != 0;
+    }
+
+    private int classify(String path) {
+        Integer classification = classifications.getIfPresent(path);
+        if (classification == null) {
+            int c = 0;
+            if (TRUNK.matcher(path).matches()) {
+                c |= IS_TRUNK;
+            }
+            if (branch != null && branch.matcher(path).matches()) {
+                c |= IS_BRANCH;
+            }
+            if (tag != null && tag.matcher(path).matches()) {
+                c |= IS_TAG;
+            }
+            classification = c;
+            classifications.put(path, classification);
+        }
+        return classification;
+    }
+
+}
@@ -0,0 +1,90 @@
+package net.ontrack.extension.svn.support;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Classification of a sample of the paths met during an indexation (each changed
+ * path with some of its parents), compared with the former <code>Pattern.matches</code>
+ * calls.
+ * <p/>
+ * This is not a unit test and must be run explicitly, for example with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=net.ontrack.extension.svn.support.SVNPathClassifierBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SVNPathClassifierBenchmark {
+
+    private static final String BRANCH_PATTERN = ".+/branches/[^/]+";
+    private static final String TAG_PATTERN = ".+/tags/[^/]+";
+
+    private List<String> paths;
+    private SVNPathClassifier classifier;
+    private SVNPathClassifier uncachedClassifier;
+
+    @Setup
+    public void setup() throws IOException {
+        paths = Resources.readLines(getClass().getResource("svn-paths.txt"), Charsets.UTF_8);
+        classifier = new SVNPathClassifier(BRANCH_PATTERN, TAG_PATTERN);
+        uncachedClassifier = new SVNPathClassifier(BRANCH_PATTERN, TAG_PATTERN, 0);
+    }
+
+    /**
+     * Former implementation, compiling the patterns for each path
+     */
+    @Benchmark
+    public void patternMatches(Blackhole blackhole) {
+        for (String path : paths) {
+            blackhole.consume(Pattern.matches(TAG_PATTERN, path) || Pattern.matches(BRANCH_PATTERN, path));
+            blackhole.consume(Pattern.matches(".+/trunk", path) || Pattern.matches(BRANCH_PATTERN, path));
+        }
+    }
+
+    /**
+     * Precompiled patterns only
+     */
+    @Benchmark
+    public void precompiled(Blackhole blackhole) {
+        classify(uncachedClassifier, blackhole);
+    }
+
+    /**
+     * Precompiled patterns and memoized classification
+     */
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        classify(classifier, blackhole);
+    }
+
+    private void classify(SVNPathClassifier classifier, Blackhole blackhole) {
+        for (String path : paths) {
+            blackhole.consume(classifier.isTag(path) || classifier.isBranch(path));
+            blackhole.consume(classifier.isTrunk(path) || classifier.isBranch(path));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                new OptionsBuilder()
+                        .include(SVNPathClassifierBenchmark.class.getSimpleName())
+                        .build()
+        ).run();
+    }
+
+}
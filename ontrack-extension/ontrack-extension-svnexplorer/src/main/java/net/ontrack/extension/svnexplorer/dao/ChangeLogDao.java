@@ -0,0 +1,46 @@
+package net.ontrack.extension.svnexplorer.dao;
+
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLog;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogFile;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogIssue;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogRevision;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Storage of the change logs computed between two builds of a branch.
+ * <p/>
+ * Each change log is stored with the signature of the configuration it has been computed
+ * with (repository, build path...) and is ignored once this configuration changes.
+ */
+public interface ChangeLogDao {
+
+    /**
+     * Gets the change log stored for exactly this range of builds, or <code>null</code> if none.
+     */
+    TChangeLog find(int branch, int buildFrom, int buildTo, String config);
+
+    /**
+     * Gets the largest change log starting at <code>buildFrom</code> and ending strictly
+     * before <code>buildTo</code>, or <code>null</code> if none.
+     */
+    TChangeLog findPrefix(int branch, int buildFrom, int buildTo, String config);
+
+    /**
+     * Stores a change log, replacing any previous one for the same range of builds. The change logs
+     * of the branch computed with another configuration are removed.
+     *
+     * @return ID of the stored change log
+     * @throws org.springframework.dao.DuplicateKeyException If the same range of builds has been
+     *                                                       stored concurrently
+     */
+    int create(int branch, int buildFrom, int buildTo, String config, List<TChangeLogRevision> revisions, Collection<TChangeLogFile> files, Collection<TChangeLogIssue> issues);
+
+    List<TChangeLogRevision> getRevisions(int changeLog);
+
+    List<TChangeLogFile> getFiles(int changeLog);
+
+    List<TChangeLogIssue> getIssues(int changeLog);
+
+}
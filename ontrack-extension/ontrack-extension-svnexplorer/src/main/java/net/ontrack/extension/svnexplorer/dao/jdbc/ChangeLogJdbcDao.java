@@ -0,0 +1,210 @@
+package net.ontrack.extension.svnexplorer.dao.jdbc;
+
+import net.ontrack.dao.AbstractJdbcDao;
+import net.ontrack.dao.SQLUtils;
+import net.ontrack.extension.svnexplorer.dao.ChangeLogDao;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLog;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogFile;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogIssue;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogRevision;
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public class ChangeLogJdbcDao extends AbstractJdbcDao implements ChangeLogDao {
+
+    public static final int MESSAGE_LENGTH = 500;
+
+    private final RowMapper<TChangeLog> changeLogRowMapper = new RowMapper<TChangeLog>() {
+        @Override
+        public TChangeLog mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new TChangeLog(
+                    rs.getInt("ID"),
+                    rs.getInt("BRANCH"),
+                    rs.getInt("BUILD_FROM"),
+                    rs.getInt("BUILD_TO"),
+                    rs.getString("CONFIG"),
+                    SQLUtils.getDateTime(rs, "CREATION")
+            );
+        }
+    };
+
+    private final RowMapper<TChangeLogRevision> revisionRowMapper = new RowMapper<TChangeLogRevision>() {
+        @Override
+        public TChangeLogRevision mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new TChangeLogRevision(
+                    rs.getString("PATH"),
+                    rs.getInt("LEVEL"),
+                    rs.getLong("REVISION"),
+                    rs.getString("AUTHOR"),
+                    SQLUtils.getDateTime(rs, "CREATION"),
+                    rs.getString("MESSAGE")
+            );
+        }
+    };
+
+    private final RowMapper<TChangeLogFile> fileRowMapper = new RowMapper<TChangeLogFile>() {
+        @Override
+        public TChangeLogFile mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new TChangeLogFile(
+                    rs.getString("PATH"),
+                    rs.getLong("REVISION"),
+                    rs.getString("CHANGE_TYPE")
+            );
+        }
+    };
+
+    private final RowMapper<TChangeLogIssue> issueRowMapper = new RowMapper<TChangeLogIssue>() {
+        @Override
+        public TChangeLogIssue mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new TChangeLogIssue(
+                    rs.getString("ISSUE"),
+                    rs.getLong("REVISION")
+            );
+        }
+    };
+
+    @Autowired
+    public ChangeLogJdbcDao(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TChangeLog find(int branch, int buildFrom, int buildTo, String config) {
+        return getFirstItem(
+                "SELECT * FROM EXT_SVNEXPLORER_CHANGELOG WHERE BRANCH = :branch AND BUILD_FROM = :from AND BUILD_TO = :to AND CONFIG = :config",
+                params("branch", branch).addValue("from", buildFrom).addValue("to", buildTo).addValue("config", config),
+                changeLogRowMapper
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TChangeLog findPrefix(int branch, int buildFrom, int buildTo, String config) {
+        return getFirstItem(
+                "SELECT * FROM EXT_SVNEXPLORER_CHANGELOG WHERE BRANCH = :branch AND BUILD_FROM = :from AND BUILD_TO > :from AND BUILD_TO < :to AND CONFIG = :config ORDER BY BUILD_TO DESC LIMIT 1",
+                params("branch", branch).addValue("from", buildFrom).addValue("to", buildTo).addValue("config", config),
+                changeLogRowMapper
+        );
+    }
+
+    @Override
+    @Transactional
+    public int create(int branch, int buildFrom, int buildTo, String config, List<TChangeLogRevision> revisions, Collection<TChangeLogFile> files, Collection<TChangeLogIssue> issues) {
+        NamedParameterJdbcTemplate t = getNamedParameterJdbcTemplate();
+        // Removes any previous version, and the change logs of an obsolete configuration
+        t.update(
+                "DELETE FROM EXT_SVNEXPLORER_CHANGELOG WHERE BRANCH = :branch AND ((BUILD_FROM = :from AND BUILD_TO = :to) OR CONFIG <> :config)",
+                params("branch", branch).addValue("from", buildFrom).addValue("to", buildTo).addValue("config", config)
+        );
+        // Change log
+        int id = dbCreate(
+                "INSERT INTO EXT_SVNEXPLORER_CHANGELOG (BRANCH, BUILD_FROM, BUILD_TO, CONFIG, CREATION) VALUES (:branch, :from, :to, :config, :creation)",
+                params("branch", branch)
+                        .addValue("from", buildFrom)
+                        .addValue("to", buildTo)
+                        .addValue("config", config)
+                        .addValue("creation", SQLUtils.toTimestamp(new DateTime(DateTimeZone.UTC)))
+        );
+        // Revisions
+        List<SqlParameterSource> revisionParams = new ArrayList<>();
+        int order = 0;
+        for (TChangeLogRevision revision : revisions) {
+            revisionParams.add(
+                    params("changeLog", id)
+                            .addValue("order", order++)
+                            .addValue("path", revision.getPath())
+                            .addValue("level", revision.getLevel())
+                            .addValue("revision", revision.getRevision())
+                            .addValue("author", Objects.toString(revision.getAuthor(), ""))
+                            .addValue("creation", SQLUtils.toTimestamp(revision.getCreation()))
+                            .addValue("message", Objects.toString(StringUtils.abbreviate(revision.getMessage(), MESSAGE_LENGTH), ""))
+            );
+        }
+        batch(
+                "INSERT INTO EXT_SVNEXPLORER_CHANGELOG_REVISION (CHANGELOG, ORDERNB, PATH, LEVEL, REVISION, AUTHOR, CREATION, MESSAGE) VALUES (:changeLog, :order, :path, :level, :revision, :author, :creation, :message)",
+                revisionParams
+        );
+        // Files
+        List<SqlParameterSource> fileParams = new ArrayList<>();
+        for (TChangeLogFile file : files) {
+            fileParams.add(
+                    params("changeLog", id)
+                            .addValue("path", file.getPath())
+                            .addValue("revision", file.getRevision())
+                            .addValue("changeType", file.getChangeType())
+            );
+        }
+        batch(
+                "INSERT INTO EXT_SVNEXPLORER_CHANGELOG_FILE (CHANGELOG, PATH, REVISION, CHANGE_TYPE) VALUES (:changeLog, :path, :revision, :changeType)",
+                fileParams
+        );
+        // Issues
+        List<SqlParameterSource> issueParams = new ArrayList<>();
+        for (TChangeLogIssue issue : issues) {
+            issueParams.add(
+                    params("changeLog", id)
+                            .addValue("issue", issue.getIssue())
+                            .addValue("revision", issue.getRevision())
+            );
+        }
+        batch(
+                "INSERT INTO EXT_SVNEXPLORER_CHANGELOG_ISSUE (CHANGELOG, ISSUE, REVISION) VALUES (:changeLog, :issue, :revision)",
+                issueParams
+        );
+        // OK
+        return id;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TChangeLogRevision> getRevisions(int changeLog) {
+        return getNamedParameterJdbcTemplate().query(
+                "SELECT * FROM EXT_SVNEXPLORER_CHANGELOG_REVISION WHERE CHANGELOG = :changeLog ORDER BY ORDERNB",
+                params("changeLog", changeLog),
+                revisionRowMapper
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TChangeLogFile> getFiles(int changeLog) {
+        return getNamedParameterJdbcTemplate().query(
+                "SELECT * FROM EXT_SVNEXPLORER_CHANGELOG_FILE WHERE CHANGELOG = :changeLog ORDER BY PATH, REVISION DESC",
+                params("changeLog", changeLog),
+                fileRowMapper
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TChangeLogIssue> getIssues(int changeLog) {
+        return getNamedParameterJdbcTemplate().query(
+                "SELECT * FROM EXT_SVNEXPLORER_CHANGELOG_ISSUE WHERE CHANGELOG = :changeLog ORDER BY ISSUE, REVISION DESC",
+                params("changeLog", changeLog),
+                issueRowMapper
+        );
+    }
+
+    private void batch(String sql, List<SqlParameterSource> params) {
+        if (!params.isEmpty()) {
+            getNamedParameterJdbcTemplate().batchUpdate(sql, params.toArray(new SqlParameterSource[params.size()]));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package net.ontrack.extension.svnexplorer.dao.model;
+
+import lombok.Data;
+import org.joda.time.DateTime;
+
+@Data
+public class TChangeLog {
+
+    private final int id;
+    private final int branch;
+    private final int buildFrom;
+    private final int buildTo;
+    /**
+     * Signature of the configuration the change log has been computed with
+     */
+    private final String config;
+    private final DateTime creation;
+
+}
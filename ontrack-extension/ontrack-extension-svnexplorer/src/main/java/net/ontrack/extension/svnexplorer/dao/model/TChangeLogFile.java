@@ -0,0 +1,12 @@
+package net.ontrack.extension.svnexplorer.dao.model;
+
+import lombok.Data;
+
+@Data
+public class TChangeLogFile {
+
+    private final String path;
+    private final long revision;
+    private final String changeType;
+
+}
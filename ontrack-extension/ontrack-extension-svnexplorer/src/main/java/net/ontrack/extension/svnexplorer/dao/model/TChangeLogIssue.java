@@ -0,0 +1,11 @@
+package net.ontrack.extension.svnexplorer.dao.model;
+
+import lombok.Data;
+
+@Data
+public class TChangeLogIssue {
+
+    private final String issue;
+    private final long revision;
+
+}
@@ -0,0 +1,16 @@
+package net.ontrack.extension.svnexplorer.dao.model;
+
+import lombok.Data;
+import org.joda.time.DateTime;
+
+@Data
+public class TChangeLogRevision {
+
+    private final String path;
+    private final int level;
+    private final long revision;
+    private final String author;
+    private final DateTime creation;
+    private final String message;
+
+}
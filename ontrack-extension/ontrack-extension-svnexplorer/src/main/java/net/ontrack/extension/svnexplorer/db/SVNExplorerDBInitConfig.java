@@ -0,0 +1,52 @@
+package net.ontrack.extension.svnexplorer.db;
+
+import net.ontrack.dao.AbstractDBInitConfig;
+import net.sf.dbinit.DBInit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+public class SVNExplorerDBInitConfig extends AbstractDBInitConfig {
+
+    public static final int VERSION = 1;
+
+    @Autowired
+    public SVNExplorerDBInitConfig(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    public String getName() {
+        return "ext-svnexplorer";
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public String getVersionTable() {
+        return "EXT_SVNEXPLORER_VERSION";
+    }
+
+    @Override
+    public DBInit createConfig() {
+        DBInit db = new DBInit();
+        db.setVersion(getVersion());
+        db.setJdbcDataSource(dataSource);
+        db.setVersionTable(getVersionTable());
+        db.setVersionColumnName("VALUE");
+        db.setVersionColumnTimestamp("UPDATED");
+        db.setResourceInitialization("/META-INF/db/svnexplorer/init.sql");
+        db.setResourceUpdate("/META-INF/db/svnexplorer/update.{0}.sql");
+        return db;
+    }
+
+    @Override
+    public int getOrder() {
+        return 30;
+    }
+}
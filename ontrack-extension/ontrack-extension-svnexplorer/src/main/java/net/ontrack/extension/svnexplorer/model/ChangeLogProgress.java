@@ -0,0 +1,12 @@
+package net.ontrack.extension.svnexplorer.model;
+
+import lombok.Data;
+
+@Data
+public class ChangeLogProgress {
+
+    private final boolean finished;
+    private final int revisions;
+    private final int processed;
+
+}
@@ -0,0 +1,9 @@
+package net.ontrack.extension.svnexplorer.service;
+
+import net.sf.jstring.support.CoreException;
+
+public class ChangeLogComputationException extends CoreException {
+    public ChangeLogComputationException(Throwable ex) {
+        super(ex, ex);
+    }
+}
@@ -1,5 +1,6 @@
 package net.ontrack.extension.svnexplorer.service;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
@@ -8,7 +9,11 @@ import com.google.common.collect.Collections2;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Data;
 import net.ontrack.core.model.*;
+import net.ontrack.core.security.SecurityUtils;
 import net.ontrack.extension.api.property.PropertiesService;
 import net.ontrack.extension.issue.*;
 import net.ontrack.extension.svn.SubversionExtension;
@@ -21,6 +26,11 @@ import net.ontrack.extension.svn.support.SVNUtils;
 import net.ontrack.extension.svnexplorer.ProjectRootPathPropertyExtension;
 import net.ontrack.extension.svnexplorer.SVNExplorerExtension;
 import net.ontrack.extension.svnexplorer.SensibleFilesPropertyExtension;
+import net.ontrack.extension.svnexplorer.dao.ChangeLogDao;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLog;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogFile;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogIssue;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogRevision;
 import net.ontrack.extension.svnexplorer.model.*;
 import net.ontrack.service.ManagementService;
 import net.ontrack.tx.Transaction;
@@ -30,12 +40,16 @@ import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.tmatesoft.svn.core.SVNLogEntry;
 import org.tmatesoft.svn.core.wc.SVNRevision;
 
+import javax.annotation.PreDestroy;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 @Service
@@ -48,6 +62,24 @@ public class DefaultSVNExplorerService implements SVNExplorerService {
     private final SubversionService subversionService;
     private final IssueServiceFactory issueServiceFactory;
     private final TransactionService transactionService;
+    private final ChangeLogDao changeLogDao;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * Computation of the change logs in the background
+     */
+    private final ExecutorService changeLogExecutor = Executors.newFixedThreadPool(
+            2,
+            new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("svnexplorer-changelog-%s")
+                    .build()
+    );
+
+    /**
+     * Change logs being computed, indexed by branch and builds
+     */
+    private final ConcurrentMap<ChangeLogKey, ChangeLogJob> changeLogJobs = new ConcurrentHashMap<>();
 
     /**
      * Function that extracts the path from a SVN location
@@ -60,13 +92,20 @@ public class DefaultSVNExplorerService implements SVNExplorerService {
     };
 
     @Autowired
-    public DefaultSVNExplorerService(ManagementService managementService, PropertiesService propertiesService, RepositoryService repositoryService, SubversionService subversionService, IssueServiceFactory issueServiceFactory, TransactionService transactionService) {
+    public DefaultSVNExplorerService(ManagementService managementService, PropertiesService propertiesService, RepositoryService repositoryService, SubversionService subversionService, IssueServiceFactory issueServiceFactory, TransactionService transactionService, ChangeLogDao changeLogDao, SecurityUtils securityUtils) {
         this.managementService = managementService;
         this.propertiesService = propertiesService;
         this.repositoryService = repositoryService;
         this.subversionService = subversionService;
         this.issueServiceFactory = issueServiceFactory;
         this.transactionService = transactionService;
+        this.changeLogDao = changeLogDao;
+        this.securityUtils = securityUtils;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        changeLogExecutor.shutdownNow();
     }
 
     @Override
@@ -80,22 +119,38 @@ public class DefaultSVNExplorerService implements SVNExplorerService {
             // Gets the build information
             SVNBuild buildFrom = getBuild(repository, locale, from);
             SVNBuild buildTo = getBuild(repository, locale, to);
-            // OK
-            return new ChangeLogSummary(
+            // Summary
+            ChangeLogSummary summary = new ChangeLogSummary(
                     UUID.randomUUID().toString(),
                     branch,
                     repository,
                     buildFrom,
                     buildTo
             );
+            // Starts the computation of the change log if not available yet
+            if (findChangeLog(getChangeLogKey(summary)) == null) {
+                startChangeLogJob(summary);
+            }
+            // OK
+            return summary;
+        }
+    }
+
+    @Override
+    public ChangeLogProgress getChangeLogProgress(ChangeLogSummary summary) {
+        ChangeLogJob job = changeLogJobs.get(getChangeLogKey(summary));
+        if (job != null) {
+            return new ChangeLogProgress(false, job.getRevisions().get(), job.getProcessed().get());
+        } else {
+            return new ChangeLogProgress(true, 0, 0);
         }
     }
 
     protected Collection<ChangeLogReference> getChangeLogReferences(ChangeLogSummary summary) {
+        return getChangeLogReferences(summary.getBuildFrom().getHistory(), summary.getBuildTo().getHistory());
+    }
 
-        // Gets the two histories
-        SVNHistory historyFrom = summary.getBuildFrom().getHistory();
-        SVNHistory historyTo = summary.getBuildTo().getHistory();
+    protected Collection<ChangeLogReference> getChangeLogReferences(SVNHistory historyFrom, SVNHistory historyTo) {
 
         // Sort them from->to with 'to' having the highest revision
         {
@@ -145,116 +200,105 @@ public class DefaultSVNExplorerService implements SVNExplorerService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ChangeLogRevisions getChangeLogRevisions(ChangeLogSummary summary) {
-
-        // Reference
-        Collection<ChangeLogReference> references = getChangeLogReferences(summary);
-
+        // Stored or computed content
+        ChangeLogContent content = getChangeLogContent(summary);
         // No difference?
-        if (references.isEmpty()) {
+        if (content.getRevisions().isEmpty()) {
             return ChangeLogRevisions.none();
         }
-
-        // SVN transaction
-        try (Transaction ignored = transactionService.start()) {
-            List<ChangeLogRevision> revisions = new ArrayList<>();
-            for (ChangeLogReference reference : references) {
-                if (!reference.isNone()) {
-                    // List of log entries
-                    SVNLogEntryCollector logEntryCollector = new SVNLogEntryCollector();
-                    // SVN change log
-                    subversionService.log(
-                            summary.getRepository(),
-                            SVNUtils.toURL(subversionService.getURL(summary.getRepository(), reference.getPath())),
-                            SVNRevision.create(reference.getEnd()),
-                            SVNRevision.create(reference.getStart()),
-                            SVNRevision.create(reference.getEnd()),
-                            true, // Stops on copy
-                            false, // No path discovering (yet)
-                            0L, // no limit
-                            true, // Includes merged revisions
-                            logEntryCollector
-                    );
-                    // Loops through all SVN log entries, taking the merged revisions into account
-                    int level = 0;
-                    for (SVNLogEntry svnEntry : logEntryCollector.getEntries()) {
-                        long revision = svnEntry.getRevision();
-                        if (SVNRevision.isValidRevisionNumber(revision)) {
-                            // Conversion
-                            ChangeLogRevision entry = createChangeLogRevision(summary.getRepository(), reference.getPath(), level, svnEntry);
-                            // Adds it to the list
-                            revisions.add(entry);
-                            // New parent?
-                            if (svnEntry.hasChildren()) {
-                                level++;
-                            }
-                        } else {
-                            level--;
-                        }
-                    }
-                }
-            }
-            // OK
-            return new ChangeLogRevisions(revisions);
+        // Conversion
+        List<ChangeLogRevision> revisions = new ArrayList<>();
+        for (TChangeLogRevision t : content.getRevisions()) {
+            revisions.add(createChangeLogRevision(
+                    summary.getRepository(),
+                    t.getPath(),
+                    t.getLevel(),
+                    t.getRevision(),
+                    t.getMessage(),
+                    t.getAuthor(),
+                    t.getCreation()
+            ));
         }
+        // OK
+        return new ChangeLogRevisions(revisions);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public ChangeLogIssues getChangeLogIssues(ChangeLogSummary summary, ChangeLogRevisions revisions) {
-        // In a transaction
-        try (Transaction ignored = transactionService.start()) {
-            // Repository
-            SVNRepository repository = summary.getRepository();
-            // Index of issues, sorted by keys
-            Map<String, ChangeLogIssue> issues = new TreeMap<>();
-            // For all revisions in this revision log
-            for (ChangeLogRevision changeLogRevision : revisions.getList()) {
-                long revision = changeLogRevision.getRevision();
-                collectIssuesForRevision(repository, issues, revision);
+    public ChangeLogIssues getChangeLogIssues(ChangeLogSummary summary) {
+        // Repository
+        SVNRepository repository = summary.getRepository();
+        // Stored or computed content
+        ChangeLogContent content = getChangeLogContent(summary);
+        Map<Long, SVNRevisionInfo> revisionInfos = getRevisionInfos(repository, content);
+        // Index of issues, sorted by keys
+        Map<String, ChangeLogIssue> issues = new TreeMap<>();
+        // Issues which are not known by the issue service
+        Set<String> unknownIssues = new HashSet<>();
+        // For all issues in this revision log
+        for (TChangeLogIssue t : content.getIssues()) {
+            String issueKey = t.getIssue();
+            // Gets its details if not indexed yet
+            ChangeLogIssue changeLogIssue = issues.get(issueKey);
+            if (changeLogIssue == null && !unknownIssues.contains(issueKey)) {
+                changeLogIssue = getChangeLogIssue(repository, issueKey);
+                if (changeLogIssue == null) {
+                    unknownIssues.add(issueKey);
+                }
             }
-            // List of issues
-            List<ChangeLogIssue> issuesList = new ArrayList<>(issues.values());
-            // Issues link
-            String allIssuesLink = "";
-            Optional<IssueService> issueService = issueServiceFactory.getOptionalServiceByName(repository.getIssueServiceName());
-            if (issueService.isPresent()) {
-                IssueServiceConfig issueServiceConfig = issueService.get().getConfigurationById(repository.getIssueServiceConfigId());
-                allIssuesLink = issueService.get().getLinkForAllIssues(
-                        issueServiceConfig,
-                        Collections2.transform(
-                                issuesList,
-                                ChangeLogIssue.issueFn
-                        )
-                );
+            // Existing issue?
+            if (changeLogIssue != null) {
+                // Attaches the revision to this issue
+                issues.put(issueKey, changeLogIssue.addRevision(revisionInfos.get(t.getRevision())));
             }
-            // OK
-            return new ChangeLogIssues(allIssuesLink, repository, issuesList);
-
         }
+        // List of issues
+        List<ChangeLogIssue> issuesList = new ArrayList<>(issues.values());
+        // Issues link
+        String allIssuesLink = "";
+        Optional<IssueService> issueService = issueServiceFactory.getOptionalServiceByName(repository.getIssueServiceName());
+        if (issueService.isPresent()) {
+            IssueServiceConfig issueServiceConfig = issueService.get().getConfigurationById(repository.getIssueServiceConfigId());
+            allIssuesLink = issueService.get().getLinkForAllIssues(
+                    issueServiceConfig,
+                    Collections2.transform(
+                            issuesList,
+                            ChangeLogIssue.issueFn
+                    )
+            );
+        }
+        // OK
+        return new ChangeLogIssues(allIssuesLink, repository, issuesList);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public ChangeLogFiles getChangeLogFiles(ChangeLogSummary summary, ChangeLogRevisions revisions) {
-        // In a transaction
-        try (Transaction ignored = transactionService.start()) {
-            // Index of files, indexed by path
-            Map<String, ChangeLogFile> files = new TreeMap<>();
-            // For each revision
-            for (ChangeLogRevision changeLogRevision : revisions.getList()) {
-                // Takes into account only the unmerged revisions
-                if (changeLogRevision.getLevel() == 0) {
-                    long revision = changeLogRevision.getRevision();
-                    collectFilesForRevision(summary.getRepository(), files, revision);
-                }
+    public ChangeLogFiles getChangeLogFiles(ChangeLogSummary summary) {
+        // Repository
+        SVNRepository repository = summary.getRepository();
+        // Stored or computed content
+        ChangeLogContent content = getChangeLogContent(summary);
+        Map<Long, SVNRevisionInfo> revisionInfos = getRevisionInfos(repository, content);
+        // Index of files, indexed by path
+        Map<String, ChangeLogFile> files = new TreeMap<>();
+        for (TChangeLogFile t : content.getFiles()) {
+            String path = t.getPath();
+            // Existing file entry?
+            ChangeLogFile changeLogFile = files.get(path);
+            if (changeLogFile == null) {
+                changeLogFile = new ChangeLogFile(path, subversionService.getBrowsingURL(repository, path));
+                files.put(path, changeLogFile);
             }
-            // List of files
-            List<ChangeLogFile> filesList = new ArrayList<>(files.values());
-            // OK
-            return new ChangeLogFiles(filesList);
+            // Adds the revision and the type
+            changeLogFile.addChange(new ChangeLogFileChange(
+                    revisionInfos.get(t.getRevision()),
+                    t.getChangeType(),
+                    subversionService.getFileChangeBrowsingURL(repository, path, t.getRevision())
+            ));
         }
+        // List of files
+        List<ChangeLogFile> filesList = new ArrayList<>(files.values());
+        // OK
+        return new ChangeLogFiles(filesList);
     }
 
     @Override
@@ -655,47 +699,6 @@ public class DefaultSVNExplorerService implements SVNExplorerService {
         };
     }
 
-    private void collectFilesForRevision(SVNRepository repository, Map<String, ChangeLogFile> files, long revision) {
-        SVNRevisionPaths revisionPaths = subversionService.getRevisionPaths(repository, revision);
-        for (SVNRevisionPath revisionPath : revisionPaths.getPaths()) {
-            String path = revisionPath.getPath();
-            // Existing file entry?
-            ChangeLogFile changeLogFile = files.get(path);
-            if (changeLogFile == null) {
-                changeLogFile = new ChangeLogFile(path, subversionService.getBrowsingURL(repository, path));
-                files.put(path, changeLogFile);
-            }
-            // Adds the revision and the type
-            ChangeLogFileChange change = new ChangeLogFileChange(
-                    revisionPaths.getInfo(),
-                    revisionPath.getChangeType(),
-                    subversionService.getFileChangeBrowsingURL(repository, path, revisionPaths.getInfo().getRevision())
-            );
-            changeLogFile.addChange(change);
-        }
-    }
-
-    private void collectIssuesForRevision(SVNRepository repository, Map<String, ChangeLogIssue> issues, long revision) {
-        // Gets all issues attached to this revision
-        List<String> issueKeys = subversionService.getIssueKeysForRevision(repository, revision);
-        // For each issue
-        for (String issueKey : issueKeys) {
-            // Gets its details if not indexed yet
-            ChangeLogIssue changeLogIssue = issues.get(issueKey);
-            if (changeLogIssue == null) {
-                changeLogIssue = getChangeLogIssue(repository, issueKey);
-            }
-            // Existing issue?
-            if (changeLogIssue != null) {
-                // Attaches the revision to this issue
-                SVNRevisionInfo issueRevision = subversionService.getRevisionInfo(repository, revision);
-                changeLogIssue = changeLogIssue.addRevision(issueRevision);
-                // Puts back into the cache
-                issues.put(issueKey, changeLogIssue);
-            }
-        }
-    }
-
     private ChangeLogIssue getChangeLogIssue(SVNRepository repository, String issueKey) {
         // Issue service
         Optional<IssueService> issueService = issueServiceFactory.getOptionalServiceByName(repository.getIssueServiceName());
@@ -713,18 +716,6 @@ public class DefaultSVNExplorerService implements SVNExplorerService {
         }
     }
 
-    private ChangeLogRevision createChangeLogRevision(SVNRepository repository, String path, int level, SVNLogEntry svnEntry) {
-        return createChangeLogRevision(
-                repository,
-                path,
-                level,
-                svnEntry.getRevision(),
-                svnEntry.getMessage(),
-                svnEntry.getAuthor(),
-                new DateTime(svnEntry.getDate()));
-
-    }
-
     private ChangeLogRevision createChangeLogRevision(SVNRepository repository, String path, int level, long revision, String message, String author, DateTime revisionDate) {
         // Issue service
         Optional<IssueService> issueService = issueServiceFactory.getOptionalServiceByName(repository.getIssueServiceName());
@@ -750,6 +741,341 @@ public class DefaultSVNExplorerService implements SVNExplorerService {
                 formattedMessage);
     }
 
+    private ChangeLogKey getChangeLogKey(ChangeLogSummary summary) {
+        int branchId = summary.getBranch().getId();
+        int from = summary.getBuildFrom().getBuildSummary().getId();
+        int to = summary.getBuildTo().getBuildSummary().getId();
+        return new ChangeLogKey(
+                branchId,
+                Math.min(from, to),
+                Math.max(from, to),
+                getChangeLogConfig(summary.getRepository(), getBuildPathPattern(branchId))
+        );
+    }
+
+    /**
+     * Signature of the configuration a change log depends on: a stored change log is not
+     * used any longer when the repository or the build path of the branch changes.
+     */
+    static String getChangeLogConfig(SVNRepository repository, String buildPathPattern) {
+        return Hashing.sha1().newHasher()
+                .putInt(repository.getId())
+                .putString(Objects.toString(repository.getUrl(), ""), Charsets.UTF_8).putByte((byte) 0)
+                .putString(Objects.toString(repository.getBranchPattern(), ""), Charsets.UTF_8).putByte((byte) 0)
+                .putString(Objects.toString(repository.getTagPattern(), ""), Charsets.UTF_8).putByte((byte) 0)
+                .putString(Objects.toString(repository.getTagFilterPattern(), ""), Charsets.UTF_8).putByte((byte) 0)
+                .putLong(repository.getIndexationStart())
+                .putString(Objects.toString(repository.getIssueServiceName(), ""), Charsets.UTF_8).putByte((byte) 0)
+                .putString(Objects.toString(repository.getIssueServiceConfigId(), ""), Charsets.UTF_8).putByte((byte) 0)
+                .putString(buildPathPattern, Charsets.UTF_8)
+                .hash()
+                .toString();
+    }
+
+    private TChangeLog findChangeLog(ChangeLogKey key) {
+        return changeLogDao.find(key.getBranch(), key.getFrom(), key.getTo(), key.getConfig());
+    }
+
+    /**
+     * Gets the content of a change log, either from the store or by waiting for its computation.
+     * <p/>
+     * The callers are not transactional: no database connection must be held while waiting,
+     * since the computation needs one from the same pool.
+     */
+    private ChangeLogContent getChangeLogContent(ChangeLogSummary summary) {
+        // Already stored?
+        TChangeLog changeLog = findChangeLog(getChangeLogKey(summary));
+        if (changeLog != null) {
+            return loadChangeLogContent(changeLog);
+        }
+        // Waits for the computation
+        try {
+            return startChangeLogJob(summary).getTask().get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ChangeLogComputationException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new ChangeLogComputationException(cause);
+            }
+        }
+    }
+
+    /**
+     * Starts the computation of a change log, unless the same range of builds
+     * is already being computed.
+     * <p/>
+     * A job is removed only after its change log has been stored, and the computation
+     * starts by looking for a stored change log: a job started just after another one has
+     * completed does not compute the change log again.
+     */
+    private ChangeLogJob startChangeLogJob(final ChangeLogSummary summary) {
+        final ChangeLogKey key = getChangeLogKey(summary);
+        ChangeLogJob job = changeLogJobs.get(key);
+        if (job != null) {
+            return job;
+        }
+        final AtomicInteger revisions = new AtomicInteger();
+        final AtomicInteger processed = new AtomicInteger();
+        final Callable<ChangeLogContent> computation = securityUtils.withCurrentCredentials(new Callable<ChangeLogContent>() {
+            @Override
+            public ChangeLogContent call() {
+                try (Transaction ignored = transactionService.start()) {
+                    return computeChangeLog(key, summary, revisions, processed);
+                }
+            }
+        });
+        FutureTask<ChangeLogContent> task = new FutureTask<>(new Callable<ChangeLogContent>() {
+            @Override
+            public ChangeLogContent call() throws Exception {
+                try {
+                    return computation.call();
+                } finally {
+                    changeLogJobs.remove(key);
+                }
+            }
+        });
+        ChangeLogJob newJob = new ChangeLogJob(task, revisions, processed);
+        job = changeLogJobs.putIfAbsent(key, newJob);
+        if (job == null) {
+            changeLogExecutor.execute(task);
+            job = newJob;
+        }
+        return job;
+    }
+
+    /**
+     * Computes and stores the change log between two builds.
+     * <p/>
+     * The change logs already stored from the first build are reused (for example, <code>N-1..N</code>
+     * for <code>N-1..N+1</code>) and only the remaining range of builds is computed.
+     */
+    private ChangeLogContent computeChangeLog(ChangeLogKey key, ChangeLogSummary summary, AtomicInteger revisions, AtomicInteger processed) {
+        SVNRepository repository = summary.getRepository();
+        // Stored segments, from the oldest to the newest
+        List<ChangeLogContent> segments = new ArrayList<>();
+        int from = key.getFrom();
+        while (from != key.getTo()) {
+            TChangeLog segment = changeLogDao.find(key.getBranch(), from, key.getTo(), key.getConfig());
+            if (segment == null) {
+                segment = changeLogDao.findPrefix(key.getBranch(), from, key.getTo(), key.getConfig());
+            }
+            if (segment == null) {
+                break;
+            } else {
+                logger.debug("[changelog] Reusing {}..{} for {}", segment.getBuildFrom(), segment.getBuildTo(), key);
+                segments.add(loadChangeLogContent(segment));
+                from = segment.getBuildTo();
+            }
+        }
+        // Computes the remaining range
+        boolean computed = false;
+        if (from != key.getTo()) {
+            logger.debug("[changelog] Computing {}..{} for {}", from, key.getTo(), key);
+            ChangeLogContent remainder = computeChangeLogContent(
+                    repository,
+                    getChangeLogReferences(
+                            getBuildHistory(summary, repository, from),
+                            getBuildHistory(summary, repository, key.getTo())
+                    ),
+                    revisions,
+                    processed
+            );
+            if (!segments.isEmpty()) {
+                storeChangeLogContent(key, from, key.getTo(), remainder);
+            }
+            segments.add(remainder);
+            computed = true;
+        }
+        // Whole range
+        ChangeLogContent content = mergeChangeLogContents(segments);
+        if (computed || segments.size() > 1) {
+            storeChangeLogContent(key, key.getFrom(), key.getTo(), content);
+        }
+        // OK
+        return content;
+    }
+
+    private SVNHistory getBuildHistory(ChangeLogSummary summary, SVNRepository repository, int buildId) {
+        if (summary.getBuildFrom().getBuildSummary().getId() == buildId) {
+            return summary.getBuildFrom().getHistory();
+        } else if (summary.getBuildTo().getBuildSummary().getId() == buildId) {
+            return summary.getBuildTo().getHistory();
+        } else {
+            BuildSummary build = managementService.getBuild(buildId);
+            return subversionService.getHistory(repository, getBuildPath(build.getBranch().getId(), build.getName()));
+        }
+    }
+
+    private ChangeLogContent computeChangeLogContent(SVNRepository repository, Collection<ChangeLogReference> references, AtomicInteger revisionCount, AtomicInteger processed) {
+        // Revisions
+        List<TChangeLogRevision> revisions = new ArrayList<>();
+        for (ChangeLogReference reference : references) {
+            if (!reference.isNone()) {
+                if (isIndexed(repository, reference)) {
+                    collectIndexedRevisions(repository, reference, revisions);
+                } else {
+                    collectSVNRevisions(repository, reference, revisions);
+                }
+            }
+        }
+        revisionCount.set(revisions.size());
+        // Files & issues
+        Set<TChangeLogFile> files = new LinkedHashSet<>();
+        Set<TChangeLogIssue> issues = new LinkedHashSet<>();
+        for (TChangeLogRevision revision : revisions) {
+            // Takes into account only the unmerged revisions for the files
+            if (revision.getLevel() == 0) {
+                for (SVNRevisionPath revisionPath : subversionService.getRevisionPaths(repository, revision.getRevision()).getPaths()) {
+                    files.add(new TChangeLogFile(revisionPath.getPath(), revision.getRevision(), revisionPath.getChangeType()));
+                }
+            }
+            // Issues
+            for (String issueKey : subversionService.getIssueKeysForRevision(repository, revision.getRevision())) {
+                issues.add(new TChangeLogIssue(issueKey, revision.getRevision()));
+            }
+            processed.incrementAndGet();
+        }
+        // OK
+        return new ChangeLogContent(revisions, files, issues);
+    }
+
+    /**
+     * Checks if the local index can be used instead of the SVN log for this reference
+     */
+    private boolean isIndexed(SVNRepository repository, ChangeLogReference reference) {
+        return subversionService.isTrunkOrBranch(repository, reference.getPath())
+                && repository.getIndexationStart() <= reference.getStart()
+                && subversionService.getLastIndexedRevision(repository) >= reference.getEnd();
+    }
+
+    private void collectIndexedRevisions(SVNRepository repository, ChangeLogReference reference, List<TChangeLogRevision> revisions) {
+        for (SVNRevisionInfo info : subversionService.getIndexedRevisions(repository, reference.getPath(), reference.getStart(), reference.getEnd())) {
+            revisions.add(new TChangeLogRevision(reference.getPath(), 0, info.getRevision(), info.getAuthor(), info.getDateTime(), info.getMessage()));
+            // Merged revisions, if indexed
+            for (long merged : subversionService.getIndexedMergedRevisions(repository, info.getRevision())) {
+                if (merged >= repository.getIndexationStart()) {
+                    SVNRevisionInfo mergedInfo = subversionService.getRevisionInfo(repository, merged);
+                    revisions.add(new TChangeLogRevision(mergedInfo.getPath(), 1, merged, mergedInfo.getAuthor(), mergedInfo.getDateTime(), mergedInfo.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void collectSVNRevisions(SVNRepository repository, ChangeLogReference reference, List<TChangeLogRevision> revisions) {
+        // List of log entries
+        SVNLogEntryCollector logEntryCollector = new SVNLogEntryCollector();
+        // SVN change log
+        subversionService.log(
+                repository,
+                SVNUtils.toURL(subversionService.getURL(repository, reference.getPath())),
+                SVNRevision.create(reference.getEnd()),
+                SVNRevision.create(reference.getStart()),
+                SVNRevision.create(reference.getEnd()),
+                true, // Stops on copy
+                false, // No path discovering (yet)
+                0L, // no limit
+                true, // Includes merged revisions
+                logEntryCollector
+        );
+        // Loops through all SVN log entries, taking the merged revisions into account
+        int level = 0;
+        for (SVNLogEntry svnEntry : logEntryCollector.getEntries()) {
+            long revision = svnEntry.getRevision();
+            if (SVNRevision.isValidRevisionNumber(revision)) {
+                // Adds it to the list
+                revisions.add(new TChangeLogRevision(
+                        reference.getPath(),
+                        level,
+                        revision,
+                        svnEntry.getAuthor(),
+                        new DateTime(svnEntry.getDate()),
+                        svnEntry.getMessage()
+                ));
+                // New parent?
+                if (svnEntry.hasChildren()) {
+                    level++;
+                }
+            } else {
+                level--;
+            }
+        }
+    }
+
+    /**
+     * Concatenates adjacent change logs, given from the oldest to the newest. The revision
+     * at the boundary between two change logs is kept only once.
+     */
+    static ChangeLogContent mergeChangeLogContents(List<ChangeLogContent> segments) {
+        if (segments.size() == 1) {
+            return segments.get(0);
+        }
+        List<TChangeLogRevision> revisions = new ArrayList<>();
+        Set<TChangeLogFile> files = new LinkedHashSet<>();
+        Set<TChangeLogIssue> issues = new LinkedHashSet<>();
+        Set<Long> topRevisions = new HashSet<>();
+        for (ChangeLogContent segment : Lists.reverse(segments)) {
+            boolean skipping = false;
+            Set<Long> segmentTopRevisions = new HashSet<>();
+            for (TChangeLogRevision revision : segment.getRevisions()) {
+                if (revision.getLevel() == 0) {
+                    skipping = topRevisions.contains(revision.getRevision());
+                    segmentTopRevisions.add(revision.getRevision());
+                }
+                // Merged revisions follow their parent
+                if (!skipping) {
+                    revisions.add(revision);
+                }
+            }
+            topRevisions.addAll(segmentTopRevisions);
+            files.addAll(segment.getFiles());
+            issues.addAll(segment.getIssues());
+        }
+        return new ChangeLogContent(revisions, files, issues);
+    }
+
+    private ChangeLogContent loadChangeLogContent(TChangeLog changeLog) {
+        return new ChangeLogContent(
+                changeLogDao.getRevisions(changeLog.getId()),
+                changeLogDao.getFiles(changeLog.getId()),
+                changeLogDao.getIssues(changeLog.getId())
+        );
+    }
+
+    /**
+     * Stores a change log. The same range of builds may have been stored in the meantime by
+     * another computation, with the same content, in which case the stored one is kept.
+     */
+    private void storeChangeLogContent(ChangeLogKey key, int from, int to, ChangeLogContent content) {
+        try {
+            changeLogDao.create(key.getBranch(), from, to, key.getConfig(), content.getRevisions(), content.getFiles(), content.getIssues());
+        } catch (DuplicateKeyException ex) {
+            logger.debug("[changelog] {}..{} already stored for {}", from, to, key);
+        }
+    }
+
+    /**
+     * Revision information for all the revisions of a change log, indexed by revision
+     */
+    private Map<Long, SVNRevisionInfo> getRevisionInfos(SVNRepository repository, ChangeLogContent content) {
+        Map<Long, SVNRevisionInfo> infos = new HashMap<>();
+        for (TChangeLogRevision t : content.getRevisions()) {
+            infos.put(t.getRevision(), new SVNRevisionInfo(
+                    t.getRevision(),
+                    t.getAuthor(),
+                    t.getCreation(),
+                    t.getPath(),
+                    subversionService.formatRevisionTime(t.getCreation()),
+                    t.getMessage(),
+                    subversionService.getRevisionBrowsingURL(repository, t.getRevision())
+            ));
+        }
+        return infos;
+    }
+
     private SVNBuild getBuild(SVNRepository repository, Locale locale, int buildId) {
         // Gets the build basic information
         BuildSummary build = managementService.getBuild(buildId);
@@ -767,12 +1093,38 @@ public class DefaultSVNExplorerService implements SVNExplorerService {
     }
 
     private String getBuildPath(int branchId, String buildName) {
+        // Replaces the * by the build name
+        return getBuildPathPattern(branchId).replace("*", buildName);
+    }
+
+    private String getBuildPathPattern(int branchId) {
         // Gets the SVN build path property for the branch
         String buildPathPattern = propertiesService.getPropertyValue(Entity.BRANCH, branchId, SubversionExtension.EXTENSION, SubversionExtension.SUBVERSION_BUILD_PATH);
         if (buildPathPattern == null) {
             throw new SVNExplorerNoBuildPathDefinedForBranchException();
         }
-        // Replaces the * by the build name
-        return buildPathPattern.replace("*", buildName);
+        return buildPathPattern;
+    }
+
+    @Data
+    private static class ChangeLogKey {
+        private final int branch;
+        private final int from;
+        private final int to;
+        private final String config;
+    }
+
+    @Data
+    static class ChangeLogContent {
+        private final List<TChangeLogRevision> revisions;
+        private final Collection<TChangeLogFile> files;
+        private final Collection<TChangeLogIssue> issues;
+    }
+
+    @Data
+    private static class ChangeLogJob {
+        private final FutureTask<ChangeLogContent> task;
+        private final AtomicInteger revisions;
+        private final AtomicInteger processed;
     }
 }
@@ -10,9 +10,11 @@ public interface SVNExplorerService {
 
     ChangeLogRevisions getChangeLogRevisions(ChangeLogSummary summary);
 
-    ChangeLogIssues getChangeLogIssues(ChangeLogSummary summary, ChangeLogRevisions revisions);
+    ChangeLogProgress getChangeLogProgress(ChangeLogSummary summary);
 
-    ChangeLogFiles getChangeLogFiles(ChangeLogSummary summary, ChangeLogRevisions revisions);
+    ChangeLogIssues getChangeLogIssues(ChangeLogSummary summary);
+
+    ChangeLogFiles getChangeLogFiles(ChangeLogSummary summary);
 
     ChangeLogInfo getChangeLogInfo(ChangeLogSummary summary, ChangeLogIssues issues, ChangeLogFiles files);
 
@@ -8,6 +8,8 @@ public interface SVNExplorerUI {
 
     ChangeLogSummary getChangeLogSummary(Locale locale, ChangeLogRequest request);
 
+    ChangeLogProgress getChangeLogProgress(String uuid);
+
     ChangeLogRevisions getChangeLogRevisions(String uuid);
 
     ChangeLogIssues getChangeLogIssues(String uuid);
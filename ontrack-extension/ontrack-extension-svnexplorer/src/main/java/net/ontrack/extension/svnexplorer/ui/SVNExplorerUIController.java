@@ -87,6 +87,14 @@ public class SVNExplorerUIController extends AbstractUIController implements SVN
         return summary;
     }
 
+    @Override
+    @RequestMapping(value = "/changelog/{uuid}/progress", method = RequestMethod.GET)
+    public
+    @ResponseBody
+    ChangeLogProgress getChangeLogProgress(@PathVariable String uuid) {
+        return svnExplorerService.getChangeLogProgress(getChangeLog(uuid).getSummary());
+    }
+
     @Override
     @RequestMapping(value = "/changelog/{uuid}/revisions", method = RequestMethod.GET)
     public
@@ -119,10 +127,8 @@ public class SVNExplorerUIController extends AbstractUIController implements SVN
         if (issues != null) {
             return issues;
         }
-        // Makes sure the revisions are loaded
-        ChangeLogRevisions revisions = loadChangeLogRevisions(uuid, changeLog);
         // Loads the issues
-        issues = svnExplorerService.getChangeLogIssues(changeLog.getSummary(), revisions);
+        issues = svnExplorerService.getChangeLogIssues(changeLog.getSummary());
         // Stores in cache
         changeLog.setIssues(issues);
         // OK
@@ -141,25 +147,14 @@ public class SVNExplorerUIController extends AbstractUIController implements SVN
         if (files != null) {
             return files;
         }
-        // Makes sure the revisions are loaded
-        ChangeLogRevisions revisions = loadChangeLogRevisions(uuid, changeLog);
         // Loads the files
-        files = svnExplorerService.getChangeLogFiles(changeLog.getSummary(), revisions);
+        files = svnExplorerService.getChangeLogFiles(changeLog.getSummary());
         // Stores in cache
         changeLog.setFiles(files);
         // OK
         return files;
     }
 
-    private ChangeLogRevisions loadChangeLogRevisions(String uuid, ChangeLog changeLog) {
-        // Makes sure the revisions are loaded
-        ChangeLogRevisions revisions = changeLog.getRevisions();
-        if (revisions == null) {
-            revisions = getChangeLogRevisions(uuid);
-        }
-        return revisions;
-    }
-
     @Override
     @RequestMapping(value = "/changelog/{uuid}/info", method = RequestMethod.GET)
     public
@@ -0,0 +1,65 @@
+-- Schema for the SVN explorer
+
+-- DB versioning
+
+CREATE TABLE EXT_SVNEXPLORER_VERSION (
+  VALUE   INTEGER   NOT NULL,
+  UPDATED TIMESTAMP NOT NULL
+);
+
+-- Change logs computed between two builds of a branch
+
+CREATE TABLE EXT_SVNEXPLORER_CHANGELOG (
+  ID         INTEGER   NOT NULL AUTO_INCREMENT,
+  BRANCH     INTEGER   NOT NULL,
+  BUILD_FROM INTEGER   NOT NULL,
+  BUILD_TO   INTEGER   NOT NULL,
+  CREATION   TIMESTAMP NOT NULL,
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_PK PRIMARY KEY (ID),
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_UQ UNIQUE (BRANCH, BUILD_FROM, BUILD_TO),
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_FK_BRANCH FOREIGN KEY (BRANCH) REFERENCES BRANCH (ID)
+    ON DELETE CASCADE,
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_FK_FROM FOREIGN KEY (BUILD_FROM) REFERENCES BUILD (ID)
+    ON DELETE CASCADE,
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_FK_TO FOREIGN KEY (BUILD_TO) REFERENCES BUILD (ID)
+    ON DELETE CASCADE
+);
+
+-- Revisions of a change log, in display order
+
+CREATE TABLE EXT_SVNEXPLORER_CHANGELOG_REVISION (
+  CHANGELOG INTEGER      NOT NULL,
+  ORDERNB   INTEGER      NOT NULL,
+  PATH      VARCHAR(255) NOT NULL,
+  LEVEL     INTEGER      NOT NULL,
+  REVISION  INTEGER      NOT NULL,
+  AUTHOR    VARCHAR(40)  NOT NULL,
+  CREATION  TIMESTAMP    NOT NULL,
+  MESSAGE   VARCHAR(500) NOT NULL,
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_REVISION_PK PRIMARY KEY (CHANGELOG, ORDERNB),
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_REVISION_FK FOREIGN KEY (CHANGELOG) REFERENCES EXT_SVNEXPLORER_CHANGELOG (ID)
+    ON DELETE CASCADE
+);
+
+-- Changed files of a change log
+
+CREATE TABLE EXT_SVNEXPLORER_CHANGELOG_FILE (
+  CHANGELOG   INTEGER      NOT NULL,
+  PATH        VARCHAR(255) NOT NULL,
+  REVISION    INTEGER      NOT NULL,
+  CHANGE_TYPE VARCHAR(20)  NOT NULL,
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_FILE_PK PRIMARY KEY (CHANGELOG, PATH, REVISION),
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_FILE_FK FOREIGN KEY (CHANGELOG) REFERENCES EXT_SVNEXPLORER_CHANGELOG (ID)
+    ON DELETE CASCADE
+);
+
+-- Issues of a change log
+
+CREATE TABLE EXT_SVNEXPLORER_CHANGELOG_ISSUE (
+  CHANGELOG INTEGER     NOT NULL,
+  ISSUE     VARCHAR(20) NOT NULL,
+  REVISION  INTEGER     NOT NULL,
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_ISSUE_PK PRIMARY KEY (CHANGELOG, ISSUE, REVISION),
+  CONSTRAINT EXT_SVNEXPLORER_CHANGELOG_ISSUE_FK FOREIGN KEY (CHANGELOG) REFERENCES EXT_SVNEXPLORER_CHANGELOG (ID)
+    ON DELETE CASCADE
+);
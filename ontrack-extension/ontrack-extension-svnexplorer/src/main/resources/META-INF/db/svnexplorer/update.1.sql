@@ -0,0 +1,6 @@
+-- Signature of the configuration a change log has been computed with
+DELETE FROM EXT_SVNEXPLORER_CHANGELOG;
+ALTER TABLE EXT_SVNEXPLORER_CHANGELOG ADD COLUMN CONFIG VARCHAR(40) NOT NULL;
+
+-- @rollback
+ALTER TABLE EXT_SVNEXPLORER_CHANGELOG DROP COLUMN CONFIG;
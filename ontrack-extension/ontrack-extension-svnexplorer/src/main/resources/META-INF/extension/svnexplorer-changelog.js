@@ -203,9 +203,37 @@ define(['jquery', 'ajax', 'render', 'common'], function ($, ajax, render, common
                 successFn: displayRevisions,
                 errorFn: changelogErrorFn()
             });
+            // Progress of the computation
+            window.setTimeout(function () {
+                checkProgress(uuid);
+            }, 1000);
         }
     }
 
+    function checkProgress(uuid) {
+        ajax.get({
+            url: 'ui/extension/svnexplorer/changelog/{0}/progress'.format(uuid),
+            successFn: function (progress) {
+                // Still computing and not displayed yet
+                if (!progress.finished && revisions == null) {
+                    if (progress.revisions > 0) {
+                        var el = $('#revisions-progress');
+                        if (el.length == 0) {
+                            el = $('<div></div>').attr('id', 'revisions-progress').addClass('muted').appendTo($('#revisions'));
+                        }
+                        el.text('svnexplorer.changelog.progress'.loc(progress.processed, progress.revisions));
+                    }
+                    window.setTimeout(function () {
+                        checkProgress(uuid);
+                    }, 1000);
+                }
+            },
+            errorFn: function () {
+                // Progress is only informative
+            }
+        });
+    }
+
     function loadIssues() {
         location.hash = "issues";
         if (changeLogIssues == null) {
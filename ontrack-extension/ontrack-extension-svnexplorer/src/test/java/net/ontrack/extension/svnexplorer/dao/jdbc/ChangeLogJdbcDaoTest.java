@@ -0,0 +1,155 @@
+package net.ontrack.extension.svnexplorer.dao.jdbc;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLog;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogFile;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogIssue;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogRevision;
+import org.h2.jdbcx.JdbcDataSource;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class ChangeLogJdbcDaoTest {
+
+    private JdbcTemplate jdbc;
+    private ChangeLogJdbcDao dao;
+
+    @Before
+    public void before() throws IOException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+        // Minimal core schema
+        jdbc.execute("CREATE TABLE BRANCH (ID INTEGER NOT NULL PRIMARY KEY)");
+        jdbc.execute("CREATE TABLE BUILD (ID INTEGER NOT NULL PRIMARY KEY)");
+        jdbc.execute("INSERT INTO BRANCH (ID) VALUES (1)");
+        for (int build = 1; build <= 4; build++) {
+            jdbc.execute("INSERT INTO BUILD (ID) VALUES (" + build + ")");
+        }
+        // Extension schema
+        runScript("init.sql");
+        runScript("update.1.sql");
+        dao = new ChangeLogJdbcDao(dataSource);
+    }
+
+    @After
+    public void after() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    private void runScript(String name) throws IOException {
+        String script = Resources.toString(Resources.getResource("META-INF/db/svnexplorer/" + name), Charsets.UTF_8);
+        int rollback = script.indexOf("-- @rollback");
+        if (rollback >= 0) {
+            script = script.substring(0, rollback);
+        }
+        for (String statement : script.replaceAll("(?m)^--.*$", "").split(";")) {
+            if (!statement.trim().isEmpty()) {
+                jdbc.execute(statement);
+            }
+        }
+    }
+
+    @Test
+    public void create_and_find() {
+        int id = dao.create(1, 1, 3, "c1", revisions(30, 20), files(30), issues(20));
+        TChangeLog changeLog = dao.find(1, 1, 3, "c1");
+        assertNotNull(changeLog);
+        assertEquals(id, changeLog.getId());
+        assertEquals("c1", changeLog.getConfig());
+        assertEquals(Arrays.asList(30L, 20L), revisionNumbers(dao.getRevisions(id)));
+        assertEquals(files(30), dao.getFiles(id));
+        assertEquals(issues(20), dao.getIssues(id));
+    }
+
+    @Test
+    public void find_other_config() {
+        dao.create(1, 1, 3, "c1", revisions(30), files(), issues());
+        assertNull(dao.find(1, 1, 3, "c2"));
+        assertNull(dao.findPrefix(1, 1, 4, "c2"));
+    }
+
+    @Test
+    public void find_prefix_longest() {
+        dao.create(1, 1, 2, "c1", revisions(20), files(), issues());
+        dao.create(1, 1, 3, "c1", revisions(30, 20), files(), issues());
+        TChangeLog prefix = dao.findPrefix(1, 1, 4, "c1");
+        assertNotNull(prefix);
+        assertEquals(3, prefix.getBuildTo());
+        // The exact range is not a prefix
+        assertEquals(2, dao.findPrefix(1, 1, 3, "c1").getBuildTo());
+    }
+
+    @Test
+    public void create_replaces_same_range() {
+        int first = dao.create(1, 1, 3, "c1", revisions(30), files(30), issues(30));
+        int second = dao.create(1, 1, 3, "c1", revisions(31), files(), issues());
+        assertTrue(first != second);
+        assertEquals(second, dao.find(1, 1, 3, "c1").getId());
+        assertEquals(Arrays.asList(31L), revisionNumbers(dao.getRevisions(second)));
+        assertTrue(dao.getRevisions(first).isEmpty());
+        assertTrue(dao.getFiles(first).isEmpty());
+    }
+
+    @Test
+    public void create_evicts_other_config() {
+        dao.create(1, 1, 2, "c1", revisions(20), files(), issues());
+        dao.create(1, 2, 3, "c1", revisions(30), files(), issues());
+        dao.create(1, 1, 3, "c2", revisions(30, 20), files(), issues());
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM EXT_SVNEXPLORER_CHANGELOG", Integer.class).intValue());
+        assertNull(dao.find(1, 1, 2, "c1"));
+        assertNotNull(dao.find(1, 1, 3, "c2"));
+    }
+
+    private static List<Long> revisionNumbers(List<TChangeLogRevision> revisions) {
+        Long[] numbers = new Long[revisions.size()];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = revisions.get(i).getRevision();
+        }
+        return Arrays.asList(numbers);
+    }
+
+    private static List<TChangeLogRevision> revisions(long... numbers) {
+        TChangeLogRevision[] revisions = new TChangeLogRevision[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            revisions[i] = new TChangeLogRevision("/trunk", 0, numbers[i], "user", new DateTime(2014, 1, 1, 0, 0, DateTimeZone.UTC), "Message " + numbers[i]);
+        }
+        return Arrays.asList(revisions);
+    }
+
+    private static List<TChangeLogFile> files(long... numbers) {
+        if (numbers.length == 0) {
+            return Collections.emptyList();
+        }
+        TChangeLogFile[] files = new TChangeLogFile[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            files[i] = new TChangeLogFile("/trunk/file" + numbers[i], numbers[i], "MODIFIED");
+        }
+        return Arrays.asList(files);
+    }
+
+    private static List<TChangeLogIssue> issues(long... numbers) {
+        if (numbers.length == 0) {
+            return Collections.emptyList();
+        }
+        TChangeLogIssue[] issues = new TChangeLogIssue[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            issues[i] = new TChangeLogIssue("ISSUE-" + numbers[i], numbers[i]);
+        }
+        return Arrays.asList(issues);
+    }
+
+}
@@ -145,6 +145,8 @@ public class DefaultSVNExplorerServiceGetChangeLogReferencesTest {
                 0,
                 1,
                 null,
+                null,
+                null,
                 null
         );
     }
@@ -161,6 +163,8 @@ public class DefaultSVNExplorerServiceGetChangeLogReferencesTest {
                 null,
                 null,
                 null,
+                null,
+                null,
                 null
         );
     }
@@ -0,0 +1,74 @@
+package net.ontrack.extension.svnexplorer.service;
+
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogFile;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogIssue;
+import net.ontrack.extension.svnexplorer.dao.model.TChangeLogRevision;
+import net.ontrack.extension.svnexplorer.service.DefaultSVNExplorerService.ChangeLogContent;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class DefaultSVNExplorerServiceMergeTest {
+
+    private final DateTime creation = new DateTime(2014, 1, 1, 0, 0);
+
+    @Test
+    public void single() {
+        ChangeLogContent content = new ChangeLogContent(
+                Arrays.asList(revision(0, 110)),
+                Arrays.<TChangeLogFile>asList(),
+                Arrays.<TChangeLogIssue>asList()
+        );
+        assertSame(content, DefaultSVNExplorerService.mergeChangeLogContents(Arrays.asList(content)));
+    }
+
+    @Test
+    public void boundary_revision_kept_once() {
+        ChangeLogContent older = new ChangeLogContent(
+                Arrays.asList(revision(0, 105), revision(0, 104), revision(1, 50), revision(0, 100)),
+                Arrays.asList(file(104), file(100)),
+                Arrays.asList(issue("ISSUE-1", 104), issue("ISSUE-2", 100))
+        );
+        ChangeLogContent newer = new ChangeLogContent(
+                Arrays.asList(revision(0, 110), revision(0, 105), revision(0, 104), revision(1, 50)),
+                Arrays.asList(file(110), file(104)),
+                Arrays.asList(issue("ISSUE-3", 110), issue("ISSUE-1", 104))
+        );
+        ChangeLogContent merged = DefaultSVNExplorerService.mergeChangeLogContents(Arrays.asList(older, newer));
+        // Revisions from the newest to the oldest, merged revisions following their parent
+        assertEquals(
+                Arrays.asList("0:110", "0:105", "0:104", "1:50", "0:100"),
+                revisions(merged.getRevisions())
+        );
+        // Union of files and issues
+        assertEquals(Arrays.asList(file(110), file(104), file(100)), new ArrayList<>(merged.getFiles()));
+        assertEquals(Arrays.asList(issue("ISSUE-3", 110), issue("ISSUE-1", 104), issue("ISSUE-2", 100)), new ArrayList<>(merged.getIssues()));
+    }
+
+    private List<String> revisions(List<TChangeLogRevision> revisions) {
+        List<String> list = new ArrayList<>();
+        for (TChangeLogRevision revision : revisions) {
+            list.add(revision.getLevel() + ":" + revision.getRevision());
+        }
+        return list;
+    }
+
+    private TChangeLogRevision revision(int level, long revision) {
+        return new TChangeLogRevision("/trunk", level, revision, "user", creation, "Revision " + revision);
+    }
+
+    private TChangeLogFile file(long revision) {
+        return new TChangeLogFile("/trunk/file" + revision, revision, "MODIFIED");
+    }
+
+    private TChangeLogIssue issue(String key, long revision) {
+        return new TChangeLogIssue(key, revision);
+    }
+
+}
@@ -0,0 +1,175 @@
+package org.jenkinsci.plugins.ontrack;
+
+import com.google.common.base.Function;
+import net.ontrack.client.ManageUIClient;
+import net.ontrack.client.support.ClientFactory;
+import net.ontrack.core.model.Entity;
+import net.ontrack.core.model.EntityStub;
+import net.ontrack.core.model.EventFeed;
+import net.ontrack.core.model.ExpandedEvent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Follows the events of ontrack on one long polling connection, shared by all the
+ * polling triggers.
+ * <p/>
+ * The triggers ask the feed whether something happened on their branch since
+ * their last check, and call ontrack only in this case. When the feed is not
+ * connected, the triggers poll ontrack as before.
+ */
+public final class OntrackChangeFeed implements Runnable {
+
+    private static final Logger logger = Logger.getLogger(OntrackChangeFeed.class.getName());
+
+    /**
+     * Waiting time of a feed request on the server (seconds)
+     */
+    private static final int WAIT = 30;
+
+    /**
+     * Delay before reconnecting after an error (milliseconds)
+     */
+    private static final long RETRY = 60 * 1000L;
+
+    private static OntrackChangeFeed instance;
+
+    /**
+     * Gets the shared feed, starting it if needed.
+     */
+    public static synchronized OntrackChangeFeed get() {
+        if (instance == null) {
+            instance = new OntrackChangeFeed();
+            Thread thread = new Thread(instance, "ontrack-change-feed");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return instance;
+    }
+
+    /**
+     * ID of the last event received for each branch
+     */
+    private final ConcurrentMap<String, Integer> branchEvents = new ConcurrentHashMap<String, Integer>();
+    /**
+     * ID of the last event when the current connection started. The events before
+     * it may have been missed while disconnected.
+     */
+    private volatile int start = -1;
+    /**
+     * ID of the last event received, negative if not connected
+     */
+    private volatile int last = -1;
+
+    OntrackChangeFeed() {
+    }
+
+    /**
+     * Gets a mark to use with {@link #isUnchanged(String, String, int)} at the next check.
+     *
+     * @return Mark, negative if the feed is not connected
+     */
+    public int getMark() {
+        return last;
+    }
+
+    /**
+     * Checks if nothing has happened on a branch since a given mark
+     *
+     * @param mark Mark returned by {@link #getMark()} at the previous check
+     * @return <code>true</code> if the feed is connected, has been connected since the mark,
+     *         and has received no event for this branch since the mark, <code>false</code>
+     *         if ontrack must be polled
+     */
+    public boolean isUnchanged(String project, String branch, int mark) {
+        int current = last;
+        if (mark < 0 || current < 0 || mark < start || current < mark) {
+            return false;
+        } else {
+            Integer branchEvent = branchEvents.get(getBranchKey(project, branch));
+            return branchEvent == null || branchEvent <= mark;
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            String url = null;
+            ManageUIClient client = null;
+            try {
+                // Connection
+                client = OntrackClient.login(new Function<String, ManageUIClient>() {
+                    @Override
+                    public ManageUIClient apply(String url) {
+                        return ClientFactory.create(url).manage();
+                    }
+                });
+                url = OntrackClient.getUrl();
+                logger.info(String.format("[ontrack] Following the events of %s", url));
+                // Starting point
+                int after = client.getEventFeed(-1, null, null, null, null, 0).getLast();
+                connected(after);
+                // Until the configuration changes
+                while (url.equals(OntrackClient.getUrl())) {
+                    after = received(client.getEventFeed(after, null, null, null, null, WAIT));
+                }
+            } catch (Exception ex) {
+                // Falls back to polling
+                disconnected();
+                logger.log(Level.WARNING, String.format("[ontrack] Cannot follow the events of %s, retrying in %d s", url, RETRY / 1000), ex);
+                try {
+                    Thread.sleep(RETRY);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            } finally {
+                disconnected();
+                if (client != null) {
+                    try {
+                        client.logout();
+                    } catch (Exception ignored) {
+                        // Best effort
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts following the events after the given one
+     */
+    void connected(int after) {
+        branchEvents.clear();
+        start = after;
+        last = after;
+    }
+
+    /**
+     * Records the events of a feed
+     *
+     * @return ID of the last event
+     */
+    int received(EventFeed feed) {
+        for (ExpandedEvent event : feed.getEvents()) {
+            EntityStub project = event.getEntities().get(Entity.PROJECT);
+            EntityStub branch = event.getEntities().get(Entity.BRANCH);
+            if (project != null && branch != null) {
+                branchEvents.put(getBranchKey(project.getName(), branch.getName()), event.getId());
+            }
+        }
+        last = feed.getLast();
+        return last;
+    }
+
+    void disconnected() {
+        last = -1;
+    }
+
+    private static String getBranchKey(String project, String branch) {
+        return project + "/" + branch;
+    }
+
+}
@@ -71,8 +71,22 @@ public final class OntrackClient {
     public static <C extends Client, T> T call(
             Function<String, C> clientFactory,
             Function<C, T> callFn) {
+        // Creates the client
+        C client = login(clientFactory);
+        try {
+            // Performs the control
+            return callFn.apply(client);
+        } finally {
+            client.logout();
+        }
+    }
+
+    /**
+     * Creates a client for the configured ontrack and logs in
+     */
+    public static <C extends Client> C login(Function<String, C> clientFactory) {
         // Gets the configuration
-        OntrackConfiguration configuration = (OntrackConfiguration) Jenkins.getInstance().getDescriptor(OntrackConfiguration.class);
+        OntrackConfiguration configuration = getConfiguration();
         // Gets the configuration data
         String url = configuration.getOntrackUrl();
         String user = configuration.getOntrackUser();
@@ -91,12 +105,19 @@ public final class OntrackClient {
         C client = clientFactory.apply(url);
         // Login
         client.login(user, password);
-        try {
-            // Performs the control
-            return callFn.apply(client);
-        } finally {
-            client.logout();
-        }
+        // OK
+        return client;
+    }
+
+    /**
+     * Configured URL of ontrack
+     */
+    public static String getUrl() {
+        return getConfiguration().getOntrackUrl();
+    }
+
+    private static OntrackConfiguration getConfiguration() {
+        return (OntrackConfiguration) Jenkins.getInstance().getDescriptor(OntrackConfiguration.class);
     }
 
 }
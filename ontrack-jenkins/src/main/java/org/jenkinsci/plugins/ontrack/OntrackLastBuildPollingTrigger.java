@@ -24,6 +24,10 @@ import java.io.IOException;
 public class OntrackLastBuildPollingTrigger extends AbstractTrigger {
 	private final String project;
 	private final String branch;
+	/**
+	 * Mark of the change feed at the last polling of ontrack
+	 */
+	private transient Integer changeFeedMark;
 
 	@DataBoundConstructor
 	public OntrackLastBuildPollingTrigger(String cronTabSpec, String triggerLabel, String project, String branch) throws ANTLRException {
@@ -59,11 +63,20 @@ public class OntrackLastBuildPollingTrigger extends AbstractTrigger {
         String actualProject = resolveEnvVars(project, (AbstractProject) job, node);
         String actualBranch = resolveEnvVars(branch, (AbstractProject) job, node);
 
+		// Skips the polling if nothing has been notified on the branch since the last polling
+		OntrackChangeFeed changeFeed = OntrackChangeFeed.get();
+		int mark = changeFeed.getMark();
+		if (changeFeedMark != null && changeFeed.isUnchanged(actualProject, actualBranch, changeFeedMark)) {
+			xTriggerLog.info(String.format("No change notified for branch '%s' and project '%s'", actualBranch, actualProject));
+			return false;
+		}
+
 		FilePath lastBuildNrFile = new FilePath(node.getRootPath(), String.format("%s-lastbuild-lastBuildNr", job.getName()));
 		String lastBuildNr = loadLastBuildNr(xTriggerLog, lastBuildNrFile);
 
 		// Gets the last build
         OptionalBuildSummary optionLastBuild = getBuildSummary(actualBranch, actualProject);
+		changeFeedMark = mark >= 0 ? mark : null;
 
 		// Found
 		if (optionLastBuild.getBuild() != null) {
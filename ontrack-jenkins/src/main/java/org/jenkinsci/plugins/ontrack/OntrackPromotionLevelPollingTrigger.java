@@ -21,6 +21,10 @@ public class OntrackPromotionLevelPollingTrigger extends AbstractTrigger {
 	private final String project;
 	private final String branch;
 	private final String promotionLevel;
+	/**
+	 * Mark of the change feed at the last polling of ontrack
+	 */
+	private transient Integer changeFeedMark;
 
 	@DataBoundConstructor
 	public OntrackPromotionLevelPollingTrigger(String cronTabSpec, String triggerLabel, String project, String branch,
@@ -59,11 +63,20 @@ public class OntrackPromotionLevelPollingTrigger extends AbstractTrigger {
         String actualBranch = resolveEnvVars(branch, (AbstractProject) job, node);
         String actualPromotionLevel = resolveEnvVars(promotionLevel, (AbstractProject) job, node);
 
+		// Skips the polling if nothing has been notified on the branch since the last polling
+		OntrackChangeFeed changeFeed = OntrackChangeFeed.get();
+		int mark = changeFeed.getMark();
+		if (changeFeedMark != null && changeFeed.isUnchanged(actualProject, actualBranch, changeFeedMark)) {
+			xTriggerLog.info(String.format("No change notified for branch '%s' and project '%s'", actualBranch, actualProject));
+			return false;
+		}
+
 		FilePath lastBuildNrFile = new FilePath(node.getRootPath(), String.format("%s-promotionlevel-lastBuildNr", job.getName()));
 		String lastBuildNr = loadLastBuildNr(xTriggerLog, lastBuildNrFile);
 
 		// Gets the last build
 		BuildSummary lastBuild = getBuildSummary(actualProject, actualBranch, actualPromotionLevel);
+		changeFeedMark = mark >= 0 ? mark : null;
 
 		// Found
 		if (lastBuild != null) {
@@ -0,0 +1,89 @@
+package org.jenkinsci.plugins.ontrack;
+
+import net.ontrack.core.model.*;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OntrackChangeFeedTest {
+
+    @Test
+    public void not_connected() {
+        OntrackChangeFeed feed = new OntrackChangeFeed();
+        assertTrue(feed.getMark() < 0);
+        assertFalse(feed.isUnchanged("P", "B", feed.getMark()));
+    }
+
+    @Test
+    public void no_event() {
+        OntrackChangeFeed feed = new OntrackChangeFeed();
+        feed.connected(10);
+        int mark = feed.getMark();
+        feed.received(new EventFeed(10, Collections.<ExpandedEvent>emptyList()));
+        assertTrue(feed.isUnchanged("P", "B", mark));
+    }
+
+    @Test
+    public void event_on_branch() {
+        OntrackChangeFeed feed = new OntrackChangeFeed();
+        feed.connected(10);
+        int mark = feed.getMark();
+        feed.received(new EventFeed(12, Arrays.asList(event(11, "P", "B"), event(12, "P", "Other"))));
+        assertFalse(feed.isUnchanged("P", "B", mark));
+        assertFalse(feed.isUnchanged("P", "Other", mark));
+        assertTrue(feed.isUnchanged("P", "Another", mark));
+        // Next check
+        assertTrue(feed.isUnchanged("P", "B", feed.getMark()));
+    }
+
+    @Test
+    public void disconnected() {
+        OntrackChangeFeed feed = new OntrackChangeFeed();
+        feed.connected(10);
+        int mark = feed.getMark();
+        feed.disconnected();
+        assertFalse(feed.isUnchanged("P", "B", mark));
+    }
+
+    @Test
+    public void reconnected_after_missed_events() {
+        OntrackChangeFeed feed = new OntrackChangeFeed();
+        feed.connected(10);
+        int mark = feed.getMark();
+        feed.disconnected();
+        // Events 11 to 20 created while disconnected
+        feed.connected(20);
+        assertFalse(feed.isUnchanged("P", "B", mark));
+        // Marks taken on the new connection
+        int newMark = feed.getMark();
+        assertTrue(feed.isUnchanged("P", "B", newMark));
+        feed.received(new EventFeed(21, Arrays.asList(event(21, "P", "B"))));
+        assertFalse(feed.isUnchanged("P", "B", newMark));
+        assertTrue(feed.isUnchanged("P", "B", feed.getMark()));
+    }
+
+    @Test
+    public void reconnected_without_missed_events() {
+        OntrackChangeFeed feed = new OntrackChangeFeed();
+        feed.connected(10);
+        int mark = feed.getMark();
+        feed.disconnected();
+        feed.connected(10);
+        assertTrue(feed.isUnchanged("P", "B", mark));
+    }
+
+    private ExpandedEvent event(int id, String project, String branch) {
+        Map<Entity, EntityStub> entities = new HashMap<Entity, EntityStub>();
+        entities.put(Entity.PROJECT, new EntityStub(Entity.PROJECT, 1, project));
+        entities.put(Entity.BRANCH, new EntityStub(Entity.BRANCH, branch.hashCode(), branch));
+        return new ExpandedEvent(id, "user", EventType.BUILD_CREATED, new DateTime(), entities, new HashMap<String, String>());
+    }
+
+}
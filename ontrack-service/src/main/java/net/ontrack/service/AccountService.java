@@ -13,6 +13,15 @@ public interface AccountService {
 
     Account authenticate(String user, String password);
 
+    /**
+     * Authenticates an account using one of its API tokens
+     *
+     * @param user  Name of the account
+     * @param token Value of the token
+     * @return Authenticated account, or <code>null</code> if the token is not valid for this account
+     */
+    Account authenticateToken(String user, String token);
+
     String getRole(String mode, String user);
 
     Account getAccount(String mode, String user);
@@ -50,4 +59,15 @@ public interface AccountService {
     Ack unsetGlobalACL(int account, GlobalFunction fn);
 
     List<GlobalACLSummary> getGlobalACL();
+
+    List<AccountToken> getTokens(int accountId);
+
+    /**
+     * Creates an API token for an account
+     *
+     * @return Value of the token, which cannot be obtained again afterwards
+     */
+    String createToken(int accountId, String name);
+
+    Ack revokeToken(int accountId, int tokenId);
 }
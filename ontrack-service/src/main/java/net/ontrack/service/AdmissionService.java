@@ -0,0 +1,31 @@
+package net.ontrack.service;
+
+import net.ontrack.service.model.ClientUsage;
+import net.ontrack.service.model.RequestClass;
+import net.ontrack.service.support.Admission;
+
+import java.util.List;
+
+/**
+ * Limits the rate of the requests per client and per class of requests, so that a single
+ * client cannot saturate the application, and keeps the interactive requests admitted when
+ * the API is under load.
+ */
+public interface AdmissionService {
+
+    /**
+     * Decides if a request can be processed now
+     *
+     * @param client       Name of the account, or address of an anonymous client
+     * @param requestClass Class of the request
+     * @return Decision, to be released once the request is completed
+     */
+    Admission admit(String client, RequestClass requestClass);
+
+    /**
+     * Gets the usage of the recent clients, the most active first.
+     * Only the administrators can get it.
+     */
+    List<ClientUsage> getUsage();
+
+}
@@ -2,6 +2,8 @@ package net.ontrack.service;
 
 import net.ontrack.core.model.*;
 
+import java.util.Locale;
+
 public interface ControlService {
 
 	BuildSummary createBuild(int branch, BuildCreationForm form);
@@ -9,4 +11,12 @@ public interface ControlService {
 	ValidationRunSummary createValidationRun(int build, int validationStamp, ValidationRunCreationForm validationRun);
 
     PromotedRunSummary createPromotedRun(int buildId, int promotionLevel, PromotedRunCreationForm promotedRun);
+
+    /**
+     * Applies a whole report for a build in one transaction, creating the build if needed.
+     *
+     * @param branch ID of the branch
+     * @param build  Name of the build
+     */
+    BuildReportResult createBuildReport(Locale locale, int branch, String build, BuildReportForm form);
 }
@@ -0,0 +1,19 @@
+package net.ontrack.service;
+
+import net.ontrack.core.model.EventFeed;
+
+/**
+ * Notified when new events are available for a feed.
+ *
+ * @see EventService#waitForEventFeed(int, java.util.Map, int, EventFeedCallback)
+ */
+public interface EventFeedCallback {
+
+    /**
+     * Returns <code>true</code> if the caller is no longer waiting for the events.
+     */
+    boolean isExpired();
+
+    void onEventFeed(EventFeed feed);
+
+}
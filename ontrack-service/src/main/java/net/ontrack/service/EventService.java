@@ -2,6 +2,7 @@ package net.ontrack.service;
 
 import net.ontrack.core.model.*;
 import net.ontrack.service.model.Event;
+import org.joda.time.DateTime;
 
 import java.util.List;
 import java.util.Locale;
@@ -13,6 +14,50 @@ public interface EventService extends Runnable {
 
     List<ExpandedEvent> list(EventFilter filter);
 
+    /**
+     * Gets the events created after a given one.
+     *
+     * @param after    ID of the last known event. If negative, no event is returned, only the
+     *                 ID of the last event.
+     * @param entities Filter on the entities
+     * @param count    Maximum number of events to return
+     */
+    EventFeed getEventFeed(int after, Map<Entity, Integer> entities, int count);
+
+    /**
+     * Registers a callback which is called once, as soon as events are created after
+     * the given one, until the callback expires.
+     *
+     * @see #getEventFeed(int, java.util.Map, int)
+     */
+    void waitForEventFeed(int after, Map<Entity, Integer> entities, int count, EventFeedCallback callback);
+
+    /**
+     * Version of an entity, used as entity tag by the resources. It is the ID of the last event
+     * which has changed the entity or the name of one of its context entities.
+     *
+     * @return <code>0</code> if no event is known for this entity
+     */
+    int getEntityVersion(Entity entity, int id);
+
+    /**
+     * Version of the list of the entities of a given type.
+     *
+     * @param parents Filter on the parents of the entities
+     * @return <code>0</code> if no event is known for these entities
+     * @see #getEntityVersion(net.ontrack.core.model.Entity, int)
+     */
+    int getEntityListVersion(Entity entity, Map<Entity, Integer> parents);
+
+    /**
+     * Creation time of an event, used as last modification date by the resources.
+     *
+     * @param id ID of the event, like a version of an entity
+     * @return <code>null</code> if the event is not known
+     * @see #getEntityVersion(net.ontrack.core.model.Entity, int)
+     */
+    DateTime getEventTimestamp(int id);
+
     DatedSignature getDatedSignature(Locale locale, EventType eventType, Map<Entity, Integer> entities);
 
     Ack subscribe(EventFilter filter);
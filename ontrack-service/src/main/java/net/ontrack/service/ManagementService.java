@@ -60,6 +60,8 @@ public interface ManagementService {
 
     byte[] imageValidationStamp(int validationStampId);
 
+    ImageContent getValidationStampImage(int validationStampId);
+
     Ack linkValidationStampToPromotionLevel(int validationStampId, int promotionLevelId);
 
     Ack unlinkValidationStampToPromotionLevel(int validationStampId);
@@ -96,6 +98,8 @@ public interface ManagementService {
 
     byte[] imagePromotionLevel(int promotionLevelId);
 
+    ImageContent getPromotionLevelImage(int promotionLevelId);
+
     Ack upPromotionLevel(int promotionLevelId);
 
     Ack downPromotionLevel(int promotionLevelId);
@@ -118,6 +122,8 @@ public interface ManagementService {
 
     BranchBuilds queryBuilds(Locale locale, int branch, BuildFilter filter);
 
+    BranchBuild getBranchBuild(Locale locale, int buildId);
+
     BuildSummary findLastBuildWithValidationStamp(int validationStampId, Set<Status> statuses);
 
     BuildSummary findLastBuildWithPromotionLevel(int promotionLevelId);
@@ -131,8 +137,8 @@ public interface ManagementService {
     BuildSummary updateBuild(int buildId, BranchUpdateForm form);
 
     /**
-     * Finds a build on this branch whose name is the closest. It assumes that build names
-     * are in a numeric format.
+     * Finds a build on this branch whose name is the closest. The build names are compared
+     * in a natural order, their numeric parts being compared by value.
      */
     Integer findBuildAfterUsingNumericForm(int branchId, String buildName);
 
@@ -0,0 +1,16 @@
+package net.ontrack.service;
+
+import net.ontrack.service.model.MetricSample;
+
+import java.util.Collection;
+
+/**
+ * Contributes to the metrics exposed by the {@link MetricsService}. The metrics are
+ * collected each time they are read, so the providers must only return values which
+ * are cheap to compute.
+ */
+public interface MetricsProvider {
+
+    Collection<MetricSample> getMetrics();
+
+}
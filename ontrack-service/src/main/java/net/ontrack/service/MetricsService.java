@@ -0,0 +1,35 @@
+package net.ontrack.service;
+
+import net.ontrack.service.model.MetricSample;
+
+import java.util.List;
+
+/**
+ * Registry of the operational metrics: background jobs, HTTP requests, remote calls, plus
+ * the metrics of all the {@link MetricsProvider}s.
+ */
+public interface MetricsService {
+
+    /**
+     * Records the execution of a background job
+     *
+     * @param job     Name of the job
+     * @param nanos   Duration of the execution
+     * @param success <code>false</code> if the job has failed
+     */
+    void jobCompleted(String job, long nanos, boolean success);
+
+    /**
+     * Records the processing of an HTTP request
+     *
+     * @param endpoint Handler of the request
+     * @param nanos    Duration of the processing
+     */
+    void requestCompleted(String endpoint, long nanos);
+
+    /**
+     * Collects all the metrics. Only the administrators can get them.
+     */
+    List<MetricSample> getMetrics();
+
+}
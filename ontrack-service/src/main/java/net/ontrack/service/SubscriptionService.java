@@ -16,6 +16,11 @@ public interface SubscriptionService {
 
     boolean isSubscribed(int accountId, Set<EntityID> entities);
 
+    /**
+     * All the entities an account is subscribed to
+     */
+    Set<EntityID> getSubscribedEntities(int accountId);
+
     SubscriptionEntityInfo getSubscriptionEntityInfo(int accountId, Entity entity, int entityId);
 
     Collection<SubscriptionEntityInfo> getSubscriptions(Locale locale);
@@ -0,0 +1,23 @@
+package net.ontrack.service;
+
+import net.ontrack.service.support.Trace;
+
+import java.util.List;
+
+/**
+ * Keeps the slowest recent traces and exports the traces to a collector, if configured.
+ */
+public interface TraceService {
+
+    /**
+     * Records a completed trace
+     */
+    void record(Trace trace);
+
+    /**
+     * Gets the recent traces which took longer than the threshold, the slowest first.
+     * Only the administrators can get them.
+     */
+    List<Trace> getSlowTraces();
+
+}
@@ -0,0 +1,26 @@
+package net.ontrack.service.model;
+
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Number of requests admitted and rejected for a client and a class of requests.
+ */
+@Data
+public class ClientUsage {
+
+    /**
+     * Name of the account, or address of an anonymous client
+     */
+    private final String client;
+    private final RequestClass requestClass;
+    private final long admitted;
+    private final long rejected;
+    private final Date lastRequest;
+    /**
+     * Time of the last rejection, <code>null</code> if none
+     */
+    private final Date lastRejection;
+
+}
@@ -0,0 +1,52 @@
+package net.ontrack.service.model;
+
+import lombok.Data;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One value of a metric, identified by its name and its labels.
+ * <p/>
+ * The samples of a histogram share the same {@link #family} but have their own
+ * name: <code>family_bucket</code>, <code>family_sum</code> and <code>family_count</code>.
+ */
+@Data
+public class MetricSample {
+
+    private final String family;
+    private final MetricType type;
+    private final String help;
+    private final String name;
+    private final Map<String, String> labels;
+    private final double value;
+
+    public static MetricSample gauge(String name, String help, double value, String... labels) {
+        return new MetricSample(name, MetricType.GAUGE, help, name, labels(labels), value);
+    }
+
+    public static MetricSample counter(String name, String help, double value, String... labels) {
+        return new MetricSample(name, MetricType.COUNTER, help, name, labels(labels), value);
+    }
+
+    /**
+     * Builds the labels from a list of names and values
+     *
+     * @param labels Names and values, alternatively
+     */
+    public static Map<String, String> labels(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("The labels must be given as name and value pairs");
+        } else if (labels.length == 0) {
+            return Collections.emptyMap();
+        } else {
+            Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i < labels.length; i += 2) {
+                map.put(labels[i], labels[i + 1]);
+            }
+            return map;
+        }
+    }
+
+}
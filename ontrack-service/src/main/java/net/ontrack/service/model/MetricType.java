@@ -0,0 +1,24 @@
+package net.ontrack.service.model;
+
+/**
+ * Type of a {@link MetricSample}, as understood by Prometheus.
+ */
+public enum MetricType {
+
+    COUNTER("counter"),
+
+    GAUGE("gauge"),
+
+    HISTOGRAM("histogram");
+
+    private final String id;
+
+    MetricType(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+}
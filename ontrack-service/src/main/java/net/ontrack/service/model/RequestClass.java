@@ -0,0 +1,25 @@
+package net.ontrack.service.model;
+
+/**
+ * Class of a request, for the admission control.
+ */
+public enum RequestClass {
+
+    /**
+     * Pages of the GUI and calls made by the GUI itself. They have the priority over
+     * the other classes.
+     */
+    INTERACTIVE,
+
+    /**
+     * Reading through the API
+     */
+    READ,
+
+    /**
+     * Creation or modification through the API, like the builds and the validation runs
+     * pushed by the CI jobs
+     */
+    WRITE
+
+}
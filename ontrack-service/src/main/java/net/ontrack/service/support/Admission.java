@@ -0,0 +1,69 @@
+package net.ontrack.service.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Decision of the admission control for a request. An admitted request must be
+ * {@linkplain #release() released} once it is completed.
+ *
+ * @see net.ontrack.service.AdmissionService
+ */
+public final class Admission {
+
+    private static final Admission ADMITTED = new Admission(true, 0, Collections.<Semaphore>emptyList());
+
+    private final boolean admitted;
+    private final int retryAfter;
+    private final List<Semaphore> permits;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Admission(boolean admitted, int retryAfter, List<Semaphore> permits) {
+        this.admitted = admitted;
+        this.retryAfter = retryAfter;
+        this.permits = permits;
+    }
+
+    public static Admission admitted() {
+        return ADMITTED;
+    }
+
+    /**
+     * Admitted request which holds one permit of each semaphore until it is released
+     */
+    public static Admission admitted(Semaphore... permits) {
+        return new Admission(true, 0, Arrays.asList(permits));
+    }
+
+    /**
+     * @param retryAfter Number of seconds after which the client may retry
+     */
+    public static Admission rejected(int retryAfter) {
+        return new Admission(false, Math.max(1, retryAfter), Collections.<Semaphore>emptyList());
+    }
+
+    public boolean isAdmitted() {
+        return admitted;
+    }
+
+    /**
+     * Number of seconds after which a rejected request may be retried
+     */
+    public int getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Gives the permits back, if any. Can be called several times.
+     */
+    public void release() {
+        if (!permits.isEmpty() && released.compareAndSet(false, true)) {
+            for (Semaphore permit : permits) {
+                permit.release();
+            }
+        }
+    }
+}
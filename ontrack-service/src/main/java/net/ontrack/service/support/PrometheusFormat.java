@@ -0,0 +1,94 @@
+package net.ontrack.service.support;
+
+import net.ontrack.service.model.MetricSample;
+
+import java.util.*;
+
+/**
+ * Formats the metrics using the Prometheus text format (version 0.0.4).
+ * <p/>
+ * The samples are grouped by family, each family being preceded by its help and type.
+ */
+public final class PrometheusFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private PrometheusFormat() {
+    }
+
+    /**
+     * Formats the samples, one line per sample or comment
+     */
+    public static List<String> format(Collection<MetricSample> samples) {
+        // Groups by family, keeping the order
+        Map<String, List<MetricSample>> families = new LinkedHashMap<>();
+        for (MetricSample sample : samples) {
+            List<MetricSample> family = families.get(sample.getFamily());
+            if (family == null) {
+                family = new ArrayList<>();
+                families.put(sample.getFamily(), family);
+            }
+            family.add(sample);
+        }
+        // Lines
+        List<String> lines = new ArrayList<>();
+        for (List<MetricSample> family : families.values()) {
+            MetricSample first = family.get(0);
+            lines.add(String.format("# HELP %s %s", first.getFamily(), escapeHelp(first.getHelp())));
+            lines.add(String.format("# TYPE %s %s", first.getFamily(), first.getType().getId()));
+            for (MetricSample sample : family) {
+                lines.add(formatSample(sample));
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Formats the samples as a text, using new lines as separators
+     */
+    public static String toText(Collection<MetricSample> samples) {
+        StringBuilder s = new StringBuilder();
+        for (String line : format(samples)) {
+            s.append(line).append('\n');
+        }
+        return s.toString();
+    }
+
+    private static String formatSample(MetricSample sample) {
+        StringBuilder s = new StringBuilder(sample.getName());
+        if (!sample.getLabels().isEmpty()) {
+            s.append('{');
+            boolean first = true;
+            for (Map.Entry<String, String> label : sample.getLabels().entrySet()) {
+                if (!first) {
+                    s.append(',');
+                }
+                first = false;
+                s.append(label.getKey()).append("=\"").append(escapeLabel(label.getValue())).append('"');
+            }
+            s.append('}');
+        }
+        return s.append(' ').append(formatValue(sample.getValue())).toString();
+    }
+
+    static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        } else {
+            return Double.toString(value);
+        }
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabel(String value) {
+        return escapeHelp(value).replace("\"", "\\\"");
+    }
+
+}
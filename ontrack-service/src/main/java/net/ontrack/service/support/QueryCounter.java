@@ -0,0 +1,80 @@
+package net.ontrack.service.support;
+
+/**
+ * Counts the SQL statements which are executed by the current thread, typically
+ * during the processing of a request.
+ * <p/>
+ * The counting is started and stopped explicitly around a unit of work and the
+ * statements which are executed outside of such a unit are not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Count> COUNT = new ThreadLocal<>();
+
+    /**
+     * Number of statements above which a unit of work is reported
+     */
+    private static volatile int threshold = 50;
+
+    private QueryCounter() {
+    }
+
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    public static void setThreshold(int threshold) {
+        QueryCounter.threshold = threshold;
+    }
+
+    /**
+     * Starts the counting for the current thread
+     */
+    public static void start() {
+        COUNT.set(new Count());
+    }
+
+    /**
+     * Records the execution of a statement
+     *
+     * @param nanos Time spent in the statement
+     */
+    public static void record(long nanos) {
+        Count count = COUNT.get();
+        if (count != null) {
+            count.statements++;
+            count.nanos += nanos;
+        }
+    }
+
+    /**
+     * Stops the counting for the current thread
+     *
+     * @return The count since the call to {@link #start()}, or <code>null</code>
+     * if the counting was not started.
+     */
+    public static Count stop() {
+        Count count = COUNT.get();
+        COUNT.remove();
+        return count;
+    }
+
+    public static class Count {
+
+        private int statements;
+        private long nanos;
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getMillis() {
+            return nanos / 1000000L;
+        }
+
+        public boolean isAboveThreshold() {
+            return statements > threshold;
+        }
+    }
+
+}
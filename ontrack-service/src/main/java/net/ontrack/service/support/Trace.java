@@ -0,0 +1,138 @@
+package net.ontrack.service.support;
+
+import java.util.*;
+
+/**
+ * Trace of a unit of work, made of {@linkplain TraceSpan spans}.
+ *
+ * @see Tracer
+ */
+public class Trace {
+
+    /**
+     * Maximum number of spans kept for one trace
+     */
+    public static final int MAX_SPANS = 1000;
+
+    private final String id;
+    private final String name;
+    private final long timestamp = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final List<TraceSpan> spans = new ArrayList<>();
+    private final Deque<TraceSpan> stack = new ArrayDeque<>();
+    private long durationNanos = -1;
+    private int droppedSpans;
+
+    Trace(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Start of the trace, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Date getDate() {
+        return new Date(timestamp);
+    }
+
+    /**
+     * Duration in milliseconds
+     */
+    public long getMillis() {
+        return getDurationNanos() / 1000000L;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos >= 0 ? durationNanos : System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Closed spans, in the order they have been started
+     */
+    public synchronized List<TraceSpan> getSpans() {
+        List<TraceSpan> list = new ArrayList<>();
+        for (TraceSpan span : spans) {
+            if (span.isClosed()) {
+                list.add(span);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Number of spans which were not kept because of the {@link #MAX_SPANS} limit
+     */
+    public int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    /**
+     * Total time per kind of span, in milliseconds. The time of a span includes
+     * the time of the spans it contains.
+     */
+    public synchronized Map<String, Long> getMillisPerKind() {
+        Map<String, Long> times = new TreeMap<>();
+        for (TraceSpan span : getSpans()) {
+            Long time = times.get(span.getKind());
+            times.put(span.getKind(), (time != null ? time : 0L) + span.getDurationNanos());
+        }
+        for (Map.Entry<String, Long> entry : times.entrySet()) {
+            entry.setValue(entry.getValue() / 1000000L);
+        }
+        return times;
+    }
+
+    synchronized TraceSpan startSpan(String spanId, String kind, String name) {
+        if (spans.size() >= MAX_SPANS) {
+            droppedSpans++;
+            return TraceSpan.NONE;
+        }
+        TraceSpan parent = stack.peek();
+        TraceSpan span = new TraceSpan(
+                this,
+                spanId,
+                parent != null ? parent.getId() : null,
+                stack.size(),
+                kind,
+                name,
+                System.nanoTime() - startNanos);
+        spans.add(span);
+        stack.push(span);
+        return span;
+    }
+
+    synchronized void endSpan(TraceSpan span) {
+        // Spans which were not closed explicitly are closed as well
+        while (!stack.isEmpty()) {
+            TraceSpan top = stack.pop();
+            top.end(System.nanoTime() - startNanos);
+            if (top == span) {
+                break;
+            }
+        }
+    }
+
+    synchronized void end() {
+        while (!stack.isEmpty()) {
+            stack.pop().end(System.nanoTime() - startNanos);
+        }
+        durationNanos = System.nanoTime() - startNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s (%d ms)", id, name, getMillis());
+    }
+}
@@ -0,0 +1,99 @@
+package net.ontrack.service.support;
+
+/**
+ * Timed operation in a {@link Trace}. The span must be closed at the end of the operation.
+ *
+ * @see Tracer#span(String, String)
+ */
+public class TraceSpan implements AutoCloseable {
+
+    /**
+     * Span which is not recorded
+     */
+    static final TraceSpan NONE = new TraceSpan(null, null, null, 0, null, null, 0);
+
+    private final Trace trace;
+    private final String id;
+    private final String parentId;
+    private final int depth;
+    private final String kind;
+    private final String name;
+    private final long startNanos;
+    private long endNanos = -1;
+
+    TraceSpan(Trace trace, String id, String parentId, int depth, String kind, String name, long startNanos) {
+        this.trace = trace;
+        this.id = id;
+        this.parentId = parentId;
+        this.depth = depth;
+        this.kind = kind;
+        this.name = name;
+        this.startNanos = startNanos;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Identifier of the enclosing span, <code>null</code> for the top level spans
+     */
+    public String getParentId() {
+        return parentId;
+    }
+
+    /**
+     * Nesting level, 0 for the top level spans
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Start of the span, in nanoseconds since the start of the trace
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return endNanos >= 0 ? endNanos - startNanos : 0;
+    }
+
+    /**
+     * Duration in milliseconds
+     */
+    public long getMillis() {
+        return getDurationNanos() / 1000000L;
+    }
+
+    public boolean isClosed() {
+        return endNanos >= 0;
+    }
+
+    @Override
+    public void close() {
+        if (trace != null && endNanos < 0) {
+            trace.endSpan(this);
+        }
+    }
+
+    void end(long endNanos) {
+        if (this.endNanos < 0) {
+            this.endNanos = endNanos;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s (%d ms)", kind, name, getMillis());
+    }
+}
@@ -0,0 +1,87 @@
+package net.ontrack.service.support;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Traces the processing of a unit of work (typically a request) by the current thread,
+ * as a tree of timed {@linkplain TraceSpan spans}: controller, services, DAOs, remote calls,
+ * rendering...
+ * <p/>
+ * Like for the {@link QueryCounter}, the trace is started and stopped explicitly around
+ * the unit of work. Outside of a trace, the spans cost nothing and are not recorded.
+ * <p/>
+ * The spans are meant to be used this way:
+ * <pre>
+ * try (TraceSpan span = Tracer.span("jenkins", url)) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class Tracer {
+
+    private static final ThreadLocal<Trace> TRACE = new ThreadLocal<>();
+
+    private Tracer() {
+    }
+
+    /**
+     * Starts a trace for the current thread
+     *
+     * @param name Name of the trace, like the method and the URI of the request
+     * @return The new trace
+     */
+    public static Trace start(String name) {
+        Trace trace = new Trace(newId(), name);
+        TRACE.set(trace);
+        return trace;
+    }
+
+    /**
+     * Gets the trace of the current thread
+     *
+     * @return Current trace or <code>null</code> if none is started
+     */
+    public static Trace current() {
+        return TRACE.get();
+    }
+
+    /**
+     * Starts a span in the current trace. The span must be closed in the same thread.
+     *
+     * @param kind Kind of operation, like <code>sql</code> or <code>jenkins</code>
+     * @param name Name of the operation
+     * @return Span to close at the end of the operation. If no trace is started,
+     * the span is not recorded.
+     */
+    public static TraceSpan span(String kind, String name) {
+        Trace trace = TRACE.get();
+        if (trace != null) {
+            return trace.startSpan(newId(), kind, name);
+        } else {
+            return TraceSpan.NONE;
+        }
+    }
+
+    /**
+     * Stops the trace for the current thread
+     *
+     * @return The trace since the call to {@link #start(String)}, or <code>null</code>
+     * if no trace was started.
+     */
+    public static Trace stop() {
+        Trace trace = TRACE.get();
+        TRACE.remove();
+        if (trace != null) {
+            trace.end();
+        }
+        return trace;
+    }
+
+    /**
+     * Identifier on 64 bits, in the hexadecimal format used by the trace collectors
+     */
+    private static String newId() {
+        return String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+
+}
@@ -10,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.Locale;
 
 public abstract class AbstractUIController extends AbstractController {
@@ -31,8 +32,23 @@ public abstract class AbstractUIController extends AbstractController {
         return new ResponseEntity<>(message, responseHeaders, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * When the error is raised after the response has been committed, for example while
+     * a collection is being streamed, nothing can be written any longer: the error is
+     * propagated, so that the response is aborted instead of being completed with a message.
+     * Otherwise, the content which is still buffered is discarded before the message is written.
+     */
+    protected void checkNotCommitted(HttpServletResponse response, Exception ex) throws Exception {
+        if (response.isCommitted()) {
+            throw ex;
+        } else {
+            response.resetBuffer();
+        }
+    }
+
     @ExceptionHandler(NotFoundException.class)
-    public ResponseEntity<String> onNotFoundException(Locale locale, NotFoundException ex) {
+    public ResponseEntity<String> onNotFoundException(Locale locale, HttpServletResponse response, NotFoundException ex) throws Exception {
+        checkNotCommitted(response, ex);
         // Returns a message to display to the user
         String message = ex.getLocalizedMessage(strings, locale);
         // OK
@@ -40,7 +56,8 @@ public abstract class AbstractUIController extends AbstractController {
     }
 
     @ExceptionHandler(InputException.class)
-    public ResponseEntity<String> onInputException(Locale locale, InputException ex) {
+    public ResponseEntity<String> onInputException(Locale locale, HttpServletResponse response, InputException ex) throws Exception {
+        checkNotCommitted(response, ex);
         // Returns a message to display to the user
         String message = ex.getLocalizedMessage(strings, locale);
         // OK
@@ -48,7 +65,8 @@ public abstract class AbstractUIController extends AbstractController {
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> onException(Locale locale, Exception ex) throws Exception {
+    public ResponseEntity<String> onException(Locale locale, HttpServletResponse response, Exception ex) throws Exception {
+        checkNotCommitted(response, ex);
         // Ignores access errors
         if (ex instanceof AccessDeniedException) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
@@ -2,10 +2,13 @@ package net.ontrack.web;
 
 import net.ontrack.web.config.WebConfig;
 import net.ontrack.web.config.WebSecurityConfig;
+import net.ontrack.web.support.CompressionFilter;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatcherServletInitializer;
 
+import javax.servlet.Filter;
+
 @Order(1)
 public class WebInit extends AbstractAnnotationConfigDispatcherServletInitializer {
 
@@ -28,6 +31,13 @@ public class WebInit extends AbstractAnnotationConfigDispatcherServletInitialize
         return new String[]{"/*"};
     }
 
+    @Override
+    protected Filter[] getServletFilters() {
+        return new Filter[]{
+                new CompressionFilter(Integer.getInteger(CompressionFilter.THRESHOLD_PROPERTY, CompressionFilter.DEFAULT_THRESHOLD))
+        };
+    }
+
     @Configuration
     public static class EmptyConfig {
 
@@ -4,10 +4,18 @@ import net.ontrack.core.security.AuthorizationUtils;
 import net.ontrack.core.security.SecurityUtils;
 import net.ontrack.core.ui.ManageUI;
 import net.ontrack.extension.api.ExtensionManager;
+import net.ontrack.service.AdmissionService;
 import net.ontrack.service.SubscriptionService;
+import net.ontrack.service.MetricsService;
+import net.ontrack.service.TraceService;
 import net.ontrack.web.locale.LocaleInterceptor;
+import net.ontrack.web.support.AdmissionInterceptor;
 import net.ontrack.web.support.DefaultErrorHandlingMultipartResolver;
 import net.ontrack.web.support.ErrorHandlingMultipartResolver;
+import net.ontrack.web.support.MetricsInterceptor;
+import net.ontrack.web.support.QueryCountInterceptor;
+import net.ontrack.web.support.StreamingJacksonHttpMessageConverter;
+import net.ontrack.web.support.TraceInterceptor;
 import net.ontrack.web.support.WebInterceptor;
 import net.ontrack.web.support.fm.*;
 import net.sf.jstring.Strings;
@@ -20,7 +28,6 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
-import org.springframework.http.converter.json.MappingJacksonHttpMessageConverter;
 import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.ViewResolver;
 import org.springframework.web.servlet.config.annotation.*;
@@ -65,6 +72,15 @@ public class WebConfig extends WebMvcConfigurerAdapter {
     @Autowired
     private ManageUI manageUI;
 
+    @Autowired
+    private TraceService traceService;
+
+    @Autowired
+    private AdmissionService admissionService;
+
+    @Autowired
+    private MetricsService metricsService;
+
     @Autowired
     ObjectMapper jacksonObjectMapper;
 
@@ -78,8 +94,8 @@ public class WebConfig extends WebMvcConfigurerAdapter {
         converters.clear();
         // Plain text
         converters.add(new StringHttpMessageConverter());
-        // JSON
-        MappingJacksonHttpMessageConverter mapper = new MappingJacksonHttpMessageConverter();
+        // JSON, with the collections being streamed
+        StreamingJacksonHttpMessageConverter mapper = new StreamingJacksonHttpMessageConverter();
         mapper.setObjectMapper(jacksonObjectMapper);
         converters.add(mapper);
     }
@@ -98,8 +114,12 @@ public class WebConfig extends WebMvcConfigurerAdapter {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(admissionService, securityUtils));
+        registry.addInterceptor(new TraceInterceptor(traceService));
+        registry.addInterceptor(new MetricsInterceptor(metricsService));
         registry.addInterceptor(new LocaleInterceptor(strings));
         registry.addInterceptor(new WebInterceptor(strings));
+        registry.addInterceptor(new QueryCountInterceptor());
     }
 
     @Override
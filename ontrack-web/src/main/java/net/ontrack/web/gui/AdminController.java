@@ -15,6 +15,7 @@ import net.ontrack.service.*;
 import net.ontrack.service.model.GeneralConfiguration;
 import net.ontrack.service.model.LDAPConfiguration;
 import net.ontrack.service.model.MailConfiguration;
+import net.ontrack.service.support.PrometheusFormat;
 import net.ontrack.web.gui.model.GUIConfigurationExtension;
 import net.ontrack.web.gui.model.GUIConfigurationExtensionField;
 import net.ontrack.web.support.AbstractGUIController;
@@ -32,6 +33,8 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.Callable;
 
@@ -47,6 +50,9 @@ public class AdminController extends AbstractGUIController {
     private final EntityConverter entityConverter;
     private final ProfileService profileService;
     private final DashboardService dashboardService;
+    private final TraceService traceService;
+    private final MetricsService metricsService;
+    private final AdmissionService admissionService;
     private final Strings strings;
 
     @Autowired
@@ -59,6 +65,9 @@ public class AdminController extends AbstractGUIController {
             EntityConverter entityConverter,
             ProfileService profileService,
             DashboardService dashboardService,
+            TraceService traceService,
+            MetricsService metricsService,
+            AdmissionService admissionService,
             Strings strings) {
         super(errorHandler);
         this.adminService = adminService;
@@ -69,6 +78,9 @@ public class AdminController extends AbstractGUIController {
         this.entityConverter = entityConverter;
         this.profileService = profileService;
         this.dashboardService = dashboardService;
+        this.traceService = traceService;
+        this.metricsService = metricsService;
+        this.admissionService = admissionService;
         this.strings = strings;
     }
 
@@ -160,6 +172,59 @@ public class AdminController extends AbstractGUIController {
         }
     }
 
+    /**
+     * API tokens of the current account
+     */
+    @RequestMapping(value = "/tokens", method = RequestMethod.GET)
+    public String tokens(Model model) {
+        securityUtils.checkIsLogged();
+        final int accountId = securityUtils.getCurrentAccountId();
+        model.addAttribute("tokens", securityUtils.asAdmin(new Callable<List<AccountToken>>() {
+            @Override
+            public List<AccountToken> call() throws Exception {
+                return accountService.getTokens(accountId);
+            }
+        }));
+        return "tokens";
+    }
+
+    /**
+     * Creation of an API token for the current account. The value of the token is displayed once.
+     */
+    @RequestMapping(value = "/tokens", method = RequestMethod.POST)
+    public String tokenCreate(final String name, RedirectAttributes redirectAttributes) {
+        securityUtils.checkIsLogged();
+        final int accountId = securityUtils.getCurrentAccountId();
+        String token = securityUtils.asAdmin(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return accountService.createToken(accountId, name);
+            }
+        });
+        redirectAttributes.addFlashAttribute("token", token);
+        WebUtils.userMessage(redirectAttributes, UserMessage.success("tokens.created"));
+        return "redirect:/gui/admin/tokens";
+    }
+
+    /**
+     * Revocation of an API token of the current account
+     */
+    @RequestMapping(value = "/tokens/{id:\\d+}/revoke", method = RequestMethod.POST)
+    public String tokenRevoke(@PathVariable final int id, RedirectAttributes redirectAttributes) {
+        securityUtils.checkIsLogged();
+        final int accountId = securityUtils.getCurrentAccountId();
+        Ack ack = securityUtils.asAdmin(new Callable<Ack>() {
+            @Override
+            public Ack call() throws Exception {
+                return accountService.revokeToken(accountId, id);
+            }
+        });
+        if (ack.isSuccess()) {
+            WebUtils.userMessage(redirectAttributes, UserMessage.success("tokens.revoked"));
+        }
+        return "redirect:/gui/admin/tokens";
+    }
+
     /**
      * Request to change his email
      */
@@ -436,4 +501,45 @@ public class AdminController extends AbstractGUIController {
         return "extensions";
     }
 
+    /**
+     * Slowest recent requests
+     */
+    @RequestMapping(value = "/traces", method = RequestMethod.GET)
+    public String traces(Model model) {
+        // Checks the user is an administrator
+        securityUtils.checkGrant(GlobalFunction.SETTINGS);
+        // Gets the traces
+        model.addAttribute("traces", traceService.getSlowTraces());
+        // OK
+        return "traces";
+    }
+
+    /**
+     * Usage of the recent clients, as seen by the admission control
+     */
+    @RequestMapping(value = "/admission", method = RequestMethod.GET)
+    public String admission(Model model) {
+        // Checks the user is an administrator
+        securityUtils.checkGrant(GlobalFunction.SETTINGS);
+        // Gets the usage
+        model.addAttribute("usages", admissionService.getUsage());
+        // OK
+        return "admission";
+    }
+
+    /**
+     * Metrics, using the Prometheus text format
+     */
+    @RequestMapping(value = "/metrics", method = RequestMethod.GET)
+    public void metrics(HttpServletResponse response) throws IOException {
+        // Checks the user is an administrator
+        securityUtils.checkGrant(GlobalFunction.SETTINGS);
+        // Gets the metrics
+        String text = PrometheusFormat.toText(metricsService.getMetrics());
+        // OK
+        response.setContentType(PrometheusFormat.CONTENT_TYPE);
+        response.setHeader("Cache-Control", "no-cache");
+        response.getWriter().write(text);
+    }
+
 }
@@ -5,6 +5,7 @@ import com.google.common.collect.Collections2;
 import com.google.common.collect.Iterables;
 import net.ontrack.core.model.ChartDefinition;
 import net.ontrack.core.model.ExportData;
+import net.ontrack.core.model.ImageContent;
 import net.ontrack.core.model.SearchResult;
 import net.ontrack.core.model.UserMessage;
 import net.ontrack.core.security.GlobalFunction;
@@ -12,12 +13,15 @@ import net.ontrack.core.security.SecurityUtils;
 import net.ontrack.core.support.InputException;
 import net.ontrack.core.ui.ManageUI;
 import net.ontrack.service.DashboardService;
+import net.ontrack.service.ManagementService;
 import net.ontrack.service.SearchService;
 import net.ontrack.web.gui.model.GUISearchResult;
 import net.ontrack.web.support.*;
 import net.sf.jstring.NonLocalizable;
 import net.sf.jstring.Strings;
 import org.apache.commons.lang3.StringUtils;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jackson.map.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -26,6 +30,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 import org.springframework.web.servlet.ModelAndView;
@@ -34,7 +39,6 @@ import org.springframework.web.servlet.view.RedirectView;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -43,7 +47,13 @@ import java.util.Locale;
 @Controller
 public class GUIController extends AbstractGUIController {
 
+    /**
+     * Time (in seconds) the images can be kept by the browsers before being checked again
+     */
+    private static final int IMAGE_CACHE_SECONDS = 24 * 3600;
+
     private final ManageUI manageUI;
+    private final ManagementService managementService;
     private final ErrorHandlingMultipartResolver errorHandlingMultipartResolver;
     private final EntityConverter entityConverter;
     private final SearchService searchService;
@@ -51,13 +61,14 @@ public class GUIController extends AbstractGUIController {
     private final Strings strings;
     private final SecurityUtils securityUtils;
     private final ObjectMapper objectMapper;
-    private final byte[] defaultValidationStampImage;
-    private final byte[] defaultPromotionLevelImage;
+    private final ImageContent defaultValidationStampImage;
+    private final ImageContent defaultPromotionLevelImage;
 
     @Autowired
-    public GUIController(ErrorHandler errorHandler, ManageUI manageUI, ErrorHandlingMultipartResolver errorHandlingMultipartResolver, EntityConverter entityConverter, SearchService searchService, DashboardService dashboardService, Strings strings, SecurityUtils securityUtils, ObjectMapper objectMapper) {
+    public GUIController(ErrorHandler errorHandler, ManageUI manageUI, ManagementService managementService, ErrorHandlingMultipartResolver errorHandlingMultipartResolver, EntityConverter entityConverter, SearchService searchService, DashboardService dashboardService, Strings strings, SecurityUtils securityUtils, ObjectMapper objectMapper) {
         super(errorHandler);
         this.manageUI = manageUI;
+        this.managementService = managementService;
         this.errorHandlingMultipartResolver = errorHandlingMultipartResolver;
         this.entityConverter = entityConverter;
         this.searchService = searchService;
@@ -66,8 +77,8 @@ public class GUIController extends AbstractGUIController {
         this.securityUtils = securityUtils;
         this.objectMapper = objectMapper;
         // Reads the default images
-        defaultValidationStampImage = WebUtils.readBytes("/default_validation_stamp.png");
-        defaultPromotionLevelImage = WebUtils.readBytes("/default_promotion_level.png");
+        defaultValidationStampImage = ImageContent.of(WebUtils.readBytes("/default_validation_stamp.png"));
+        defaultPromotionLevelImage = ImageContent.of(WebUtils.readBytes("/default_promotion_level.png"));
     }
 
     @RequestMapping(value = "/", method = RequestMethod.GET)
@@ -150,12 +161,14 @@ public class GUIController extends AbstractGUIController {
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
         response.addHeader("Content-Disposition", "attachment; filename=ontrack-export.json");
-        // Serializes as JSON
-        objectMapper.writeValue(
-                new OutputStreamWriter(
-                        response.getOutputStream(),
-                        "UTF-8"),
-                data);
+        // Serializes as JSON, one project at a time
+        JsonGenerator generator = objectMapper.getJsonFactory().createJsonGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeStringField("version", data.getVersion());
+        generator.writeFieldName("projects");
+        JsonStreaming.writeArray(objectMapper, generator, data.getProjects());
+        generator.writeEndObject();
+        generator.flush();
     }
 
     @RequestMapping(value = "/gui/project/{project:[A-Za-z0-9_\\.\\-]+}/branch/{name:[A-Za-z0-9_\\.\\-]+}", method = RequestMethod.GET)
@@ -235,13 +248,13 @@ public class GUIController extends AbstractGUIController {
     }
 
     @RequestMapping(value = "/gui/project/{project:[A-Za-z0-9_\\.\\-]+}/branch/{branch:[A-Za-z0-9_\\.\\-]+}/promotion_level/{name:[A-Za-z0-9_\\.\\-]+}/image", method = RequestMethod.GET)
-    public void getImagePromotionLevel(@PathVariable String project, @PathVariable String branch, @PathVariable String name, HttpServletResponse response) throws IOException {
-        byte[] content = manageUI.imagePromotionLevel(project, branch, name);
-        if (content == null) {
+    public void getImagePromotionLevel(@PathVariable String project, @PathVariable String branch, @PathVariable String name, WebRequest request, HttpServletResponse response) throws IOException {
+        ImageContent image = managementService.getPromotionLevelImage(entityConverter.getPromotionLevelId(project, branch, name));
+        if (image == null) {
             // Default image for promotion levels
-            content = defaultPromotionLevelImage;
+            image = defaultPromotionLevelImage;
         }
-        renderImage(response, content);
+        renderImage(request, response, image);
     }
 
     @RequestMapping(value = "/gui/project/{project:[A-Za-z0-9_\\.\\-]+}/branch/{branch:[A-Za-z0-9_\\.\\-]+}/promotion_level_manage", method = RequestMethod.GET)
@@ -278,13 +291,13 @@ public class GUIController extends AbstractGUIController {
     }
 
     @RequestMapping(value = "/gui/project/{project:[A-Za-z0-9_\\.\\-]+}/branch/{branch:[A-Za-z0-9_\\.\\-]+}/validation_stamp/{name:[A-Za-z0-9_\\.\\-]+}/image", method = RequestMethod.GET)
-    public void getImageValidationStamp(@PathVariable String project, @PathVariable String branch, @PathVariable String name, HttpServletResponse response) throws IOException {
-        byte[] content = manageUI.imageValidationStamp(project, branch, name);
-        if (content == null) {
+    public void getImageValidationStamp(@PathVariable String project, @PathVariable String branch, @PathVariable String name, WebRequest request, HttpServletResponse response) throws IOException {
+        ImageContent image = managementService.getValidationStampImage(entityConverter.getValidationStampId(project, branch, name));
+        if (image == null) {
             // Default image for validation stamps
-            content = defaultValidationStampImage;
+            image = defaultValidationStampImage;
         }
-        renderImage(response, content);
+        renderImage(request, response, image);
     }
 
     /**
@@ -363,16 +376,18 @@ public class GUIController extends AbstractGUIController {
         return "dashboard-custom";
     }
 
-    protected void renderImage(HttpServletResponse response, byte[] content) throws IOException {
+    protected void renderImage(WebRequest request, HttpServletResponse response, ImageContent image) throws IOException {
+        // See https://developers.google.com/speed/docs/best-practices/caching for cache management
+        // The hash of the content is the entity tag, so the image is sent again only when it has changed
+        response.setHeader("Cache-Control", "public, max-age=" + IMAGE_CACHE_SECONDS);
+        if (request.checkNotModified("\"" + image.getHash() + "\"")) {
+            return;
+        }
+        byte[] content = image.getContent();
         // General
         response.setContentType("image/png");
         response.setContentLength(content.length);
         response.setStatus(HttpServletResponse.SC_OK);
-        // See https://developers.google.com/speed/docs/best-practices/caching for cache management
-        // Just sets the last modified time to now
-        final long now = System.currentTimeMillis();
-        response.setDateHeader("Expires", now + 24 * 3600L * 1000L); // Expires in one day
-        response.setDateHeader("Last-Modified", now - 3600 * 1000); // Modified one hour ago
         // Content
         response.getOutputStream().write(content);
         response.getOutputStream().flush();
@@ -1,14 +1,28 @@
 package net.ontrack.web.hateoas;
 
 import net.ontrack.core.support.InputException;
+import net.ontrack.core.support.TimeUtils;
+import net.ontrack.service.EventService;
 import net.ontrack.web.support.AbstractUIController;
 import net.ontrack.web.support.ErrorHandler;
 import net.sf.jstring.Strings;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.joda.time.DateTime;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.Locale;
 
+/**
+ * The conditional GETs must be checked once the resource is known to exist and to be readable
+ * by the caller, so that a client which has the right validators does not get a <code>304</code>
+ * instead of a <code>404</code> or a <code>403</code>.
+ */
 public abstract class AbstractResourceController extends AbstractUIController {
 
     public AbstractResourceController(ErrorHandler errorHandler, Strings strings) {
@@ -16,8 +30,62 @@ public abstract class AbstractResourceController extends AbstractUIController {
     }
 
     @Override
-    public ResponseEntity<String> onInputException(Locale locale, InputException ex) {
-        ResponseEntity<String> response = super.onInputException(locale, ex);
-        return new ResponseEntity<>(response.getBody(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<String> onInputException(Locale locale, HttpServletResponse response, InputException ex) throws Exception {
+        ResponseEntity<String> message = super.onInputException(locale, response, ex);
+        return new ResponseEntity<>(message.getBody(), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Checks the version of a resource against the entity tag or the last modification date
+     * sent by the client, and sets them in the response. The last modification date is the
+     * time of the event which gives the version.
+     *
+     * @param request Current request, <code>null</code> when building links
+     * @param version Version of the resource, <code>0</code> if it is not known
+     * @return <code>true</code> if the client has already got this version of the resource,
+     * in which case nothing must be returned
+     * @see EventService#getEntityVersion(net.ontrack.core.model.Entity, int)
+     */
+    protected boolean isNotModified(WebRequest request, EventService eventService, int version) {
+        return request != null && version > 0
+                && isNotModified(request, String.format("\"%d\"", version), eventService.getEventTimestamp(version));
+    }
+
+    /**
+     * Checks a resource which has no version against the entity tag sent by the client. The
+     * tag is a digest of the JSON content of the resource, so this only saves the transfer.
+     *
+     * @param request  Current request, <code>null</code> when building links
+     * @param resource Resource to return
+     * @return <code>true</code> if the client has already got this resource, in which case
+     * nothing must be returned
+     */
+    protected boolean isNotModified(WebRequest request, ObjectMapper objectMapper, Object resource) {
+        if (request == null) {
+            return false;
+        }
+        byte[] content;
+        try {
+            content = objectMapper.writeValueAsBytes(resource);
+        } catch (IOException ex) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getMessage(), ex);
+        }
+        return isNotModified(request, String.format("\"%s\"", DigestUtils.md5DigestAsHex(content)), null);
+    }
+
+    /**
+     * The entity tag takes precedence over the last modification date. The timestamps of the
+     * events have a one second precision: the date is not sent when the resource has been
+     * modified during the current second, since it could be modified again in the same second.
+     */
+    private boolean isNotModified(WebRequest request, String tag, DateTime lastModified) {
+        boolean notModified = request.checkNotModified(tag);
+        if (notModified || request.getHeader("If-None-Match") != null) {
+            return notModified;
+        } else {
+            return lastModified != null
+                    && lastModified.getMillis() / 1000 < TimeUtils.now().getMillis() / 1000
+                    && request.checkNotModified(lastModified.getMillis());
+        }
     }
 }
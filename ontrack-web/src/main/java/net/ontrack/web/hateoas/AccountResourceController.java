@@ -5,12 +5,14 @@ import net.ontrack.core.model.Account;
 import net.ontrack.service.AccountService;
 import net.ontrack.web.support.ErrorHandler;
 import net.sf.jstring.Strings;
+import org.codehaus.jackson.map.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
@@ -20,24 +22,34 @@ import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
 public class AccountResourceController extends AbstractResourceController {
 
     private final AccountService accountService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public AccountResourceController(ErrorHandler errorHandler, Strings strings, AccountService accountService) {
+    public AccountResourceController(ErrorHandler errorHandler, Strings strings, AccountService accountService, ObjectMapper objectMapper) {
         super(errorHandler, strings);
         this.accountService = accountService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * The accounts are changed without any event, so the entity tag is computed from the
+     * resource itself, once the account has been loaded with the account management grant.
+     */
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
     public
     @ResponseBody
-    AccountResource accountGet(@PathVariable int id) {
-        return new Function<Account, AccountResource>() {
+    AccountResource accountGet(@PathVariable int id, WebRequest request) {
+        AccountResource resource = new Function<Account, AccountResource>() {
 
             @Override
             public AccountResource apply(Account o) {
-                return new AccountResource(o).withLink(linkTo(methodOn(AccountResourceController.class).accountGet(o.getId())).withSelfRel());
+                return new AccountResource(o).withLink(linkTo(methodOn(AccountResourceController.class).accountGet(o.getId(), null)).withSelfRel());
             }
         }.apply(accountService.getAccount(id));
+        if (isNotModified(request, objectMapper, resource)) {
+            return null;
+        }
+        return resource;
     }
 
 }
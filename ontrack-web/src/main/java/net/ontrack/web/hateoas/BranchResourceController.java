@@ -3,6 +3,8 @@ package net.ontrack.web.hateoas;
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 import net.ontrack.core.model.BranchSummary;
+import net.ontrack.core.model.Entity;
+import net.ontrack.service.EventService;
 import net.ontrack.service.ManagementService;
 import net.ontrack.web.support.ErrorHandler;
 import net.sf.jstring.Strings;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.constraints.NotNull;
 import java.util.List;
@@ -27,7 +30,7 @@ public class BranchResourceController extends AbstractResourceController {
         @Override
         public BranchResource apply(BranchSummary o) {
             return new BranchResource(o)
-                    .withLink(linkTo(methodOn(BranchResourceController.class).branchGet(o.getId())).withSelfRel());
+                    .withLink(linkTo(methodOn(BranchResourceController.class).branchGet(o.getId(), null)).withSelfRel());
         }
     };
     public static final Function<BranchSummary, BranchResource> branchFn = new Function<BranchSummary, BranchResource>() {
@@ -36,23 +39,29 @@ public class BranchResourceController extends AbstractResourceController {
         public BranchResource apply(@NotNull BranchSummary o) {
             //noinspection ConstantConditions
             return branchStubFn.apply(o)
-                    .withLink(linkTo(methodOn(ProjectResourceController.class).projectGet(o.getProject().getId())).withRel("project"))
+                    .withLink(linkTo(methodOn(ProjectResourceController.class).projectGet(o.getProject().getId(), null)).withRel("project"))
                     .withLink(linkTo(methodOn(BranchResourceController.class).branchValidationStampList(o.getId())).withRel("validationStamps"));
         }
     };
     private final ManagementService managementService;
+    private final EventService eventService;
 
     @Autowired
-    public BranchResourceController(ErrorHandler errorHandler, Strings strings, ManagementService managementService) {
+    public BranchResourceController(ErrorHandler errorHandler, Strings strings, ManagementService managementService, EventService eventService) {
         super(errorHandler, strings);
         this.managementService = managementService;
+        this.eventService = eventService;
     }
 
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
     public
     @ResponseBody
-    BranchResource branchGet(@PathVariable int id) {
-        return branchFn.apply(managementService.getBranch(id));
+    BranchResource branchGet(@PathVariable int id, WebRequest request) {
+        BranchSummary branch = managementService.getBranch(id);
+        if (isNotModified(request, eventService, eventService.getEntityVersion(Entity.BRANCH, id))) {
+            return null;
+        }
+        return branchFn.apply(branch);
     }
 
     @RequestMapping(value = "/{id}/validation-stamp", method = RequestMethod.GET)
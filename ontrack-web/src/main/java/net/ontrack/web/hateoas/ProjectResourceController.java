@@ -3,16 +3,20 @@ package net.ontrack.web.hateoas;
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 import net.ontrack.core.model.Ack;
+import net.ontrack.core.model.Entity;
 import net.ontrack.core.model.ProjectCreationForm;
 import net.ontrack.core.model.ProjectSummary;
 import net.ontrack.core.model.ProjectUpdateForm;
+import net.ontrack.service.EventService;
 import net.ontrack.service.ManagementService;
 import net.ontrack.web.support.ErrorHandler;
 import net.sf.jstring.Strings;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Collections;
 import java.util.List;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
@@ -26,7 +30,7 @@ public class ProjectResourceController extends AbstractResourceController {
         @Override
         public ProjectResource apply(ProjectSummary o) {
             return new ProjectResource(o)
-                    .withLink(linkTo(methodOn(ProjectResourceController.class).projectGet(o.getId())).withSelfRel());
+                    .withLink(linkTo(methodOn(ProjectResourceController.class).projectGet(o.getId(), null)).withSelfRel());
         }
     };
     public static final Function<ProjectSummary, ProjectResource> projectFn = new Function<ProjectSummary, ProjectResource>() {
@@ -34,21 +38,27 @@ public class ProjectResourceController extends AbstractResourceController {
         @Override
         public ProjectResource apply(ProjectSummary o) {
             return projectStubFn.apply(o)
-                    .withLink(linkTo(methodOn(ProjectResourceController.class).projectBranchList(o.getId())).withRel("branches"));
+                    .withLink(linkTo(methodOn(ProjectResourceController.class).projectBranchList(o.getId(), null)).withRel("branches"));
         }
     };
     private final ManagementService managementService;
+    private final EventService eventService;
 
     @Autowired
-    public ProjectResourceController(ErrorHandler errorHandler, Strings strings, ManagementService managementService) {
+    public ProjectResourceController(ErrorHandler errorHandler, Strings strings, ManagementService managementService, EventService eventService) {
         super(errorHandler, strings);
         this.managementService = managementService;
+        this.eventService = eventService;
     }
 
     @RequestMapping(value = "", method = RequestMethod.GET)
     public
     @ResponseBody
-    List<ProjectResource> projectList() {
+    List<ProjectResource> projectList(WebRequest request) {
+        // The list of projects is readable by anybody
+        if (isNotModified(request, eventService, eventService.getEntityListVersion(Entity.PROJECT, Collections.<Entity, Integer>emptyMap()))) {
+            return null;
+        }
         return Lists.transform(
                 managementService.getProjectList(),
                 projectStubFn
@@ -65,8 +75,12 @@ public class ProjectResourceController extends AbstractResourceController {
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
     public
     @ResponseBody
-    ProjectResource projectGet(@PathVariable int id) {
-        return projectFn.apply(managementService.getProject(id));
+    ProjectResource projectGet(@PathVariable int id, WebRequest request) {
+        ProjectSummary project = managementService.getProject(id);
+        if (isNotModified(request, eventService, eventService.getEntityVersion(Entity.PROJECT, id))) {
+            return null;
+        }
+        return projectFn.apply(project);
     }
 
     @RequestMapping(value = "/{id}", method = RequestMethod.POST)
@@ -86,7 +100,12 @@ public class ProjectResourceController extends AbstractResourceController {
     @RequestMapping(value = "/{id}/branch", method = RequestMethod.GET)
     public
     @ResponseBody
-    List<BranchResource> projectBranchList(@PathVariable int id) {
+    List<BranchResource> projectBranchList(@PathVariable int id, WebRequest request) {
+        // Checks the project
+        managementService.getProject(id);
+        if (isNotModified(request, eventService, eventService.getEntityListVersion(Entity.BRANCH, Collections.singletonMap(Entity.PROJECT, id)))) {
+            return null;
+        }
         return Lists.transform(
                 managementService.getBranchList(id),
                 BranchResourceController.branchStubFn
@@ -27,7 +27,7 @@ public class RootResourceController extends AbstractResourceController {
     ResourceSupport home() {
         ResourceSupport resource = new ResourceSupport();
         // Projects
-        resource.add(linkTo(methodOn(ProjectResourceController.class).projectList()).withRel("projects"));
+        resource.add(linkTo(methodOn(ProjectResourceController.class).projectList(null)).withRel("projects"));
         // OK
         return resource;
     }
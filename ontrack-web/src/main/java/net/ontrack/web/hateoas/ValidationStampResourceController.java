@@ -5,12 +5,14 @@ import net.ontrack.core.model.ValidationStampSummary;
 import net.ontrack.service.ManagementService;
 import net.ontrack.web.support.ErrorHandler;
 import net.sf.jstring.Strings;
+import org.codehaus.jackson.map.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.linkTo;
 import static org.springframework.hateoas.mvc.ControllerLinkBuilder.methodOn;
@@ -23,7 +25,7 @@ public class ValidationStampResourceController extends AbstractResourceControlle
         @Override
         public ValidationStampResource apply(ValidationStampSummary o) {
             return new ValidationStampResource(o)
-                    .withLink(linkTo(methodOn(ValidationStampResourceController.class).validationStampGet(o.getId())).withSelfRel());
+                    .withLink(linkTo(methodOn(ValidationStampResourceController.class).validationStampGet(o.getId(), null)).withSelfRel());
         }
     };
     public static final Function<ValidationStampSummary, ValidationStampResource> validationStampFn = new Function<ValidationStampSummary, ValidationStampResource>() {
@@ -32,24 +34,34 @@ public class ValidationStampResourceController extends AbstractResourceControlle
             ValidationStampResource r = validationStampStubFn.apply(o);
             AccountNameResource owner = r.getOwner();
             if (owner != null) {
-                owner.add(linkTo(methodOn(AccountResourceController.class).accountGet(owner.getAccountId())).withSelfRel());
+                owner.add(linkTo(methodOn(AccountResourceController.class).accountGet(owner.getAccountId(), null)).withSelfRel());
             }
             return r;
         }
     };
     private final ManagementService managementService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public ValidationStampResourceController(ErrorHandler errorHandler, Strings strings, ManagementService managementService) {
+    public ValidationStampResourceController(ErrorHandler errorHandler, Strings strings, ManagementService managementService, ObjectMapper objectMapper) {
         super(errorHandler, strings);
         this.managementService = managementService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * The owner and the order of a validation stamp are changed without any event, so the
+     * entity tag is computed from the resource itself.
+     */
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
     public
     @ResponseBody
-    ValidationStampResource validationStampGet(@PathVariable int id) {
-        return validationStampFn.apply(managementService.getValidationStamp(id));
+    ValidationStampResource validationStampGet(@PathVariable int id, WebRequest request) {
+        ValidationStampResource resource = validationStampFn.apply(managementService.getValidationStamp(id));
+        if (isNotModified(request, objectMapper, resource)) {
+            return null;
+        }
+        return resource;
     }
 
 }
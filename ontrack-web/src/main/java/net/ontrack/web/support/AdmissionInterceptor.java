@@ -0,0 +1,108 @@
+package net.ontrack.web.support;
+
+import net.ontrack.core.model.Account;
+import net.ontrack.core.security.SecurityUtils;
+import net.ontrack.service.AdmissionService;
+import net.ontrack.service.model.RequestClass;
+import net.ontrack.service.support.Admission;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+/**
+ * Submits each request to the {@link AdmissionService}, per account (or per address for the
+ * anonymous clients). A rejected request is answered with a <code>429</code> status and a
+ * <code>Retry-After</code> header, before any processing.
+ * <p/>
+ * The class of a request depends only on its path, its method and its session, never on the
+ * headers sent by the client:
+ * <ul>
+ * <li>the calls of the CI jobs (<code>/ui/control/**</code>) are writes;</li>
+ * <li>the pages of the GUI and the calls made in a session opened by the login form are interactive;</li>
+ * <li>the other requests are API reads or writes, according to their method.</li>
+ * </ul>
+ */
+public class AdmissionInterceptor extends HandlerInterceptorAdapter {
+
+    /**
+     * Too many requests, not defined by the Servlet API
+     */
+    public static final int SC_TOO_MANY_REQUESTS = 429;
+
+    /**
+     * Session attribute set by the login form
+     *
+     * @see CallbackAuthenticationSuccessHandler
+     */
+    public static final String GUI_SESSION = AdmissionInterceptor.class.getName() + ".gui";
+
+    private static final String ADMISSION = AdmissionInterceptor.class.getName() + ".admission";
+
+    private final AdmissionService admissionService;
+    private final SecurityUtils securityUtils;
+
+    public AdmissionInterceptor(AdmissionService admissionService, SecurityUtils securityUtils) {
+        this.admissionService = admissionService;
+        this.securityUtils = securityUtils;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getAttribute(ADMISSION) != null) {
+            // Already admitted, dispatch of an asynchronous request
+            return true;
+        }
+        Admission admission = admissionService.admit(getClient(request), getRequestClass(request));
+        if (admission.isAdmitted()) {
+            request.setAttribute(ADMISSION, admission);
+            return true;
+        } else {
+            response.setStatus(SC_TOO_MANY_REQUESTS);
+            response.setHeader("Retry-After", String.valueOf(admission.getRetryAfter()));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write(String.format("Too many requests, retry after %d s", admission.getRetryAfter()));
+            return false;
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        Admission admission = (Admission) request.getAttribute(ADMISSION);
+        if (admission != null) {
+            request.removeAttribute(ADMISSION);
+            admission.release();
+        }
+    }
+
+    private String getClient(HttpServletRequest request) {
+        Account account = securityUtils.getCurrentAccount();
+        if (account != null) {
+            return account.getName();
+        } else {
+            return "anonymous@" + request.getRemoteAddr();
+        }
+    }
+
+    static RequestClass getRequestClass(HttpServletRequest request) {
+        String path = StringUtils.removeStart(request.getRequestURI(), request.getContextPath());
+        String method = request.getMethod();
+        if (path.startsWith("/ui/control/")) {
+            return RequestClass.WRITE;
+        } else if (path.startsWith("/gui/") || isGUISession(request)) {
+            return RequestClass.INTERACTIVE;
+        } else if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return RequestClass.READ;
+        } else {
+            return RequestClass.WRITE;
+        }
+    }
+
+    private static boolean isGUISession(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null && Boolean.TRUE.equals(session.getAttribute(GUI_SESSION));
+    }
+
+}
@@ -26,6 +26,8 @@ public class CallbackAuthenticationSuccessHandler extends SimpleUrlAuthenticatio
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
                                         Authentication authentication) throws ServletException, IOException {
+        // The calls made in this session come from the GUI
+        request.getSession().setAttribute(AdmissionInterceptor.GUI_SESSION, Boolean.TRUE);
         SavedRequest savedRequest = requestCache.getRequest(request, response);
         if (savedRequest == null) {
             super.onAuthenticationSuccess(request, response, authentication);
@@ -0,0 +1,405 @@
+package net.ontrack.web.support;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses the textual responses (JSON, HTML, scripts...) using the <code>gzip</code> or
+ * <code>deflate</code> encoding, as accepted by the client.
+ * <p/>
+ * The content is kept in memory until it reaches the {@linkplain #getThreshold() threshold}:
+ * the smaller responses are sent as they are, with their length. Above the threshold, the
+ * content is compressed while it is written, so that the streamed responses are not delayed.
+ * <p/>
+ * With the DEBUG level, the sizes of the responses and the time to their first byte are logged.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    /**
+     * System property for the threshold, in bytes
+     */
+    public static final String THRESHOLD_PROPERTY = "ontrack.compression.threshold";
+
+    /**
+     * Default threshold, in bytes
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+
+    private static final String[] COMPRESSIBLE_TYPES = {
+            "text/",
+            "application/json",
+            "application/javascript",
+            "application/xml"
+    };
+
+    private final Logger logger = LoggerFactory.getLogger(CompressionFilter.class);
+
+    private final int threshold;
+
+    public CompressionFilter(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String encoding = getEncoding(request.getHeader("Accept-Encoding"));
+        if (encoding == null || "HEAD".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+        } else {
+            CompressionResponse compressionResponse = new CompressionResponse(response, encoding, System.nanoTime());
+            filterChain.doFilter(request, compressionResponse);
+            if (WebAsyncUtils.getAsyncManager(request).isConcurrentHandlingStarted()) {
+                // The response is written later on, by another thread
+                compressionResponse.passThrough();
+            } else {
+                compressionResponse.finish();
+                if (logger.isDebugEnabled() && compressionResponse.stream != null) {
+                    log(request, compressionResponse.stream);
+                }
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, CompressionOutputStream stream) {
+        logger.debug("[compression] {} bytes ({} sent, {}), first byte in {} ms, completed in {} ms for {} {}",
+                stream.count,
+                stream.sent,
+                stream.state == State.COMPRESSING ? stream.encoding : "not compressed",
+                stream.firstByteNanos > 0 ? (stream.firstByteNanos - stream.startNanos) / 1000000L : 0,
+                (System.nanoTime() - stream.startNanos) / 1000000L,
+                request.getMethod(),
+                request.getRequestURI());
+    }
+
+    /**
+     * Gets the preferred encoding among the ones accepted by the client
+     *
+     * @param acceptEncoding Value of the <code>Accept-Encoding</code> header
+     * @return <code>gzip</code>, <code>deflate</code> or <code>null</code> if none is accepted
+     */
+    static String getEncoding(String acceptEncoding) {
+        if (StringUtils.isBlank(acceptEncoding)) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean deflate = false;
+        for (String token : StringUtils.split(acceptEncoding, ",")) {
+            String[] parts = StringUtils.split(token, ";");
+            String coding = StringUtils.trim(parts[0]).toLowerCase();
+            boolean accepted = parts.length < 2 || !isZeroQuality(parts[1]);
+            if (GZIP.equals(coding) || "x-gzip".equals(coding) || "*".equals(coding)) {
+                gzip = accepted;
+            } else if (DEFLATE.equals(coding)) {
+                deflate = accepted;
+            }
+        }
+        return gzip ? GZIP : (deflate ? DEFLATE : null);
+    }
+
+    private static boolean isZeroQuality(String parameter) {
+        String q = StringUtils.remove(parameter, ' ');
+        return q.startsWith("q=") && q.substring(2).matches("0(\\.0*)?");
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType != null && StringUtils.startsWithAny(contentType.toLowerCase(), COMPRESSIBLE_TYPES);
+    }
+
+    private static enum State {
+        BUFFERING,
+        COMPRESSING,
+        RAW
+    }
+
+    private class CompressionResponse extends HttpServletResponseWrapper {
+
+        private final String encoding;
+        private final long startNanos;
+        private CompressionOutputStream stream;
+        private PrintWriter writer;
+        private boolean encoded;
+        private boolean passThrough;
+
+        private CompressionResponse(HttpServletResponse response, String encoding, long startNanos) {
+            super(response);
+            this.encoding = encoding;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            return getStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (stream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(getStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        /**
+         * The length is not known before the content is compressed
+         */
+        @Override
+        public void setContentLength(int len) {
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            checkEncoding(name);
+            super.setHeader(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            checkEncoding(name);
+            super.addHeader(name, value);
+        }
+
+        /**
+         * Content which is already encoded must not be compressed again
+         */
+        private void checkEncoding(String name) {
+            if ("Content-Encoding".equalsIgnoreCase(name)) {
+                encoded = true;
+            }
+        }
+
+        /**
+         * Once the threshold is reached, the status and the headers have been sent
+         */
+        @Override
+        public boolean isCommitted() {
+            return super.isCommitted() || (stream != null && stream.state != State.BUFFERING);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            } else if (stream != null) {
+                stream.flush();
+            } else {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (stream != null) {
+                stream.resetBuffer();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            encoded = false;
+            if (stream != null) {
+                stream.resetBuffer();
+            }
+        }
+
+        private CompressionOutputStream getStream() throws IOException {
+            if (stream == null) {
+                stream = new CompressionOutputStream(this, encoding, startNanos);
+                if (passThrough) {
+                    stream.passThrough();
+                }
+            }
+            return stream;
+        }
+
+        /**
+         * The content written from now on is sent as it is, since the filter will not
+         * be able to complete the compression.
+         */
+        private void passThrough() throws IOException {
+            passThrough = true;
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.passThrough();
+            }
+        }
+
+        private void finish() throws IOException {
+            if (writer != null) {
+                writer.close();
+            } else if (stream != null) {
+                stream.close();
+            }
+        }
+
+        private HttpServletResponse getTarget() {
+            return (HttpServletResponse) getResponse();
+        }
+    }
+
+    private class CompressionOutputStream extends ServletOutputStream {
+
+        private final CompressionResponse response;
+        private final String encoding;
+        private final long startNanos;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private State state = State.BUFFERING;
+        private OutputStream output;
+        private boolean closed;
+        /**
+         * Number of bytes written by the application
+         */
+        private long count;
+        /**
+         * Number of bytes sent to the client
+         */
+        private long sent;
+        private long firstByteNanos;
+
+        private CompressionOutputStream(CompressionResponse response, String encoding, long startNanos) {
+            this.response = response;
+            this.encoding = encoding;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            count += len;
+            if (state == State.BUFFERING) {
+                if (buffer.size() + len <= threshold) {
+                    buffer.write(b, off, len);
+                    return;
+                }
+                start(!response.encoded && isCompressible(response.getContentType()));
+            }
+            output.write(b, off, len);
+        }
+
+        /**
+         * Nothing is sent before the threshold is reached
+         */
+        @Override
+        public void flush() throws IOException {
+            if (output != null) {
+                output.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                if (state == State.BUFFERING) {
+                    response.getTarget().setContentLength(buffer.size());
+                    start(false);
+                }
+                output.close();
+                closed = true;
+            }
+        }
+
+        private void resetBuffer() {
+            if (state == State.BUFFERING) {
+                buffer.reset();
+                count = 0;
+            }
+        }
+
+        private void passThrough() throws IOException {
+            if (state == State.BUFFERING) {
+                start(false);
+            }
+            output.flush();
+        }
+
+        private void start(boolean compress) throws IOException {
+            HttpServletResponse target = response.getTarget();
+            OutputStream targetOutput = new CountingOutputStream(target.getOutputStream());
+            if (compress) {
+                target.setHeader("Content-Encoding", encoding);
+                target.addHeader("Vary", "Accept-Encoding");
+                output = GZIP.equals(encoding) ? new GZIPOutputStream(targetOutput, 8192, true) : new DeflaterOutputStream(targetOutput, true);
+                state = State.COMPRESSING;
+            } else {
+                output = targetOutput;
+                state = State.RAW;
+            }
+            buffer.writeTo(output);
+            buffer.reset();
+        }
+
+        private class CountingOutputStream extends OutputStream {
+
+            private final OutputStream target;
+
+            private CountingOutputStream(OutputStream target) {
+                this.target = target;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (len > 0 && firstByteNanos == 0) {
+                    firstByteNanos = System.nanoTime();
+                }
+                sent += len;
+                target.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                target.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                target.close();
+            }
+        }
+    }
+
+}
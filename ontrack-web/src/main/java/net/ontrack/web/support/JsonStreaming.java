@@ -0,0 +1,67 @@
+package net.ontrack.web.support;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.SerializationConfig;
+
+import java.io.IOException;
+
+/**
+ * Writes the collections as JSON arrays, one item at a time, so that the first items
+ * are sent to the client while the next ones are still being loaded.
+ * <p/>
+ * The generator is flushed after the first item and then every {@link #FLUSH_INTERVAL} items:
+ * flushing after each item would defeat the buffering and the compression of the response.
+ */
+public final class JsonStreaming {
+
+    /**
+     * Number of items written between two flushes
+     */
+    public static final int FLUSH_INTERVAL = 20;
+
+    private JsonStreaming() {
+    }
+
+    /**
+     * Writes the items as a JSON array
+     *
+     * @param mapper    Mapper used to serialize each item
+     * @param generator Generator to write into
+     * @param items     Items to write, which can be computed lazily
+     */
+    public static void writeArray(ObjectMapper mapper, JsonGenerator generator, Iterable<?> items) throws IOException {
+        SerializationConfig config = getConfig(mapper);
+        generator.writeStartArray();
+        int count = 0;
+        for (Object item : items) {
+            mapper.writeValue(generator, item, config);
+            count++;
+            if (count == 1 || count % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a field of the current object, its value being serialized as a whole
+     *
+     * @param mapper    Mapper used to serialize the value
+     * @param generator Generator to write into
+     * @param name      Name of the field
+     * @param value     Value of the field
+     */
+    public static void writeField(ObjectMapper mapper, JsonGenerator generator, String name, Object value) throws IOException {
+        generator.writeFieldName(name);
+        mapper.writeValue(generator, value, getConfig(mapper));
+    }
+
+    /**
+     * The flushes are controlled by the streaming, not by the mapper
+     */
+    private static SerializationConfig getConfig(ObjectMapper mapper) {
+        return mapper.copySerializationConfig().without(SerializationConfig.Feature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+}
@@ -0,0 +1,42 @@
+package net.ontrack.web.support;
+
+import net.ontrack.service.MetricsService;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Records the processing time of the requests in the metrics, per handler.
+ * <p/>
+ * For the asynchronous requests, the time is measured from the initial request until
+ * the completion of the asynchronous dispatch.
+ */
+public class MetricsInterceptor extends HandlerInterceptorAdapter {
+
+    private static final String START = MetricsInterceptor.class.getName() + ".start";
+
+    private final MetricsService metricsService;
+
+    public MetricsInterceptor(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getAttribute(START) == null) {
+            request.setAttribute(START, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        Long start = (Long) request.getAttribute(START);
+        if (start != null) {
+            request.removeAttribute(START);
+            metricsService.requestCompleted(TraceInterceptor.getHandlerName(handler), System.nanoTime() - start);
+        }
+    }
+
+}
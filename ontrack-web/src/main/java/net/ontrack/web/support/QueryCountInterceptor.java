@@ -0,0 +1,71 @@
+package net.ontrack.web.support;
+
+import net.ontrack.service.support.QueryCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements which are executed while a request is processed and
+ * logs the requests which execute more statements than the {@linkplain QueryCounter#getThreshold() threshold}.
+ * <p/>
+ * The time spent in rendering the view is measured as well. With the DEBUG level,
+ * the counts and times are logged for all the requests.
+ */
+public class QueryCountInterceptor extends HandlerInterceptorAdapter {
+
+    private static final String RENDERING_START = QueryCountInterceptor.class.getName() + ".rendering";
+
+    private final Logger logger = LoggerFactory.getLogger(QueryCountInterceptor.class);
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        QueryCounter.start();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
+        if (modelAndView != null) {
+            request.setAttribute(RENDERING_START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        log(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        log(request);
+    }
+
+    private void log(HttpServletRequest request) {
+        QueryCounter.Count count = QueryCounter.stop();
+        if (count != null) {
+            Long renderingStart = (Long) request.getAttribute(RENDERING_START);
+            long renderingMs = renderingStart != null ? (System.nanoTime() - renderingStart) / 1000000L : 0;
+            if (count.isAboveThreshold()) {
+                logger.warn("[jdbc] {} statements ({} ms), rendering in {} ms for {} {}",
+                        count.getStatements(),
+                        count.getMillis(),
+                        renderingMs,
+                        request.getMethod(),
+                        request.getRequestURI());
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("[jdbc] {} statements ({} ms), rendering in {} ms for {} {}",
+                        count.getStatements(),
+                        count.getMillis(),
+                        renderingMs,
+                        request.getMethod(),
+                        request.getRequestURI());
+            }
+        }
+    }
+
+}
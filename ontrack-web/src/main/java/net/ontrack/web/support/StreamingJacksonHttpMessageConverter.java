@@ -0,0 +1,80 @@
+package net.ontrack.web.support;
+
+import net.ontrack.core.model.BranchBuilds;
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonProcessingException;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.SerializationConfig;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJacksonHttpMessageConverter;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * JSON converter which streams the collections returned by the controllers, item by item,
+ * instead of serializing them as a whole. Besides the top level collections, the builds
+ * of the {@link BranchBuilds} are streamed; the other objects are serialized as a whole.
+ * <p/>
+ * Once the first items have been sent, the status of the response cannot be changed any
+ * longer: an error raised while loading the next items leaves an incomplete JSON document,
+ * which the client fails to parse. See {@link AbstractUIController} for the handling of
+ * such errors.
+ *
+ * @see JsonStreaming
+ */
+public class StreamingJacksonHttpMessageConverter extends MappingJacksonHttpMessageConverter {
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        if (object instanceof Collection) {
+            ObjectMapper mapper = getObjectMapper();
+            JsonGenerator generator = createGenerator(mapper, outputMessage);
+            try {
+                JsonStreaming.writeArray(mapper, generator, (Collection<?>) object);
+                generator.flush();
+            } catch (JsonProcessingException ex) {
+                throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getMessage(), ex);
+            }
+        } else if (object instanceof BranchBuilds) {
+            ObjectMapper mapper = getObjectMapper();
+            JsonGenerator generator = createGenerator(mapper, outputMessage);
+            try {
+                writeBranchBuilds(mapper, generator, (BranchBuilds) object);
+                generator.flush();
+            } catch (JsonProcessingException ex) {
+                throw new HttpMessageNotWritableException("Could not write JSON: " + ex.getMessage(), ex);
+            }
+        } else {
+            super.writeInternal(object, outputMessage);
+        }
+    }
+
+    /**
+     * The builds are written last, so that all the other fields are available to the
+     * client when it starts rendering them.
+     */
+    private void writeBranchBuilds(ObjectMapper mapper, JsonGenerator generator, BranchBuilds builds) throws IOException {
+        generator.writeStartObject();
+        JsonStreaming.writeField(mapper, generator, "validationStamps", builds.getValidationStamps());
+        JsonStreaming.writeField(mapper, generator, "promotionLevels", builds.getPromotionLevels());
+        JsonStreaming.writeField(mapper, generator, "statusList", builds.getStatusList());
+        JsonStreaming.writeField(mapper, generator, "validationStampsFiltered", builds.isValidationStampsFiltered());
+        JsonStreaming.writeField(mapper, generator, "savedBuildFilters", builds.getSavedBuildFilters());
+        generator.writeFieldName("builds");
+        JsonStreaming.writeArray(mapper, generator, builds.getBuilds());
+        generator.writeEndObject();
+    }
+
+    private JsonGenerator createGenerator(ObjectMapper mapper, HttpOutputMessage outputMessage) throws IOException {
+        JsonEncoding encoding = getJsonEncoding(outputMessage.getHeaders().getContentType());
+        JsonGenerator generator = mapper.getJsonFactory().createJsonGenerator(outputMessage.getBody(), encoding);
+        if (mapper.getSerializationConfig().isEnabled(SerializationConfig.Feature.INDENT_OUTPUT)) {
+            generator.useDefaultPrettyPrinter();
+        }
+        return generator;
+    }
+
+}
@@ -0,0 +1,93 @@
+package net.ontrack.web.support;
+
+import net.ontrack.service.TraceService;
+import net.ontrack.service.support.Trace;
+import net.ontrack.service.support.TraceSpan;
+import net.ontrack.service.support.Tracer;
+import org.slf4j.MDC;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Traces the processing of each request, with a span for the controller and one for
+ * the rendering of the view. The services, the DAOs and the remote calls add their own spans.
+ * <p/>
+ * The identifier of the trace is put in the logging context under the {@link #MDC_KEY} key
+ * and returned to the client in the {@link #TRACE_HEADER} header.
+ */
+public class TraceInterceptor extends HandlerInterceptorAdapter {
+
+    public static final String MDC_KEY = "trace";
+
+    public static final String TRACE_HEADER = "X-Ontrack-Trace";
+
+    private static final String CONTROLLER_SPAN = TraceInterceptor.class.getName() + ".controller";
+    private static final String RENDERING_SPAN = TraceInterceptor.class.getName() + ".rendering";
+
+    private final TraceService traceService;
+
+    public TraceInterceptor(TraceService traceService) {
+        this.traceService = traceService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        Trace trace = Tracer.start(request.getMethod() + " " + request.getRequestURI());
+        MDC.put(MDC_KEY, trace.getId());
+        response.setHeader(TRACE_HEADER, trace.getId());
+        request.setAttribute(CONTROLLER_SPAN, Tracer.span("controller", getHandlerName(handler)));
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
+        closeSpan(request, CONTROLLER_SPAN);
+        if (modelAndView != null) {
+            request.setAttribute(RENDERING_SPAN, Tracer.span("render", modelAndView.getViewName()));
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        end(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        end(request);
+    }
+
+    private void end(HttpServletRequest request) {
+        closeSpan(request, RENDERING_SPAN);
+        Trace trace = Tracer.stop();
+        MDC.remove(MDC_KEY);
+        if (trace != null) {
+            traceService.record(trace);
+        }
+    }
+
+    private void closeSpan(HttpServletRequest request, String attribute) {
+        TraceSpan span = (TraceSpan) request.getAttribute(attribute);
+        if (span != null) {
+            span.close();
+            request.removeAttribute(attribute);
+        }
+    }
+
+    /**
+     * Name of the handler of a request, like <code>GUIController.getBuilds</code>
+     */
+    static String getHandlerName(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        } else {
+            return handler.getClass().getSimpleName();
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package net.ontrack.web.support.fm;
+
+import com.google.common.base.Supplier;
+import freemarker.template.TemplateMethodModel;
+import freemarker.template.TemplateModelException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Template function whose result depends only on its arguments and on the current
+ * request, and which is therefore evaluated once per request for given arguments.
+ *
+ * @see FnRequestCache
+ */
+public abstract class AbstractRequestCachedFn implements TemplateMethodModel {
+
+    @Override
+    public Object exec(@SuppressWarnings("rawtypes") final List list) throws TemplateModelException {
+        // Key for this function and these arguments
+        List<Object> key = new ArrayList<>();
+        key.add(getClass());
+        if (list != null) {
+            key.addAll(list);
+        }
+        // Cached result
+        return FnRequestCache.get(key, new Supplier<Object>() {
+            @Override
+            public Object get() {
+                return compute(list);
+            }
+        });
+    }
+
+    /**
+     * Evaluates the function
+     */
+    protected abstract Object compute(@SuppressWarnings("rawtypes") List list);
+
+}
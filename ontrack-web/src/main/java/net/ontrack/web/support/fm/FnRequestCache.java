@@ -0,0 +1,59 @@
+package net.ontrack.web.support.fm;
+
+import com.google.common.base.Supplier;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Values computed by the template functions and kept for the duration of the
+ * current HTTP request, so that a function which is called many times by a page
+ * with the same arguments is evaluated only once.
+ * <p/>
+ * Outside of a request (no {@link RequestContextHolder request attributes} bound
+ * to the current thread), the values are always computed.
+ */
+public final class FnRequestCache {
+
+    private static final String ATTRIBUTE = FnRequestCache.class.getName();
+
+    private FnRequestCache() {
+    }
+
+    /**
+     * Gets the value for the given key, computing it if not already done
+     * for the current request.
+     */
+    public static <T> T get(Object key, Supplier<T> supplier) {
+        Map<Object, Object> values = getValues();
+        if (values == null) {
+            return supplier.get();
+        }
+        if (values.containsKey(key)) {
+            @SuppressWarnings("unchecked")
+            T value = (T) values.get(key);
+            return value;
+        } else {
+            T value = supplier.get();
+            values.put(key, value);
+            return value;
+        }
+    }
+
+    private static Map<Object, Object> getValues() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> values = (Map<Object, Object>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (values == null) {
+            values = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, values, RequestAttributes.SCOPE_REQUEST);
+        }
+        return values;
+    }
+
+}
@@ -1,7 +1,5 @@
 package net.ontrack.web.support.fm;
 
-import freemarker.template.TemplateMethodModel;
-import freemarker.template.TemplateModelException;
 import net.ontrack.core.security.GlobalFunction;
 import net.ontrack.core.security.SecurityUtils;
 import org.apache.commons.lang3.Validate;
@@ -9,7 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
-public class FnSecGlobal implements TemplateMethodModel {
+public class FnSecGlobal extends AbstractRequestCachedFn {
 
     private final SecurityUtils securityUtils;
 
@@ -19,8 +17,7 @@ public class FnSecGlobal implements TemplateMethodModel {
     }
 
     @Override
-    public Object exec(@SuppressWarnings("rawtypes") List list)
-            throws TemplateModelException {
+    protected Object compute(@SuppressWarnings("rawtypes") List list) {
         // Checks
         Validate.notNull(list, "List of arguments is required");
         Validate.isTrue(list.size() == 1, "One argument is needed");
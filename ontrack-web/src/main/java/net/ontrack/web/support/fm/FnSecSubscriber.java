@@ -1,7 +1,5 @@
 package net.ontrack.web.support.fm;
 
-import freemarker.template.TemplateMethodModel;
-import freemarker.template.TemplateModelException;
 import net.ontrack.core.model.Account;
 import net.ontrack.core.security.SecurityUtils;
 import net.ontrack.service.SubscriptionService;
@@ -10,7 +8,7 @@ import org.apache.commons.lang3.Validate;
 
 import java.util.List;
 
-public class FnSecSubscriber implements TemplateMethodModel {
+public class FnSecSubscriber extends AbstractRequestCachedFn {
 
     private final SecurityUtils securityUtils;
     private final SubscriptionService subscriptionService;
@@ -21,7 +19,7 @@ public class FnSecSubscriber implements TemplateMethodModel {
     }
 
     @Override
-    public Object exec(List list) throws TemplateModelException {
+    protected Object compute(List list) {
         // Checks
         Validate.notNull(list, "List of arguments is required");
         Validate.isTrue(list.size() == 0, "No argument is needed");
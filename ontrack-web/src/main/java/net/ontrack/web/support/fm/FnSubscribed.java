@@ -1,8 +1,7 @@
 package net.ontrack.web.support.fm;
 
 import com.google.common.base.CaseFormat;
-import freemarker.template.TemplateMethodModel;
-import freemarker.template.TemplateModelException;
+import com.google.common.base.Supplier;
 import net.ontrack.core.model.Account;
 import net.ontrack.core.model.Entity;
 import net.ontrack.core.model.EntityID;
@@ -15,9 +14,10 @@ import java.util.*;
 
 /**
  * Tests if the current user is subscribed to a list
- * of filters.
+ * of filters. The subscriptions of the user are loaded only
+ * once per request.
  */
-public class FnSubscribed implements TemplateMethodModel {
+public class FnSubscribed extends AbstractRequestCachedFn {
 
     private final SecurityUtils securityUtils;
     private final SubscriptionService subscriptionService;
@@ -28,7 +28,7 @@ public class FnSubscribed implements TemplateMethodModel {
     }
 
     @Override
-    public Object exec(List list) throws TemplateModelException {
+    protected Object compute(List list) {
         // Checks
         Validate.notNull(list, "List of arguments is required");
         Validate.isTrue(list.size() == 1, "Filter definition is required");
@@ -41,13 +41,25 @@ public class FnSubscribed implements TemplateMethodModel {
                 && subscriptionService.isEnabled()) {
             // Parses the filter
             Set<EntityID> entities = parseFilter(filter);
-            // Checks with the subscription service
-            return subscriptionService.isSubscribed(account.getId(), entities);
+            // Checks against the subscriptions of the user, loaded once per request
+            return !entities.isEmpty() && getSubscribedEntities(account.getId()).containsAll(entities);
         } else {
             return false;
         }
     }
 
+    private Set<EntityID> getSubscribedEntities(final int accountId) {
+        return FnRequestCache.get(
+                Arrays.asList(FnSubscribed.class, "entities", accountId),
+                new Supplier<Set<EntityID>>() {
+                    @Override
+                    public Set<EntityID> get() {
+                        return subscriptionService.getSubscribedEntities(accountId);
+                    }
+                }
+        );
+    }
+
     private Set<EntityID> parseFilter(String filter) {
         Set<EntityID> result = new HashSet<>();
         String[] entities = StringUtils.split(filter, "&");
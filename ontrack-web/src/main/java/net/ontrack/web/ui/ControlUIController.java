@@ -10,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Locale;
+
 @Controller
 @RequestMapping("/ui/control")
 public class ControlUIController extends AbstractEntityUIController implements ControlUI {
@@ -51,4 +53,17 @@ public class ControlUIController extends AbstractEntityUIController implements C
         return controlService.createPromotedRun(buildId, promotionLevelId, form);
     }
 
+    @Override
+    public BuildReportResult createBuildReport(String project, String branch, String build, BuildReportForm form) {
+        return createBuildReport(Locale.getDefault(), project, branch, build, form);
+    }
+
+    @RequestMapping(value = "/project/{project:[A-Za-z0-9_\\.\\-]+}/branch/{branch:[A-Za-z0-9_\\.\\-]+}/build/{build:[A-Za-z0-9_\\.\\-]+}/batch", method = RequestMethod.POST)
+    public
+    @ResponseBody
+    BuildReportResult createBuildReport(Locale locale, @PathVariable String project, @PathVariable String branch, @PathVariable String build, @RequestBody BuildReportForm form) {
+        int branchId = entityConverter.getBranchId(project, branch);
+        return controlService.createBuildReport(locale, branchId, build, form);
+    }
+
 }
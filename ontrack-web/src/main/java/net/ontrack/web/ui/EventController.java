@@ -5,6 +5,7 @@ import com.google.common.collect.Lists;
 import net.ontrack.core.model.*;
 import net.ontrack.core.support.TimeUtils;
 import net.ontrack.core.ui.EventUI;
+import net.ontrack.service.EventFeedCallback;
 import net.ontrack.service.EventService;
 import net.ontrack.service.GUIEventService;
 import net.ontrack.web.support.AbstractUIController;
@@ -17,17 +18,40 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Controller
 @RequestMapping("/gui/event")
 public class EventController extends AbstractUIController {
 
+    /**
+     * Maximum waiting time for the changes, in seconds
+     */
+    public static final int CHANGES_MAX_WAIT = 60;
+    /**
+     * Maximum number of changes returned at once
+     */
+    public static final int CHANGES_COUNT = 100;
+    /**
+     * Maximum number of pages waiting at the same time for changes
+     */
+    public static final int CHANGES_MAX_LISTENERS = 2000;
+    /**
+     * Time, in seconds, before a page which has been refused tries again
+     */
+    public static final int CHANGES_RETRY = 30;
+
     private final EventUI eventUI;
     private final EventService auditService;
     private final GUIEventService guiEventService;
+    private final AtomicInteger changesListeners = new AtomicInteger();
 
     @Autowired
     public EventController(ErrorHandler errorHandler, Strings strings, EventUI eventUI, EventService auditService, GUIEventService guiEventService) {
@@ -77,11 +101,13 @@ public class EventController extends AbstractUIController {
             @RequestParam(required = false, defaultValue = "0") int build,
             @RequestParam(required = false, defaultValue = "0") int validationRun,
             @RequestParam(required = false, defaultValue = "0") int offset,
-            @RequestParam(required = false, defaultValue = "20") int count) {
+            @RequestParam(required = false, defaultValue = "20") int count,
+            @RequestParam(required = false, defaultValue = "false") boolean archive) {
         // Reference time
         final DateTime now = TimeUtils.now();
         // Filter
-        EventFilter filter = getEventFilter(offset, count, project, branch, validationStamp, promotionLevel, build, validationRun);
+        EventFilter filter = getEventFilter(offset, count, project, branch, validationStamp, promotionLevel, build, validationRun)
+                .withArchive(archive);
         // Gets the raw events
         List<ExpandedEvent> events = eventUI.list(filter);
         // Localizes them
@@ -94,6 +120,69 @@ public class EventController extends AbstractUIController {
         });
     }
 
+    /**
+     * Long polling on the changes, used for the live update of the pages. The response is sent as soon
+     * as events are created after the <code>after</code> event, or when the <code>wait</code> time
+     * (in seconds) has elapsed, the empty response acting then as a heartbeat.
+     */
+    @RequestMapping(value = "changes", method = RequestMethod.GET)
+    public
+    @ResponseBody
+    DeferredResult<GUIEventChanges> changes(
+            @RequestParam(required = false, defaultValue = "-1") int after,
+            @RequestParam(required = false, defaultValue = "0") int project,
+            @RequestParam(required = false, defaultValue = "0") int branch,
+            @RequestParam(required = false, defaultValue = "0") int validationStamp,
+            @RequestParam(required = false, defaultValue = "0") int promotionLevel,
+            @RequestParam(required = false, defaultValue = "0") int build,
+            @RequestParam(required = false, defaultValue = "0") int validationRun,
+            @RequestParam(required = false, defaultValue = "30") int wait) {
+        Map<Entity, Integer> entities = getEventFilter(0, 0, project, branch, validationStamp, promotionLevel, build, validationRun).getEntities();
+        long timeout = Math.min(Math.max(wait, 0), CHANGES_MAX_WAIT) * 1000L;
+        // Current state
+        EventFeed feed = auditService.getEventFeed(after, entities, CHANGES_COUNT);
+        GUIEventChanges none = new GUIEventChanges(feed.getLast(), new ArrayList<GUIEventChange>(), 0);
+        final DeferredResult<GUIEventChanges> result = new DeferredResult<>(timeout, none);
+        if (after < 0 || timeout == 0 || !feed.getEvents().isEmpty()) {
+            result.setResult(toGUIEventChanges(feed));
+        } else if (changesListeners.incrementAndGet() > CHANGES_MAX_LISTENERS) {
+            // Too many pages waiting, this one must come back later
+            changesListeners.decrementAndGet();
+            result.setResult(new GUIEventChanges(feed.getLast(), new ArrayList<GUIEventChange>(), CHANGES_RETRY));
+        } else {
+            result.onCompletion(new Runnable() {
+                @Override
+                public void run() {
+                    changesListeners.decrementAndGet();
+                }
+            });
+            auditService.waitForEventFeed(after, entities, CHANGES_COUNT, new EventFeedCallback() {
+                @Override
+                public boolean isExpired() {
+                    return result.isSetOrExpired();
+                }
+
+                @Override
+                public void onEventFeed(EventFeed feed) {
+                    result.setResult(toGUIEventChanges(feed));
+                }
+            });
+        }
+        return result;
+    }
+
+    private GUIEventChanges toGUIEventChanges(EventFeed feed) {
+        List<GUIEventChange> changes = new ArrayList<>();
+        for (ExpandedEvent event : feed.getEvents()) {
+            Map<Entity, Integer> entities = new HashMap<>();
+            for (EntityStub stub : event.getEntities().values()) {
+                entities.put(stub.getEntity(), stub.getId());
+            }
+            changes.add(new GUIEventChange(event.getId(), event.getEventType(), entities));
+        }
+        return new GUIEventChanges(feed.getLast(), changes, 0);
+    }
+
     private EventFilter getEventFilter(int offset, int count, int project, int branch, int validationStamp, int promotionLevel, int build, int validationRun) {
         EventFilter filter = new EventFilter(offset, count);
         filter.withEntity(Entity.PROJECT, project);
@@ -2,8 +2,10 @@ package net.ontrack.web.ui;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.SettableFuture;
 import net.ontrack.core.model.*;
 import net.ontrack.core.security.GlobalFunction;
 import net.ontrack.core.security.ProjectFunction;
@@ -11,6 +13,8 @@ import net.ontrack.core.security.SecurityUtils;
 import net.ontrack.core.ui.ManageUI;
 import net.ontrack.core.ui.PropertyUI;
 import net.ontrack.service.DashboardService;
+import net.ontrack.service.EventFeedCallback;
+import net.ontrack.service.EventService;
 import net.ontrack.service.ExportService;
 import net.ontrack.service.ManagementService;
 import net.ontrack.service.ProfileService;
@@ -24,6 +28,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.CookieGenerator;
@@ -32,6 +37,9 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Controller
 public class ManageUIController extends AbstractEntityUIController implements ManageUI {
@@ -40,23 +48,33 @@ public class ManageUIController extends AbstractEntityUIController implements Ma
      * Timeout for the back-up (5 minutes)
      */
     public static final long BACKUP_TIMEOUT = 5 * 60 * 1000L;
+    /**
+     * Maximum waiting time for the event feed (in seconds)
+     */
+    public static final int EVENT_FEED_MAX_WAIT = 60;
+    /**
+     * Maximum number of events returned by the event feed
+     */
+    public static final int EVENT_FEED_COUNT = 100;
     private final SecurityUtils securityUtils;
     private final ManagementService managementService;
     private final DashboardService dashboardService;
     private final ProfileService profileService;
     private final ExportService exportService;
+    private final EventService eventService;
     private final PropertyUI propertyUI;
     private final ObjectMapper objectMapper;
     private final String version;
 
     @Autowired
-    public ManageUIController(ErrorHandler errorHandler, Strings strings, ManagementService managementService, EntityConverter entityConverter, SecurityUtils securityUtils, DashboardService dashboardService, ProfileService profileService, ExportService exportService, PropertyUI propertyUI, ObjectMapper objectMapper, @Value("${app.version}") String version) {
+    public ManageUIController(ErrorHandler errorHandler, Strings strings, ManagementService managementService, EntityConverter entityConverter, SecurityUtils securityUtils, DashboardService dashboardService, ProfileService profileService, ExportService exportService, EventService eventService, PropertyUI propertyUI, ObjectMapper objectMapper, @Value("${app.version}") String version) {
         super(errorHandler, strings, entityConverter);
         this.managementService = managementService;
         this.securityUtils = securityUtils;
         this.dashboardService = dashboardService;
         this.profileService = profileService;
         this.exportService = exportService;
+        this.eventService = eventService;
         this.propertyUI = propertyUI;
         this.objectMapper = objectMapper;
         this.version = version;
@@ -587,7 +605,8 @@ public class ManageUIController extends AbstractEntityUIController implements Ma
     @ResponseBody
     byte[] imageValidationStamp(@PathVariable String project, @PathVariable String branch, @PathVariable String name) {
         int validationStampId = entityConverter.getValidationStampId(project, branch, name);
-        return managementService.imageValidationStamp(validationStampId);
+        ImageContent image = managementService.getValidationStampImage(validationStampId);
+        return image != null ? image.getContent() : null;
     }
 
     // Promotion levels
@@ -674,7 +693,8 @@ public class ManageUIController extends AbstractEntityUIController implements Ma
     @ResponseBody
     byte[] imagePromotionLevel(@PathVariable String project, @PathVariable String branch, @PathVariable String name) {
         int promotionLevelId = entityConverter.getPromotionLevelId(project, branch, name);
-        return managementService.imagePromotionLevel(promotionLevelId);
+        ImageContent image = managementService.getPromotionLevelImage(promotionLevelId);
+        return image != null ? image.getContent() : null;
     }
 
     @Override
@@ -877,6 +897,15 @@ public class ManageUIController extends AbstractEntityUIController implements Ma
         return managementService.getBuildPromotionLevels(locale, buildId);
     }
 
+    @Override
+    @RequestMapping(value = "/ui/manage/project/{project:[A-Za-z0-9_\\.\\-]+}/branch/{branch:[A-Za-z0-9_\\.\\-]+}/build/{name:[A-Za-z0-9_\\.\\-]+}/branchBuild", method = RequestMethod.GET)
+    public
+    @ResponseBody
+    BranchBuild getBranchBuild(Locale locale, @PathVariable String project, @PathVariable String branch, @PathVariable String name) {
+        int buildId = entityConverter.getBuildId(project, branch, name);
+        return managementService.getBranchBuild(locale, buildId);
+    }
+
     // Validation runs
 
     @Override
@@ -954,6 +983,111 @@ public class ManageUIController extends AbstractEntityUIController implements Ma
         return managementService.removePromotedRun(buildId, promotionLevelId);
     }
 
+    // Events
+
+    /**
+     * Blocking variant of the long polling on the events, for the direct calls
+     */
+    @Override
+    public EventFeed getEventFeed(int after, String project, String branch, String promotionLevel, String validationStamp, int wait) {
+        // The integrations keep requests open on the server: logged accounts only
+        securityUtils.checkIsLogged();
+        Map<Entity, Integer> entities = getEventFeedEntities(project, branch, promotionLevel, validationStamp);
+        // Current state of the feed
+        EventFeed feed = eventService.getEventFeed(after, entities, EVENT_FEED_COUNT);
+        long timeout = getEventFeedTimeout(wait);
+        if (after < 0 || timeout == 0 || !feed.getEvents().isEmpty()) {
+            return feed;
+        }
+        // Waiting for new events
+        final SettableFuture<EventFeed> result = SettableFuture.create();
+        eventService.waitForEventFeed(after, entities, EVENT_FEED_COUNT, new EventFeedCallback() {
+            @Override
+            public boolean isExpired() {
+                return result.isDone();
+            }
+
+            @Override
+            public void onEventFeed(EventFeed feed) {
+                result.set(feed);
+            }
+        });
+        try {
+            return result.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // No new event
+            return feed;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return feed;
+        } catch (ExecutionException ex) {
+            throw Throwables.propagate(ex.getCause());
+        } finally {
+            result.cancel(false);
+        }
+    }
+
+    /**
+     * Long polling on the events. The response is sent as soon as events are created after
+     * the <code>after</code> event, or when the <code>wait</code> time (in seconds) has elapsed.
+     */
+    @RequestMapping(value = "/ui/manage/event/feed", method = RequestMethod.GET)
+    public
+    @ResponseBody
+    DeferredResult<EventFeed> doGetEventFeed(
+            @RequestParam(required = false, defaultValue = "-1") int after,
+            @RequestParam(required = false) String project,
+            @RequestParam(required = false) String branch,
+            @RequestParam(required = false) String promotionLevel,
+            @RequestParam(required = false) String validationStamp,
+            @RequestParam(required = false, defaultValue = "30") int wait) {
+        // Logged accounts only
+        securityUtils.checkIsLogged();
+        Map<Entity, Integer> entities = getEventFeedEntities(project, branch, promotionLevel, validationStamp);
+        // Current state of the feed
+        EventFeed feed = eventService.getEventFeed(after, entities, EVENT_FEED_COUNT);
+        long timeout = getEventFeedTimeout(wait);
+        // On timeout, no new event
+        final DeferredResult<EventFeed> result = new DeferredResult<>(timeout, feed);
+        if (after < 0 || timeout == 0 || !feed.getEvents().isEmpty()) {
+            result.setResult(feed);
+        } else {
+            eventService.waitForEventFeed(after, entities, EVENT_FEED_COUNT, new EventFeedCallback() {
+                @Override
+                public boolean isExpired() {
+                    return result.isSetOrExpired();
+                }
+
+                @Override
+                public void onEventFeed(EventFeed feed) {
+                    result.setResult(feed);
+                }
+            });
+        }
+        return result;
+    }
+
+    private long getEventFeedTimeout(int wait) {
+        return Math.min(Math.max(wait, 0), EVENT_FEED_MAX_WAIT) * 1000L;
+    }
+
+    private Map<Entity, Integer> getEventFeedEntities(String project, String branch, String promotionLevel, String validationStamp) {
+        Map<Entity, Integer> entities = new HashMap<>();
+        if (StringUtils.isNotBlank(project)) {
+            entities.put(Entity.PROJECT, entityConverter.getProjectId(project));
+            if (StringUtils.isNotBlank(branch)) {
+                entities.put(Entity.BRANCH, entityConverter.getBranchId(project, branch));
+                if (StringUtils.isNotBlank(promotionLevel)) {
+                    entities.put(Entity.PROMOTION_LEVEL, entityConverter.getPromotionLevelId(project, branch, promotionLevel));
+                }
+                if (StringUtils.isNotBlank(validationStamp)) {
+                    entities.put(Entity.VALIDATION_STAMP, entityConverter.getValidationStampId(project, branch, validationStamp));
+                }
+            }
+        }
+        return entities;
+    }
+
     @RequestMapping(value = "/ui/manage/validation_run/{validationRunId:[0-9]+}/statusUpdateData", method = RequestMethod.GET)
     public
     @ResponseBody
@@ -388,6 +388,51 @@ define(['render', 'ajax', 'dynamic', 'common', 'dialog', 'jquery'], function (re
         });
     }
 
+    function refreshBranchBuild(config, buildName) {
+        ajax.get({
+            url: 'ui/manage/project/{0}/branch/{1}/build/{2}/branchBuild'.format(config.project, config.branch, buildName),
+            successFn: function (branchBuild) {
+                var branchBuilds = config.branchBuilds;
+                branchBuilds.builds = $.map(branchBuilds.builds, function (aBuild) {
+                    return aBuild.id == branchBuild.id ? branchBuild : aBuild;
+                });
+                generateTableBranchBuilds($('#' + config.id + '-content'), config, branchBuilds);
+            },
+            errorFn: function () {
+                dynamic.reloadSection(config.id);
+            }
+        });
+    }
+
+    /**
+     * Only the builds which are displayed and have changed are loaded again, unless
+     * the list of builds itself may have changed.
+     */
+    function liveBranchBuilds(config, changes) {
+        var reloadAll = !config.branchBuilds || isFilterActive(config.project, config.branch);
+        var buildNames = {};
+        $.each(changes, function (index, change) {
+            var buildId = change.entities.BUILD;
+            if (buildId === undefined || change.eventType == 'BUILD_CREATED') {
+                reloadAll = true;
+            } else if (!reloadAll) {
+                var oBuild = $.grep(config.branchBuilds.builds, function (aBuild) {
+                    return aBuild.id == buildId;
+                })[0];
+                if (oBuild) {
+                    buildNames[buildId] = oBuild.name;
+                }
+            }
+        });
+        if (reloadAll) {
+            dynamic.reloadSection(config.id);
+        } else {
+            $.each(buildNames, function (buildId, buildName) {
+                refreshBranchBuild(config, buildName);
+            });
+        }
+    }
+
     return {
         url: function (config) {
             return 'ui/manage/project/{0}/branch/{1}/build'.format(config.project, config.branch)
@@ -396,8 +441,10 @@ define(['render', 'ajax', 'dynamic', 'common', 'dialog', 'jquery'], function (re
             return getCurrentFilterFn(config.project, config.branch)();
         },
         render: function (target, append, config, branchBuilds) {
+            config.branchBuilds = branchBuilds;
             generateTableBranchBuilds(target, config, branchBuilds);
-        }
+        },
+        liveFn: liveBranchBuilds
     }
 
 });
\ No newline at end of file
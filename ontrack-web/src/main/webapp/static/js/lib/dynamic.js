@@ -79,6 +79,19 @@ define(['require','common','jquery','render','ajax'], function (require, common,
                     reload(config);
                 }, config.refreshInterval);
             }
+            // Live update?
+            if (typeof config.live == 'string') {
+                require(['live'], function (live) {
+                    live.watch(config.live, function (changes) {
+                        var liveFn = getConfig(config, 'liveFn');
+                        if (liveFn) {
+                            liveFn(config, changes);
+                        } else {
+                            reload(config);
+                        }
+                    });
+                });
+            }
         });
     }
 
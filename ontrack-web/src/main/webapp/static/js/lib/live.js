@@ -0,0 +1,161 @@
+define(['common', 'jquery', 'ajax'], function (common, $, ajax) {
+
+    /**
+     * Time (in seconds) the server can hold a call before answering with no change
+     */
+    var wait = 30;
+    /**
+     * Delays (in ms) between two attempts when the server cannot be reached
+     */
+    var minErrorDelay = 5000;
+    var maxErrorDelay = 60000;
+
+    var watchers = [];
+    var scope = null;
+    var generation = 0;
+    var request = null;
+    var timer = null;
+    var last = -1;
+    var errorDelay = minErrorDelay;
+
+    function log (message, args) {
+        common.log('live')(message, args);
+    }
+
+    /**
+     * Converts a filter like <code>&branch=1&build=2</code> into an index of entity IDs,
+     * like <code>{BRANCH: 1, BUILD: 2}</code>
+     */
+    function parseFilter (filter) {
+        var entities = {};
+        $.each((filter || '').split('&'), function (index, token) {
+            var pos = token.indexOf('=');
+            if (pos > 0) {
+                var entity = token.substring(0, pos).replace(/([A-Z])/g, '_$1').toUpperCase();
+                entities[entity] = Number(token.substring(pos + 1));
+            }
+        });
+        return entities;
+    }
+
+    /**
+     * Scope shared by all the watchers of the page, so that only one
+     * call is used for the whole page
+     */
+    function getScope () {
+        var scope = $.extend({}, watchers[0].entities);
+        $.each(watchers, function (index, watcher) {
+            $.each(scope, function (entity, id) {
+                if (watcher.entities[entity] != id) {
+                    delete scope[entity];
+                }
+            });
+        });
+        var filter = '';
+        $.each(scope, function (entity, id) {
+            var name = entity.toLowerCase().replace(/_([a-z])/g, function (m, w) {
+                return w.toUpperCase();
+            });
+            filter += '&{0}={1}'.format(name, id);
+        });
+        return filter;
+    }
+
+    function isMatching (watcher, change) {
+        var matching = true;
+        $.each(watcher.entities, function (entity, id) {
+            if (change.entities[entity] != id) {
+                matching = false;
+            }
+        });
+        return matching;
+    }
+
+    function dispatch (changes) {
+        $.each(watchers, function (index, watcher) {
+            var watcherChanges = $.grep(changes, function (change) {
+                return isMatching(watcher, change);
+            });
+            if (watcherChanges.length > 0) {
+                log('Notifying {0} changes'.format(watcherChanges.length), watcher.entities);
+                watcher.callback(watcherChanges);
+            }
+        });
+    }
+
+    function poll (current) {
+        if (current != generation) {
+            return;
+        }
+        request = ajax.get({
+            url: 'gui/event/changes?u=1&after={0}&wait={1}{2}'.format(last, last < 0 ? 0 : wait, scope),
+            successFn: function (data) {
+                if (current != generation) {
+                    return;
+                }
+                errorDelay = minErrorDelay;
+                last = data.last;
+                if (data.changes.length > 0) {
+                    dispatch(data.changes);
+                }
+                if (data.retry > 0) {
+                    setTimeout(function () {
+                        poll(current);
+                    }, data.retry * 1000);
+                } else {
+                    poll(current);
+                }
+            },
+            errorFn: function () {
+                if (current != generation) {
+                    return;
+                }
+                log('Cannot get the changes, next attempt in {0} ms'.format(errorDelay));
+                setTimeout(function () {
+                    poll(current);
+                }, errorDelay);
+                errorDelay = Math.min(errorDelay * 2, maxErrorDelay);
+            }
+        });
+    }
+
+    /**
+     * (Re)starts the polling with the current scope
+     */
+    function start () {
+        timer = null;
+        generation++;
+        if (request) {
+            request.abort();
+        }
+        log('Watching the changes for [{0}]'.format(scope));
+        poll(generation);
+    }
+
+    /**
+     * Registers a callback for the changes on some entities
+     * @param filter    Entities to watch, like <code>&branch=1</code>. An empty filter watches all the changes.
+     * @param callback  Function called with the list of changes
+     */
+    function watch (filter, callback) {
+        watchers.push({
+            entities: parseFilter(filter),
+            callback: callback
+        });
+        // The sections of the page register one after the other, the call
+        // is started (or restarted) only once the scope is stable
+        var newScope = getScope();
+        if (newScope !== scope) {
+            scope = newScope;
+            if (timer) {
+                clearTimeout(timer);
+            }
+            timer = setTimeout(start, 100);
+        }
+    }
+
+    return {
+        watch: watch
+    }
+
+});
@@ -0,0 +1,67 @@
+package net.ontrack.web.support;
+
+import net.ontrack.service.model.RequestClass;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdmissionInterceptorTest {
+
+    @Test
+    public void gui_pages() {
+        assertEquals(RequestClass.INTERACTIVE, AdmissionInterceptor.getRequestClass(request("GET", "/gui/project/P")));
+        assertEquals(RequestClass.INTERACTIVE, AdmissionInterceptor.getRequestClass(request("POST", "/gui/project/P/export")));
+    }
+
+    @Test
+    public void api_reads_and_writes() {
+        assertEquals(RequestClass.READ, AdmissionInterceptor.getRequestClass(request("GET", "/ui/manage/project")));
+        assertEquals(RequestClass.READ, AdmissionInterceptor.getRequestClass(request("HEAD", "/ui/manage/project")));
+        assertEquals(RequestClass.WRITE, AdmissionInterceptor.getRequestClass(request("POST", "/ui/manage/project")));
+        assertEquals(RequestClass.WRITE, AdmissionInterceptor.getRequestClass(request("DELETE", "/ui/manage/project/P")));
+    }
+
+    @Test
+    public void ajax_header_ignored() {
+        MockHttpServletRequest request = request("POST", "/ui/manage/project");
+        request.addHeader("X-Requested-With", "XMLHttpRequest");
+        assertEquals(RequestClass.WRITE, AdmissionInterceptor.getRequestClass(request));
+    }
+
+    @Test
+    public void session_without_login_form() {
+        MockHttpServletRequest request = request("POST", "/ui/manage/project");
+        request.setSession(new MockHttpSession());
+        assertEquals(RequestClass.WRITE, AdmissionInterceptor.getRequestClass(request));
+    }
+
+    @Test
+    public void gui_session() {
+        assertEquals(RequestClass.INTERACTIVE, AdmissionInterceptor.getRequestClass(guiRequest("GET", "/ui/manage/project")));
+        assertEquals(RequestClass.INTERACTIVE, AdmissionInterceptor.getRequestClass(guiRequest("POST", "/ui/manage/project")));
+    }
+
+    @Test
+    public void control_calls() {
+        String path = "/ui/control/project/P/branch/B/build";
+        assertEquals(RequestClass.WRITE, AdmissionInterceptor.getRequestClass(request("POST", path)));
+        assertEquals(RequestClass.WRITE, AdmissionInterceptor.getRequestClass(guiRequest("POST", path)));
+    }
+
+    private MockHttpServletRequest guiRequest(String method, String path) {
+        MockHttpServletRequest request = request(method, path);
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(AdmissionInterceptor.GUI_SESSION, Boolean.TRUE);
+        request.setSession(session);
+        return request;
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/ontrack" + path);
+        request.setContextPath("/ontrack");
+        return request;
+    }
+
+}
@@ -0,0 +1,114 @@
+package net.ontrack.web.support;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.*;
+
+public class CompressionFilterTest {
+
+    private final CompressionFilter filter = new CompressionFilter(100);
+
+    @Test
+    public void encoding() {
+        assertNull(CompressionFilter.getEncoding(null));
+        assertNull(CompressionFilter.getEncoding("identity"));
+        assertEquals("gzip", CompressionFilter.getEncoding("gzip, deflate"));
+        assertEquals("gzip", CompressionFilter.getEncoding("*"));
+        assertEquals("deflate", CompressionFilter.getEncoding("deflate"));
+        assertEquals("deflate", CompressionFilter.getEncoding("gzip;q=0, deflate"));
+        assertNull(CompressionFilter.getEncoding("gzip;q=0.0"));
+    }
+
+    @Test
+    public void below_threshold() throws Exception {
+        MockHttpServletResponse response = filter("gzip", "application/json", "[1,2,3]");
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(7, response.getContentLength());
+        assertEquals("[1,2,3]", response.getContentAsString());
+    }
+
+    @Test
+    public void above_threshold() throws Exception {
+        String content = StringUtils.repeat("{\"name\":\"build\"},", 50);
+        MockHttpServletResponse response = filter("gzip, deflate", "application/json;charset=UTF-8", content);
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        byte[] compressed = response.getContentAsByteArray();
+        assertTrue(compressed.length < content.length());
+        assertEquals(content, gunzip(compressed));
+    }
+
+    @Test
+    public void not_accepted() throws Exception {
+        String content = StringUtils.repeat("{\"name\":\"build\"},", 50);
+        MockHttpServletResponse response = filter(null, "application/json", content);
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(content, response.getContentAsString());
+    }
+
+    @Test
+    public void not_compressible() throws Exception {
+        String content = StringUtils.repeat("0123456789", 50);
+        MockHttpServletResponse response = filter("gzip", "image/png", content);
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(content, response.getContentAsString());
+    }
+
+    @Test
+    public void committed_above_threshold() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ui/manage/project");
+        request.addHeader("Accept-Encoding", "gzip");
+        filter.doFilter(request, new MockHttpServletResponse(), new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+                response.setContentType("application/json");
+                response.getOutputStream().write(StringUtils.repeat("0", 100).getBytes("UTF-8"));
+                assertFalse(response.isCommitted());
+                response.getOutputStream().write('0');
+                assertTrue(response.isCommitted());
+            }
+        });
+    }
+
+    private String gunzip(byte[] compressed) throws IOException {
+        InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int count;
+        while ((count = in.read(buffer)) > 0) {
+            out.write(buffer, 0, count);
+        }
+        return out.toString("UTF-8");
+    }
+
+    private MockHttpServletResponse filter(String acceptEncoding, final String contentType, final String content) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ui/manage/project");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+                response.setContentType(contentType);
+                response.setCharacterEncoding("UTF-8");
+                response.getWriter().write(content);
+            }
+        });
+        return response;
+    }
+
+}
@@ -0,0 +1,73 @@
+package net.ontrack.web.support.fm;
+
+import freemarker.template.TemplateModelException;
+import net.ontrack.core.model.Account;
+import net.ontrack.core.model.Entity;
+import net.ontrack.core.model.EntityID;
+import net.ontrack.core.security.SecurityRoles;
+import net.ontrack.core.security.SecurityUtils;
+import net.ontrack.service.SubscriptionService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class FnSubscribedTest {
+
+    private SecurityUtils securityUtils;
+    private SubscriptionService subscriptionService;
+    private FnSubscribed fn;
+
+    @Before
+    public void before() {
+        securityUtils = mock(SecurityUtils.class);
+        subscriptionService = mock(SubscriptionService.class);
+        when(securityUtils.getCurrentAccount()).thenReturn(new Account(10, "user", "User", "user@test.com", SecurityRoles.USER, "builtin", Locale.ENGLISH));
+        when(subscriptionService.isEnabled()).thenReturn(true);
+        when(subscriptionService.getSubscribedEntities(10)).thenReturn(Collections.singleton(new EntityID(Entity.PROJECT, 1)));
+        fn = new FnSubscribed(securityUtils, subscriptionService);
+    }
+
+    @After
+    public void after() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void subscribed() throws TemplateModelException {
+        assertEquals(true, fn.exec(Arrays.asList("project=1")));
+        assertEquals(false, fn.exec(Arrays.asList("project=2")));
+        assertEquals(false, fn.exec(Arrays.asList("project=1&branch=2")));
+    }
+
+    @Test
+    public void subscriptions_loaded_once_per_request() throws TemplateModelException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(true, fn.exec(Arrays.asList("project=1")));
+            assertEquals(false, fn.exec(Arrays.asList("project=2")));
+        }
+        verify(subscriptionService, times(1)).getSubscribedEntities(10);
+        // Next request
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertEquals(true, fn.exec(Arrays.asList("project=1")));
+        verify(subscriptionService, times(2)).getSubscribedEntities(10);
+    }
+
+    @Test
+    public void no_request() throws TemplateModelException {
+        fn.exec(Arrays.asList("project=1"));
+        fn.exec(Arrays.asList("project=1"));
+        verify(subscriptionService, times(2)).getSubscribedEntities(10);
+    }
+
+}